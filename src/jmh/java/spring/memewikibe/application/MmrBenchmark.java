@@ -0,0 +1,105 @@
+package spring.memewikibe.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MMR over {@code candidates} pre-tokenized documents picking {@code k}: {@link MmrDiversifier} on term ids
+ * precomputed once (as {@code MemeTextFeatureCache} serves them) against the HashSet Jaccard loop it replaced,
+ * which builds its sets per call. Run with {@code -Pjmh.includes=Mmr -Pjmh.profilers=gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MmrBenchmark {
+
+    @Param({"200", "400"})
+    int candidates;
+
+    @Param({"50"})
+    int k;
+
+    private static final double LAMBDA = 0.7;
+
+    private List<List<String>> docs;
+    private int[][] terms;
+    private int vocabularySize;
+    private double[] relevance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        docs = new ArrayList<>(candidates);
+        relevance = new double[candidates];
+        for (int i = 0; i < candidates; i++) {
+            int size = 5 + random.nextInt(20);
+            List<String> doc = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) doc.add("w" + (int) (Math.pow(random.nextDouble(), 2) * candidates * 10));
+            docs.add(doc);
+            relevance[i] = 1.0 - i / (double) candidates;
+        }
+        Map<String, Integer> dictionary = new HashMap<>();
+        terms = new int[candidates][];
+        for (int i = 0; i < candidates; i++) {
+            terms[i] = docs.get(i).stream().mapToInt(t -> dictionary.computeIfAbsent(t, x -> dictionary.size())).sorted().distinct().toArray();
+        }
+        vocabularySize = dictionary.size();
+    }
+
+    @Benchmark
+    public int[] termIds() {
+        return MmrDiversifier.select(relevance, terms, vocabularySize, LAMBDA, k);
+    }
+
+    @Benchmark
+    public List<Integer> hashSets() {
+        List<Set<String>> sets = new ArrayList<>(candidates);
+        for (List<String> doc : docs) sets.add(new HashSet<>(doc));
+        List<Integer> selected = new ArrayList<>();
+        List<Integer> remaining = new ArrayList<>();
+        for (int i = 0; i < candidates; i++) remaining.add(i);
+        selected.add(remaining.remove(0));
+        while (!remaining.isEmpty() && selected.size() < k) {
+            Integer best = null;
+            double bestScore = -Double.MAX_VALUE;
+            for (Integer cand : remaining) {
+                double maxSimilarity = 0.0;
+                for (Integer sel : selected) maxSimilarity = Math.max(maxSimilarity, jaccard(sets.get(cand), sets.get(sel)));
+                double score = LAMBDA * relevance[cand] - (1 - LAMBDA) * maxSimilarity;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = cand;
+                }
+            }
+            if (best == null) break;
+            selected.add(best);
+            remaining.remove(best);
+        }
+        return selected;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0.0;
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        return (double) intersection.size() / union.size();
+    }
+}
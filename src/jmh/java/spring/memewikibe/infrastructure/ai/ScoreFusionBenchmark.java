@@ -0,0 +1,83 @@
+package spring.memewikibe.infrastructure.ai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hybrid fusion of a dense and a sparse list of {@code topK} hits each (about half the ids shared):
+ * {@link ScoreFusion} against the boxed HashMap/HashSet + full sort it replaced.
+ * Run with {@code -Pjmh.includes=ScoreFusion -Pjmh.profilers=gc} to compare gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreFusionBenchmark {
+
+    @Param({"200", "400"})
+    int topK;
+
+    private List<SearchHit> dense;
+    private List<SearchHit> sparse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(5);
+        long idRange = topK * 3L;
+        dense = hits(random, idRange, "dense");
+        sparse = hits(random, idRange, "sparse");
+    }
+
+    @Benchmark
+    public List<SearchHit> primitive() {
+        return ScoreFusion.weightedRrf(dense, sparse, 0.7, 0.3, topK);
+    }
+
+    @Benchmark
+    public List<SearchHit> boxed() {
+        Map<Long, Double> d = rankToScoreMap(dense);
+        Map<Long, Double> s = rankToScoreMap(sparse);
+        Set<Long> ids = new HashSet<>();
+        ids.addAll(d.keySet());
+        ids.addAll(s.keySet());
+        List<SearchHit> fused = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            fused.add(new SearchHit(id, d.getOrDefault(id, 0.0) * 0.7 + s.getOrDefault(id, 0.0) * 0.3, "fused"));
+        }
+        fused.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+        return fused.size() <= topK ? fused : new ArrayList<>(fused.subList(0, topK));
+    }
+
+    private static Map<Long, Double> rankToScoreMap(List<SearchHit> hits) {
+        Map<Long, Double> m = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            m.merge(hits.get(i).id(), 1.0 / (60.0 + (i + 1)), Double::sum);
+        }
+        return m;
+    }
+
+    private List<SearchHit> hits(Random random, long idRange, String source) {
+        List<SearchHit> out = new ArrayList<>(topK);
+        for (int i = 0; i < topK; i++) {
+            out.add(new SearchHit(1 + (long) (random.nextDouble() * idRange), 1.0 - i / (double) topK, source));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,170 @@
+package spring.memewikibe.infrastructure.ai.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StreamingJsonParser} against the substring-based parsers it replaced, on synthetic Pinecone query
+ * and Vertex AI predict responses. Both sides start from the raw response bytes, as received off the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamingJsonParserBenchmark {
+
+    @Param({"200"})
+    int matches;
+
+    @Param({"768"})
+    int dimension;
+
+    @Param({"1", "16"})
+    int predictions;
+
+    private byte[] pineconeResponse;
+    private byte[] vertexResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(11);
+        StringBuilder sb = new StringBuilder("{\"results\":[],\"matches\":[");
+        for (int i = 0; i < matches; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":\"").append(100_000 + i).append("\",\"score\":").append(random.nextFloat())
+                // No "values":[] here: the legacy parser stops at the first ']' and would skip most matches
+                .append(",\"metadata\":{\"title\":\"밈 ").append(i)
+                .append("\",\"hashtags\":\"#무한도전 #짤\",\"usageContext\":\"상황에 맞게 쓰는 밈\"}}");
+        }
+        sb.append("],\"namespace\":\"memes\",\"usage\":{\"readUnits\":6}}");
+        pineconeResponse = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        sb = new StringBuilder("{\"predictions\":[");
+        for (int p = 0; p < predictions; p++) {
+            if (p > 0) sb.append(',');
+            sb.append("{\"embeddings\":{\"statistics\":{\"truncated\":false,\"token_count\":42},\"values\":[");
+            for (int i = 0; i < dimension; i++) {
+                if (i > 0) sb.append(',');
+                sb.append((float) (random.nextGaussian() * 0.05));
+            }
+            sb.append("]}}");
+        }
+        sb.append("],\"metadata\":{\"billableCharacterCount\":1234}}");
+        vertexResponse = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ScoredIds pineconeStreaming() throws IOException {
+        return StreamingJsonParser.readMatches(new ByteArrayInputStream(pineconeResponse));
+    }
+
+    @Benchmark
+    public void pineconeLegacy(Blackhole bh) {
+        bh.consume(JsonLightParser.extractMatches(new String(pineconeResponse, StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public List<float[]> vertexStreaming() throws IOException {
+        return StreamingJsonParser.readEmbeddings(new ByteArrayInputStream(vertexResponse));
+    }
+
+    @Benchmark
+    public List<float[]> vertexLegacy() {
+        return VertexParser.parseEmbeddingValues(new String(vertexResponse, StandardCharsets.UTF_8));
+    }
+
+    // Parsers as they were before StreamingJsonParser, kept verbatim for comparison
+
+    static class JsonLightParser {
+        static java.util.List<Match> extractMatches(String json) {
+            // Extract pairs (id, score) from Pinecone response: "matches":[{"id":"...","score":0.xx},...]
+            java.util.List<Match> matches = new java.util.ArrayList<>();
+            int arrPos = json.indexOf("\"matches\"");
+            if (arrPos < 0) return matches;
+            int lb = json.indexOf('[', arrPos);
+            int rb = json.indexOf(']', lb);
+            if (lb < 0 || rb < 0) return matches;
+            String arr = json.substring(lb + 1, rb);
+            int idx = 0;
+            while (true) {
+                int idKey = arr.indexOf("\"id\"", idx);
+                if (idKey < 0) break;
+                int colon = arr.indexOf(':', idKey);
+                int q1 = arr.indexOf('"', colon + 1);
+                int q2 = arr.indexOf('"', q1 + 1);
+                if (q1 < 0 || q2 < 0) break;
+                String idStr = arr.substring(q1 + 1, q2);
+                long id;
+                try { id = Long.parseLong(idStr); } catch (NumberFormatException e) { id = -1L; }
+                int scoreKey = arr.indexOf("\"score\"", q2);
+                if (scoreKey < 0) break;
+                int scolon = arr.indexOf(':', scoreKey);
+                int end = scolon + 1;
+                // parse until comma or end of object
+                while (end < arr.length() && "-+.0123456789eE".indexOf(arr.charAt(end)) >= 0) end++;
+                double score = 0.0;
+                try { score = Double.parseDouble(arr.substring(scolon + 1, end).trim()); } catch (Exception ignored) {}
+                if (id >= 0) matches.add(new Match(id, score));
+                idx = end;
+            }
+            return matches;
+        }
+        static final class Match { final long id; final double score; Match(long i,double s){id=i;score=s;} }
+    }
+
+    static class VertexParser {
+        static List<float[]> parseEmbeddingValues(String json) {
+            // Each prediction carries "values":[ ... ]; collect them in order
+            List<float[]> vectors = new ArrayList<>();
+            int from = 0;
+            while (true) {
+                int keyPos = json.indexOf("\"values\"", from);
+                if (keyPos < 0) break;
+                int colon = json.indexOf(':', keyPos);
+                if (colon < 0) break;
+                int lb = json.indexOf('[', colon);
+                if (lb < 0) break;
+                int rb = json.indexOf(']', lb);
+                if (rb < 0) break;
+                vectors.add(parseFloats(json.substring(lb + 1, rb)));
+                from = rb + 1;
+            }
+            return vectors;
+        }
+
+        private static float[] parseFloats(String inner) {
+            String[] parts = inner.split(",");
+            float[] out = new float[parts.length];
+            int n = 0;
+            for (String p : parts) {
+                String s = p.trim();
+                if (s.isEmpty()) continue;
+                try {
+                    out[n++] = Float.parseFloat(s);
+                } catch (NumberFormatException ignored) {}
+            }
+            if (n != out.length) {
+                float[] resized = new float[n];
+                System.arraycopy(out, 0, resized, 0, n);
+                return resized;
+            }
+            return out;
+        }
+    }
+}
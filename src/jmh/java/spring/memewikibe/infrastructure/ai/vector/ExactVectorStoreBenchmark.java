@@ -0,0 +1,102 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Exact search latency: single-threaded vs fork/join scans, plus the raw SIMD and scalar dot kernels.
+ * Run without {@code --add-modules jdk.incubator.vector} (or with -Dvector.simd.disabled=true) to compare
+ * whole-scan latency on the scalar fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExactVectorStoreBenchmark {
+
+    private static final int QUERY_COUNT = 64;
+
+    @Param({"20000", "100000"})
+    int corpusSize;
+
+    @Param({"768"})
+    int dimension;
+
+    @Param({"10"})
+    int k;
+
+    private Path directory;
+    private ExactVectorStore store;
+    private float[][] queries;
+    private float[] a;
+    private float[] b;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(11);
+        directory = Files.createTempDirectory("exact-bench");
+        store = ExactVectorStore.open(directory);
+        for (int i = 0; i < corpusSize; i++) store.upsert(i, randomVector(random));
+        queries = new float[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) queries[i] = randomVector(random);
+        a = randomVector(random);
+        b = randomVector(random);
+        System.out.printf("%nSIMD %s (%d lanes)%n", VectorDot.simdEnabled() ? "on" : "off", VectorDot.lanes());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    @Benchmark
+    public ScoredIds searchSequential() {
+        return store.search(nextQuery(), k, false);
+    }
+
+    @Benchmark
+    public ScoredIds searchForkJoin() {
+        return store.search(nextQuery(), k, true);
+    }
+
+    @Benchmark
+    public float dotScalar() {
+        return VectorDot.scalarDot(a, 0, b, dimension);
+    }
+
+    @Benchmark
+    public float dotSimd() {
+        return SimdDot.dot(a, 0, b, dimension);
+    }
+
+    private float[] nextQuery() {
+        float[] q = queries[cursor];
+        cursor = (cursor + 1) % QUERY_COUNT;
+        return q;
+    }
+
+    private float[] randomVector(Random random) {
+        float[] v = new float[dimension];
+        for (int i = 0; i < dimension; i++) v[i] = (float) random.nextGaussian();
+        return v;
+    }
+}
@@ -0,0 +1,114 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Query latency of {@link HnswIndex} against {@link ExactVectorStore} over the same vectors.
+ * Recall@k of the HNSW results (exact search as ground truth) is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HnswIndexBenchmark {
+
+    private static final int QUERY_COUNT = 200;
+
+    @Param({"20000"})
+    int corpusSize;
+
+    @Param({"768"})
+    int dimension;
+
+    @Param({"10", "100"})
+    int k;
+
+    @Param({"64", "128"})
+    int efSearch;
+
+    private Path directory;
+    private HnswIndex index;
+    private ExactVectorStore exact;
+    private float[][] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        queries = new float[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) queries[i] = HnswIndex.normalize(randomVector(random));
+
+        directory = Files.createTempDirectory("hnsw-bench");
+        index = HnswIndex.open(directory.resolve("hnsw"), 16, 200);
+        exact = ExactVectorStore.open(directory.resolve("exact"));
+        for (int i = 0; i < corpusSize; i++) {
+            float[] v = HnswIndex.normalize(randomVector(random));
+            index.upsert(i, v);
+            exact.upsert(i, v);
+        }
+
+        double recall = 0;
+        for (float[] q : queries) {
+            Set<Long> truth = ids(exact.search(q, k));
+            Set<Long> found = ids(index.search(q, k, efSearch));
+            found.retainAll(truth);
+            recall += found.size() / (double) truth.size();
+        }
+        System.out.printf("%nrecall@%d (efSearch=%d, n=%d, dim=%d): %.4f%n", k, efSearch, corpusSize, dimension, recall / QUERY_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+        exact.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    @Benchmark
+    public ScoredIds hnsw() {
+        return index.search(nextQuery(), k, efSearch);
+    }
+
+    @Benchmark
+    public ScoredIds exactSearch() {
+        return exact.search(nextQuery(), k);
+    }
+
+    private float[] nextQuery() {
+        float[] q = queries[cursor];
+        cursor = (cursor + 1) % QUERY_COUNT;
+        return q;
+    }
+
+    private float[] randomVector(Random random) {
+        float[] v = new float[dimension];
+        for (int i = 0; i < dimension; i++) v[i] = (float) random.nextGaussian();
+        return v;
+    }
+
+    private static Set<Long> ids(ScoredIds hits) {
+        Set<Long> out = new HashSet<>();
+        for (int i = 0; i < hits.size(); i++) out.add(hits.id(i));
+        return out;
+    }
+}
@@ -0,0 +1,63 @@
+package spring.memewikibe.domain.meme;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QMeme is a Querydsl query type for Meme
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMeme extends EntityPathBase<Meme> {
+
+    private static final long serialVersionUID = 1896237998L;
+
+    public static final QMeme meme = new QMeme("meme");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    public final EnumPath<Meme.Flag> flag = createEnum("flag", Meme.Flag.class);
+
+    public final StringPath hashtags = createString("hashtags");
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final StringPath imgUrl = createString("imgUrl");
+
+    public final StringPath origin = createString("origin");
+
+    public final StringPath title = createString("title");
+
+    public final StringPath trendPeriod = createString("trendPeriod");
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public final StringPath usageContext = createString("usageContext");
+
+    public QMeme(String variable) {
+        super(Meme.class, forVariable(variable));
+    }
+
+    public QMeme(Path<? extends Meme> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QMeme(PathMetadata metadata) {
+        super(Meme.class, metadata);
+    }
+
+}
+
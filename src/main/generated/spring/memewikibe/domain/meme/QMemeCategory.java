@@ -0,0 +1,66 @@
+package spring.memewikibe.domain.meme;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.PathInits;
+
+
+/**
+ * QMemeCategory is a Querydsl query type for MemeCategory
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMemeCategory extends EntityPathBase<MemeCategory> {
+
+    private static final long serialVersionUID = -454304052L;
+
+    private static final PathInits INITS = PathInits.DIRECT2;
+
+    public static final QMemeCategory memeCategory = new QMemeCategory("memeCategory");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    public final QCategory category;
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final QMeme meme;
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QMemeCategory(String variable) {
+        this(MemeCategory.class, forVariable(variable), INITS);
+    }
+
+    public QMemeCategory(Path<? extends MemeCategory> path) {
+        this(path.getType(), path.getMetadata(), PathInits.getFor(path.getMetadata(), INITS));
+    }
+
+    public QMemeCategory(PathMetadata metadata) {
+        this(metadata, PathInits.getFor(metadata, INITS));
+    }
+
+    public QMemeCategory(PathMetadata metadata, PathInits inits) {
+        this(MemeCategory.class, metadata, inits);
+    }
+
+    public QMemeCategory(Class<? extends MemeCategory> type, PathMetadata metadata, PathInits inits) {
+        super(type, metadata, inits);
+        this.category = inits.isInitialized("category") ? new QCategory(forProperty("category")) : null;
+        this.meme = inits.isInitialized("meme") ? new QMeme(forProperty("meme")) : null;
+    }
+
+}
+
@@ -0,0 +1,63 @@
+package spring.memewikibe.domain.meme;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.PathInits;
+
+
+/**
+ * QMemeCustomLog is a Querydsl query type for MemeCustomLog
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMemeCustomLog extends EntityPathBase<MemeCustomLog> {
+
+    private static final long serialVersionUID = -1152829947L;
+
+    private static final PathInits INITS = PathInits.DIRECT2;
+
+    public static final QMemeCustomLog memeCustomLog = new QMemeCustomLog("memeCustomLog");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final QMeme meme;
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QMemeCustomLog(String variable) {
+        this(MemeCustomLog.class, forVariable(variable), INITS);
+    }
+
+    public QMemeCustomLog(Path<? extends MemeCustomLog> path) {
+        this(path.getType(), path.getMetadata(), PathInits.getFor(path.getMetadata(), INITS));
+    }
+
+    public QMemeCustomLog(PathMetadata metadata) {
+        this(metadata, PathInits.getFor(metadata, INITS));
+    }
+
+    public QMemeCustomLog(PathMetadata metadata, PathInits inits) {
+        this(MemeCustomLog.class, metadata, inits);
+    }
+
+    public QMemeCustomLog(Class<? extends MemeCustomLog> type, PathMetadata metadata, PathInits inits) {
+        super(type, metadata, inits);
+        this.meme = inits.isInitialized("meme") ? new QMeme(forProperty("meme")) : null;
+    }
+
+}
+
@@ -0,0 +1,63 @@
+package spring.memewikibe.domain.meme;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.PathInits;
+
+
+/**
+ * QMemeShareLog is a Querydsl query type for MemeShareLog
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMemeShareLog extends EntityPathBase<MemeShareLog> {
+
+    private static final long serialVersionUID = -1248592717L;
+
+    private static final PathInits INITS = PathInits.DIRECT2;
+
+    public static final QMemeShareLog memeShareLog = new QMemeShareLog("memeShareLog");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final QMeme meme;
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QMemeShareLog(String variable) {
+        this(MemeShareLog.class, forVariable(variable), INITS);
+    }
+
+    public QMemeShareLog(Path<? extends MemeShareLog> path) {
+        this(path.getType(), path.getMetadata(), PathInits.getFor(path.getMetadata(), INITS));
+    }
+
+    public QMemeShareLog(PathMetadata metadata) {
+        this(metadata, PathInits.getFor(metadata, INITS));
+    }
+
+    public QMemeShareLog(PathMetadata metadata, PathInits inits) {
+        this(MemeShareLog.class, metadata, inits);
+    }
+
+    public QMemeShareLog(Class<? extends MemeShareLog> type, PathMetadata metadata, PathInits inits) {
+        super(type, metadata, inits);
+        this.meme = inits.isInitialized("meme") ? new QMeme(forProperty("meme")) : null;
+    }
+
+}
+
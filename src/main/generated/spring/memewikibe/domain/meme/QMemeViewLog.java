@@ -0,0 +1,63 @@
+package spring.memewikibe.domain.meme;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.PathInits;
+
+
+/**
+ * QMemeViewLog is a Querydsl query type for MemeViewLog
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMemeViewLog extends EntityPathBase<MemeViewLog> {
+
+    private static final long serialVersionUID = -1917378863L;
+
+    private static final PathInits INITS = PathInits.DIRECT2;
+
+    public static final QMemeViewLog memeViewLog = new QMemeViewLog("memeViewLog");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final QMeme meme;
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QMemeViewLog(String variable) {
+        this(MemeViewLog.class, forVariable(variable), INITS);
+    }
+
+    public QMemeViewLog(Path<? extends MemeViewLog> path) {
+        this(path.getType(), path.getMetadata(), PathInits.getFor(path.getMetadata(), INITS));
+    }
+
+    public QMemeViewLog(PathMetadata metadata) {
+        this(metadata, PathInits.getFor(metadata, INITS));
+    }
+
+    public QMemeViewLog(PathMetadata metadata, PathInits inits) {
+        this(MemeViewLog.class, metadata, inits);
+    }
+
+    public QMemeViewLog(Class<? extends MemeViewLog> type, PathMetadata metadata, PathInits inits) {
+        super(type, metadata, inits);
+        this.meme = inits.isInitialized("meme") ? new QMeme(forProperty("meme")) : null;
+    }
+
+}
+
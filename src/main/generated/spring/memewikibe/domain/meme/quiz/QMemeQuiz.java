@@ -0,0 +1,63 @@
+package spring.memewikibe.domain.meme.quiz;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QMemeQuiz is a Querydsl query type for MemeQuiz
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMemeQuiz extends EntityPathBase<MemeQuiz> {
+
+    private static final long serialVersionUID = 559259296L;
+
+    public static final QMemeQuiz memeQuiz = new QMemeQuiz("memeQuiz");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    public final NumberPath<Integer> answer = createNumber("answer", Integer.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final StringPath imageUrl = createString("imageUrl");
+
+    public final StringPath option1 = createString("option1");
+
+    public final StringPath option2 = createString("option2");
+
+    public final StringPath option3 = createString("option3");
+
+    public final StringPath option4 = createString("option4");
+
+    public final StringPath question = createString("question");
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QMemeQuiz(String variable) {
+        super(MemeQuiz.class, forVariable(variable));
+    }
+
+    public QMemeQuiz(Path<? extends MemeQuiz> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QMemeQuiz(PathMetadata metadata) {
+        super(MemeQuiz.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,44 @@
+package spring.memewikibe.domain.notification;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QNotificationToken is a Querydsl query type for NotificationToken
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QNotificationToken extends EntityPathBase<NotificationToken> {
+
+    private static final long serialVersionUID = 1747934475L;
+
+    public static final QNotificationToken notificationToken = new QNotificationToken("notificationToken");
+
+    public final DateTimePath<java.time.LocalDateTime> createdAt = createDateTime("createdAt", java.time.LocalDateTime.class);
+
+    public final StringPath token = createString("token");
+
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = createDateTime("updatedAt", java.time.LocalDateTime.class);
+
+    public QNotificationToken(String variable) {
+        super(NotificationToken.class, forVariable(variable));
+    }
+
+    public QNotificationToken(Path<? extends NotificationToken> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QNotificationToken(PathMetadata metadata) {
+        super(NotificationToken.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,57 @@
+package spring.memewikibe.domain.search;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QQueryExpansion is a Querydsl query type for QueryExpansion
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QQueryExpansion extends EntityPathBase<QueryExpansion> {
+
+    private static final long serialVersionUID = -461570467L;
+
+    public static final QQueryExpansion queryExpansion = new QQueryExpansion("queryExpansion");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    public final DateTimePath<java.time.LocalDateTime> expandedAt = createDateTime("expandedAt", java.time.LocalDateTime.class);
+
+    public final NumberPath<Long> hitCount = createNumber("hitCount", Long.class);
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final StringPath keywords = createString("keywords");
+
+    public final StringPath normalizedQuery = createString("normalizedQuery");
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QQueryExpansion(String variable) {
+        super(QueryExpansion.class, forVariable(variable));
+    }
+
+    public QQueryExpansion(Path<? extends QueryExpansion> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QQueryExpansion(PathMetadata metadata) {
+        super(QueryExpansion.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,57 @@
+package spring.memewikibe.domain.vector;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QMemeNeighbor is a Querydsl query type for MemeNeighbor
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QMemeNeighbor extends EntityPathBase<MemeNeighbor> {
+
+    private static final long serialVersionUID = -479924339L;
+
+    public static final QMemeNeighbor memeNeighbor = new QMemeNeighbor("memeNeighbor");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final NumberPath<Long> memeId = createNumber("memeId", Long.class);
+
+    public final NumberPath<Long> neighborId = createNumber("neighborId", Long.class);
+
+    public final NumberPath<Integer> neighborRank = createNumber("neighborRank", Integer.class);
+
+    public final NumberPath<Float> score = createNumber("score", Float.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QMemeNeighbor(String variable) {
+        super(MemeNeighbor.class, forVariable(variable));
+    }
+
+    public QMemeNeighbor(Path<? extends MemeNeighbor> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QMemeNeighbor(PathMetadata metadata) {
+        super(MemeNeighbor.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,69 @@
+package spring.memewikibe.domain.vector;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QReindexJob is a Querydsl query type for ReindexJob
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QReindexJob extends EntityPathBase<ReindexJob> {
+
+    private static final long serialVersionUID = 1597562569L;
+
+    public static final QReindexJob reindexJob = new QReindexJob("reindexJob");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    public final NumberPath<Integer> batchSize = createNumber("batchSize", Integer.class);
+
+    public final NumberPath<Integer> concurrency = createNumber("concurrency", Integer.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    public final NumberPath<Long> failedCount = createNumber("failedCount", Long.class);
+
+    public final StringPath failedIds = createString("failedIds");
+
+    public final DateTimePath<java.time.LocalDateTime> finishedAt = createDateTime("finishedAt", java.time.LocalDateTime.class);
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final NumberPath<Long> lastMemeId = createNumber("lastMemeId", Long.class);
+
+    public final StringPath message = createString("message");
+
+    public final NumberPath<Long> processedCount = createNumber("processedCount", Long.class);
+
+    public final EnumPath<ReindexJob.Status> status = createEnum("status", ReindexJob.Status.class);
+
+    public final NumberPath<Long> totalCount = createNumber("totalCount", Long.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QReindexJob(String variable) {
+        super(ReindexJob.class, forVariable(variable));
+    }
+
+    public QReindexJob(Path<? extends ReindexJob> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QReindexJob(PathMetadata metadata) {
+        super(ReindexJob.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,61 @@
+package spring.memewikibe.domain.vector;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QVectorIndexOutbox is a Querydsl query type for VectorIndexOutbox
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QVectorIndexOutbox extends EntityPathBase<VectorIndexOutbox> {
+
+    private static final long serialVersionUID = -1287295615L;
+
+    public static final QVectorIndexOutbox vectorIndexOutbox = new QVectorIndexOutbox("vectorIndexOutbox");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    public final NumberPath<Integer> attempts = createNumber("attempts", Integer.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final StringPath lastError = createString("lastError");
+
+    public final NumberPath<Long> memeId = createNumber("memeId", Long.class);
+
+    public final DateTimePath<java.time.LocalDateTime> nextAttemptAt = createDateTime("nextAttemptAt", java.time.LocalDateTime.class);
+
+    public final EnumPath<VectorIndexOutbox.Operation> operation = createEnum("operation", VectorIndexOutbox.Operation.class);
+
+    public final EnumPath<VectorIndexOutbox.Status> status = createEnum("status", VectorIndexOutbox.Status.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public QVectorIndexOutbox(String variable) {
+        super(VectorIndexOutbox.class, forVariable(variable));
+    }
+
+    public QVectorIndexOutbox(Path<? extends VectorIndexOutbox> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QVectorIndexOutbox(PathMetadata metadata) {
+        super(VectorIndexOutbox.class, metadata);
+    }
+
+}
+
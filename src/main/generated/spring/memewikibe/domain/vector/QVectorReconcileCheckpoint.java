@@ -0,0 +1,63 @@
+package spring.memewikibe.domain.vector;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.dsl.StringTemplate;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.annotations.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QVectorReconcileCheckpoint is a Querydsl query type for VectorReconcileCheckpoint
+ */
+@SuppressWarnings("this-escape")
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QVectorReconcileCheckpoint extends EntityPathBase<VectorReconcileCheckpoint> {
+
+    private static final long serialVersionUID = -1416234040L;
+
+    public static final QVectorReconcileCheckpoint vectorReconcileCheckpoint = new QVectorReconcileCheckpoint("vectorReconcileCheckpoint");
+
+    public final spring.memewikibe.domain.QBaseEntity _super = new spring.memewikibe.domain.QBaseEntity(this);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> createdAt = _super.createdAt;
+
+    //inherited
+    public final NumberPath<Long> id = _super.id;
+
+    public final NumberPath<Long> lastReindexed = createNumber("lastReindexed", Long.class);
+
+    public final NumberPath<Long> lastRemoved = createNumber("lastRemoved", Long.class);
+
+    public final DateTimePath<java.time.LocalDateTime> lastRunAt = createDateTime("lastRunAt", java.time.LocalDateTime.class);
+
+    public final NumberPath<Long> lastScanned = createNumber("lastScanned", Long.class);
+
+    public final NumberPath<Long> lastStale = createNumber("lastStale", Long.class);
+
+    //inherited
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = _super.updatedAt;
+
+    public final NumberPath<Long> watermarkMemeId = createNumber("watermarkMemeId", Long.class);
+
+    public final DateTimePath<java.time.LocalDateTime> watermarkUpdatedAt = createDateTime("watermarkUpdatedAt", java.time.LocalDateTime.class);
+
+    public QVectorReconcileCheckpoint(String variable) {
+        super(VectorReconcileCheckpoint.class, forVariable(variable));
+    }
+
+    public QVectorReconcileCheckpoint(Path<? extends VectorReconcileCheckpoint> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QVectorReconcileCheckpoint(PathMetadata metadata) {
+        super(VectorReconcileCheckpoint.class, metadata);
+    }
+
+}
+
@@ -6,7 +6,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,6 +13,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import spring.memewikibe.api.controller.admin.response.MemePopularityListResponse;
 import spring.memewikibe.api.controller.image.response.GeneratedImagesResponse;
 import spring.memewikibe.api.controller.meme.request.MemeCreateRequest;
+import spring.memewikibe.api.controller.meme.request.MemeUpdateRequest;
 import spring.memewikibe.api.controller.meme.response.CategoryResponse;
 import spring.memewikibe.api.controller.notification.request.NotificationSendRequest;
 import spring.memewikibe.application.*;
@@ -24,7 +24,6 @@ import spring.memewikibe.domain.meme.MemeCategory;
 import spring.memewikibe.infrastructure.CategoryRepository;
 import spring.memewikibe.infrastructure.MemeCategoryRepository;
 import spring.memewikibe.infrastructure.MemeRepository;
-import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
 import spring.memewikibe.support.error.ErrorType;
 import spring.memewikibe.support.response.ApiResponse;
 
@@ -43,7 +42,9 @@ public class AdminController {
     private final MemeCreateService memeCreateService;
     private final CategoryRepository categoryRepository;
     private final MemeCategoryRepository memeCategoryRepository;
-    private final MemeVectorIndexService vectorIndexService;
+    private final VectorReindexService vectorReindexService;
+    private final AdminMemeService adminMemeService;
+    private final MemeNeighborService memeNeighborService;
     private final ImageEditService imageEditService;
     private final AdminMemeStatsService adminMemeStatsService;
     private final MemeNotificationService memeNotificationService;
@@ -237,8 +238,7 @@ public class AdminController {
         }
 
         try {
-            if (memeRepository.existsById(id)) {
-                memeRepository.deleteById(id);
+            if (adminMemeService.deleteMeme(id)) {
                 log.info("Meme deleted by admin: id={}", id);
                 redirectAttributes.addFlashAttribute("success", "밈이 삭제되었습니다.");
             } else {
@@ -256,7 +256,6 @@ public class AdminController {
      * 밈 일괄 삭제
      */
     @PostMapping("/memes/delete-multiple")
-    @Transactional
     public String deleteMultipleMemes(@RequestParam("memeIds") String memeIdsString,
                                       HttpSession session,
                                       RedirectAttributes redirectAttributes) {
@@ -289,7 +288,7 @@ public class AdminController {
                 return "redirect:/admin/memes";
             }
 
-            memeRepository.deleteByIdIn(memeIds);
+            adminMemeService.deleteMemes(memeIds);
             log.info("Memes deleted by admin: ids={}", memeIds);
             redirectAttributes.addFlashAttribute("success",
                 memeIds.size() + "개의 밈이 삭제되었습니다.");
@@ -362,17 +361,15 @@ public class AdminController {
             String finalImgUrl = determineImageUrl(imageFile, imgUrl, meme.getImgUrl());
             String validTrendPeriod = validateTrendPeriod(trendPeriod, meme.getTrendPeriod());
 
-            meme.updateMeme(
+            adminMemeService.updateMeme(id, new MemeUpdateRequest(
                 title.trim(),
                 origin.trim(),
                 usageContext.trim(),
                 validTrendPeriod,
+                hashtags.trim(),
                 finalImgUrl,
-                hashtags.trim()
-            );
-
-            memeRepository.save(meme);
-            updateMemeCategories(id, meme, categoryIds);
+                categoryIds
+            ));
 
             log.info("✨ Meme updated by admin: id={}, title={}, categories={}",
                 id, title.trim(), categoryIds);
@@ -415,18 +412,15 @@ public class AdminController {
             String finalImgUrl = determineImageUrl(imageFile, imgUrl, meme.getImgUrl());
             String validTrendPeriod = validateTrendPeriod(trendPeriod, meme.getTrendPeriod());
 
-            meme.updateMeme(
+            adminMemeService.updateAndApproveMeme(id, new MemeUpdateRequest(
                 title.trim(),
                 origin.trim(),
                 usageContext.trim(),
                 validTrendPeriod,
+                hashtags.trim(),
                 finalImgUrl,
-                hashtags.trim()
-            );
-
-            meme.approve();
-            memeRepository.save(meme);
-            updateMemeCategories(meme.getId(), meme, categoryIds);
+                categoryIds
+            ));
 
             log.info("✅ Meme edited and approved successfully: id={}, title={}, categories={}",
                 id, title.trim(), categoryIds);
@@ -493,11 +487,7 @@ public class AdminController {
         }
 
         try {
-            Meme meme = memeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("밈을 찾을 수 없습니다."));
-
-            meme.approve();
-            memeRepository.save(meme);
+            adminMemeService.approveMeme(id);
 
             return ResponseEntity.ok("밈이 승인되었습니다.");
         } catch (Exception e) {
@@ -517,11 +507,7 @@ public class AdminController {
         }
 
         try {
-            Meme meme = memeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("밈을 찾을 수 없습니다."));
-
-            meme.reject();
-            memeRepository.save(meme);
+            adminMemeService.rejectMeme(id);
 
             return ResponseEntity.ok("밈이 반려되었습니다.");
         } catch (Exception e) {
@@ -653,45 +639,86 @@ public class AdminController {
 
 
     /**
-     * 모든 승인된(NORMAL) 밈을 벡터 스토어로 일괄 업서트합니다.
-     * - Pinecone 설정이 없으면 서비스 내부에서 경고를 남기고 스킵됩니다.
-     * - 대량 데이터 고려해 batchSize 단위로 업서트합니다.
+     * 모든 승인된(NORMAL) 밈을 벡터 스토어로 재색인하는 백그라운드 작업을 시작합니다.
+     * - 요청 스레드에서는 작업만 등록하고 바로 돌아오며, 진행 상황은 상태 API로 확인합니다.
+     * - batchSize 단위 keyset 페이지를 concurrency개까지 병렬로 업서트합니다.
      */
     @PostMapping("/memes/reindex-vectors")
     public String reindexAllApprovedMemes(HttpSession session, RedirectAttributes redirectAttributes,
-                                          @RequestParam(name = "batchSize", required = false, defaultValue = "100") int batchSize) {
+                                          @RequestParam(name = "batchSize", required = false, defaultValue = "100") int batchSize,
+                                          @RequestParam(name = "concurrency", required = false, defaultValue = "4") int concurrency) {
         if (!isAuthenticated(session)) {
             return "redirect:/admin/login";
         }
         try {
-            List<Meme> approved = memeRepository.findByFlagOrderByIdDesc(Meme.Flag.NORMAL);
-            int total = approved.size();
-            if (total == 0) {
+            VectorReindexService.ReindexStatus job = vectorReindexService.start(batchSize, concurrency);
+            if (job.totalCount() == 0) {
                 redirectAttributes.addFlashAttribute("info", "승인된 밈이 없습니다.");
-                return "redirect:/admin/memes";
-            }
-            if (batchSize <= 0) batchSize = 100;
-
-            int batches = 0;
-            for (int start = 0; start < total; start += batchSize) {
-                int end = Math.min(start + batchSize, total);
-                List<Meme> chunk = approved.subList(start, end);
-                try {
-                    vectorIndexService.upsertVectors(chunk);
-                } catch (Exception e) {
-                    log.warn("일부 배치 업서트 실패: {}-{}: {}", start, end, e.toString());
-                }
-                batches++;
+            } else {
+                redirectAttributes.addFlashAttribute("success", "벡터 인덱스 재구성 작업 #" + job.jobId() + " 시작: 총 "
+                    + job.totalCount() + "건 (진행 상황: /admin/memes/reindex-vectors/" + job.jobId() + ")");
             }
-            log.info("✅ Reindex completed. total={}, batchSize={}, batches={}", total, batchSize, batches);
-            redirectAttributes.addFlashAttribute("success", "벡터 인덱스 재구성 완료: 총 " + total + "건, 배치 " + batches + "개");
+        } catch (IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         } catch (Exception e) {
-            log.error("❌ Reindex failed", e);
-            redirectAttributes.addFlashAttribute("error", "벡터 인덱스 재구성 중 오류: " + e.getMessage());
+            log.error("❌ Reindex failed to start", e);
+            redirectAttributes.addFlashAttribute("error", "벡터 인덱스 재구성 시작 중 오류: " + e.getMessage());
+        }
+        return "redirect:/admin/memes";
+    }
+
+    /**
+     * 모든 승인된 밈의 유사 밈 목록을 다시 계산하는 백그라운드 작업을 시작합니다.
+     */
+    @PostMapping("/memes/rebuild-neighbors")
+    public String rebuildMemeNeighbors(HttpSession session, RedirectAttributes redirectAttributes) {
+        if (!isAuthenticated(session)) {
+            return "redirect:/admin/login";
+        }
+        if (memeNeighborService.startRebuild()) {
+            redirectAttributes.addFlashAttribute("success", "유사 밈 목록 재계산을 시작했습니다.");
+        } else {
+            redirectAttributes.addFlashAttribute("error", "이미 유사 밈 목록을 재계산하고 있습니다.");
         }
         return "redirect:/admin/memes";
     }
 
+    /**
+     * 가장 최근 재색인 작업의 상태 (처리량, 예상 남은 시간, 실패 id 포함)
+     */
+    @GetMapping("/memes/reindex-vectors/latest")
+    @ResponseBody
+    public ResponseEntity<VectorReindexService.ReindexStatus> getLatestReindexStatus(HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.of(vectorReindexService.latest());
+    }
+
+    /**
+     * 재색인 작업 상태
+     */
+    @GetMapping("/memes/reindex-vectors/{jobId}")
+    @ResponseBody
+    public ResponseEntity<VectorReindexService.ReindexStatus> getReindexStatus(@PathVariable long jobId, HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.of(vectorReindexService.status(jobId));
+    }
+
+    /**
+     * 재색인 작업 취소. 이미 전송된 배치는 마저 처리된 뒤 종료됩니다.
+     */
+    @PostMapping("/memes/reindex-vectors/{jobId}/cancel")
+    @ResponseBody
+    public ResponseEntity<VectorReindexService.ReindexStatus> cancelReindex(@PathVariable long jobId, HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.of(vectorReindexService.cancel(jobId));
+    }
+
     /**
      * 이미지 URL 결정 (새 파일 업로드 우선, 없으면 기존 또는 새 URL 사용)
      */
@@ -717,21 +744,6 @@ public class AdminController {
             : defaultValue;
     }
 
-    /**
-     * 밈 카테고리 업데이트 (기존 카테고리 삭제 후 새 카테고리 연결)
-     */
-    private void updateMemeCategories(Long memeId, Meme meme, List<Long> categoryIds) {
-        memeCategoryRepository.deleteByMemeId(memeId);
-
-        if (categoryIds != null && !categoryIds.isEmpty()) {
-            categoryRepository.findAllById(categoryIds)
-                .forEach(category -> {
-                    MemeCategory memeCategory = MemeCategory.create(meme, category);
-                    memeCategoryRepository.save(memeCategory);
-                });
-        }
-    }
-
     private boolean isAuthenticated(HttpSession session) {
         Boolean authenticated = (Boolean) session.getAttribute("admin_authenticated");
         return authenticated != null && authenticated;
@@ -22,19 +22,22 @@ public class MemeController {
     private final MemeAggregationLookUpService memeAggregationLookUpService;
     private final SharedMemeScheduleCacheService sharedMemeScheduleCacheService;
     private final PopularMemeService popularMemeService;
+    private final MemeNeighborService memeNeighborService;
 
     public MemeController(
         MemeAggregationService aggregationService,
         MemeLookUpService memeLookUpService,
         MemeAggregationLookUpService memeAggregationLookUpService,
         SharedMemeScheduleCacheService sharedMemeScheduleCacheService,
-        PopularMemeService popularMemeService
+        PopularMemeService popularMemeService,
+        MemeNeighborService memeNeighborService
     ) {
         this.aggregationService = aggregationService;
         this.memeLookUpService = memeLookUpService;
         this.memeAggregationLookUpService = memeAggregationLookUpService;
         this.sharedMemeScheduleCacheService = sharedMemeScheduleCacheService;
         this.popularMemeService = popularMemeService;
+        this.memeNeighborService = memeNeighborService;
     }
 
     @GetMapping
@@ -53,6 +56,14 @@ public class MemeController {
         return ApiResponse.success(memeLookUpService.getMemeById(id));
     }
 
+    @GetMapping("/{id}/similar")
+    public ApiResponse<List<MemeSimpleResponse>> getSimilarMemes(
+        @PathVariable Long id,
+        @RequestParam(required = false, defaultValue = "10") int limit
+    ) {
+        return ApiResponse.success(memeNeighborService.getSimilarMemes(id, limit));
+    }
+
     @ResponseStatus(HttpStatus.ACCEPTED)
     @PostMapping("/{id}/custom")
     public void makeOwnMeme(
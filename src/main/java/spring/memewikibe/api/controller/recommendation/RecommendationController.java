@@ -1,31 +1,140 @@
 package spring.memewikibe.api.controller.recommendation;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+import spring.memewikibe.api.controller.recommendation.response.RecommendationReasonEvent;
+import spring.memewikibe.api.controller.recommendation.response.RecommendationStreamDone;
 import spring.memewikibe.application.RecommendationService;
+import spring.memewikibe.application.SearchProgressListener;
+import spring.memewikibe.application.SearchStageMetrics;
 import spring.memewikibe.support.response.ApiResponse;
 
+import java.io.IOException;
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/recommendations")
 @RequiredArgsConstructor
 public class RecommendationController {
 
+    private static final String DEGRADED_HEADER = "X-Search-Degraded";
+    private static final long MIN_DEADLINE_MS = 100;
+    private static final long MAX_DEADLINE_MS = 30_000;
+    private static final long STREAM_GRACE_MS = 5_000;
+
     private final RecommendationService recommendationService;
+    private final SearchStageMetrics searchStageMetrics;
+    // 스트리밍 검색을 요청 스레드 밖에서 돌리는 가상 스레드 executor
+    private final AsyncTaskExecutor searchExecutor;
 
+    // 단계별 소요 시간을 Server-Timing 응답 헤더로 노출 (브라우저 개발자 도구에서 확인 가능)
+    @Value("${recommend.server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
 
     @GetMapping("/search-explain")
     public ApiResponse<List<MemeRecommendationResponse>> searchExplain(
         @RequestParam String query,
         @RequestParam(required = false) Long userId,
-        @RequestParam(defaultValue = "3") int limit
+        @RequestParam(defaultValue = "3") int limit,
+        @RequestParam(required = false) Long deadlineMs,
+        HttpServletResponse response
     ) {
-        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons(query, userId, limit);
+        SearchStageMetrics.Trace trace = startTrace(deadlineMs);
+        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons(query, userId, limit, trace);
+        if (serverTimingEnabled) {
+            response.setHeader("Server-Timing", trace.serverTiming());
+        }
+        // 예산 부족이나 실패로 건너뛰거나 끊은 단계 (예: "rewrite,rag")
+        List<String> degraded = trace.degradedStages();
+        if (!degraded.isEmpty()) {
+            response.setHeader(DEGRADED_HEADER, String.join(",", degraded));
+        }
         return ApiResponse.success(out);
     }
+
+    /**
+     * search-explain의 SSE 버전 (Accept: text/event-stream). 느린 단계를 기다리지 않고 나오는 대로 이벤트를 보냅니다.
+     * - candidates: 키워드 검색 후보 (휴리스틱 이유)
+     * - reranked: 결합·재정렬을 마친 최종 순서 (휴리스틱 이유)
+     * - reason: 1위 밈의 RAG 생성 이유 (생성되면)
+     * - done: 건너뛰거나 끊은 단계와 전체 소요 시간
+     */
+    @GetMapping(value = "/search-explain", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter searchExplainStream(
+        @RequestParam String query,
+        @RequestParam(required = false) Long userId,
+        @RequestParam(defaultValue = "3") int limit,
+        @RequestParam(required = false) Long deadlineMs
+    ) {
+        SearchStageMetrics.Trace trace = startTrace(deadlineMs);
+        SseEmitter emitter = new SseEmitter(MAX_DEADLINE_MS + STREAM_GRACE_MS);
+        SseProgress progress = new SseProgress(emitter);
+        searchExecutor.execute(() -> {
+            try {
+                recommendationService.searchWithReasons(query, userId, limit, trace, progress);
+                progress.send("done", new RecommendationStreamDone(trace.degradedStages(), trace.elapsedMillis()));
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("Streaming search failed for query '{}'", query, e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    // deadlineMs로 이 요청의 시간 예산을 덮어쓸 수 있음 (없으면 recommend.deadline-ms)
+    private SearchStageMetrics.Trace startTrace(Long deadlineMs) {
+        return deadlineMs == null
+            ? searchStageMetrics.start()
+            : searchStageMetrics.start(Math.clamp(deadlineMs, MIN_DEADLINE_MS, MAX_DEADLINE_MS));
+    }
+
+    /**
+     * 검색 중간 결과를 SSE 이벤트로 보냅니다. 클라이언트가 끊으면 이후 이벤트는 버리고 검색은 끝까지 진행합니다.
+     */
+    private static final class SseProgress implements SearchProgressListener {
+
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+
+        private SseProgress(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onCandidates(List<MemeRecommendationResponse> candidates) {
+            send("candidates", candidates);
+        }
+
+        @Override
+        public void onReranked(List<MemeRecommendationResponse> ranked) {
+            send("reranked", ranked);
+        }
+
+        @Override
+        public void onReason(long memeId, String reason) {
+            send("reason", new RecommendationReasonEvent(memeId, reason));
+        }
+
+        void send(String name, Object data) {
+            if (closed) return;
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                log.debug("SSE client went away before '{}' event: {}", name, e.toString());
+            }
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package spring.memewikibe.api.controller.recommendation.response;
+
+/**
+ * 스트리밍 응답의 reason 이벤트: 1위 밈에 대한 RAG 생성 이유
+ */
+public record RecommendationReasonEvent(
+    long id,
+    String reason
+) {}
@@ -0,0 +1,14 @@
+package spring.memewikibe.api.controller.recommendation.response;
+
+import java.util.List;
+
+/**
+ * 스트리밍 응답의 마지막 done 이벤트
+ *
+ * @param degradedStages 예산 부족이나 실패로 건너뛰거나 끊은 단계
+ * @param totalMs        검색 전체 소요 시간
+ */
+public record RecommendationStreamDone(
+    List<String> degradedStages,
+    long totalMs
+) {}
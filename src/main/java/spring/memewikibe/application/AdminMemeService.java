@@ -0,0 +1,101 @@
+package spring.memewikibe.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.memewikibe.api.controller.meme.request.MemeUpdateRequest;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.meme.MemeCategory;
+import spring.memewikibe.infrastructure.CategoryRepository;
+import spring.memewikibe.infrastructure.MemeCategoryRepository;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.support.error.ErrorType;
+import spring.memewikibe.support.error.MemeWikiApplicationException;
+
+import java.util.List;
+
+/**
+ * 어드민의 밈 수정·승인·반려·삭제.
+ * 밈 변경과 벡터 인덱스 outbox 적재를 한 트랜잭션에서 처리하므로, 어느 쪽이 실패해도 함께 롤백됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AdminMemeService {
+
+    private final MemeRepository memeRepository;
+    private final CategoryRepository categoryRepository;
+    private final MemeCategoryRepository memeCategoryRepository;
+    private final VectorIndexOutboxService vectorIndexOutboxService;
+
+    /**
+     * 내용과 카테고리를 수정합니다. 이미지 업로드는 호출하는 쪽에서 마치고 최종 URL을 넘깁니다.
+     */
+    public void updateMeme(Long id, MemeUpdateRequest request) {
+        Meme meme = getMeme(id);
+        update(meme, request);
+        vectorIndexOutboxService.enqueueUpsert(id);
+    }
+
+    /**
+     * 수정과 동시에 승인(ABNORMAL → NORMAL)합니다.
+     */
+    public void updateAndApproveMeme(Long id, MemeUpdateRequest request) {
+        Meme meme = getMeme(id);
+        update(meme, request);
+        meme.approve();
+        vectorIndexOutboxService.enqueueUpsert(id);
+    }
+
+    public void approveMeme(Long id) {
+        getMeme(id).approve();
+        vectorIndexOutboxService.enqueueUpsert(id);
+    }
+
+    public void rejectMeme(Long id) {
+        getMeme(id).reject();
+        // 반려된 밈은 워커가 NORMAL이 아님을 확인하고 인덱스에서 제거
+        vectorIndexOutboxService.enqueueUpsert(id);
+    }
+
+    /**
+     * @return 밈이 없어 아무것도 하지 않았으면 false
+     */
+    public boolean deleteMeme(Long id) {
+        if (!memeRepository.existsById(id)) return false;
+        memeRepository.deleteById(id);
+        vectorIndexOutboxService.enqueueDelete(List.of(id));
+        return true;
+    }
+
+    public void deleteMemes(List<Long> ids) {
+        memeRepository.deleteByIdIn(ids);
+        vectorIndexOutboxService.enqueueDelete(ids);
+    }
+
+    private Meme getMeme(Long id) {
+        return memeRepository.findById(id)
+            .orElseThrow(() -> new MemeWikiApplicationException(ErrorType.MEME_NOT_FOUND));
+    }
+
+    private void update(Meme meme, MemeUpdateRequest request) {
+        meme.updateMeme(
+            request.getTitle(),
+            request.getOrigin(),
+            request.getUsageContext(),
+            request.getTrendPeriod(),
+            request.getImgUrl(),
+            request.getHashtags()
+        );
+        // 기존 카테고리를 지우고 새 카테고리 연결
+        memeCategoryRepository.deleteByMemeId(meme.getId());
+        List<Long> categoryIds = request.getCategoryIds();
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            categoryRepository.findAllById(categoryIds)
+                .forEach(category -> memeCategoryRepository.save(MemeCategory.create(meme, category)));
+        }
+        log.info("밈 수정 완료: {}", meme.getId());
+    }
+}
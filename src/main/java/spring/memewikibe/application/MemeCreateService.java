@@ -4,8 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import spring.memewikibe.api.controller.meme.request.MemeCreateRequest;
 import spring.memewikibe.common.util.HashtagParser;
@@ -14,7 +12,6 @@ import spring.memewikibe.domain.meme.MemeCategory;
 import spring.memewikibe.infrastructure.CategoryRepository;
 import spring.memewikibe.infrastructure.MemeCategoryRepository;
 import spring.memewikibe.infrastructure.MemeRepository;
-import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
 
 import java.util.Optional;
 
@@ -28,7 +25,7 @@ public class MemeCreateService {
     private final CategoryRepository categoryRepository;
     private final MemeCategoryRepository memeCategoryRepository;
     private final ImageUploadService imageUploadService;
-    private final MemeVectorIndexService vectorIndexService;
+    private final VectorIndexOutboxService vectorIndexOutboxService;
 
     public long createMeme(MemeCreateRequest request, MultipartFile imageFile) {
         String imageUrl = imageUploadService.uploadImage(imageFile);
@@ -57,22 +54,8 @@ public class MemeCreateService {
             .ifPresent(memeCategoryRepository::saveAll);
 
         log.info("밈 생성 완료: {}", savedMeme.getId());
-        registerPostCommitIndexing(savedMeme);
+        // 같은 트랜잭션에서 outbox에 적재하고, 실제 벡터 반영은 워커가 비동기로 처리
+        vectorIndexOutboxService.enqueueUpsert(savedMeme.getId());
         return savedMeme.getId();
     }
-
-    private void registerPostCommitIndexing(Meme meme) {
-        TransactionSynchronizationManager.registerSynchronization(
-            new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    try {
-                        vectorIndexService.index(meme);
-                    } catch (Exception e) {
-                        log.warn("[afterCommit] Failed to index meme {} to Pinecone: {}", meme.getId(), e.getMessage());
-                    }
-                }
-            }
-        );
-    }
-} 
\ No newline at end of file
+}
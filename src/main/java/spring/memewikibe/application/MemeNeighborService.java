@@ -0,0 +1,188 @@
+package spring.memewikibe.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.memewikibe.api.controller.meme.response.MemeSimpleResponse;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.MemeNeighbor;
+import spring.memewikibe.infrastructure.MemeNeighborRepository;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 밈 상세의 "비슷한 밈" 목록을 미리 계산해 meme_neighbor 테이블에 저장하고 제공합니다.
+ * <p>
+ * - 조회는 (memeId, neighborRank) 인덱스 한 번으로 끝나며, 요청 시점에 임베딩이나 벡터 검색을 하지 않습니다.
+ * - 밈이 새로 색인되면 그 밈의 목록을 다시 계산하고, 코사인 유사도는 대칭이므로 이웃들의 목록에도
+ *   기존 꼴찌보다 가까울 때 끼워 넣습니다. 전체 재계산은 관리자 요청이나 cron으로만 실행합니다.
+ * - 밈이 인덱스에서 빠지면 그 밈의 목록과 다른 목록 속 항목을 함께 지웁니다. 빈 자리는 다음 재계산에서 채워집니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemeNeighborService {
+
+    private final MemeNeighborRepository neighborRepository;
+    private final MemeRepository memeRepository;
+    private final MemeVectorIndexService vectorIndexService;
+    private final TransactionTemplate transactionTemplate;
+
+    // 밈 하나당 저장하는 이웃 수
+    @Value("${vector.neighbors.size:20}")
+    private int neighborCount;
+
+    @Value("${vector.neighbors.batch-size:50}")
+    private int batchSize;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 미리 계산된 유사 밈을 순위대로 최대 limit개 반환합니다. 계산 전이거나 없는 밈이면 빈 목록입니다.
+     */
+    @Transactional(readOnly = true)
+    public List<MemeSimpleResponse> getSimilarMemes(Long memeId, int limit) {
+        return neighborRepository.findNormalNeighbors(memeId, Limit.of(Math.clamp(limit, 1, neighborCount))).stream()
+            .map(meme -> new MemeSimpleResponse(meme.getId(), meme.getTitle(), meme.getImgUrl()))
+            .toList();
+    }
+
+    /**
+     * 색인된 밈들의 이웃 목록을 다시 계산하고, 이웃들의 목록에도 반영합니다.
+     */
+    @Transactional
+    public void refresh(List<Meme> memes) throws IOException {
+        List<Meme> normal = memes.stream().filter(m -> m.getFlag() == Meme.Flag.NORMAL).toList();
+        if (normal.isEmpty()) return;
+        Map<Long, ScoredIds> neighbors = vectorIndexService.nearestNeighbors(normal, neighborCount);
+        replace(neighbors);
+        propagate(neighbors);
+    }
+
+    /**
+     * 인덱스에서 빠진 밈들의 목록과, 다른 밈 목록 속 해당 항목을 삭제합니다.
+     */
+    @Transactional
+    public void remove(Collection<Long> memeIds) {
+        if (memeIds.isEmpty()) return;
+        neighborRepository.deleteByMemeIdIn(memeIds);
+        neighborRepository.deleteByNeighborIdIn(memeIds);
+    }
+
+    /**
+     * 전체 재계산을 가상 스레드에서 시작합니다.
+     *
+     * @return 이미 진행 중이면 false
+     */
+    public boolean startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return false;
+        Thread.ofVirtual().name("meme-neighbor-rebuild").start(() -> {
+            try {
+                rebuildAll();
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    @Scheduled(cron = "${vector.neighbors.rebuild-cron:-}")
+    public void rebuildScheduled() {
+        if (!startRebuild()) log.info("Meme neighbor rebuild already running; skipping scheduled run");
+    }
+
+    /**
+     * NORMAL 밈 전체를 id 순 keyset 페이지로 돌며 목록을 다시 계산합니다. 모든 밈을 다시 계산하므로 이웃 전파는 하지 않으며,
+     * 페이지마다 삭제와 저장을 한 트랜잭션으로 커밋하므로 실패해도 앞선 페이지의 결과는 남고, 실패한 페이지의 목록은 비지 않습니다.
+     * 이웃 계산은 트랜잭션 밖에서 하여 커넥션을 오래 잡지 않습니다.
+     *
+     * @return 다시 계산한 밈 수
+     */
+    public long rebuildAll() {
+        long startNanos = System.nanoTime();
+        long rebuilt = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                List<Meme> page = memeRepository.findByFlagAndIdGreaterThanOrderByIdAsc(Meme.Flag.NORMAL, afterId, Limit.of(batchSize));
+                if (page.isEmpty()) break;
+                afterId = page.getLast().getId();
+                Map<Long, ScoredIds> neighbors = vectorIndexService.nearestNeighbors(page, neighborCount);
+                transactionTemplate.executeWithoutResult(status -> replace(neighbors));
+                rebuilt += page.size();
+            }
+        } catch (Exception e) {
+            log.error("Meme neighbor rebuild stopped after {} memes (last meme id {})", rebuilt, afterId, e);
+            return rebuilt;
+        }
+        log.info("Meme neighbor rebuild done: {} memes in {}ms", rebuilt, (System.nanoTime() - startNanos) / 1_000_000L);
+        return rebuilt;
+    }
+
+    private void replace(Map<Long, ScoredIds> neighbors) {
+        if (neighbors.isEmpty()) return;
+        neighborRepository.deleteByMemeIdIn(neighbors.keySet());
+        List<MemeNeighbor> rows = new ArrayList<>();
+        neighbors.forEach((memeId, hits) -> {
+            for (int rank = 0; rank < hits.size(); rank++) {
+                rows.add(MemeNeighbor.of(memeId, hits.id(rank), rank, (float) hits.score(rank)));
+            }
+        });
+        neighborRepository.saveAll(rows);
+    }
+
+    /**
+     * 새로 계산된 밈을 이웃들의 목록에 끼워 넣습니다. 목록이 가득 찼다면 기존 꼴찌보다 가까울 때만 들어가고 꼴찌가 밀려납니다.
+     */
+    private void propagate(Map<Long, ScoredIds> neighbors) {
+        Map<Long, List<Candidate>> incoming = new HashMap<>();
+        neighbors.forEach((memeId, hits) -> {
+            for (int i = 0; i < hits.size(); i++) {
+                // 함께 갱신된 밈끼리는 위에서 이미 서로를 반영함
+                if (neighbors.containsKey(hits.id(i))) continue;
+                incoming.computeIfAbsent(hits.id(i), k -> new ArrayList<>()).add(new Candidate(memeId, (float) hits.score(i)));
+            }
+        });
+        if (incoming.isEmpty()) return;
+
+        Map<Long, List<Candidate>> lists = new HashMap<>();
+        for (MemeNeighbor row : neighborRepository.findByMemeIdIn(incoming.keySet())) {
+            lists.computeIfAbsent(row.getMemeId(), k -> new ArrayList<>()).add(new Candidate(row.getNeighborId(), row.getScore()));
+        }
+        Map<Long, ScoredIds> changed = new HashMap<>();
+        incoming.forEach((memeId, candidates) -> {
+            List<Candidate> list = lists.getOrDefault(memeId, new ArrayList<>());
+            boolean modified = false;
+            for (Candidate candidate : candidates) {
+                modified |= list.removeIf(c -> c.id() == candidate.id());
+                if (list.size() < neighborCount || candidate.score() > list.stream().map(Candidate::score).min(Float::compare).orElseThrow()) {
+                    list.add(candidate);
+                    modified = true;
+                }
+            }
+            if (!modified) return;
+            list.sort(Comparator.comparingDouble(Candidate::score).reversed().thenComparingLong(Candidate::id));
+            ScoredIds merged = new ScoredIds(neighborCount);
+            for (int i = 0; i < Math.min(neighborCount, list.size()); i++) merged.add(list.get(i).id(), list.get(i).score());
+            changed.put(memeId, merged);
+        });
+        replace(changed);
+    }
+
+    private record Candidate(long id, float score) {}
+}
@@ -0,0 +1,78 @@
+package spring.memewikibe.application;
+
+import java.util.Arrays;
+
+/**
+ * MMR(Maximal Marginal Relevance) 다양화. 문서 간 유사도는 토큰 집합의 Jaccard 계수입니다.
+ * <p>
+ * 문서마다 토큰을 int id로 바꾼 정렬된 {@code int[]}를 받아({@code MemeTextFeatures#terms()}),
+ * 방금 뽑힌 문서의 토큰만 비트셋에 켜 둔 뒤 남은 후보의 토큰을 비트 조회해 교집합 크기를 셉니다.
+ * 후보별 최대 유사도는 선택이 일어날 때마다 새로 뽑힌 문서와만 비교해 갱신하므로
+ * 매 라운드 선택된 전체 집합과 다시 비교하지 않고, 쌍마다 집합을 새로 만들지도 않습니다.
+ */
+final class MmrDiversifier {
+
+    private MmrDiversifier() {
+    }
+
+    /**
+     * @param relevance      후보 관련도. 이미 내림차순으로 정렬돼 있어야 하며 0번이 항상 먼저 뽑힙니다.
+     * @param terms          후보별 토큰 id (정렬·중복 제거된 상태)
+     * @param vocabularySize 토큰 id의 상한(배타)
+     * @param lambda         관련도 가중치. 1이면 관련도 순서 그대로
+     * @param k              뽑을 개수
+     * @return 뽑힌 후보의 인덱스 (뽑힌 순서)
+     */
+    static int[] select(double[] relevance, int[][] terms, int vocabularySize, double lambda, int k) {
+        int n = relevance.length;
+        int limit = Math.min(k, n);
+        if (limit <= 0) return new int[0];
+
+        int[] selected = new int[limit];
+        boolean[] taken = new boolean[n];
+        double[] maxSimilarity = new double[n];
+        long[] lastBits = new long[(vocabularySize + 63) >>> 6];
+
+        int count = 0;
+        int last = 0;
+        selected[count++] = last;
+        taken[last] = true;
+
+        while (count < limit) {
+            int[] lastTerms = terms[last];
+            for (int t : lastTerms) lastBits[t >>> 6] |= 1L << t;
+
+            int best = -1;
+            double bestScore = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (taken[i]) continue;
+                double similarity = jaccard(lastTerms, lastBits, terms[i]);
+                if (similarity > maxSimilarity[i]) maxSimilarity[i] = similarity;
+                double score = lambda * relevance[i] - (1 - lambda) * maxSimilarity[i];
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+
+            for (int t : lastTerms) lastBits[t >>> 6] = 0L;
+            if (best < 0) break;
+            selected[count++] = best;
+            taken[best] = true;
+            last = best;
+        }
+        return count == limit ? selected : Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * |A∩B| / |A∪B|. a의 토큰은 aBits에 켜져 있어야 합니다. 어느 한쪽이 비면 0입니다.
+     */
+    static double jaccard(int[] a, long[] aBits, int[] b) {
+        if (a.length == 0 || b.length == 0) return 0.0;
+        int intersection = 0;
+        for (int t : b) {
+            if ((aBits[t >>> 6] & (1L << t)) != 0) intersection++;
+        }
+        return (double) intersection / (a.length + b.length - intersection);
+    }
+}
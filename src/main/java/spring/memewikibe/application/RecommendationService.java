@@ -3,13 +3,15 @@ package spring.memewikibe.application;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
-import spring.memewikibe.common.util.HashtagParser;
 import spring.memewikibe.common.util.TextNormalizer;
 import spring.memewikibe.domain.meme.Meme;
 import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.ai.MemeTextFeatureCache;
+import spring.memewikibe.infrastructure.ai.MemeTextFeatures;
 import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
 import spring.memewikibe.infrastructure.ai.NaverRagService;
 import spring.memewikibe.infrastructure.ai.QueryRewriter;
@@ -17,8 +19,11 @@ import spring.memewikibe.infrastructure.ai.CrossEncoderReranker;
 
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.springframework.data.domain.Limit.*;
@@ -32,15 +37,14 @@ public class RecommendationService {
     private final MemeRepository memeRepository;
     private final NaverRagService naverRagService;
     private final SafeFullTextSearchExecutor safeFts;
-
-    private static final Pattern TOKEN_SPLIT = Pattern.compile("[\\s\\p{Punct}]+");
-
-    private static final Set<String> STOP_WORDS = Set.of(
-        "은", "는", "이", "가", "을", "를", "의", "에", "에서", "에게", "께",
-        "으로", "로", "과", "와", "도", "만", "까지", "부터", "하다", "되다",
-        "이다", "있다", "없다", "싶다", "지", "요", "고", "다", "음", "면",
-        "것", "수", "등", "대한"
-    );
+    private final VectorIndexReconciler vectorIndexReconciler;
+    private final SearchStageMetrics searchStageMetrics;
+    // 벡터/키워드 단계를 동시에 돌리는 가상 스레드 executor
+    private final AsyncTaskExecutor searchExecutor;
+    // 후보마다 소문자화·해시태그 파싱·토큰화를 매번 하지 않도록 밈 수정 단위로 캐시
+    private final MemeTextFeatureCache memeTextFeatureCache;
+    // 표현만 조금 다른 반복 쿼리는 전체 파이프라인 대신 가까운 이전 결과를 재사용
+    private final SemanticQueryCache semanticQueryCache;
 
     @Value("${recommend.alpha:0.6}")
     private double alpha;
@@ -64,38 +68,98 @@ public class RecommendationService {
     private int crossTopM;
     @Value("${recommend.eval.log.enabled:true}")
     private boolean evalLogEnabled;
+    // 키워드 확장을 기다리는 최대 시간. 넘기면 원본 쿼리로 키워드 검색
+    @Value("${recommend.timeout.expand-ms:1500}")
+    private long expandTimeoutMs;
+    // 재작성 + 벡터 검색 전체의 최대 시간. 넘기면 키워드 후보만 사용
+    @Value("${recommend.timeout.vector-ms:3000}")
+    private long vectorTimeoutMs;
+    // 의미 캐시 조회 전에 쿼리 임베딩을 기다리는 최대 시간. 넘기면 캐시를 건너뛰고 검색
+    @Value("${recommend.semantic-cache.embed-wait-ms:300}")
+    private long semanticCacheWaitMs;
 
     private final Optional<QueryRewriter> queryRewriter;
     private final Optional<CrossEncoderReranker> crossEncoder;
 
     @Transactional(readOnly = true)
     public List<MemeRecommendationResponse> searchWithReasons(String query, Long userId, int limit) {
-        long t0 = System.nanoTime();
+        return searchWithReasons(query, userId, limit, searchStageMetrics.start());
+    }
+
+    /**
+     * 단계별 소요 시간과 후보 수를 trace에 기록하며 검색합니다. 호출한 쪽은 trace로 Server-Timing 헤더를 만들 수 있습니다.
+     */
+    @Transactional(readOnly = true)
+    public List<MemeRecommendationResponse> searchWithReasons(String query, Long userId, int limit, SearchStageMetrics.Trace trace) {
+        return searchWithReasons(query, userId, limit, trace, SearchProgressListener.NONE);
+    }
+
+    /**
+     * 중간 결과(키워드 후보 → 최종 순서 → 1위 RAG 이유)를 listener로 먼저 흘려보내며 검색합니다. 반환값은 최종 결과입니다.
+     * 의미 캐시에 적중하면 파이프라인을 건너뛰고 listener에는 최종 순서만 전달합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<MemeRecommendationResponse> searchWithReasons(String query, Long userId, int limit,
+                                                              SearchStageMetrics.Trace trace, SearchProgressListener listener) {
+        try {
+            // 임베딩은 벡터 쪽 embedQuery와 같은 정규화 키로 한 번만 계산되므로(재작성이 원문을 그대로 두면) 기다려도 추가 호출이 없음.
+            // embed-wait-ms를 넘기면 캐시 없이 검색하고, 그 사이 끝난 임베딩은 결과 저장에 씀
+            Future<float[]> queryEmbedding = searchExecutor.submit(() -> semanticQueryCache.embed(query));
+            float[] embedding = awaitEmbedding(queryEmbedding, trace);
+            List<MemeRecommendationResponse> cached = semanticQueryCache.get(embedding, userId, limit);
+            trace.mark("semantic_cache");
+            if (cached != null) {
+                listener.onReranked(cached);
+                return cached;
+            }
+            List<MemeRecommendationResponse> out = search(query, userId, limit, trace, listener);
+            // 단계를 건너뛰거나 끊은 결과는 다음 요청이 온전한 결과를 받도록 저장하지 않음
+            if (trace.degradedStages().isEmpty()) {
+                semanticQueryCache.put(embedding != null ? embedding : resultIfDone(queryEmbedding), userId, limit, out);
+            }
+            return out;
+        } finally {
+            trace.finish();
+        }
+    }
+
+    private List<MemeRecommendationResponse> search(String query, Long userId, int limit, SearchStageMetrics.Trace trace,
+                                                    SearchProgressListener listener) {
         String userContext = (userId == null) ? "" : ("user:" + userId);
 
         String qIn = query == null ? "" : query;
         if (qIn.isBlank()) return List.of();
+        int outLimit = Math.max(1, Math.min(50, limit));
+
+        // 단계 그래프: [재작성 → 벡터 검색] ‖ [키워드 확장 → FTS/OR 검색] → 벡터 후보 조회 → 결합 이후 단계
+        // 벡터 쪽은 키워드 확장 결과가 필요 없으므로 가상 스레드에서 키워드 쪽과 동시에 진행.
+        // 가상 스레드는 이 트랜잭션·영속성 컨텍스트 밖이므로 id만 돌려받고, 엔티티 조회는 호출 스레드에서 함
+        long retrievalStart = System.nanoTime();
+        int useVecTopK = Math.max(50, Math.min(400, vecTopK));
+        Future<VectorBranch> vectorBranch = searchExecutor.submit(() -> vectorBranch(userContext, qIn, useVecTopK, trace));
 
-        // [핵심 변경] Stage 0: 쿼리 이해 및 확장 단계
-        String vectorQuery = qIn; // 벡터 검색은 원본 또는 재작성된 문장형 쿼리 사용
-        String keywordQuery = qIn; // 키워드 검색은 확장된 키워드 쿼리 사용
+        // 키워드 검색은 확장된 키워드 쿼리 사용. 예: "회사그만둬야지" -> "퇴사 사직 회사"
+        String keywordQuery = qIn;
         if (rewriteEnabled && queryRewriter.isPresent()) {
-            vectorQuery = queryRewriter.get().rewrite(userContext, qIn);
-            keywordQuery = queryRewriter.get().expandForKeywords(qIn); // 예: "회사그만둬야지" -> "퇴사 사직 회사"
+            if (trace.canAfford("expand")) {
+                long expandStart = System.nanoTime();
+                keywordQuery = awaitOptional(searchExecutor.submit(() -> queryRewriter.get().expandForKeywords(qIn)),
+                    "expand", Math.min(expandTimeoutMs, trace.remainingMillis()), qIn, trace);
+                trace.record("expand", expandStart);
+            } else {
+                trace.degrade("expand");
+            }
         }
 
-        String normVectorQuery = TextNormalizer.normalize(vectorQuery);
         String normKeywordQuery = TextNormalizer.normalize(keywordQuery);
         List<String> keywordTokens = tokenize(normKeywordQuery);
-        if (keywordTokens.isEmpty()) return List.of();
-
-        long tRewrite = System.nanoTime();
-
-        // 1) Vector candidates - 의미적 유사도 기반
-        int useVecTopK = Math.max(50, Math.min(400, vecTopK));
-        List<Long> vecIds = vectorIndexService.query(normVectorQuery, useVecTopK);
+        if (keywordTokens.isEmpty()) {
+            vectorBranch.cancel(true);
+            return List.of();
+        }
 
-        // 2) Keyword candidates - 확장된 키워드 기반
+        // Keyword candidates - 확장된 키워드 기반
+        long keywordStart = System.nanoTime();
         int useKwTopK = Math.max(50, Math.min(400, kwTopK));
 
         // Full-Text Search를 먼저 시도하고, 실패 시 새로운 OR 검색 메소드를 호출
@@ -110,23 +174,28 @@ public class RecommendationService {
                 kwCandidates = memeRepository.findByTitleOrHashtagsContainingOrderByIdDesc(normKeywordQuery, of(useKwTopK));
             }
         }
+        trace.record("keyword", keywordStart);
+        trace.count("keyword", kwCandidates.size());
+        // 키워드 후보는 벡터 쪽을 기다리지 않고 먼저 내보냄
+        if (listener != SearchProgressListener.NONE && !kwCandidates.isEmpty()) {
+            List<Scored> early = kwCandidates.stream().limit(outLimit)
+                .map(m -> new Scored(m, 0, scoreAndExplain(normKeywordQuery, keywordTokens, m, Integer.MAX_VALUE).reason))
+                .toList();
+            listener.onCandidates(toResponses(early));
+        }
+
+        // 벡터 쪽은 시작 시점부터 vector-ms(와 요청 마감) 안에 끝나야 하며, 넘기면 취소하고 키워드 후보만으로 진행
+        long vectorWaitMs = vectorTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - retrievalStart);
+        VectorBranch vector = awaitOptional(vectorBranch, "vector", Math.max(0, Math.min(vectorWaitMs, trace.remainingMillis())),
+            VectorBranch.empty(qIn), trace);
+        trace.mark("retrieval");
 
+        String vectorQuery = vector.vectorQuery();
+        List<Long> vecIds = vector.ids();
         Map<Long, Integer> vecRank = new HashMap<>();
         for (int i = 0; i < vecIds.size(); i++) vecRank.put(vecIds.get(i), i);
         Map<Long, Meme> kwById = kwCandidates.stream().collect(Collectors.toMap(Meme::getId, Function.identity(), (a, b) -> a));
-
-        if (!vecIds.isEmpty()) {
-            Set<Long> missing = new LinkedHashSet<>(vecIds);
-            missing.removeAll(kwById.keySet());
-            if (!missing.isEmpty()) {
-                List<Meme> fetched = memeRepository.findAllById(missing);
-                for (Meme m : fetched) {
-                    if (m != null && m.getFlag() == Meme.Flag.NORMAL) {
-                        kwById.put(m.getId(), m);
-                    }
-                }
-            }
-        }
+        fetchVectorCandidates(vecIds, trace).forEach(kwById::putIfAbsent);
 
         // 3) Score + blend - 점수 계산 시 확장된 키워드 사용
         Map<Long, Double> vecScore = new HashMap<>();
@@ -159,11 +228,19 @@ public class RecommendationService {
             blended.add(new Scored(m, combined, sr.reason));
         }
 
+        trace.mark("blend");
+        trace.count("blend", blended.size());
+
         // 4) MMR diversification
         List<Scored> mmred = mmr(blended, keywordTokens, Math.min(rerankerTopN, blended.size()));
+        trace.mark("mmr");
+        trace.count("mmr", mmred.size());
 
+        // 선택 단계(CrossEncoder, RAG)는 남은 예산이 최근 p95를 감당하지 못하면 건너뛰고, 실행 중 마감을 넘기면 끊음
         List<Scored> afterCE = mmred;
-        if (crossEnabled && crossEncoder.isPresent() && !mmred.isEmpty()) {
+        if (crossEnabled && crossEncoder.isPresent() && !mmred.isEmpty() && !trace.canAfford("cross_encoder")) {
+            trace.degrade("cross_encoder");
+        } else if (crossEnabled && crossEncoder.isPresent() && !mmred.isEmpty()) {
             log.info("Applying CrossEncoder reranking to top {} candidates.", Math.min(crossTopM, mmred.size()));
             int m = Math.min(Math.max(5, crossTopM), mmred.size());
             List<Scored> head = new ArrayList<>(mmred.subList(0, m));
@@ -175,8 +252,9 @@ public class RecommendationService {
                 ))
                 .toList();
 
-            // CrossEncoder 호출
-            List<Long> ceOrder = crossEncoder.get().rerank(vectorQuery, ceCands); // 쿼리는 문장형 원본 사용
+            // CrossEncoder 호출 (쿼리는 문장형 원본 사용). 끊기면 빈 순서가 와서 MMR 순서를 유지
+            List<Long> ceOrder = awaitOptional(searchExecutor.submit(() -> crossEncoder.get().rerank(vectorQuery, ceCands)),
+                "cross_encoder", trace.remainingMillis(), List.of(), trace);
 
             // 반환된 순서(ceOrder)에 따라 head 리스트를 재정렬
             Map<Long, Integer> rank = new HashMap<>();
@@ -186,54 +264,156 @@ public class RecommendationService {
             // 재정렬된 head와 원래 tail을 합쳐 최종 리스트 생성
             afterCE = new ArrayList<>(head);
             afterCE.addAll(mmred.subList(m, mmred.size()));
+            trace.mark("cross_encoder");
         }
 
-        List<Scored> finalList = rerankerEnabled ? heuristicRerank(normKeywordQuery, afterCE) : afterCE;
+        List<Scored> finalList = afterCE;
+        if (rerankerEnabled) {
+            finalList = heuristicRerank(normKeywordQuery, afterCE);
+            trace.mark("rerank");
+        }
 
-        // 6) Final RAG-based Reason Generation for top result
-        int outLimit = Math.max(1, Math.min(50, limit));
         if (finalList.isEmpty()) {
             return List.of();
         }
+        List<MemeRecommendationResponse> responses = toResponses(finalList.stream().limit(outLimit).toList());
+        listener.onReranked(List.copyOf(responses));
 
+        // 6) Final RAG-based Reason Generation for top result
         Scored topCandidate = finalList.get(0);
         List<NaverRagService.Candidate> singleCandidateList = List.of(
             new NaverRagService.Candidate(topCandidate.meme.getId(), topCandidate.meme.getTitle(), topCandidate.meme.getUsageContext(), topCandidate.meme.getHashtags())
         );
 
-        String topReasonFromRag;
-        try {
-            // RAG에는 의미 파악을 위해 문장형 쿼리(vectorQuery)를 전달
-            NaverRagService.RagResult rag = naverRagService.recommendWithContextDetailed(userContext, vectorQuery, singleCandidateList);
-            topReasonFromRag = rag.reason();
-        } catch (Exception e) {
-            log.warn("NaverRAGService call for reason generation failed. Falling back.", e);
-            topReasonFromRag = topCandidate.reason;
+        String topReasonFromRag = topCandidate.reason;
+        if (trace.canAfford("rag")) {
+            // RAG에는 의미 파악을 위해 문장형 쿼리(vectorQuery)를 전달. 실패하거나 끊기면 휴리스틱 이유를 사용
+            NaverRagService.RagResult rag = awaitOptional(
+                searchExecutor.submit(() -> naverRagService.recommendWithContextDetailed(userContext, vectorQuery, singleCandidateList)),
+                "rag", trace.remainingMillis(), null, trace);
+            if (rag != null) topReasonFromRag = rag.reason();
+            trace.mark("rag");
+        } else {
+            trace.degrade("rag");
         }
 
-        List<Scored> limited = finalList.stream().limit(outLimit).toList();
-        List<MemeRecommendationResponse> responses = new ArrayList<>(limited.size());
-        for (int i = 0; i < limited.size(); i++) {
-            Scored s = limited.get(i);
-            String reasonOut = (i == 0 && topReasonFromRag != null && !topReasonFromRag.isBlank()) ? topReasonFromRag : s.reason;
-            responses.add(new MemeRecommendationResponse(s.meme.getId(), s.meme.getTitle(), s.meme.getImgUrl(), reasonOut));
+        if (topReasonFromRag != null && !topReasonFromRag.isBlank() && !topReasonFromRag.equals(topCandidate.reason)) {
+            MemeRecommendationResponse top = responses.getFirst();
+            responses.set(0, new MemeRecommendationResponse(top.id(), top.title(), top.imgUrl(), topReasonFromRag));
+            listener.onReason(top.id(), topReasonFromRag);
         }
 
-        long tEnd = System.nanoTime();
         if (evalLogEnabled) {
-            log.info("[SearchEval] query='{}', expanded='{}', total={}ms", qIn, normKeywordQuery, msBetween(t0, tEnd));
+            log.info("[SearchEval] query='{}', expanded='{}', total={}ms, stages: {}, degraded: {}",
+                qIn, normKeywordQuery, trace.elapsedMillis(), trace.summary(), trace.degradedStages());
         }
         return responses;
     }
 
-    private static long msBetween(long tStart, long tEnd) { return (tEnd - tStart) / 1_000_000L; }
+    /**
+     * 쿼리 임베딩을 embed-wait-ms(와 요청 마감)까지 기다립니다. 넘기거나 실패하면 null이며, 작업은 취소하지 않습니다.
+     */
+    private float[] awaitEmbedding(Future<float[]> embedding, SearchStageMetrics.Trace trace) {
+        try {
+            return embedding.get(Math.max(0, Math.min(semanticCacheWaitMs, trace.remainingMillis())), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static <T> T resultIfDone(Future<T> future) {
+        return future.state() == Future.State.SUCCESS ? future.resultNow() : null;
+    }
+
+    private static List<MemeRecommendationResponse> toResponses(List<Scored> scored) {
+        List<MemeRecommendationResponse> out = new ArrayList<>(scored.size());
+        for (Scored s : scored) {
+            out.add(new MemeRecommendationResponse(s.meme.getId(), s.meme.getTitle(), s.meme.getImgUrl(), s.reason));
+        }
+        return out;
+    }
+
+    /**
+     * 문장형 재작성 → 벡터 검색. 키워드 쪽과 동시에 가상 스레드에서 실행되며, DB는 건드리지 않고 순위대로 id만 돌려줍니다.
+     */
+    private VectorBranch vectorBranch(String userContext, String qIn, int topK, SearchStageMetrics.Trace trace) {
+        // 벡터 검색은 원본 또는 재작성된 문장형 쿼리 사용
+        String vectorQuery = qIn;
+        if (rewriteEnabled && queryRewriter.isPresent()) {
+            if (trace.canAfford("rewrite")) {
+                long rewriteStart = System.nanoTime();
+                vectorQuery = queryRewriter.get().rewrite(userContext, qIn);
+                trace.record("rewrite", rewriteStart);
+            } else {
+                trace.degrade("rewrite");
+            }
+        }
+
+        // 취소(인터럽트)됐으면 남은 단계는 건너뜀
+        if (Thread.currentThread().isInterrupted()) return VectorBranch.empty(vectorQuery);
+        long vectorStart = System.nanoTime();
+        List<Long> ids = vectorIndexService.query(TextNormalizer.normalize(vectorQuery), topK);
+        trace.record("vector", vectorStart);
+        trace.count("vector", ids.size());
+        return new VectorBranch(vectorQuery, ids);
+    }
+
+    /**
+     * 벡터 후보 중 NORMAL 밈을 조회합니다. 호출 스레드의 트랜잭션 안에서 실행해야 합니다.
+     */
+    private Map<Long, Meme> fetchVectorCandidates(List<Long> ids, SearchStageMetrics.Trace trace) {
+        if (ids.isEmpty()) return Map.of();
+        long fetchStart = System.nanoTime();
+        Map<Long, Meme> memes = new HashMap<>();
+        Set<Long> stale = new LinkedHashSet<>(ids);
+        for (Meme m : memeRepository.findAllById(ids)) {
+            if (m != null && m.getFlag() == Meme.Flag.NORMAL) {
+                memes.put(m.getId(), m);
+                stale.remove(m.getId());
+            }
+        }
+        // 남은 id는 DB에 없거나 NORMAL이 아닌데 인덱스에 남아 topK를 차지한 것 -> 다음 정합성 점검에서 정리
+        vectorIndexReconciler.reportStale(stale);
+        trace.count("fetch", memes.size());
+        trace.record("fetch", fetchStart);
+        return memes;
+    }
+
+    /**
+     * 선택 단계의 결과를 timeoutMs까지 기다립니다. 시간을 넘기면 작업을 인터럽트로 취소하고, 실패하거나 취소되면
+     * 단계를 degraded로 기록한 뒤 fallback을 씁니다.
+     */
+    private <T> T awaitOptional(Future<T> future, String stage, long timeoutMs, T fallback, SearchStageMetrics.Trace trace) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("{} stage timed out after {}ms; cancelled and continuing without it", stage, timeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("{} stage failed; continuing without it", stage, e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        trace.degrade(stage);
+        return fallback;
+    }
+
+    private record VectorBranch(String vectorQuery, List<Long> ids) {
+        static VectorBranch empty(String vectorQuery) {
+            return new VectorBranch(vectorQuery, List.of());
+        }
+    }
 
     private double keywordMatchScore(String qLower, List<String> qTokens, Meme m) {
-        String usage = safeLower(m.getUsageContext());
-        String title = safeLower(m.getTitle());
-        String origin = safeLower(m.getOrigin());
-        List<String> tags = HashtagParser.parseHashtags(m.getHashtags()).stream()
-            .map(s -> s.replace("#", "").toLowerCase()).filter(s -> !s.isBlank()).toList();
+        MemeTextFeatures features = memeTextFeatureCache.get(m);
+        String usage = features.usage();
+        String title = features.title();
+        String origin = features.origin();
+        List<String> tags = features.tags();
 
         int qSize = Math.max(1, qTokens.size());
         int usageMatches = countContainsTokens(usage, qTokens);
@@ -258,50 +438,22 @@ public class RecommendationService {
         if (items.isEmpty() || k <= 0) return List.of();
         items.sort((a,b) -> Double.compare(b.score, a.score));
 
-        Map<Long, Set<String>> docTokens = new HashMap<>();
-        for (Scored s : items) {
-            docTokens.put(s.meme.getId(), new HashSet<>(tokenize(safeLower(s.meme.getTitle() + " " + s.meme.getUsageContext() + " " + s.meme.getHashtags()))));
+        double[] relevance = new double[items.size()];
+        int[][] terms = new int[items.size()][];
+        for (int i = 0; i < items.size(); i++) {
+            Scored s = items.get(i);
+            relevance[i] = s.score;
+            terms[i] = memeTextFeatureCache.get(s.meme).terms();
         }
+        // 모든 term id를 받은 뒤에 읽어야 상한이 맞음
+        int vocabularySize = memeTextFeatureCache.vocabularySize();
 
-        List<Scored> selected = new ArrayList<>();
-        List<Scored> candidates = new ArrayList<>(items);
-
-        if (!candidates.isEmpty()) {
-            selected.add(candidates.remove(0));
-        }
-
-        while (!candidates.isEmpty() && selected.size() < k) {
-            Scored bestNext = null;
-            double bestMmrScore = -Double.MAX_VALUE;
-
-            for (Scored cand : candidates) {
-                double relevance = cand.score;
-                double maxSimilarity = 0.0;
-                for (Scored sel : selected) {
-                    maxSimilarity = Math.max(maxSimilarity, jaccard(docTokens.get(cand.meme.getId()), docTokens.get(sel.meme.getId())));
-                }
-                double mmrScore = mmrLambda * relevance - (1 - mmrLambda) * maxSimilarity;
-                if (mmrScore > bestMmrScore) {
-                    bestMmrScore = mmrScore;
-                    bestNext = cand;
-                }
-            }
-            if (bestNext == null) break;
-            selected.add(bestNext);
-            candidates.remove(bestNext);
-        }
+        int[] picked = MmrDiversifier.select(relevance, terms, vocabularySize, mmrLambda, k);
+        List<Scored> selected = new ArrayList<>(picked.length);
+        for (int i : picked) selected.add(items.get(i));
         return selected;
     }
 
-    private static double jaccard(Set<String> a, Set<String> b) {
-        if (a == null || b == null || a.isEmpty() || b.isEmpty()) return 0.0;
-        Set<String> intersection = new HashSet<>(a);
-        intersection.retainAll(b);
-        Set<String> union = new HashSet<>(a);
-        union.addAll(b);
-        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
-    }
-
     private List<Scored> heuristicRerank(String normQuery, List<Scored> list) {
         return list.stream()
             .map(s -> {
@@ -322,10 +474,10 @@ public class RecommendationService {
     private record ScoreResult(double score, String reason) {}
 
     private ScoreResult scoreAndExplain(String qLower, List<String> qTokens, Meme m, int rankIndex) {
-        String usage = safeLower(m.getUsageContext());
-        String title = safeLower(m.getTitle());
-        List<String> tags = HashtagParser.parseHashtags(m.getHashtags()).stream()
-            .map(s -> s.replace("#", "").toLowerCase()).filter(s -> !s.isBlank()).toList();
+        MemeTextFeatures features = memeTextFeatureCache.get(m);
+        String usage = features.usage();
+        String title = features.title();
+        List<String> tags = features.tags();
 
         List<String> matchedTokens = new ArrayList<>();
         for (String token : qTokens) {
@@ -376,10 +528,7 @@ public class RecommendationService {
     }
 
     private static List<String> tokenize(String s) {
-        if (s == null) return List.of();
-        return Arrays.stream(TOKEN_SPLIT.split(s.toLowerCase()))
-            .filter(tok -> !tok.isBlank() && !STOP_WORDS.contains(tok)) // 불용어 제거
-            .toList();
+        return MemeTextFeatures.tokenize(s);
     }
 
     private static String safeLower(String s) {
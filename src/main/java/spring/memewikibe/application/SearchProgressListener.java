@@ -0,0 +1,35 @@
+package spring.memewikibe.application;
+
+import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+
+import java.util.List;
+
+/**
+ * 추천 검색의 중간 결과를 받는 콜백. 스트리밍 응답이 느린 단계를 기다리지 않고 먼저 보여 줄 수 있도록 합니다.
+ * <p>
+ * 호출 순서는 {@link #onCandidates} → {@link #onReranked} → {@link #onReason}이며, 결과가 없거나 단계를 건너뛰면
+ * 해당 콜백은 생략됩니다. 콜백은 검색 스레드에서 호출되므로 오래 막지 않아야 합니다.
+ */
+public interface SearchProgressListener {
+
+    SearchProgressListener NONE = new SearchProgressListener() {
+    };
+
+    /**
+     * 가장 빨리 끝나는 키워드 검색의 후보. 휴리스틱 이유가 붙어 있습니다.
+     */
+    default void onCandidates(List<MemeRecommendationResponse> candidates) {
+    }
+
+    /**
+     * 결합·MMR·재정렬까지 마친 최종 순서. 이유는 아직 휴리스틱입니다.
+     */
+    default void onReranked(List<MemeRecommendationResponse> ranked) {
+    }
+
+    /**
+     * 1위 밈에 대한 RAG 생성 이유.
+     */
+    default void onReason(long memeId, String reason) {
+    }
+}
@@ -0,0 +1,213 @@
+package spring.memewikibe.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천 검색 단계별 지연 시간과 후보 수를 기록합니다.
+ * <p>
+ * - 단계 지연: {@code search.stage.latency{stage}} 타이머 (p50/p95/p99와 히스토그램 버킷 발행)
+ * - 단계 후보 수: {@code search.stage.candidates{stage}} 분포 요약
+ * - 단계 생략·중단: {@code search.stage.degraded{stage}} 카운터
+ * - 요청 하나의 단계 구간과 마감 시각(deadline)은 {@link Trace}에 모아 로그나 Server-Timing 헤더로 내보냅니다.
+ *   선택 단계는 남은 시간이 그 단계의 최근 p95보다 짧으면 건너뜁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchStageMetrics {
+
+    static final String LATENCY = "search.stage.latency";
+    static final String CANDIDATES = "search.stage.candidates";
+    static final String DEGRADED = "search.stage.degraded";
+
+    // p95를 믿을 수 있을 만큼 쌓이기 전에는 예산 판단에 쓰지 않음
+    static final long MIN_SAMPLES_FOR_P95 = 20;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    // 요청당 기본 시간 예산. 0 이하면 마감 없음
+    @Value("${recommend.deadline-ms:4000}")
+    private long defaultDeadlineMs;
+
+    /**
+     * 기본 시간 예산으로 요청 하나의 단계 기록을 시작합니다. 첫 단계 구간은 이 시점부터 잽니다.
+     */
+    public Trace start() {
+        return start(defaultDeadlineMs);
+    }
+
+    /**
+     * @param deadlineMs 이 요청의 시간 예산. 0 이하면 마감 없음
+     */
+    public Trace start(long deadlineMs) {
+        return new Trace(deadlineMs);
+    }
+
+    /**
+     * 단계의 최근 p95 지연(ms). 표본이 부족하면 0입니다.
+     */
+    double p95Millis(String stage) {
+        Timer timer = timers.get(stage);
+        if (timer == null || timer.count() < MIN_SAMPLES_FOR_P95) return 0;
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.95) return value.value(TimeUnit.MILLISECONDS);
+        }
+        return 0;
+    }
+
+    Timer timer(String stage) {
+        return timers.computeIfAbsent(stage, s -> Timer.builder(LATENCY)
+            .description("Recommendation search latency per stage")
+            .tag("stage", s)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry));
+    }
+
+    private DistributionSummary candidateSummary(String stage) {
+        return summaries.computeIfAbsent(stage, s -> DistributionSummary.builder(CANDIDATES)
+            .description("Candidates produced per recommendation search stage")
+            .tag("stage", s)
+            .publishPercentiles(0.5, 0.95)
+            .register(meterRegistry));
+    }
+
+    /**
+     * 요청 하나의 단계 구간 기록. {@link #mark}는 요청 스레드에서, {@link #record}는 동시에 도는 단계에서도 호출할 수 있습니다.
+     */
+    public final class Trace {
+
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private final List<Span> spans = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> degraded = Collections.synchronizedSet(new LinkedHashSet<>());
+        private long lastMark = startNanos;
+
+        private Trace(long deadlineMs) {
+            this.deadlineNanos = deadlineMs > 0 ? startNanos + TimeUnit.MILLISECONDS.toNanos(deadlineMs) : Long.MAX_VALUE;
+        }
+
+        /**
+         * 마감까지 남은 시간(ms). 마감이 없으면 {@link Long#MAX_VALUE}, 지났으면 0입니다.
+         */
+        public long remainingMillis() {
+            if (deadlineNanos == Long.MAX_VALUE) return Long.MAX_VALUE;
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+        }
+
+        /**
+         * 남은 시간이 stage의 최근 p95를 감당할 수 있는지. 마감이 지났으면 false입니다.
+         */
+        public boolean canAfford(String stage) {
+            long remaining = remainingMillis();
+            return remaining > 0 && remaining >= p95Millis(stage);
+        }
+
+        /**
+         * stage를 건너뛰었거나 중간에 끊었음을 기록합니다.
+         */
+        public void degrade(String stage) {
+            if (degraded.add(stage)) {
+                meterRegistry.counter(DEGRADED, "stage", stage).increment();
+            }
+        }
+
+        public List<String> degradedStages() {
+            synchronized (degraded) {
+                return List.copyOf(degraded);
+            }
+        }
+
+        /**
+         * 직전 mark(또는 시작) 이후 경과 시간을 stage 구간으로 기록합니다.
+         */
+        public void mark(String stage) {
+            long now = System.nanoTime();
+            add(stage, now - lastMark);
+            lastMark = now;
+        }
+
+        /**
+         * stageStartNanos({@link System#nanoTime()}) 이후 경과 시간을 stage 구간으로 기록합니다. mark 기준점은 움직이지 않습니다.
+         */
+        public void record(String stage, long stageStartNanos) {
+            add(stage, System.nanoTime() - stageStartNanos);
+        }
+
+        /**
+         * stage에서 나온 후보 수를 기록합니다.
+         */
+        public void count(String stage, int candidates) {
+            candidateSummary(stage).record(candidates);
+        }
+
+        /**
+         * 시작 이후 전체 시간을 total 구간으로 기록합니다.
+         */
+        public void finish() {
+            add("total", System.nanoTime() - startNanos);
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Server-Timing 헤더 값. 예: {@code rewrite;dur=12.3, vector;dur=41.0, total;dur=60.2}
+         */
+        public String serverTiming() {
+            StringBuilder sb = new StringBuilder();
+            for (Span span : snapshot()) {
+                if (!sb.isEmpty()) sb.append(", ");
+                sb.append(span.stage()).append(";dur=").append(String.format(Locale.ROOT, "%.1f", span.nanos() / 1e6));
+            }
+            return sb.toString();
+        }
+
+        /**
+         * 로그용 단계 요약. 예: {@code rewrite=12ms vector=41ms}
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            for (Span span : snapshot()) {
+                if (!sb.isEmpty()) sb.append(' ');
+                sb.append(span.stage()).append('=').append(TimeUnit.NANOSECONDS.toMillis(span.nanos())).append("ms");
+            }
+            return sb.toString();
+        }
+
+        private void add(String stage, long nanos) {
+            spans.add(new Span(stage, nanos));
+            timer(stage).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private List<Span> snapshot() {
+            synchronized (spans) {
+                return List.copyOf(spans);
+            }
+        }
+    }
+
+    private record Span(String stage, long nanos) {}
+}
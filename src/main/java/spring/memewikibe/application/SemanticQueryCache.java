@@ -0,0 +1,179 @@
+package spring.memewikibe.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 쿼리 임베딩이 충분히 가까운 최근 검색의 결과를 재사용하는 의미 기반 결과 캐시.
+ * <p>
+ * "회사 그만두고 싶다" / "회사 그만둬야지"처럼 표현만 조금 다른 쿼리가 많아, 코사인 유사도가 임계값 이상인 최근 쿼리가 있으면
+ * 하이브리드 검색과 LLM 호출을 다시 하지 않고 그 응답(RAG 이유 포함)을 돌려줍니다.
+ * <p>
+ * - 최근 max-entries개 쿼리의 정규화된 임베딩을 원형 버퍼에 두고 전수 비교합니다. 이 크기에서는 근사 색인보다 단순 스캔이 빠르고 정확합니다.
+ * - 사용자와 limit이 같은 항목끼리만 비교하고, ttl이 지난 항목은 쓰지 않습니다.
+ * - 적중 여부는 {@code search.semantic_cache.requests{result=hit|miss|skipped}}(skipped: 임베딩이 제때 준비되지 않아 비교하지 못함), 조회마다 가장 가까운 항목의 유사도는
+ *   {@code search.semantic_cache.similarity}로 발행하므로 배포 환경별 임계값 조정에 씁니다.
+ */
+@Slf4j
+@Component
+public class SemanticQueryCache {
+
+    static final String REQUESTS = "search.semantic_cache.requests";
+    static final String SIMILARITY = "search.semantic_cache.similarity";
+
+    private final MemeVectorIndexService vectorIndexService;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter skipped;
+    private final DistributionSummary similarity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Entry[] ring;
+    private int next;
+
+    @Value("${recommend.semantic-cache.enabled:false}")
+    private boolean enabled;
+    // 이 값 이상으로 가까운 쿼리의 결과를 재사용. 임베딩 모델마다 분포가 달라 배포 환경에서 조정
+    @Value("${recommend.semantic-cache.similarity-threshold:0.95}")
+    private double threshold;
+    @Value("${recommend.semantic-cache.max-entries:1000}")
+    private int maxEntries;
+    @Value("${recommend.semantic-cache.ttl:10m}")
+    private Duration ttl;
+
+    public SemanticQueryCache(MemeVectorIndexService vectorIndexService, MeterRegistry meterRegistry) {
+        this.vectorIndexService = vectorIndexService;
+        this.hits = Counter.builder(REQUESTS).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS).tag("result", "miss").register(meterRegistry);
+        this.skipped = Counter.builder(REQUESTS).tag("result", "skipped").register(meterRegistry);
+        this.similarity = DistributionSummary.builder(SIMILARITY)
+            .description("Cosine similarity of the closest cached query per lookup")
+            .publishPercentiles(0.5, 0.9, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("search.semantic_cache.size", this, SemanticQueryCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 쿼리 임베딩. 캐시가 꺼져 있거나 임베딩에 실패하면 null이며, 이때 {@link #get}/{@link #put}은 아무것도 하지 않습니다.
+     */
+    public float[] embed(String query) {
+        if (!enabled || query == null || query.isBlank()) return null;
+        try {
+            float[] vector = vectorIndexService.embedQuery(query);
+            return vector == null || vector.length == 0 ? null : normalized(vector);
+        } catch (RuntimeException e) {
+            log.warn("Semantic cache embedding failed; searching without cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 같은 사용자·limit의 유효한 항목 중 가장 가까운 것이 임계값 이상이면 그 결과를, 아니면 null을 돌려줍니다.
+     * 캐시가 켜져 있는데 임베딩이 없으면(실패하거나 기다리지 못함) skipped로 집계해 적중률이 부풀지 않게 합니다.
+     */
+    public List<MemeRecommendationResponse> get(float[] embedding, Long userId, int limit) {
+        if (!enabled) return null;
+        if (embedding == null) {
+            skipped.increment();
+            return null;
+        }
+        long now = System.nanoTime();
+        Entry best = null;
+        double bestSimilarity = -1;
+        lock.readLock().lock();
+        try {
+            if (ring != null) {
+                for (Entry e : ring) {
+                    if (e == null || e.limit != limit || !Objects.equals(e.userId, userId) || now - e.createdNanos > ttl.toNanos()) continue;
+                    if (e.vector.length != embedding.length) continue;
+                    double s = dot(e.vector, embedding);
+                    if (s > bestSimilarity) {
+                        bestSimilarity = s;
+                        best = e;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (best != null) similarity.record(bestSimilarity);
+        if (best != null && bestSimilarity >= threshold) {
+            hits.increment();
+            return best.results;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 결과를 저장합니다. 버퍼가 가득 차면 가장 오래된 항목을 덮어씁니다.
+     */
+    public void put(float[] embedding, Long userId, int limit, List<MemeRecommendationResponse> results) {
+        if (embedding == null || results.isEmpty() || maxEntries <= 0) return;
+        Entry entry = new Entry(embedding, userId, limit, List.copyOf(results), System.nanoTime());
+        lock.writeLock().lock();
+        try {
+            if (ring == null) ring = new Entry[maxEntries];
+            ring[next] = entry;
+            next = (next + 1) % ring.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 항목을 지웁니다. 밈의 내용·상태가 바뀌어 커밋되거나 벡터 인덱스에 반영될 때 씁니다.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ring = null;
+            next = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            if (ring == null) return 0;
+            int n = 0;
+            for (Entry e : ring) if (e != null) n++;
+            return n;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float[] normalized(float[] v) {
+        double norm = 0;
+        for (float x : v) norm += x * x;
+        norm = Math.sqrt(norm);
+        float[] out = new float[v.length];
+        if (norm == 0) return out;
+        for (int i = 0; i < v.length; i++) out[i] = (float) (v[i] / norm);
+        return out;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double s = 0;
+        for (int i = 0; i < a.length; i++) s += a[i] * b[i];
+        return s;
+    }
+
+    private record Entry(float[] vector, Long userId, int limit, List<MemeRecommendationResponse> results, long createdNanos) {}
+}
@@ -0,0 +1,241 @@
+package spring.memewikibe.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.VectorIndexOutbox;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.VectorIndexOutboxRepository;
+import spring.memewikibe.infrastructure.ai.MemeTextFeatureCache;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.ai.vector.UpsertReport;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 밈 변경을 벡터 인덱스에 반영하는 outbox.
+ * <p>
+ * - enqueue는 호출한 쪽의 트랜잭션에 참여하므로, 밈 변경이 롤백되면 대기열 항목도 함께 사라집니다.
+ *   밈 특징·추천 결과 캐시는 커밋 뒤에 비우므로, 커밋 전에 다시 읽힌 옛 상태가 캐시에 남지 않습니다.
+ *   새 항목은 같은 밈의 아직 반영되지 않은 항목(backoff 대기 중인 것 포함)을 대체합니다.
+ * - 워커는 대기 항목을 배치로 꺼내 밈별 마지막 항목만 반영합니다. UPSERT·DELETE 모두 반영 시점의 밈 상태를 다시 읽어
+ *   NORMAL이면 색인하고, NORMAL이 아니거나 삭제된 밈이면 인덱스에서 지우므로, 작업 순서가 바뀌거나 중복 반영돼도 결과는 같습니다.
+ * - 실패한 항목은 지수 backoff로 재시도하고, 한도를 넘기면 DEAD로 남깁니다.
+ * - 반영에 성공한 밈은 유사 밈 목록도 갱신합니다. 목록 갱신 실패는 로그만 남기고 항목 처리에는 영향을 주지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VectorIndexOutboxService {
+
+    // IN 절 하나에 넣을 밈 id 수
+    private static final int SUPERSEDE_CHUNK = 1000;
+
+    private final VectorIndexOutboxRepository outboxRepository;
+    private final MemeRepository memeRepository;
+    private final MemeVectorIndexService vectorIndexService;
+    private final MemeNeighborService memeNeighborService;
+    private final MemeTextFeatureCache memeTextFeatureCache;
+    private final SemanticQueryCache semanticQueryCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vector.outbox.worker-enabled:true}")
+    private boolean workerEnabled;
+
+    @Value("${vector.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${vector.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${vector.outbox.initial-backoff:5s}")
+    private Duration initialBackoff;
+
+    @Value("${vector.outbox.max-backoff:30m}")
+    private Duration maxBackoff;
+
+    @Transactional
+    public void enqueueUpsert(Long memeId) {
+        enqueueUpsert(List.of(memeId));
+    }
+
+    @Transactional
+    public void enqueueUpsert(List<Long> memeIds) {
+        supersedePending(memeIds);
+        outboxRepository.saveAll(memeIds.stream().map(VectorIndexOutbox::upsert).toList());
+        invalidateCachesAfterCommit(memeIds);
+    }
+
+    @Transactional
+    public void enqueueDelete(List<Long> memeIds) {
+        supersedePending(memeIds);
+        outboxRepository.saveAll(memeIds.stream().map(VectorIndexOutbox::delete).toList());
+        invalidateCachesAfterCommit(memeIds);
+    }
+
+    @Scheduled(fixedDelayString = "${vector.outbox.poll-interval:1s}")
+    public void drainScheduled() {
+        if (!workerEnabled) return;
+        try {
+            // 꽉 찬 배치였다면 남은 항목이 더 있을 수 있으므로 바로 이어서 처리
+            int drained;
+            do {
+                drained = drain();
+            } while (drained == batchSize);
+        } catch (Exception e) {
+            log.error("Vector index outbox drain failed", e);
+        }
+    }
+
+    /**
+     * 실행 시점에 처리할 수 있는 대기 항목을 최대 batch-size개 반영합니다.
+     *
+     * @return 꺼낸 항목 수
+     */
+    public int drain() {
+        List<VectorIndexOutbox> due = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            VectorIndexOutbox.Status.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+        if (due.isEmpty()) return 0;
+
+        // 밈별 마지막 항목만 반영하고, 앞선 항목은 덮어쓴 것으로 보고 정리
+        Map<Long, VectorIndexOutbox> latest = new LinkedHashMap<>();
+        List<VectorIndexOutbox> superseded = new ArrayList<>();
+        for (VectorIndexOutbox entry : due) {
+            VectorIndexOutbox previous = latest.put(entry.getMemeId(), entry);
+            if (previous != null) superseded.add(previous);
+        }
+
+        // 작업 종류와 관계없이 지금의 밈 상태로 반영: 늦게 재시도된 DELETE가 그 뒤에 승인된 밈을 지우지 않도록
+        List<Long> memeIds = new ArrayList<>(latest.keySet());
+        List<Meme> toIndex = new ArrayList<>();
+        List<Long> deleteIds = new ArrayList<>();
+        Map<Long, Meme> found = new HashMap<>();
+        memeRepository.findAllById(memeIds).forEach(m -> found.put(m.getId(), m));
+        for (Long id : memeIds) {
+            Meme meme = found.get(id);
+            if (meme != null && meme.getFlag() == Meme.Flag.NORMAL) {
+                toIndex.add(meme);
+            } else {
+                deleteIds.add(id);
+            }
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        if (!toIndex.isEmpty()) {
+            try {
+                UpsertReport report = vectorIndexService.upsertVectors(toIndex);
+                for (UpsertReport.Batch batch : report.failedBatches()) {
+                    for (long id : batch.ids()) errors.put(id, batch.error());
+                }
+            } catch (Exception e) {
+                toIndex.forEach(m -> errors.put(m.getId(), e.toString()));
+            }
+        }
+        if (!deleteIds.isEmpty()) {
+            try {
+                vectorIndexService.deleteVectors(deleteIds);
+            } catch (Exception e) {
+                deleteIds.forEach(id -> errors.put(id, e.toString()));
+            }
+        }
+
+        refreshNeighbors(toIndex, deleteIds, errors);
+
+        List<VectorIndexOutbox> done = new ArrayList<>(superseded);
+        List<VectorIndexOutbox> failed = new ArrayList<>();
+        for (VectorIndexOutbox entry : latest.values()) {
+            String error = errors.get(entry.getMemeId());
+            if (error == null) {
+                done.add(entry);
+                continue;
+            }
+            entry.retryLater(error, backoff(entry.getAttempts() + 1), maxAttempts);
+            failed.add(entry);
+            if (entry.isDead()) {
+                log.error("Vector index outbox entry #{} ({} meme {}) moved to DEAD after {} attempts: {}",
+                    entry.getId(), entry.getOperation(), entry.getMemeId(), entry.getAttempts(), error);
+            }
+        }
+        if (!done.isEmpty()) {
+            outboxRepository.deleteAllInBatch(done);
+            // 벡터 인덱스가 바뀌었으므로 이전 인덱스로 만든 추천 결과를 버림
+            semanticQueryCache.clear();
+        }
+        for (VectorIndexOutbox entry : failed) {
+            try {
+                outboxRepository.save(entry);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // 반영하는 사이 새 항목이 들어와 이 항목을 대체함
+                log.debug("Vector index outbox entry #{} was superseded while being applied", entry.getId());
+            }
+        }
+
+        long dead = failed.stream().filter(VectorIndexOutbox::isDead).count();
+        meterRegistry.counter("vector.outbox.processed", "result", "success").increment(done.size());
+        meterRegistry.counter("vector.outbox.processed", "result", "retry").increment(failed.size() - dead);
+        meterRegistry.counter("vector.outbox.processed", "result", "dead").increment(dead);
+        if (!failed.isEmpty()) {
+            log.warn("Vector index outbox: {} applied, {} will be retried, {} dead", done.size(), failed.size() - dead, dead);
+        }
+        return due.size();
+    }
+
+    /**
+     * 커밋 뒤에 캐시를 비웁니다. 커밋 전에 비우면 그 사이의 조회가 옛 상태를 다시 캐시에 올릴 수 있습니다.
+     * 트랜잭션 밖에서 호출되면 바로 비웁니다.
+     */
+    private void invalidateCachesAfterCommit(List<Long> memeIds) {
+        List<Long> ids = List.copyOf(memeIds);
+        Runnable invalidate = () -> {
+            memeTextFeatureCache.invalidate(ids);
+            // 제목·태그 수정, 승인·반려, 삭제 모두 캐시된 추천 결과를 바꿀 수 있음
+            semanticQueryCache.clear();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate.run();
+            }
+        });
+    }
+
+    private void supersedePending(List<Long> memeIds) {
+        for (int from = 0; from < memeIds.size(); from += SUPERSEDE_CHUNK) {
+            List<Long> chunk = memeIds.subList(from, Math.min(from + SUPERSEDE_CHUNK, memeIds.size()));
+            outboxRepository.deleteByMemeIdInAndStatus(chunk, VectorIndexOutbox.Status.PENDING);
+        }
+    }
+
+    private void refreshNeighbors(List<Meme> indexed, List<Long> deleted, Map<Long, String> errors) {
+        try {
+            memeNeighborService.remove(deleted.stream().filter(id -> !errors.containsKey(id)).toList());
+            memeNeighborService.refresh(indexed.stream().filter(m -> !errors.containsKey(m.getId())).toList());
+        } catch (Exception e) {
+            log.warn("Failed to refresh similar-meme lists after outbox drain: {}", e.toString());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        return millis <= 0 || millis > maxBackoff.toMillis() ? maxBackoff : Duration.ofMillis(millis);
+    }
+}
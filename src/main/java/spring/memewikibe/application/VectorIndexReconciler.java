@@ -0,0 +1,140 @@
+package spring.memewikibe.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.VectorReconcileCheckpoint;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.VectorReconcileCheckpointRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MySQL과 벡터 인덱스 사이의 드리프트를 주기적으로 바로잡습니다.
+ * <p>
+ * - 워터마크 이후 updatedAt이 바뀐 밈만 훑어 outbox에 UPSERT로 올립니다. 워커가 반영 시점에 다시 읽어
+ *   NORMAL이면 재임베딩하고, 그 외 상태면 인덱스에서 지웁니다.
+ * - 하드 삭제된 밈은 updatedAt으로 찾을 수 없으므로, 검색 중 DB에 없거나 NORMAL이 아닌 것으로 확인된 id를
+ *   {@link #reportStale(Collection)}로 모아 두었다가 함께 정리합니다.
+ * - 늦게 커밋되는 트랜잭션을 놓치지 않도록 now - safety-lag까지만 훑습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VectorIndexReconciler {
+
+    private final MemeRepository memeRepository;
+    private final VectorReconcileCheckpointRepository checkpointRepository;
+    private final VectorIndexOutboxService vectorIndexOutboxService;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<Long> staleIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${vector.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vector.reconcile.batch-size:500}")
+    private int batchSize;
+
+    @Value("${vector.reconcile.max-per-run:5000}")
+    private int maxPerRun;
+
+    @Value("${vector.reconcile.safety-lag:2m}")
+    private Duration safetyLag;
+
+    @Value("${vector.reconcile.max-stale-ids:10000}")
+    private int maxStaleIds;
+
+    /**
+     * 검색 결과에 나왔지만 DB에 없거나 NORMAL이 아닌 밈 id를 다음 점검 때 정리하도록 기록합니다.
+     */
+    public void reportStale(Collection<Long> ids) {
+        if (ids.isEmpty() || staleIds.size() >= maxStaleIds) return;
+        staleIds.addAll(ids);
+    }
+
+    @Scheduled(fixedDelayString = "${vector.reconcile.interval:10m}", initialDelayString = "${vector.reconcile.initial-delay:1m}")
+    public void reconcileScheduled() {
+        if (!enabled) return;
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Vector index reconciliation failed", e);
+        }
+    }
+
+    /**
+     * 워터마크 이후 변경된 밈과 보고된 stale id를 outbox에 올리고 워터마크를 전진시킵니다.
+     * 배치마다 대기열에 먼저 올린 뒤 워터마크를 저장하므로, 중간에 실패해도 같은 밈을 한 번 더 올릴 뿐 빠뜨리지 않습니다.
+     */
+    public Drift reconcile() {
+        VectorReconcileCheckpoint checkpoint = checkpointRepository.findFirstByOrderByIdAsc()
+            .orElseGet(() -> checkpointRepository.save(VectorReconcileCheckpoint.initial()));
+        LocalDateTime until = LocalDateTime.now().minus(safetyLag);
+
+        long scanned = 0;
+        long reindexed = 0;
+        long removed = 0;
+        while (scanned < maxPerRun) {
+            int limit = (int) Math.min(batchSize, maxPerRun - scanned);
+            List<Meme> changed = memeRepository.findUpdatedAfter(
+                checkpoint.getWatermarkUpdatedAt(), checkpoint.getWatermarkMemeId(), until, Limit.of(limit));
+            if (changed.isEmpty()) break;
+
+            List<Long> ids = new ArrayList<>(changed.size());
+            for (Meme meme : changed) {
+                ids.add(meme.getId());
+                if (meme.getFlag() == Meme.Flag.NORMAL) reindexed++;
+                else removed++;
+            }
+            vectorIndexOutboxService.enqueueUpsert(ids);
+            Meme last = changed.getLast();
+            checkpoint.advance(last.getUpdatedAt(), last.getId());
+            checkpoint = checkpointRepository.save(checkpoint);
+            scanned += changed.size();
+            if (changed.size() < limit) break;
+        }
+
+        List<Long> stale = new ArrayList<>(staleIds);
+        if (!stale.isEmpty()) {
+            // UPSERT로 올리면 워커가 다시 읽어 없거나 NORMAL이 아닌 밈을 인덱스에서 지움
+            vectorIndexOutboxService.enqueueUpsert(stale);
+            stale.forEach(staleIds::remove);
+        }
+
+        checkpoint.recordRun(scanned, reindexed, removed, stale.size());
+        checkpointRepository.save(checkpoint);
+
+        Drift drift = new Drift(scanned, reindexed, removed, stale.size());
+        meterRegistry.counter("vector.reconcile.drift", "kind", "reindexed").increment(reindexed);
+        meterRegistry.counter("vector.reconcile.drift", "kind", "removed").increment(removed);
+        meterRegistry.counter("vector.reconcile.drift", "kind", "stale").increment(stale.size());
+        if (scanned > 0 || !stale.isEmpty()) {
+            log.info("Vector index reconciliation: {} changed memes ({} reindexed, {} removed), {} stale ids, watermark={}#{}",
+                scanned, reindexed, removed, stale.size(), checkpoint.getWatermarkUpdatedAt(), checkpoint.getWatermarkMemeId());
+        }
+        return drift;
+    }
+
+    /**
+     * 한 번의 점검에서 찾은 드리프트 건수.
+     *
+     * @param scanned   워터마크 이후 변경된 밈 수
+     * @param reindexed 그중 NORMAL이라 다시 임베딩할 밈 수
+     * @param removed   그중 NORMAL이 아니라 인덱스에서 지울 밈 수
+     * @param stale     검색 중 보고된, 인덱스에만 남아 있던 id 수
+     */
+    public record Drift(long scanned, long reindexed, long removed, long stale) {
+    }
+}
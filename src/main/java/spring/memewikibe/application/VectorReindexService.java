@@ -0,0 +1,229 @@
+package spring.memewikibe.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.ReindexJob;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.ReindexJobRepository;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.ai.vector.UpsertReport;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 승인된 밈 전체를 벡터 인덱스에 다시 올리는 백그라운드 작업을 관리합니다.
+ * <p>
+ * - 밈은 id 오름차순 keyset 페이지로 읽고, 페이지 하나가 업서트 배치 하나입니다.
+ * - 배치는 최대 concurrency개까지 동시에 업서트합니다.
+ * - 앞선 배치가 모두 끝난 구간까지만 체크포인트(lastMemeId)를 저장하므로, 서버가 중간에 죽어도
+ *   재시작 시 RUNNING 작업을 체크포인트 다음부터 이어서 처리합니다. 업서트는 멱등이라 일부 중복은 무해합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VectorReindexService {
+
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_CONCURRENCY = 8;
+
+    private final MemeRepository memeRepository;
+    private final ReindexJobRepository reindexJobRepository;
+    private final MemeVectorIndexService vectorIndexService;
+
+    private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+
+    public synchronized ReindexStatus start(int batchSize, int concurrency) {
+        if (!runs.isEmpty()) {
+            throw new IllegalStateException("이미 진행 중인 재색인 작업이 있습니다: #" + runs.keySet().iterator().next());
+        }
+        ReindexJob job = reindexJobRepository.save(ReindexJob.start(
+            Math.clamp(batchSize, 1, MAX_BATCH_SIZE),
+            Math.clamp(concurrency, 1, MAX_CONCURRENCY),
+            memeRepository.countByFlag(Meme.Flag.NORMAL)
+        ));
+        launch(job);
+        return status(job.getId()).orElseThrow();
+    }
+
+    /**
+     * 이전 프로세스에서 RUNNING 상태로 남은 작업을 체크포인트부터 재개합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterrupted() {
+        for (ReindexJob job : reindexJobRepository.findByStatus(ReindexJob.Status.RUNNING)) {
+            if (runs.containsKey(job.getId())) continue;
+            log.info("Resuming vector reindex job #{} after meme id {} ({}/{} processed)",
+                job.getId(), job.getLastMemeId(), job.getProcessedCount(), job.getTotalCount());
+            launch(job);
+        }
+    }
+
+    /**
+     * 진행 중인 작업에 취소를 요청합니다. 이미 보낸 배치는 끝까지 처리된 뒤 CANCELLED로 종료됩니다.
+     */
+    public Optional<ReindexStatus> cancel(long jobId) {
+        Run run = runs.get(jobId);
+        if (run != null) {
+            run.cancelled = true;
+        }
+        return status(jobId);
+    }
+
+    public Optional<ReindexStatus> status(long jobId) {
+        Run run = runs.get(jobId);
+        if (run != null) return Optional.of(run.status());
+        return reindexJobRepository.findById(jobId).map(job -> ReindexStatus.of(job, 0, null));
+    }
+
+    public Optional<ReindexStatus> latest() {
+        return reindexJobRepository.findFirstByOrderByIdDesc().flatMap(job -> status(job.getId()));
+    }
+
+    private void launch(ReindexJob job) {
+        Run run = new Run(job);
+        runs.put(job.getId(), run);
+        Thread.ofVirtual().name("vector-reindex-" + job.getId()).start(run);
+    }
+
+    private final class Run implements Runnable {
+        private final ReindexJob job;
+        private final long startNanos = System.nanoTime();
+        private final long processedAtStart;
+        private final AtomicLong processed;
+        private final AtomicLong failed;
+        // 완료된 배치를 순서대로 체크포인트에 반영하기 위한 버퍼 (배치 순번 -> 결과)
+        private final TreeMap<Long, BatchResult> completed = new TreeMap<>();
+        private long nextToCheckpoint;
+        private volatile boolean cancelled;
+
+        private Run(ReindexJob job) {
+            this.job = job;
+            this.processedAtStart = job.getProcessedCount();
+            this.processed = new AtomicLong(job.getProcessedCount());
+            this.failed = new AtomicLong(job.getFailedCount());
+        }
+
+        @Override
+        public void run() {
+            ReindexJob.Status result = ReindexJob.Status.COMPLETED;
+            String message = null;
+            Semaphore slots = new Semaphore(job.getConcurrency());
+            long afterId = job.getLastMemeId();
+            long sequence = 0;
+            try (ExecutorService batches = Executors.newVirtualThreadPerTaskExecutor()) {
+                while (!cancelled) {
+                    List<Meme> page = memeRepository.findByFlagAndIdGreaterThanOrderByIdAsc(Meme.Flag.NORMAL, afterId, Limit.of(job.getBatchSize()));
+                    if (page.isEmpty()) break;
+                    afterId = page.getLast().getId();
+                    slots.acquire();
+                    long seq = sequence++;
+                    batches.execute(() -> {
+                        try {
+                            upsert(seq, page);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            } catch (Exception e) {
+                log.error("Vector reindex job #{} failed", job.getId(), e);
+                result = ReindexJob.Status.FAILED;
+                message = e.toString();
+            }
+            if (cancelled && result == ReindexJob.Status.COMPLETED) result = ReindexJob.Status.CANCELLED;
+            synchronized (this) {
+                job.finish(result, message);
+                reindexJobRepository.save(job);
+            }
+            runs.remove(job.getId());
+            log.info("Vector reindex job #{} {}: processed={}, failed={}, elapsed={}s",
+                job.getId(), result, processed.get(), failed.get(), (System.nanoTime() - startNanos) / 1_000_000_000L);
+        }
+
+        private void upsert(long seq, List<Meme> page) {
+            List<Long> failedIds = new ArrayList<>();
+            try {
+                UpsertReport report = vectorIndexService.upsertVectors(page);
+                for (UpsertReport.Batch batch : report.failedBatches()) {
+                    for (long id : batch.ids()) failedIds.add(id);
+                }
+            } catch (Exception e) {
+                log.warn("Vector reindex job #{} batch {} failed: {}", job.getId(), seq, e.toString());
+                page.forEach(m -> failedIds.add(m.getId()));
+            }
+            processed.addAndGet(page.size());
+            failed.addAndGet(failedIds.size());
+            checkpoint(seq, new BatchResult(page.getLast().getId(), page.size(), failedIds));
+        }
+
+        private synchronized void checkpoint(long seq, BatchResult batch) {
+            completed.put(seq, batch);
+            boolean advanced = false;
+            while (!completed.isEmpty() && completed.firstKey() == nextToCheckpoint) {
+                BatchResult done = completed.pollFirstEntry().getValue();
+                job.checkpoint(done.lastMemeId(), done.count(), done.failedIds());
+                nextToCheckpoint++;
+                advanced = true;
+            }
+            if (advanced) reindexJobRepository.save(job);
+        }
+
+        private synchronized ReindexStatus status() {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            double rate = seconds > 0 ? (processed.get() - processedAtStart) / seconds : 0;
+            Long eta = rate > 0 ? (long) Math.ceil(Math.max(job.getTotalCount() - processed.get(), 0) / rate) : null;
+            return new ReindexStatus(
+                job.getId(), cancelled ? "CANCELLING" : job.getStatus().name(), job.getTotalCount(),
+                processed.get(), failed.get(), job.getLastMemeId(), rate, eta, job.recordedFailedIds(),
+                job.getCreatedAt(), job.getFinishedAt(), job.getMessage()
+            );
+        }
+    }
+
+    private record BatchResult(long lastMemeId, int count, List<Long> failedIds) {
+    }
+
+    /**
+     * 재색인 작업 상태. 진행 중이면 처리량(밈/초)과 남은 예상 시간(초)을 함께 담습니다.
+     */
+    public record ReindexStatus(
+        long jobId,
+        String status,
+        long totalCount,
+        long processedCount,
+        long failedCount,
+        long lastMemeId,
+        double memesPerSecond,
+        Long etaSeconds,
+        List<Long> failedIds,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String message
+    ) {
+        static ReindexStatus of(ReindexJob job, double memesPerSecond, Long etaSeconds) {
+            return new ReindexStatus(
+                job.getId(), job.getStatus().name(), job.getTotalCount(), job.getProcessedCount(), job.getFailedCount(),
+                job.getLastMemeId(), memesPerSecond, etaSeconds, job.recordedFailedIds(),
+                job.getCreatedAt(), job.getFinishedAt(), job.getMessage()
+            );
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package spring.memewikibe.common.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, expiring in-memory cache with single-flight loading.
+ *
+ * <p>Backed by Caffeine, whose W-TinyLFU policy admits a new key only when it is likely to be used more
+ * often than the entry it would evict, so a burst of one-off keys cannot flush the hot set. Expired
+ * entries are removed by a background scheduler rather than on the next read.
+ *
+ * <p>{@link #get(Object, Function)} runs the loader at most once per key at a time: concurrent callers
+ * for a key that is being loaded wait for that load instead of starting their own. The loader runs on the
+ * first caller's thread. Null results and exceptions are not cached.
+ *
+ * <p>When built with a {@link MeterRegistry}, hit/miss/eviction/size stats are published as
+ * {@code cache.*} meters tagged {@code cache=<name>}.
+ */
+public final class BoundedCache<K, V> {
+
+    private final String name;
+    private final AsyncCache<K, V> cache;
+
+    private BoundedCache(String name, AsyncCache<K, V> cache) {
+        this.name = name;
+        this.cache = cache;
+    }
+
+    public static <K, V> Builder<K, V> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the cached value, or loads it with {@code loader} while concurrent callers for the same key wait.
+     *
+     * @return the value, or null when the loader returned null (which is not cached)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> current = cache.get(key, (k, executor) -> mine);
+        if (current == mine) {
+            try {
+                mine.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return current.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached value without loading; an entry that is still loading counts as absent.
+     */
+    public V getIfPresent(K key) {
+        CompletableFuture<V> future = cache.getIfPresent(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.join();
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, CompletableFuture.completedFuture(Objects.requireNonNull(value)));
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Runs pending maintenance (evictions, expirations) now instead of on the next access.
+     */
+    public void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public static final class Builder<K, V> {
+
+        private final String name;
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite;
+        private Ticker ticker = Ticker.systemTicker();
+        private MeterRegistry meterRegistry;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name);
+        }
+
+        public Builder<K, V> maximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration ttl) {
+            this.expireAfterWrite = ttl;
+            return this;
+        }
+
+        public Builder<K, V> ticker(Ticker ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public Builder<K, V> meterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public BoundedCache<K, V> build() {
+            Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                // Maintenance on the caller thread: run on the common pool it can stamp an in-flight load's far-future
+                // write time after the load completed, leaving that entry unexpirable
+                .executor(Runnable::run)
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats();
+            if (expireAfterWrite != null) {
+                caffeine.expireAfterWrite(expireAfterWrite);
+            }
+            AsyncCache<K, V> cache = caffeine.buildAsync();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            }
+            return new BoundedCache<>(name, cache);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package spring.memewikibe.common.util;
+
+/**
+ * long 키 → double 값의 open addressing(linear probing) 해시맵
+ *
+ * 키와 값을 primitive 배열에 그대로 담아 박싱과 엔트리 객체 할당이 없습니다.
+ * 점수 누적({@link #addTo})과 상위 k개 선택({@link #topSlots})만 필요한 검색 점수 결합용이며, 삭제는 지원하지 않습니다.
+ *
+ * 주의: 이 클래스는 thread-safe하지 않습니다.
+ */
+public final class LongDoubleHashMap {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int mask;
+    private int shift;
+    private int size;
+
+    /**
+     * @param expectedSize 리사이즈 없이 담을 수 있어야 하는 키 개수
+     */
+    public LongDoubleHashMap(int expectedSize) {
+        // 적재율 0.5 이하를 유지하는 2의 거듭제곱 용량
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * key의 값에 delta를 더합니다. 없는 키는 0에서 시작합니다.
+     */
+    public void addTo(long key, double delta) {
+        int slot = find(key);
+        if (used[slot]) {
+            values[slot] += delta;
+            return;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) grow();
+    }
+
+    public double get(long key, double defaultValue) {
+        int slot = find(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return used[find(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public double valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * 값이 큰 순서로 최대 k개 엔트리의 슬롯 번호를 반환합니다. 값이 같으면 키가 작은 쪽이 앞섭니다.
+     * 크기 k의 min-heap으로 고르므로 전체 정렬 없이 O(n log k)입니다.
+     */
+    public int[] topSlots(int k) {
+        int limit = Math.min(k, size);
+        if (limit <= 0) return new int[0];
+        int[] heap = new int[limit];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (!used[slot]) continue;
+            if (count < limit) {
+                heap[count] = slot;
+                siftUp(heap, count++);
+            } else if (ranksBefore(slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(heap, 0, limit);
+            }
+        }
+        // 힙 정렬: 가장 뒤처지는 엔트리를 뒤에서부터 채움
+        for (int end = limit - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, 0, end);
+        }
+        return heap;
+    }
+
+    // --- helpers ---
+
+    private int find(long key) {
+        int slot = (int) ((key * GOLDEN_RATIO) >>> shift);
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = find(oldKeys[i]);
+            used[slot] = true;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * a가 b보다 앞 순위인지: 값이 크거나, 값이 같고 키가 작으면 앞섭니다.
+     */
+    private boolean ranksBefore(int a, int b) {
+        int c = Double.compare(values[a], values[b]);
+        return c > 0 || (c == 0 && keys[a] < keys[b]);
+    }
+
+    // min-heap: 루트가 가장 뒤처지는 엔트리
+    private void siftUp(int[] heap, int i) {
+        int slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksBefore(heap[parent], slot)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = slot;
+    }
+
+    private void siftDown(int[] heap, int i, int n) {
+        int slot = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && ranksBefore(heap[child], heap[child + 1])) child++;
+            if (!ranksBefore(slot, heap[child])) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = slot;
+    }
+}
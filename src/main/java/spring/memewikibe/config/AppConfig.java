@@ -1,14 +1,25 @@
 package spring.memewikibe.config;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import spring.memewikibe.infrastructure.http.OutboundHttpClient;
 
 @Configuration
 public class AppConfig {
 
+    // Used by the Naver Clova services (RAG, reranker, query rewriter); shares the pooled outbound client
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, OutboundHttpClient outboundHttp) {
+        return builder
+            .requestFactory(() -> {
+                JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(outboundHttp.client());
+                factory.setReadTimeout(outboundHttp.properties().readTimeoutFor("naver"));
+                return factory;
+            })
+            .additionalInterceptors(outboundHttp.interceptor("naver"))
+            .build();
     }
 }
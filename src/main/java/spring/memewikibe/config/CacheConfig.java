@@ -0,0 +1,76 @@
+package spring.memewikibe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import spring.memewikibe.common.cache.BoundedCache;
+import spring.memewikibe.infrastructure.ai.MemeTextFeatures;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.RewrittenQuery;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.SearchHit;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public BoundedCache<String, List<SearchHit>> searchResultCache(
+        MeterRegistry meterRegistry,
+        @Value("${search.cache.max-size:10000}") long maxSize,
+        @Value("${search.cache.ttl:60s}") Duration ttl) {
+        return BoundedCache.<String, List<SearchHit>>builder("search.results")
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .meterRegistry(meterRegistry)
+            .build();
+    }
+
+    @Bean
+    public BoundedCache<String, float[]> queryEmbeddingCache(
+        MeterRegistry meterRegistry,
+        @Value("${search.embedding-cache.max-size:5000}") long maxSize,
+        @Value("${search.embedding-cache.ttl:24h}") Duration ttl) {
+        return BoundedCache.<String, float[]>builder("search.query-embeddings")
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .meterRegistry(meterRegistry)
+            .build();
+    }
+
+    @Bean
+    public BoundedCache<String, RewrittenQuery> queryRewriteCache(
+        MeterRegistry meterRegistry,
+        @Value("${search.rewrite-cache.max-size:10000}") long maxSize,
+        @Value("${search.rewrite-cache.ttl:30m}") Duration ttl) {
+        return BoundedCache.<String, RewrittenQuery>builder("search.query-rewrites")
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .meterRegistry(meterRegistry)
+            .build();
+    }
+
+    @Bean
+    public BoundedCache<Long, MemeTextFeatures> memeTextFeatures(
+        MeterRegistry meterRegistry,
+        @Value("${search.text-features-cache.max-size:50000}") long maxSize) {
+        // No TTL: entries are refreshed by the updatedAt check and invalidated on admin edits
+        return BoundedCache.<Long, MemeTextFeatures>builder("search.meme-text-features")
+            .maximumSize(maxSize)
+            .meterRegistry(meterRegistry)
+            .build();
+    }
+
+    @Bean
+    public BoundedCache<String, String> queryExpansions(
+        MeterRegistry meterRegistry,
+        @Value("${search.expansion-cache.max-size:10000}") long maxSize,
+        @Value("${search.expansion-cache.ttl:7d}") Duration ttl) {
+        return BoundedCache.<String, String>builder("search.query-expansions")
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .meterRegistry(meterRegistry)
+            .build();
+    }
+}
@@ -0,0 +1,53 @@
+package spring.memewikibe.domain.search;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import spring.memewikibe.domain.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 정규화된 검색어의 LLM 키워드 확장 결과. 재시작 후에도 같은 검색어를 다시 확장하지 않도록 저장하며,
+ * hitCount가 높은 검색어부터 기동 시 메모리 캐시를 채웁니다. expandedAt이 TTL보다 오래되면 다시 확장합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_query_expansion_hits", columnList = "hitCount"))
+public class QueryExpansion extends BaseEntity {
+
+    public static final int MAX_QUERY_LENGTH = 255;
+
+    @Column(unique = true, nullable = false, length = MAX_QUERY_LENGTH)
+    private String normalizedQuery;
+
+    @Column(nullable = false, length = 500)
+    private String keywords;
+
+    private long hitCount;
+
+    private LocalDateTime expandedAt;
+
+    private QueryExpansion(String normalizedQuery, String keywords, LocalDateTime expandedAt) {
+        this.normalizedQuery = normalizedQuery;
+        this.keywords = keywords;
+        this.expandedAt = expandedAt;
+    }
+
+    public static QueryExpansion of(String normalizedQuery, String keywords, LocalDateTime expandedAt) {
+        return new QueryExpansion(normalizedQuery, keywords, expandedAt);
+    }
+
+    /**
+     * TTL이 지나 다시 확장한 결과로 바꿉니다. 누적 hitCount는 유지합니다.
+     */
+    public void reexpand(String keywords, LocalDateTime expandedAt) {
+        this.keywords = keywords;
+        this.expandedAt = expandedAt;
+    }
+}
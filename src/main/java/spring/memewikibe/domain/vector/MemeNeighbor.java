@@ -0,0 +1,44 @@
+package spring.memewikibe.domain.vector;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import spring.memewikibe.domain.BaseEntity;
+
+/**
+ * 밈별로 미리 계산해 둔 유사 밈 목록의 한 행. 한 밈의 이웃은 neighborRank 0부터 유사도 내림차순으로 저장됩니다.
+ * 밈이 삭제되거나 비공개로 바뀌어도 FK 없이 id만 들고 있으므로, 조회 시 NORMAL 밈과 조인해 걸러냅니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_meme_neighbor_meme_rank", columnList = "memeId, neighborRank"),
+    @Index(name = "idx_meme_neighbor_neighbor", columnList = "neighborId")
+})
+public class MemeNeighbor extends BaseEntity {
+
+    private Long memeId;
+
+    private Long neighborId;
+
+    private int neighborRank;
+
+    private float score;
+
+    @Builder
+    private MemeNeighbor(Long memeId, Long neighborId, int neighborRank, float score) {
+        this.memeId = memeId;
+        this.neighborId = neighborId;
+        this.neighborRank = neighborRank;
+        this.score = score;
+    }
+
+    public static MemeNeighbor of(Long memeId, Long neighborId, int neighborRank, float score) {
+        return MemeNeighbor.builder().memeId(memeId).neighborId(neighborId).neighborRank(neighborRank).score(score).build();
+    }
+}
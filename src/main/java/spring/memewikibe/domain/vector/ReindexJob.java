@@ -0,0 +1,113 @@
+package spring.memewikibe.domain.vector;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import spring.memewikibe.domain.BaseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벡터 재색인 작업. lastMemeId까지의 밈은 처리가 끝난 체크포인트이며, 재시작 시 그 다음 id부터 이어서 처리합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ReindexJob extends BaseEntity {
+
+    // 실패 id는 앞에서부터 이 개수까지만 보관하고, 전체 개수는 failedCount로 셉니다
+    public static final int MAX_RECORDED_FAILED_IDS = 500;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int batchSize;
+
+    private int concurrency;
+
+    private long totalCount;
+
+    private long processedCount;
+
+    private long failedCount;
+
+    private long lastMemeId;
+
+    @Column(length = 4000)
+    private String failedIds;
+
+    @Column(length = 1000)
+    private String message;
+
+    private LocalDateTime finishedAt;
+
+    @Builder
+    private ReindexJob(int batchSize, int concurrency, long totalCount) {
+        this.status = Status.RUNNING;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.totalCount = totalCount;
+        this.failedIds = "";
+    }
+
+    public static ReindexJob start(int batchSize, int concurrency, long totalCount) {
+        return ReindexJob.builder()
+            .batchSize(batchSize)
+            .concurrency(concurrency)
+            .totalCount(totalCount)
+            .build();
+    }
+
+    /**
+     * 체크포인트를 lastMemeId까지 전진시키고 그 구간의 처리/실패 결과를 누적합니다.
+     */
+    public void checkpoint(long lastMemeId, long processed, List<Long> failed) {
+        this.lastMemeId = Math.max(this.lastMemeId, lastMemeId);
+        this.processedCount += processed;
+        this.failedCount += failed.size();
+        StringBuilder sb = new StringBuilder(failedIds);
+        int recorded = recordedFailedIds().size();
+        for (Long id : failed) {
+            if (recorded >= MAX_RECORDED_FAILED_IDS) break;
+            if (!sb.isEmpty()) sb.append(',');
+            sb.append(id);
+            recorded++;
+        }
+        this.failedIds = sb.toString();
+    }
+
+    public void finish(Status status, String message) {
+        this.status = status;
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public List<Long> recordedFailedIds() {
+        if (failedIds == null || failedIds.isEmpty()) return List.of();
+        return Arrays.stream(failedIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public enum Status {
+        RUNNING("진행 중"),
+        COMPLETED("완료"),
+        CANCELLED("취소됨"),
+        FAILED("실패");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+    }
+}
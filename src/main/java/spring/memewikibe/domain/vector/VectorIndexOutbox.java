@@ -0,0 +1,91 @@
+package spring.memewikibe.domain.vector;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import spring.memewikibe.domain.BaseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 벡터 인덱스 반영 대기열(outbox). 밈 변경과 같은 트랜잭션에서 쌓이고, 워커가 배치로 꺼내 반영한 뒤 삭제합니다.
+ * 재시도 한도를 넘긴 항목은 DEAD로 남겨 둡니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_vector_index_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class VectorIndexOutbox extends BaseEntity {
+
+    private Long memeId;
+
+    @Enumerated(EnumType.STRING)
+    private Operation operation;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Builder
+    private VectorIndexOutbox(Long memeId, Operation operation) {
+        this.memeId = memeId;
+        this.operation = operation;
+        this.status = Status.PENDING;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public static VectorIndexOutbox upsert(Long memeId) {
+        return VectorIndexOutbox.builder().memeId(memeId).operation(Operation.UPSERT).build();
+    }
+
+    public static VectorIndexOutbox delete(Long memeId) {
+        return VectorIndexOutbox.builder().memeId(memeId).operation(Operation.DELETE).build();
+    }
+
+    /**
+     * 실패를 기록하고 backoff 뒤에 다시 시도하도록 미룹니다. maxAttempts에 도달하면 DEAD로 전환합니다.
+     */
+    public void retryLater(String error, Duration backoff, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            this.status = Status.DEAD;
+        } else {
+            this.nextAttemptAt = LocalDateTime.now().plus(backoff);
+        }
+    }
+
+    public boolean isDead() {
+        return status == Status.DEAD;
+    }
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    public enum Status {
+        PENDING("대기"),
+        DEAD("재시도 한도 초과");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+    }
+}
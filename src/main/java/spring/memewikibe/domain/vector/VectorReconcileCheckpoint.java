@@ -0,0 +1,57 @@
+package spring.memewikibe.domain.vector;
+
+import jakarta.persistence.Entity;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import spring.memewikibe.domain.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벡터 인덱스 정합성 점검의 워터마크. (watermarkUpdatedAt, watermarkMemeId)까지 변경된 밈은 이미 반영 대기열에 올린 것으로 보고,
+ * 다음 점검은 그 이후에 수정된 밈만 훑습니다. 마지막 점검에서 찾은 드리프트 건수도 함께 남깁니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class VectorReconcileCheckpoint extends BaseEntity {
+
+    private LocalDateTime watermarkUpdatedAt;
+
+    private long watermarkMemeId;
+
+    private LocalDateTime lastRunAt;
+
+    private long lastScanned;
+
+    private long lastReindexed;
+
+    private long lastRemoved;
+
+    private long lastStale;
+
+    private VectorReconcileCheckpoint(LocalDateTime watermarkUpdatedAt) {
+        this.watermarkUpdatedAt = watermarkUpdatedAt;
+    }
+
+    /**
+     * 처음 점검할 때는 모든 밈을 훑도록 가장 이른 시각부터 시작합니다.
+     */
+    public static VectorReconcileCheckpoint initial() {
+        return new VectorReconcileCheckpoint(LocalDateTime.of(1970, 1, 1, 0, 0));
+    }
+
+    public void advance(LocalDateTime updatedAt, long memeId) {
+        this.watermarkUpdatedAt = updatedAt;
+        this.watermarkMemeId = memeId;
+    }
+
+    public void recordRun(long scanned, long reindexed, long removed, long stale) {
+        this.lastRunAt = LocalDateTime.now();
+        this.lastScanned = scanned;
+        this.lastReindexed = reindexed;
+        this.lastRemoved = removed;
+        this.lastStale = stale;
+    }
+}
@@ -0,0 +1,42 @@
+package spring.memewikibe.infrastructure;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.MemeNeighbor;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MemeNeighborRepository extends JpaRepository<MemeNeighbor, Long> {
+
+    /**
+     * 밈의 유사 밈을 순위대로 조회합니다. (memeId, neighborRank) 인덱스 한 번의 조회로 NORMAL 밈만 반환합니다.
+     */
+    @Query("SELECT m FROM MemeNeighbor n JOIN Meme m ON m.id = n.neighborId " +
+        "WHERE n.memeId = :memeId AND m.flag = spring.memewikibe.domain.meme.Meme$Flag.NORMAL " +
+        "ORDER BY n.neighborRank ASC")
+    List<Meme> findNormalNeighbors(@Param("memeId") Long memeId, Limit limit);
+
+    List<MemeNeighbor> findByMemeIdIn(Collection<Long> memeIds);
+
+    /**
+     * 해당 밈들의 이웃 목록을 삭제합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MemeNeighbor n WHERE n.memeId IN :memeIds")
+    void deleteByMemeIdIn(@Param("memeIds") Collection<Long> memeIds);
+
+    /**
+     * 다른 밈의 이웃 목록에서 해당 밈들을 삭제합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MemeNeighbor n WHERE n.neighborId IN :neighborIds")
+    void deleteByNeighborIdIn(@Param("neighborIds") Collection<Long> neighborIds);
+}
@@ -1,10 +1,12 @@
 package spring.memewikibe.infrastructure;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import spring.memewikibe.domain.meme.Meme;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,16 @@ public interface MemeRepository extends JpaRepository<Meme, Long>, MemeRepositor
         "ORDER BY m.id DESC")
     List<Object[]> findByFlagWithCategoryNamesOrderByIdDesc(Flag flag);
 
+    // Flag별 keyset 페이지 조회 (id 오름차순, afterId 초과)
+    List<Meme> findByFlagAndIdGreaterThanOrderByIdAsc(Flag flag, Long afterId, Limit limit);
+
+    // 워터마크 (after, afterId) 이후 until까지 수정된 밈을 (updatedAt, id) 순으로 조회
+    @Query("SELECT m FROM Meme m WHERE m.updatedAt <= :until " +
+        "AND (m.updatedAt > :after OR (m.updatedAt = :after AND m.id > :afterId)) " +
+        "ORDER BY m.updatedAt ASC, m.id ASC")
+    List<Meme> findUpdatedAfter(@Param("after") LocalDateTime after, @Param("afterId") long afterId,
+                                @Param("until") LocalDateTime until, Limit limit);
+
     // 상태별 개수 조회
     long countByFlag(Flag flag);
 
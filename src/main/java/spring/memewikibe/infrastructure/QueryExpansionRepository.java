@@ -0,0 +1,31 @@
+package spring.memewikibe.infrastructure;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import spring.memewikibe.domain.search.QueryExpansion;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface QueryExpansionRepository extends JpaRepository<QueryExpansion, Long> {
+
+    Optional<QueryExpansion> findByNormalizedQuery(String normalizedQuery);
+
+    /**
+     * notBefore 이후에 확장된 검색어를 조회수 내림차순으로 조회합니다. 기동 시 캐시 예열에 씁니다.
+     */
+    List<QueryExpansion> findByExpandedAtAfterOrderByHitCountDesc(LocalDateTime notBefore, Limit limit);
+
+    /**
+     * 검색어의 누적 조회수에 delta를 더합니다. 저장된 확장이 없으면 아무것도 하지 않습니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE QueryExpansion q SET q.hitCount = q.hitCount + :delta WHERE q.normalizedQuery = :normalizedQuery")
+    int addHits(@Param("normalizedQuery") String normalizedQuery, @Param("delta") long delta);
+}
@@ -0,0 +1,14 @@
+package spring.memewikibe.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import spring.memewikibe.domain.vector.ReindexJob;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ReindexJobRepository extends JpaRepository<ReindexJob, Long> {
+
+    Optional<ReindexJob> findFirstByOrderByIdDesc();
+
+    List<ReindexJob> findByStatus(ReindexJob.Status status);
+}
@@ -0,0 +1,26 @@
+package spring.memewikibe.infrastructure;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import spring.memewikibe.domain.vector.VectorIndexOutbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface VectorIndexOutboxRepository extends JpaRepository<VectorIndexOutbox, Long> {
+
+    List<VectorIndexOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(VectorIndexOutbox.Status status, LocalDateTime now, Limit limit);
+
+    long countByStatus(VectorIndexOutbox.Status status);
+
+    /**
+     * 주어진 밈들의 해당 상태 항목을 지웁니다. 새 항목이 이전 대기 항목(backoff 중인 것 포함)을 대체할 때 씁니다.
+     */
+    @Modifying
+    @Query("DELETE FROM VectorIndexOutbox o WHERE o.memeId IN :memeIds AND o.status = :status")
+    int deleteByMemeIdInAndStatus(@Param("memeIds") Collection<Long> memeIds, @Param("status") VectorIndexOutbox.Status status);
+}
@@ -0,0 +1,11 @@
+package spring.memewikibe.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import spring.memewikibe.domain.vector.VectorReconcileCheckpoint;
+
+import java.util.Optional;
+
+public interface VectorReconcileCheckpointRepository extends JpaRepository<VectorReconcileCheckpoint, Long> {
+
+    Optional<VectorReconcileCheckpoint> findFirstByOrderByIdAsc();
+}
@@ -1,9 +1,19 @@
 package spring.memewikibe.infrastructure.ai;
 
+import java.util.List;
+
 public interface EmbeddingService {
     /**
      * Returns an embedding vector for the given text.
      * Implementations may call Vertex AI, Naver AI Studio, or a placeholder.
      */
     float[] embed(String text);
+
+    /**
+     * Returns one embedding per input text, in input order.
+     * Remote implementations should override this to pack several texts into one request.
+     */
+    default List<float[]> embedBatch(List<String> texts) {
+        return texts.stream().map(this::embed).toList();
+    }
 }
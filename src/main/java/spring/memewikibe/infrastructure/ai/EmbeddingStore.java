@@ -0,0 +1,299 @@
+package spring.memewikibe.infrastructure.ai;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent embedding cache keyed by model name + SHA-256 of the embedded text.
+ *
+ * <p>Entries are appended to a single log file ({@code embeddings.log} under {@code embedding.store.path})
+ * and an in-memory index maps each key to its file offset, so only the index lives on heap. Record layout
+ * (little-endian): {@code int length | 32-byte key | short modelLength | model | int dimension | floats | int crc32}.
+ * A torn tail left by a crash is truncated on open.
+ *
+ * <p>Every model is pinned to the dimension of its first stored vector; a vector of another dimension for
+ * the same model is rejected instead of being mixed into the store. The file is opened lazily on first use;
+ * after {@link #close()} every call is a miss or a no-op, so a late call during shutdown cannot reopen it.
+ *
+ * <p>Lookups are published per model as {@code embedding.store.requests} (result=hit|miss|rejected) and the
+ * entry count as {@code embedding.store.entries}.
+ */
+@Slf4j
+@Component
+public class EmbeddingStore {
+
+    static final String FILE_NAME = "embeddings.log";
+
+    private static final int KEY_BYTES = 32;
+
+    @Value("${embedding.store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${embedding.store.path:data/embeddings}")
+    private String path;
+
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+    private final Map<String, Integer> modelDimensions = new ConcurrentHashMap<>();
+    private final Map<String, ModelCounters> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private volatile FileChannel channel;
+    private volatile boolean openFailed;
+    private volatile boolean closed;
+    private long writePosition;
+
+    @Autowired
+    public EmbeddingStore(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("embedding.store.entries", offsets, Map::size).register(meterRegistry);
+    }
+
+    EmbeddingStore(Path path, MeterRegistry meterRegistry) {
+        this(meterRegistry);
+        this.enabled = true;
+        this.path = path.toString();
+    }
+
+    /**
+     * Returns the stored embedding for {@code text} under {@code model}, or null on a miss.
+     */
+    public float[] get(String model, String text) {
+        FileChannel ch = channel();
+        if (ch == null) return null;
+        Long offset = offsets.get(key(model, text));
+        if (offset == null) {
+            countersFor(model).misses.incrementAndGet();
+            return null;
+        }
+        try {
+            float[] v = readVector(ch, offset);
+            countersFor(model).hits.incrementAndGet();
+            return v;
+        } catch (IOException e) {
+            log.warn("Failed to read stored embedding at offset {}: {}", offset, e.toString());
+            countersFor(model).misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores an embedding. Ignored when the key already exists; rejected when {@code model} already holds
+     * vectors of another dimension.
+     *
+     * @return true when the vector was appended
+     */
+    public boolean put(String model, String text, float[] vector) {
+        if (vector == null || vector.length == 0) return false;
+        FileChannel ch = channel();
+        if (ch == null) return false;
+        String key = key(model, text);
+        synchronized (this) {
+            if (closed || offsets.containsKey(key)) return false;
+            Integer dimension = modelDimensions.putIfAbsent(model, vector.length);
+            if (dimension != null && dimension != vector.length) {
+                countersFor(model).rejected.incrementAndGet();
+                log.warn("Rejected embedding for model {}: dimension {} does not match stored dimension {}", model, vector.length, dimension);
+                return false;
+            }
+            try {
+                ByteBuffer record = encode(key, model, vector);
+                long offset = writePosition;
+                while (record.hasRemaining()) {
+                    writePosition += ch.write(record, writePosition);
+                }
+                offsets.put(key, offset);
+                return true;
+            } catch (IOException e) {
+                log.warn("Failed to append embedding to {}: {}", path, e.toString());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Totals across all models; per-model counts are in the meter registry.
+     */
+    public Stats stats() {
+        long hits = 0;
+        long misses = 0;
+        long rejected = 0;
+        for (ModelCounters c : counters.values()) {
+            hits += c.hits.get();
+            misses += c.misses.get();
+            rejected += c.rejected.get();
+        }
+        return new Stats(offsets.size(), hits, misses, rejected);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closed = true;
+        FileChannel ch = channel;
+        channel = null;
+        if (ch == null) return;
+        try {
+            ch.force(false);
+            ch.close();
+        } catch (IOException e) {
+            log.warn("Failed to close embedding store at {}: {}", path, e.toString());
+        }
+        log.info("Embedding store closed: {}", stats());
+    }
+
+    public record Stats(int entries, long hits, long misses, long rejected) {
+    }
+
+    private ModelCounters countersFor(String model) {
+        return counters.computeIfAbsent(model, this::newCounters);
+    }
+
+    private ModelCounters newCounters(String model) {
+        ModelCounters c = new ModelCounters();
+        register(model, "hit", c.hits);
+        register(model, "miss", c.misses);
+        register(model, "rejected", c.rejected);
+        return c;
+    }
+
+    private void register(String model, String result, AtomicLong count) {
+        FunctionCounter.builder("embedding.store.requests", count, AtomicLong::get)
+            .tags("model", model, "result", result)
+            .register(meterRegistry);
+    }
+
+    private static final class ModelCounters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+    }
+
+    private FileChannel channel() {
+        FileChannel ch = channel;
+        if (ch != null || !enabled || openFailed || closed) return ch;
+        synchronized (this) {
+            if (channel == null && !openFailed && !closed) {
+                try {
+                    channel = open(Path.of(path));
+                } catch (IOException e) {
+                    openFailed = true;
+                    log.error("Failed to open embedding store at {}. Embeddings will not be cached.", path, e);
+                }
+            }
+            return channel;
+        }
+    }
+
+    private FileChannel open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel ch = FileChannel.open(dir.resolve(FILE_NAME),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = ch.size();
+        long pos = 0;
+        Map<String, Long> loaded = new HashMap<>();
+        ByteBuffer lengthBuf = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (pos + Integer.BYTES <= size) {
+            lengthBuf.clear();
+            readFully(ch, lengthBuf, pos);
+            int length = lengthBuf.getInt(0);
+            if (length <= 0 || pos + Integer.BYTES + length > size) break;
+            ByteBuffer body = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(ch, body, pos + Integer.BYTES);
+            if (!checksumMatches(body)) break;
+            byte[] keyBytes = new byte[KEY_BYTES];
+            body.get(0, keyBytes);
+            short modelLength = body.getShort(KEY_BYTES);
+            byte[] modelBytes = new byte[modelLength];
+            body.get(KEY_BYTES + Short.BYTES, modelBytes);
+            int dimension = body.getInt(KEY_BYTES + Short.BYTES + modelLength);
+            modelDimensions.putIfAbsent(new String(modelBytes, StandardCharsets.UTF_8), dimension);
+            loaded.put(HexFormat.of().formatHex(keyBytes), pos);
+            pos += Integer.BYTES + length;
+        }
+        if (pos < size) {
+            log.warn("Truncating {} trailing bytes of incomplete embedding records in {}", size - pos, dir);
+            ch.truncate(pos);
+        }
+        offsets.putAll(loaded);
+        writePosition = pos;
+        log.info("Embedding store opened at {} with {} entries", dir, loaded.size());
+        return ch;
+    }
+
+    private static ByteBuffer encode(String key, String model, float[] vector) {
+        byte[] modelBytes = model.getBytes(StandardCharsets.UTF_8);
+        int length = KEY_BYTES + Short.BYTES + modelBytes.length + Integer.BYTES + vector.length * Float.BYTES + Integer.BYTES;
+        ByteBuffer buf = ByteBuffer.allocate(Integer.BYTES + length).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(length);
+        buf.put(HexFormat.of().parseHex(key));
+        buf.putShort((short) modelBytes.length);
+        buf.put(modelBytes);
+        buf.putInt(vector.length);
+        for (float f : vector) buf.putFloat(f);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), Integer.BYTES, length - Integer.BYTES);
+        buf.putInt((int) crc.getValue());
+        return buf.flip();
+    }
+
+    private static float[] readVector(FileChannel ch, long offset) throws IOException {
+        ByteBuffer lengthBuf = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(ch, lengthBuf, offset);
+        ByteBuffer body = ByteBuffer.allocate(lengthBuf.getInt(0)).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(ch, body, offset + Integer.BYTES);
+        int dimensionPos = KEY_BYTES + Short.BYTES + body.getShort(KEY_BYTES);
+        float[] v = new float[body.getInt(dimensionPos)];
+        body.position(dimensionPos + Integer.BYTES);
+        body.asFloatBuffer().get(v);
+        return v;
+    }
+
+    private static boolean checksumMatches(ByteBuffer body) {
+        int crcPos = body.capacity() - Integer.BYTES;
+        if (crcPos < KEY_BYTES + Short.BYTES) return false;
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, crcPos);
+        return (int) crc.getValue() == body.getInt(crcPos);
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, position + buf.position());
+            if (n < 0) throw new IOException("Unexpected end of embedding store");
+        }
+    }
+
+    private static String key(String model, String text) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(model.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update((text == null ? "" : text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package spring.memewikibe.infrastructure.ai;
 
+import java.util.List;
+
 /**
  * Marker interface for Korean-specialized embedding service.
  * Implementations should return a float[] embedding for the input text.
@@ -7,4 +9,11 @@ package spring.memewikibe.infrastructure.ai;
  */
 public interface KoreanEmbeddingService {
     float[] embed(String text);
+
+    /**
+     * Embeds several texts at once; results are in input order.
+     */
+    default List<float[]> embedBatch(List<String> texts) {
+        return texts.stream().map(this::embed).toList();
+    }
 }
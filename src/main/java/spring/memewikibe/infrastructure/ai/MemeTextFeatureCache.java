@@ -0,0 +1,58 @@
+package spring.memewikibe.infrastructure.ai;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import spring.memewikibe.common.cache.BoundedCache;
+import spring.memewikibe.domain.meme.Meme;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link MemeTextFeatures} per meme id, recomputed when the meme's {@code updatedAt} moves on. Admin edits and
+ * deletes also drop the entry explicitly via {@link #invalidate}.
+ *
+ * <p>Term ids come from one process-wide dictionary so cached features can be compared without re-encoding.
+ * Ids are never reused; the dictionary only grows with vocabulary that actually appears in memes.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemeTextFeatureCache {
+
+    private final BoundedCache<Long, MemeTextFeatures> memeTextFeatures;
+
+    private final Map<String, Integer> termIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTermId = new AtomicInteger();
+
+    /**
+     * Returns cached features for the meme, computing them when absent or computed from an older version.
+     * Memes without an id (not yet persisted) are computed without caching.
+     */
+    public MemeTextFeatures get(Meme meme) {
+        Long id = meme.getId();
+        if (id == null) return MemeTextFeatures.from(meme, this::termId);
+        MemeTextFeatures cached = memeTextFeatures.get(id, k -> MemeTextFeatures.from(meme, this::termId));
+        if (Objects.equals(cached.updatedAt(), meme.getUpdatedAt())) return cached;
+        MemeTextFeatures fresh = MemeTextFeatures.from(meme, this::termId);
+        memeTextFeatures.put(id, fresh);
+        return fresh;
+    }
+
+    /**
+     * Exclusive upper bound of every term id handed out so far.
+     */
+    public int vocabularySize() {
+        return nextTermId.get();
+    }
+
+    public void invalidate(Collection<Long> memeIds) {
+        memeIds.forEach(memeTextFeatures::invalidate);
+    }
+
+    private int termId(String term) {
+        return termIds.computeIfAbsent(term, t -> nextTermId.getAndIncrement());
+    }
+}
@@ -0,0 +1,66 @@
+package spring.memewikibe.infrastructure.ai;
+
+import spring.memewikibe.common.util.HashtagParser;
+import spring.memewikibe.domain.meme.Meme;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Per-meme text derived once per edit for keyword scoring and diversification: lowercased fields,
+ * parsed hashtags and the sorted, distinct term ids of the meme's text. Cached by {@link MemeTextFeatureCache}.
+ *
+ * @param updatedAt the {@link Meme#getUpdatedAt()} these features were computed from
+ * @param tags      hashtags without '#', lowercased, blanks dropped
+ * @param terms     sorted, distinct term ids of {@code title usageContext hashtags} (see {@link #tokenize})
+ */
+public record MemeTextFeatures(
+    Long memeId,
+    LocalDateTime updatedAt,
+    String title,
+    String usage,
+    String origin,
+    List<String> tags,
+    int[] terms
+) {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[\\s\\p{Punct}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "은", "는", "이", "가", "을", "를", "의", "에", "에서", "에게", "께",
+        "으로", "로", "과", "와", "도", "만", "까지", "부터", "하다", "되다",
+        "이다", "있다", "없다", "싶다", "지", "요", "고", "다", "음", "면",
+        "것", "수", "등", "대한"
+    );
+
+    static MemeTextFeatures from(Meme meme, ToIntFunction<String> termIds) {
+        List<String> tags = HashtagParser.parseHashtags(meme.getHashtags()).stream()
+            .map(s -> s.replace("#", "").toLowerCase())
+            .filter(s -> !s.isBlank())
+            .toList();
+        // Concatenation keeps "null" for missing fields, as the diversification text always has
+        String text = (meme.getTitle() + " " + meme.getUsageContext() + " " + meme.getHashtags()).toLowerCase();
+        int[] terms = tokenize(text).stream().mapToInt(termIds).sorted().distinct().toArray();
+        return new MemeTextFeatures(meme.getId(), meme.getUpdatedAt(), safeLower(meme.getTitle()),
+            safeLower(meme.getUsageContext()), safeLower(meme.getOrigin()), tags, terms);
+    }
+
+    /**
+     * Splits on whitespace and punctuation, lowercases and drops Korean particles/stop words.
+     * Shared by queries and meme text so both sides produce the same tokens.
+     */
+    public static List<String> tokenize(String s) {
+        if (s == null) return List.of();
+        return Arrays.stream(TOKEN_SPLIT.split(s.toLowerCase()))
+            .filter(tok -> !tok.isBlank() && !STOP_WORDS.contains(tok))
+            .toList();
+    }
+
+    private static String safeLower(String s) {
+        return s == null ? "" : s.toLowerCase();
+    }
+}
@@ -4,19 +4,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import spring.memewikibe.common.cache.BoundedCache;
+import spring.memewikibe.common.util.TextNormalizer;
 import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+import spring.memewikibe.infrastructure.ai.vector.UpsertReport;
+import spring.memewikibe.infrastructure.ai.vector.VectorIndexBackend;
+import spring.memewikibe.infrastructure.ai.vector.VectorRecord;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,39 +32,27 @@ import java.util.stream.Collectors;
 public class MemeVectorIndexService {
 
     private final KoreanEmbeddingService embeddingService;
+    // Pinecone by default; selected with vector.backend
+    private final VectorIndexBackend vectorIndexBackend;
     // Optional beans for hybrid search and heavy rerank
     private final Optional<MemeVectorIndexService.KeywordSearchService> keywordSearchService;
     private final Optional<MemeVectorIndexService.Reranker> heavyReranker;
     private final Optional<QueryRewriter> queryRewriter; // [추가] QueryRewriter 주입
 
-    // Simple in-memory cache (TTL) for query results
-    private final SearchCache cache = new SearchCache(java.time.Duration.ofSeconds(60));
+    // Bounded TTL cache for query results; concurrent identical queries share one search
+    private final BoundedCache<String, List<SearchHit>> searchResultCache;
+    // Normalized query text -> embedding; outlives result entries since it does not depend on SearchOptions
+    private final BoundedCache<String, float[]> queryEmbeddingCache;
+    // Raw query -> rewriter output, so repeated queries skip the rewrite calls
+    private final BoundedCache<String, RewrittenQuery> queryRewriteCache;
+    // Virtual-thread executor running dense and sparse retrieval side by side
+    private final Executor searchExecutor;
 
-    @Value("${PINECONE_API_KEY:}")
-    private String apiKey;
+    @Value("${search.timeout.dense-ms:1500}")
+    private long denseTimeoutMs;
 
-    // Optional: if not provided, service will be no-op for network calls.
-    // Example: https://your-index-host.svc.us-east-1-aws.pinecone.io
-    @Value("${PINECONE_INDEX_HOST:}")
-    private String indexHost;
-
-    @Value("${PINECONE_INDEX_NAME:meme-recommendations}")
-    private String indexName;
-
-    @Value("${PINECONE_ENVIRONMENT:}")
-    private String environment; // e.g., us-east-1-aws
-
-    @Value("${PINECONE_NAMESPACE:}")
-    private String namespace;
-
-    // Optional: allow explicitly configuring index dimension via env
-    @Value("${PINECONE_INDEX_DIMENSION:0}")
-    private int configuredIndexDimension;
-
-    // Resolved Pinecone index dimension (from describe). 0 if unknown.
-    private volatile int resolvedIndexDimension = 0;
-
-    private final HttpClient http = HttpClient.newHttpClient();
+    @Value("${search.timeout.sparse-ms:800}")
+    private long sparseTimeoutMs;
 
     public void index(Meme meme) {
         upsertVectors(List.of(meme));
@@ -66,29 +62,65 @@ public class MemeVectorIndexService {
         upsertVectors(List.of(meme));
     }
 
-    public void upsertVectors(List<Meme> memes) {
-        ensureIndexHost();
-        if (!isConfigured()) {
-            log.warn("Pinecone not fully configured. Missing: {}. Skipping upsert.", missingConfig());
-            return;
+    /**
+     * Embeds and upserts memes; the report lists each backend batch, or a single failed batch when the
+     * backend is unavailable or embedding failed.
+     */
+    public UpsertReport upsertVectors(List<Meme> memes) {
+        if (!vectorIndexBackend.isAvailable()) {
+            log.warn("{}. Skipping upsert.", vectorIndexBackend.unavailableReason());
+            return UpsertReport.failed(idsOf(memes), vectorIndexBackend.unavailableReason());
         }
         try {
-            String body = buildUpsertBody(memes);
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(indexHost + "/vectors/upsert"))
-                .header("Content-Type", "application/json")
-                .header("Api-Key", apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
-                .build();
-            HttpResponse<String> resp = http.send(request, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
-                log.info("Pinecone upsert success for {} memes", memes.size());
-            } else {
-                log.error("Pinecone upsert failed: {} - {}", resp.statusCode(), resp.body());
+            List<float[]> vectors = embeddingService.embedBatch(memes.stream().map(this::textFor).toList());
+            List<VectorRecord> records = new java.util.ArrayList<>(memes.size());
+            for (int i = 0; i < memes.size(); i++) {
+                records.add(toRecord(memes.get(i), vectors.get(i)));
             }
+            return vectorIndexBackend.upsert(records);
         } catch (Exception e) {
-            log.error("Failed to upsert to Pinecone", e);
+            log.error("Failed to upsert vectors", e);
+            return UpsertReport.failed(idsOf(memes), e.toString());
+        }
+    }
+
+    /**
+     * Removes memes from the vector index.
+     *
+     * @throws IOException when the backend is unavailable or the delete failed
+     */
+    public void deleteVectors(List<Long> memeIds) throws IOException {
+        if (memeIds.isEmpty()) return;
+        if (!vectorIndexBackend.isAvailable()) {
+            throw new IOException(vectorIndexBackend.unavailableReason());
+        }
+        vectorIndexBackend.delete(memeIds.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Nearest indexed memes for each given meme, queried with the meme's own document embedding (served from
+     * the persistent embedding store while its text is unchanged). Each meme is left out of its own list.
+     *
+     * @return meme id -> up to {@code n} neighbors, best first, in input order
+     * @throws IOException when the backend is unavailable
+     */
+    public Map<Long, ScoredIds> nearestNeighbors(List<Meme> memes, int n) throws IOException {
+        if (memes.isEmpty()) return Map.of();
+        if (!vectorIndexBackend.isAvailable()) {
+            throw new IOException(vectorIndexBackend.unavailableReason());
         }
+        List<float[]> vectors = embeddingService.embedBatch(memes.stream().map(this::textFor).toList());
+        Map<Long, ScoredIds> out = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < memes.size(); i++) {
+            long self = memes.get(i).getId();
+            ScoredIds hits = vectorIndexBackend.query(ensureVectorDimension(vectors.get(i)), n + 1, null);
+            ScoredIds neighbors = new ScoredIds(n);
+            for (int j = 0; j < hits.size() && neighbors.size() < n; j++) {
+                if (hits.id(j) != self) neighbors.add(hits.id(j), hits.score(j));
+            }
+            out.put(self, neighbors);
+        }
+        return out;
     }
 
     public List<Long> query(String text, int topK) {
@@ -105,36 +137,68 @@ public class MemeVectorIndexService {
         if (query == null || query.isBlank()) return List.of();
 
         // 쿼리 확장 로직
-        String vectorQuery = query;
-        String keywordQuery = query;
-        if (queryRewriter.isPresent()) {
-            vectorQuery = queryRewriter.get().rewrite(null, query); // userContext는 null로 전달
-            keywordQuery = queryRewriter.get().expandForKeywords(query);
+        RewrittenQuery rewritten = queryRewriter.isPresent()
+            ? queryRewriteCache.get(query.strip(), this::rewrite)
+            : new RewrittenQuery(query, query);
+
+        if (!options.cacheEnabled()) {
+            return search(query, rewritten.vectorQuery(), rewritten.keywordQuery(), options, new AtomicBoolean());
+        }
+        String cacheKey = rewritten.vectorQuery().strip().toLowerCase(java.util.Locale.ROOT) + "|" + options.cacheSignature();
+        try {
+            return searchResultCache.get(cacheKey, k -> searchOrThrowIfDegraded(query, rewritten, options));
+        } catch (DegradedSearchException e) {
+            // Thrown to the loader and every single-flight joiner alike, so a partial result is never cached
+            return e.hits;
         }
+    }
 
-        String cacheKey = options.cacheEnabled() ? (vectorQuery.strip().toLowerCase(java.util.Locale.ROOT) + "|" + options.cacheSignature()) : null;
-        if (options.cacheEnabled()) {
-            List<SearchHit> cached = cache.get(cacheKey);
-            if (cached != null) return cached;
+    /**
+     * Rewrites the query for the dense side and expands it for the sparse side concurrently; both may call an LLM.
+     */
+    private RewrittenQuery rewrite(String query) {
+        QueryRewriter rewriter = queryRewriter.orElseThrow();
+        CompletableFuture<String> keywords = CompletableFuture.supplyAsync(() -> rewriter.expandForKeywords(query), searchExecutor);
+        String vectorQuery = rewriter.rewrite(null, query); // userContext는 null로 전달
+        try {
+            return new RewrittenQuery(vectorQuery, keywords.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
         }
+    }
 
-        // 1) Dense search (vector) - 벡터 검색은 문장형 쿼리 사용
-        List<SearchHit> denseHits = denseSearch(vectorQuery, options);
+    private List<SearchHit> searchOrThrowIfDegraded(String query, RewrittenQuery rewritten, SearchOptions options) {
+        AtomicBoolean degraded = new AtomicBoolean();
+        List<SearchHit> hits = search(query, rewritten.vectorQuery(), rewritten.keywordQuery(), options, degraded);
+        if (degraded.get()) throw new DegradedSearchException(hits);
+        return hits;
+    }
 
-        // 2) Optional hybrid (sparse keyword)
-        List<SearchHit> fused = denseHits;
-        if (options.enableHybrid() && keywordSearchService.isPresent()) {
+    private List<SearchHit> search(String query, String vectorQuery, String keywordQuery, SearchOptions options, AtomicBoolean degraded) {
+        // 1) Dense (vector, 문장형 쿼리) and optional sparse (keyword) retrieval run concurrently
+        boolean hybrid = options.enableHybrid() && keywordSearchService.isPresent();
+        CompletableFuture<List<SearchHit>> dense = retrieve("dense", () -> denseSearch(vectorQuery, options), denseTimeoutMs, degraded);
+        CompletableFuture<List<SearchHit>> sparse = hybrid
             // [수정] 확장된 키워드 쿼리를 토큰화하여 List<String>으로 전달
-            List<String> keywordTokens = tokenize(keywordQuery);
-            List<SearchHit> sparseHits = keywordSearchService.get().searchWithScores(keywordTokens, Math.max(options.topK(), options.lightRerankTopN()));
+            ? retrieve("sparse", () -> keywordSearchService.get().searchWithScores(tokenize(keywordQuery), Math.max(options.topK(), options.lightRerankTopN())), sparseTimeoutMs, degraded)
+            : null;
+
+        // 2) Fuse; when one side failed or timed out, fall back to the side that returned
+        List<SearchHit> denseHits = dense.join();
+        List<SearchHit> sparseHits = sparse == null ? null : sparse.join();
+        List<SearchHit> fused;
+        if (denseHits == null) {
+            fused = sparseHits == null ? List.of() : sparseHits;
+        } else if (sparseHits == null) {
+            fused = denseHits;
+        } else {
             fused = fuseScores(denseHits, sparseHits, options);
         }
 
         // 3) Conditional rerank skip by margin
         if (shouldSkipRerank(fused, options)) {
-            List<SearchHit> top = takeTopK(fused, options.topK());
-            cache.put(cacheKey, top, options);
-            return top;
+            return takeTopK(fused, options.topK());
         }
 
         // 4) Light rerank (score-sort head only)
@@ -143,124 +207,85 @@ public class MemeVectorIndexService {
         // 5) Optional heavy reranker on top-M
         List<SearchHit> finalHits = heavyRerankIfEnabled(query, light, options);
 
-        List<SearchHit> top = takeTopK(finalHits, options.topK());
-        cache.put(cacheKey, top, options);
-        return top;
+        return takeTopK(finalHits, options.topK());
+    }
+
+    /**
+     * Runs one retrieval stage on the search executor. A stage that throws or outlives its timeout completes
+     * with null and flags the search as degraded; the abandoned task is left to finish on its own thread.
+     */
+    private CompletableFuture<List<SearchHit>> retrieve(String stage, Supplier<List<SearchHit>> task, long timeoutMs, AtomicBoolean degraded) {
+        return CompletableFuture.supplyAsync(task, searchExecutor)
+            .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+            .exceptionally(e -> {
+                degraded.set(true);
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    log.warn("{} retrieval timed out after {}ms; continuing without it", stage, timeoutMs);
+                } else {
+                    log.warn("{} retrieval failed; continuing without it", stage, cause);
+                }
+                return null;
+            });
     }
 
     private List<SearchHit> denseSearch(String query, SearchOptions options) {
         // Prefer real Pinecone scores; fallback to rank-based if unavailable
-        List<SearchHit> hits = this.queryDenseHits(query, Math.max(options.topK(), options.lightRerankTopN()));
+        List<SearchHit> hits = this.queryDenseHits(query, Math.max(options.topK(), options.lightRerankTopN()), options.efSearch());
         if (hits != null && !hits.isEmpty()) return hits;
-        List<Long> ids = this.queryDenseIds(query, Math.max(options.topK(), options.lightRerankTopN()));
+        List<Long> ids = this.queryDenseIds(query, Math.max(options.topK(), options.lightRerankTopN()), options.efSearch());
         java.util.List<SearchHit> out = new java.util.ArrayList<>(ids.size());
-        double k = 60.0;
         for (int i = 0; i < ids.size(); i++) {
-            double score = 1.0 / (k + (i + 1));
-            out.add(new SearchHit(ids.get(i), score, "dense"));
+            out.add(new SearchHit(ids.get(i), ScoreFusion.rrf(i), "dense"));
         }
         return out;
     }
 
-    private List<SearchHit> queryDenseHits(String text, int topK) {
-        ensureIndexHost();
-        if (!isConfigured()) {
-            log.warn("Pinecone not fully configured ({}). Returning empty query result.", missingConfig());
+    private List<SearchHit> queryDenseHits(String text, int topK, Integer efSearch) {
+        if (!vectorIndexBackend.isAvailable()) {
+            log.warn("{}. Returning empty query result.", vectorIndexBackend.unavailableReason());
             return List.of();
         }
         try {
-            float[] v = embeddingService.embed(text);
-            v = ensureVectorDimension(v);
-            String vec = arrayToJson(v);
-            String body = "{" +
-                "\"vector\":" + vec + "," +
-                "\"topK\":" + topK + "," +
-                "\"namespace\":\"" + namespace + "\"" +
-                "}";
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(indexHost + "/query"))
-                .header("Content-Type", "application/json")
-                .header("Api-Key", apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
-                .build();
-            HttpResponse<String> resp = http.send(request, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
-                var matches = JsonLightParser.extractMatches(resp.body());
-                java.util.List<SearchHit> out = new java.util.ArrayList<>(matches.size());
-                for (var m : matches) out.add(new SearchHit(m.id, m.score, "dense"));
-                return out;
-            } else {
-                log.error("Pinecone query failed: {} - {}", resp.statusCode(), resp.body());
-                return List.of();
-            }
+            float[] v = ensureVectorDimension(embedQuery(text));
+            ScoredIds matches = vectorIndexBackend.query(v, topK, efSearch);
+            java.util.List<SearchHit> out = new java.util.ArrayList<>(matches.size());
+            for (int i = 0; i < matches.size(); i++) out.add(new SearchHit(matches.id(i), matches.score(i), "dense"));
+            return out;
         } catch (Exception e) {
-            log.error("Failed to query Pinecone", e);
+            log.error("Failed to query vector index", e);
             return List.of();
         }
     }
 
-    private List<Long> queryDenseIds(String text, int topK) {
-        ensureIndexHost();
-        if (!isConfigured()) {
-            log.warn("Pinecone not fully configured ({}). Returning empty query result.", missingConfig());
+    private List<Long> queryDenseIds(String text, int topK, Integer efSearch) {
+        if (!vectorIndexBackend.isAvailable()) {
+            log.warn("{}. Returning empty query result.", vectorIndexBackend.unavailableReason());
             return List.of();
         }
         try {
-            float[] v = embeddingService.embed(text);
-            v = ensureVectorDimension(v);
-            String vec = arrayToJson(v);
-            String body = "{" +
-                "\"vector\":" + vec + "," +
-                "\"topK\":" + topK + "," +
-                "\"namespace\":\"" + namespace + "\"" +
-                "}";
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(indexHost + "/query"))
-                .header("Content-Type", "application/json")
-                .header("Api-Key", apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
-                .build();
-            HttpResponse<String> resp = http.send(request, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
-                return JsonLightParser.extractIds(resp.body());
-            } else {
-                log.error("Pinecone query failed: {} - {}", resp.statusCode(), resp.body());
-                return List.of();
-            }
+            float[] v = ensureVectorDimension(embedQuery(text));
+            ScoredIds matches = vectorIndexBackend.query(v, topK, efSearch);
+            java.util.List<Long> ids = new java.util.ArrayList<>(matches.size());
+            for (int i = 0; i < matches.size(); i++) ids.add(matches.id(i));
+            return ids;
         } catch (Exception e) {
-            log.error("Failed to query Pinecone", e);
+            log.error("Failed to query vector index", e);
             return List.of();
         }
     }
 
-    private List<SearchHit> fuseScores(List<SearchHit> dense, List<SearchHit> sparse, SearchOptions options) {
-        java.util.Map<Long, Double> d = rankToScoreMap(dense);
-        java.util.Map<Long, Double> s = rankToScoreMap(sparse);
-        java.util.Set<Long> ids = new java.util.HashSet<>();
-        ids.addAll(d.keySet());
-        ids.addAll(s.keySet());
-        double dw = options.denseWeight();
-        double sw = options.sparseWeight();
-        java.util.List<SearchHit> fused = new java.util.ArrayList<>(ids.size());
-        for (Long id : ids) {
-            double ds = d.getOrDefault(id, 0.0);
-            double ss = s.getOrDefault(id, 0.0);
-            double score = ds * dw + ss * sw;
-            fused.add(new SearchHit(id, score, "fused"));
-        }
-        fused.sort(java.util.Comparator.comparingDouble(SearchHit::score).reversed());
-        return takeTopK(fused, Math.max(options.topK(), options.lightRerankTopN()));
+    /**
+     * Embeds the normalized query text, reusing the cached vector when the same text was embedded before.
+     * Callers must not modify the returned array.
+     */
+    public float[] embedQuery(String text) {
+        return queryEmbeddingCache.get(TextNormalizer.normalize(text), embeddingService::embed);
     }
 
-    private java.util.Map<Long, Double> rankToScoreMap(java.util.List<SearchHit> hits) {
-        double k = 60.0;
-        java.util.Map<Long, Double> m = new java.util.HashMap<>();
-        for (int i = 0; i < hits.size(); i++) {
-            long id = hits.get(i).id();
-            double rrf = 1.0 / (k + (i + 1));
-            m.merge(id, rrf, Double::sum);
-        }
-        return m;
+    private List<SearchHit> fuseScores(List<SearchHit> dense, List<SearchHit> sparse, SearchOptions options) {
+        return ScoreFusion.weightedRrf(dense, sparse, options.denseWeight(), options.sparseWeight(),
+            Math.max(options.topK(), options.lightRerankTopN()));
     }
 
     private boolean shouldSkipRerank(java.util.List<SearchHit> hits, SearchOptions options) {
@@ -272,6 +297,8 @@ public class MemeVectorIndexService {
 
     private java.util.List<SearchHit> lightRerank(java.util.List<SearchHit> hits, SearchOptions options) {
         int n = Math.min(options.lightRerankTopN(), hits.size());
+        // Fused and backend results usually arrive ordered already; skip the copy and sort then
+        if (isSortedByScore(hits, n)) return hits;
         java.util.List<SearchHit> head = new java.util.ArrayList<>(hits.subList(0, n));
         head.sort(java.util.Comparator.comparingDouble(SearchHit::score).reversed());
         java.util.List<SearchHit> tail = hits.subList(n, hits.size());
@@ -281,6 +308,13 @@ public class MemeVectorIndexService {
         return out;
     }
 
+    private static boolean isSortedByScore(java.util.List<SearchHit> hits, int n) {
+        for (int i = 1; i < n; i++) {
+            if (hits.get(i).score() > hits.get(i - 1).score()) return false;
+        }
+        return true;
+    }
+
     private java.util.List<SearchHit> heavyRerankIfEnabled(String query, java.util.List<SearchHit> hits, SearchOptions options) {
         if (heavyReranker == null || heavyReranker.isEmpty() || options.heavyRerankTopM() <= 0) return hits;
         int m = Math.min(options.heavyRerankTopM(), hits.size());
@@ -297,103 +331,20 @@ public class MemeVectorIndexService {
         return new java.util.ArrayList<>(list.subList(0, k));
     }
 
-    private void ensureIndexHost() {
-        if (indexHost != null && !indexHost.isBlank()) return;
-        if (apiKey == null || apiKey.isBlank()) return; // cannot resolve without API key
-        if (indexName == null || indexName.isBlank()) return;
-
-        // 1) Try pod-based controller resolution when environment is provided
-        if (environment != null && !environment.isBlank()) {
-            try {
-                String controllerUrl = "https://controller." + environment + ".pinecone.io/databases/" + indexName;
-                HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(controllerUrl))
-                    .header("Api-Key", apiKey)
-                    .GET()
-                    .build();
-                HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
-                    String json = resp.body();
-                    String host = HostParser.extractHost(json);
-                    Integer dim = HostParser.extractDimension(json);
-                    if (host != null && !host.isBlank()) {
-                        indexHost = host.startsWith("http") ? host : ("https://" + host);
-                        if (dim != null && dim > 0) {
-                            resolvedIndexDimension = dim;
-                            log.info("Resolved Pinecone host via controller (pod-based): {}, dimension: {}", indexHost, resolvedIndexDimension);
-                        } else {
-                            log.info("Resolved Pinecone host via controller (pod-based): {}", indexHost);
-                        }
-                        return;
-                    } else {
-                        log.warn("Could not resolve Pinecone host from controller response. Will try serverless API. env={}, index={}", environment, indexName);
-                    }
-                } else {
-                    log.warn("Controller call to resolve Pinecone host failed (pod-based): {} - {}. Will try serverless API next.", resp.statusCode(), resp.body());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to resolve Pinecone host via controller (env={}, index={}). Will try serverless API next.", environment, indexName, e);
-            }
-        }
-
-        // 2) Try serverless Describe Index API
-        try {
-            String serverlessUrl = "https://api.pinecone.io/indexes/" + indexName;
-            HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(serverlessUrl))
-                .header("Api-Key", apiKey)
-                .GET()
-                .build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
-                String json = resp.body();
-                String host = HostParser.extractHost(json);
-                Integer dim = HostParser.extractDimension(json);
-                if (host != null && !host.isBlank()) {
-                    indexHost = host.startsWith("http") ? host : ("https://" + host);
-                    if (dim != null && dim > 0) {
-                        resolvedIndexDimension = dim;
-                        log.info("Resolved Pinecone host via serverless API: {}, dimension: {}", indexHost, resolvedIndexDimension);
-                    } else {
-                        log.info("Resolved Pinecone host via serverless API: {}", indexHost);
-                    }
-                } else {
-                    log.warn("Serverless API response did not contain host. Please set PINECONE_INDEX_HOST manually. index={}", indexName);
-                }
-            } else if (resp.statusCode() == 404) {
-                log.warn("Pinecone index '{}' not found (serverless describe returned 404). Create the index in Pinecone console or set PINECONE_INDEX_HOST manually.", indexName);
-            } else {
-                log.warn("Serverless API call to resolve Pinecone host failed: {} - {}. Please set PINECONE_INDEX_HOST.", resp.statusCode(), resp.body());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to resolve Pinecone host via serverless API (index={}). Please set PINECONE_INDEX_HOST.", indexName, e);
-        }
+    private static long[] idsOf(List<Meme> memes) {
+        return memes.stream().mapToLong(Meme::getId).toArray();
     }
 
-    private String buildUpsertBody(List<Meme> memes) {
-        // Build vectors array
-        String vectors = memes.stream().map(m -> {
-            float[] v = embeddingService.embed(textFor(m));
-            v = ensureVectorDimension(v);
-            String vec = arrayToJson(v);
-            String metadata = toJson(Map.of(
-                "title", nullSafe(m.getTitle()),
-                "origin", nullSafe(m.getOrigin()),
-                "usageContext", nullSafe(m.getUsageContext()),
-                "hashtags", nullSafe(m.getHashtags()),
-                "imgUrl", nullSafe(m.getImgUrl())
-            ));
-            return "{" +
-                "\"id\":\"" + m.getId() + "\"," +
-                "\"values\":" + vec + "," +
-                "\"metadata\":" + metadata +
-                "}";
-        }).collect(Collectors.joining(","));
-
-        return "{" +
-            "\"namespace\":\"" + namespace + "\"," +
-            "\"vectors\":[" + vectors + "]" +
-            "}";
+    private VectorRecord toRecord(Meme m, float[] embedding) {
+        float[] v = ensureVectorDimension(embedding);
+        Map<String, String> metadata = Map.of(
+            "title", nullSafe(m.getTitle()),
+            "origin", nullSafe(m.getOrigin()),
+            "usageContext", nullSafe(m.getUsageContext()),
+            "hashtags", nullSafe(m.getHashtags()),
+            "imgUrl", nullSafe(m.getImgUrl())
+        );
+        return new VectorRecord(m.getId(), v, metadata);
     }
 
     private String textFor(Meme m) {
@@ -419,21 +370,9 @@ public class MemeVectorIndexService {
         }
     }
 
-    private boolean isConfigured() {
-        return apiKey != null && !apiKey.isBlank() && indexHost != null && !indexHost.isBlank();
-    }
-
-    private String missingConfig() {
-        StringBuilder sb = new StringBuilder();
-        if (apiKey == null || apiKey.isBlank()) sb.append("PINECONE_API_KEY ");
-        if (indexHost == null || indexHost.isBlank()) sb.append("PINECONE_INDEX_HOST (or resolvable via controller using PINECONE_ENVIRONMENT + PINECONE_INDEX_NAME, or via serverless Describe Index API) ");
-        return sb.toString().trim();
-    }
-
     private int targetIndexDimension(int embeddingLength) {
-        if (configuredIndexDimension > 0) return configuredIndexDimension;
-        if (resolvedIndexDimension > 0) return resolvedIndexDimension;
-        return embeddingLength;
+        int dimension = vectorIndexBackend.dimension();
+        return dimension > 0 ? dimension : embeddingLength;
     }
 
     private float[] ensureVectorDimension(float[] v) {
@@ -449,125 +388,27 @@ public class MemeVectorIndexService {
             System.arraycopy(v, 0, out, 0, v.length);
             // remaining values are zeros by default
         }
-        log.debug("Adjusted embedding vector dimension from {} to {} (configuredIndexDimension={}, resolvedIndexDimension={})", v.length, target, configuredIndexDimension, resolvedIndexDimension);
+        log.debug("Adjusted embedding vector dimension from {} to {} to match the vector index", v.length, target);
         return out;
     }
 
-    private static String arrayToJson(float[] arr) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < arr.length; i++) {
-            if (i > 0) sb.append(',');
-            sb.append(Float.toString(arr[i]));
-        }
-        sb.append(']');
-        return sb.toString();
-    }
-
     private static String nullSafe(String s) { return s == null ? "" : s; }
 
-    private static String toJson(Map<String, String> map) {
-        return "{" + map.entrySet().stream()
-            .map(e -> "\"" + escape(e.getKey()) + "\":\"" + escape(e.getValue()) + "\"")
-            .collect(Collectors.joining(",")) + "}";
-    }
+    // --- Options / DTOs / Interfaces for hybrid + rerank + cache ---
+    public record SearchHit(Long id, double score, String source) {}
 
-    private static String escape(String s) {
-        return s.replace("\\", "\\\\").replace("\"", "\\\"");
-    }
+    public record RewrittenQuery(String vectorQuery, String keywordQuery) {}
 
-    /**
-     * Minimal JSON helpers without adding a JSON library.
-     */
-    static class HostParser {
-        static String extractHost(String json) {
-            // naive: look for "host":"..."
-            int pos = json.indexOf("\"host\"");
-            if (pos < 0) return null;
-            int colon = json.indexOf(':', pos);
-            int q1 = json.indexOf('"', colon + 1);
-            int q2 = json.indexOf('"', q1 + 1);
-            if (q1 < 0 || q2 < 0) return null;
-            return json.substring(q1 + 1, q2);
-        }
-        static Integer extractDimension(String json) {
-            int pos = json.indexOf("\"dimension\"");
-            if (pos < 0) return null;
-            int colon = json.indexOf(':', pos);
-            if (colon < 0) return null;
-            int i = colon + 1;
-            // skip spaces
-            while (i < json.length() && Character.isWhitespace(json.charAt(i))) i++;
-            int start = i;
-            while (i < json.length() && Character.isDigit(json.charAt(i))) i++;
-            if (start == i) return null;
-            try {
-                return Integer.parseInt(json.substring(start, i));
-            } catch (NumberFormatException e) {
-                return null;
-            }
-        }
-    }
+    // Carries a partial result out of the result-cache loader so it is returned but never stored
+    private static final class DegradedSearchException extends RuntimeException {
+        private final transient List<SearchHit> hits;
 
-    static class JsonLightParser {
-        static List<Long> extractIds(String json) {
-            // very naive: find occurrences of "id":"..." and parse long
-            new Object();
-            java.util.ArrayList<Long> ids = new java.util.ArrayList<>();
-            int idx = 0;
-            while (true) {
-                int pos = json.indexOf("\"id\"", idx);
-                if (pos < 0) break;
-                int colon = json.indexOf(':', pos);
-                int q1 = json.indexOf('"', colon + 1);
-                int q2 = json.indexOf('"', q1 + 1);
-                if (q1 < 0 || q2 < 0) break;
-                String idStr = json.substring(q1 + 1, q2);
-                try {
-                    ids.add(Long.parseLong(idStr));
-                } catch (NumberFormatException ignored) {}
-                idx = q2 + 1;
-            }
-            return ids;
+        private DegradedSearchException(List<SearchHit> hits) {
+            super("search degraded", null, false, false);
+            this.hits = hits;
         }
-        static java.util.List<Match> extractMatches(String json) {
-            // Extract pairs (id, score) from Pinecone response: "matches":[{"id":"...","score":0.xx},...]
-            java.util.List<Match> matches = new java.util.ArrayList<>();
-            int arrPos = json.indexOf("\"matches\"");
-            if (arrPos < 0) return matches;
-            int lb = json.indexOf('[', arrPos);
-            int rb = json.indexOf(']', lb);
-            if (lb < 0 || rb < 0) return matches;
-            String arr = json.substring(lb + 1, rb);
-            int idx = 0;
-            while (true) {
-                int idKey = arr.indexOf("\"id\"", idx);
-                if (idKey < 0) break;
-                int colon = arr.indexOf(':', idKey);
-                int q1 = arr.indexOf('"', colon + 1);
-                int q2 = arr.indexOf('"', q1 + 1);
-                if (q1 < 0 || q2 < 0) break;
-                String idStr = arr.substring(q1 + 1, q2);
-                long id;
-                try { id = Long.parseLong(idStr); } catch (NumberFormatException e) { id = -1L; }
-                int scoreKey = arr.indexOf("\"score\"", q2);
-                if (scoreKey < 0) break;
-                int scolon = arr.indexOf(':', scoreKey);
-                int end = scolon + 1;
-                // parse until comma or end of object
-                while (end < arr.length() && "-+.0123456789eE".indexOf(arr.charAt(end)) >= 0) end++;
-                double score = 0.0;
-                try { score = Double.parseDouble(arr.substring(scolon + 1, end).trim()); } catch (Exception ignored) {}
-                if (id >= 0) matches.add(new Match(id, score));
-                idx = end;
-            }
-            return matches;
-        }
-        static final class Match { final long id; final double score; Match(long i,double s){id=i;score=s;} }
     }
 
-    // --- Options / DTOs / Interfaces for hybrid + rerank + cache ---
-    public record SearchHit(Long id, double score, String source) {}
-
     public record SearchOptions(
         int topK,
         int lightRerankTopN,
@@ -626,26 +467,6 @@ public class MemeVectorIndexService {
         String textOf(Long memeId);
     }
 
-    static final class SearchCache {
-        private final java.time.Duration ttl;
-        private final java.util.Map<String, Entry> map = new java.util.concurrent.ConcurrentHashMap<>();
-        SearchCache(java.time.Duration ttl) { this.ttl = ttl; }
-        java.util.List<SearchHit> get(String key) {
-            if (key == null) return null;
-            Entry e = map.get(key);
-            if (e == null || java.time.Instant.now().isAfter(e.expireAt)) {
-                map.remove(key);
-                return null;
-            }
-            return e.value;
-        }
-        void put(String key, java.util.List<SearchHit> value, SearchOptions options) {
-            if (key == null || !options.cacheEnabled()) return;
-            map.put(key, new Entry(value, java.time.Instant.now().plus(ttl)));
-        }
-        record Entry(java.util.List<SearchHit> value, java.time.Instant expireAt) {}
-    }
-
     private static final Pattern TOKEN_SPLIT = Pattern.compile("[\\s,]+");
     private List<String> tokenize(String s) {
         if (s == null) return List.of();
@@ -1,5 +1,6 @@
 package spring.memewikibe.infrastructure.ai;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +33,8 @@ public class NaverQueryRewriter implements QueryRewriter {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    // 같은 검색어는 TTL 동안 한 번만 확장 (동시 요청은 하나의 호출을 기다림, 재시작 후에도 유지)
+    private final QueryExpansionCache queryExpansionCache;
 
     private static final String KEYWORD_EXTRACTION_PROMPT =
         "사용자의 검색어에서 검색에 사용할 핵심 키워드를 1~3개 추출하고, 관련된 동의어나 유의어를 1~2개 추가하여 공백으로 구분된 목록으로 반환하라. " +
@@ -56,6 +60,18 @@ public class NaverQueryRewriter implements QueryRewriter {
             return query;
         }
 
+        try {
+            return queryExpansionCache.get(query, this::requestExpansion);
+        } catch (Exception e) {
+            log.error("Failed to expand keywords for query: '{}'. Falling back to original query.", query, e);
+            return query;
+        }
+    }
+
+    /**
+     * HyperCLOVA로 키워드를 확장합니다. 실패하면 예외를 던져 캐시에 남지 않게 합니다.
+     */
+    private String requestExpansion(String query) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -80,13 +96,15 @@ public class NaverQueryRewriter implements QueryRewriter {
             Map<String, Object> resultObject = (Map<String, Object>) responseJson.get("result");
             Map<String, Object> messageObject = (Map<String, Object>) resultObject.get("message");
             String expandedKeywords = (String) messageObject.get("content");
+            if (expandedKeywords == null || expandedKeywords.isBlank()) {
+                throw new IllegalStateException("Empty keyword expansion");
+            }
 
             log.info("Query '{}' expanded to keywords: '{}'", query, expandedKeywords);
             return expandedKeywords.trim();
 
-        } catch (Exception e) {
-            log.error("Failed to expand keywords for query: '{}'. Falling back to original query.", query, e);
-            return query;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package spring.memewikibe.infrastructure.ai;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import spring.memewikibe.common.cache.BoundedCache;
+import spring.memewikibe.common.util.TextNormalizer;
+import spring.memewikibe.domain.search.QueryExpansion;
+import spring.memewikibe.infrastructure.QueryExpansionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Normalized query -> LLM keyword expansion, so each distinct query is expanded at most once per TTL.
+ *
+ * <p>Lookups go memory ({@link BoundedCache}, single-flight) -> {@link QueryExpansion} table -> expander.
+ * Concurrent callers for the same query wait for one expansion. That includes the vector and keyword sides of a
+ * single search. New expansions are written to the table off the request thread, so they survive restarts and
+ * are shared between instances. On startup the most frequently hit queries are loaded back into memory.
+ * Failed expansions (the expander throws) are never cached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryExpansionCache {
+
+    private static final int MAX_KEYWORDS_LENGTH = 500;
+
+    private final BoundedCache<String, String> queryExpansions;
+    private final QueryExpansionRepository queryExpansionRepository;
+    // Persists new expansions without holding up the search
+    private final Executor searchExecutor;
+
+    // Hits since the last flush; only the ranking matters for warm-up, so a hit lost to a concurrent flush is fine
+    private final Map<String, LongAdder> pendingHits = new ConcurrentHashMap<>();
+
+    @Value("${search.expansion-cache.ttl:7d}")
+    private Duration ttl;
+
+    @Value("${search.expansion-cache.warmup-size:500}")
+    private int warmupSize;
+
+    /**
+     * Returns the cached expansion of the query, or expands it with {@code expander} while concurrent callers for
+     * the same normalized query wait. Exceptions from the expander propagate and nothing is cached.
+     */
+    public String get(String query, UnaryOperator<String> expander) {
+        String key = TextNormalizer.normalize(query);
+        if (key.isEmpty() || key.length() > QueryExpansion.MAX_QUERY_LENGTH) return expander.apply(query);
+        pendingHits.computeIfAbsent(key, k -> new LongAdder()).increment();
+        return queryExpansions.get(key, k -> load(k, query, expander));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupSize <= 0) return;
+        try {
+            List<QueryExpansion> top = queryExpansionRepository.findByExpandedAtAfterOrderByHitCountDesc(
+                LocalDateTime.now().minus(ttl), Limit.of(warmupSize));
+            // Warmed entries restart their in-memory TTL; the stored expandedAt still bounds reloads after that
+            top.forEach(e -> queryExpansions.put(e.getNormalizedQuery(), e.getKeywords()));
+            log.info("Warmed query expansion cache with {} queries", top.size());
+        } catch (RuntimeException e) {
+            log.warn("Query expansion cache warm-up failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.expansion-cache.hit-flush-interval:1m}")
+    public void flushHits() {
+        for (String key : pendingHits.keySet()) {
+            LongAdder hits = pendingHits.remove(key);
+            long delta = hits == null ? 0 : hits.sum();
+            if (delta <= 0) continue;
+            try {
+                queryExpansionRepository.addHits(key, delta);
+            } catch (RuntimeException e) {
+                log.warn("Failed to record {} query expansion hits for '{}'", delta, key, e);
+            }
+        }
+    }
+
+    private String load(String key, String query, UnaryOperator<String> expander) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<QueryExpansion> stored = findStored(key);
+        if (stored.isPresent() && stored.get().getExpandedAt() != null && stored.get().getExpandedAt().isAfter(now.minus(ttl))) {
+            return stored.get().getKeywords();
+        }
+        String keywords = expander.apply(query);
+        if (keywords != null && keywords.length() <= MAX_KEYWORDS_LENGTH) {
+            searchExecutor.execute(() -> persist(key, keywords, now));
+        }
+        return keywords;
+    }
+
+    private Optional<QueryExpansion> findStored(String key) {
+        try {
+            return queryExpansionRepository.findByNormalizedQuery(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read stored expansion for '{}'; expanding again", key, e);
+            return Optional.empty();
+        }
+    }
+
+    private void persist(String key, String keywords, LocalDateTime expandedAt) {
+        try {
+            Optional<QueryExpansion> existing = queryExpansionRepository.findByNormalizedQuery(key);
+            if (existing.isPresent()) {
+                existing.get().reexpand(keywords, expandedAt);
+                queryExpansionRepository.save(existing.get());
+            } else {
+                queryExpansionRepository.save(QueryExpansion.of(key, keywords, expandedAt));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same query first
+            log.debug("Expansion for '{}' already stored", key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store expansion for '{}'", key, e);
+        }
+    }
+}
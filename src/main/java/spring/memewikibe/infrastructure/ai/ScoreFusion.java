@@ -0,0 +1,49 @@
+package spring.memewikibe.infrastructure.ai;
+
+import spring.memewikibe.common.util.LongDoubleHashMap;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.SearchHit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weighted reciprocal-rank fusion of dense and sparse hit lists.
+ *
+ * <p>Scores accumulate in a {@link LongDoubleHashMap}, so ids and scores are never boxed, and only the
+ * {@code topK} winners are selected (bounded heap, no full sort) and materialized as {@link SearchHit}s.
+ */
+final class ScoreFusion {
+
+    static final double RRF_K = 60.0;
+
+    private ScoreFusion() {
+    }
+
+    /**
+     * Each hit at rank {@code i} (0-based) contributes {@code weight / (RRF_K + i + 1)} to its id; an id listed
+     * twice on one side contributes twice. Returns at most {@code topK} hits by descending fused score, ties
+     * broken by ascending id.
+     */
+    static List<SearchHit> weightedRrf(List<SearchHit> dense, List<SearchHit> sparse,
+                                       double denseWeight, double sparseWeight, int topK) {
+        LongDoubleHashMap scores = new LongDoubleHashMap(dense.size() + sparse.size());
+        accumulate(scores, dense, denseWeight);
+        accumulate(scores, sparse, sparseWeight);
+        int[] top = scores.topSlots(topK);
+        List<SearchHit> out = new ArrayList<>(top.length);
+        for (int slot : top) {
+            out.add(new SearchHit(scores.keyAt(slot), scores.valueAt(slot), "fused"));
+        }
+        return out;
+    }
+
+    static double rrf(int rank) {
+        return 1.0 / (RRF_K + rank + 1);
+    }
+
+    private static void accumulate(LongDoubleHashMap scores, List<SearchHit> hits, double weight) {
+        for (int i = 0, n = hits.size(); i < n; i++) {
+            scores.addTo(hits.get(i).id(), weight * rrf(i));
+        }
+    }
+}
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import spring.memewikibe.common.util.HashtagParser;
 import spring.memewikibe.domain.meme.Meme;
 import spring.memewikibe.infrastructure.MemeRepository;
 
@@ -20,6 +19,7 @@ import java.util.regex.Pattern;
 public class SimpleKeywordSearchService implements MemeVectorIndexService.KeywordSearchService {
 
     private final MemeRepository memeRepository;
+    private final MemeTextFeatureCache memeTextFeatureCache;
 
     private static final Pattern TOKEN_SPLIT = Pattern.compile("[\\s,]+");
 
@@ -91,14 +91,12 @@ public class SimpleKeywordSearchService implements MemeVectorIndexService.Keywor
             .filter(tok -> !tok.isBlank()).toList();
     }
 
-    private static double keywordMatchScore(String qLower, List<String> qTokens, Meme m) {
-        String usage = safeLower(m.getUsageContext());
-        String title = safeLower(m.getTitle());
-        String origin = safeLower(m.getOrigin());
-        List<String> tags = HashtagParser.parseHashtags(m.getHashtags()).stream()
-            .map(s -> s.replace("#", "").toLowerCase())
-            .filter(s -> !s.isBlank())
-            .toList();
+    private double keywordMatchScore(String qLower, List<String> qTokens, Meme m) {
+        MemeTextFeatures features = memeTextFeatureCache.get(m);
+        String usage = features.usage();
+        String title = features.title();
+        String origin = features.origin();
+        List<String> tags = features.tags();
 
         int qSize = Math.max(1, qTokens.size());
         int usageMatches = countContainsTokens(usage, qTokens);
@@ -138,6 +136,4 @@ public class SimpleKeywordSearchService implements MemeVectorIndexService.Keywor
         }
         return c;
     }
-
-    private static String safeLower(String s) { return s == null ? "" : s.toLowerCase(); }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Adapter implementation for KoreanEmbeddingService that delegates to the primary EmbeddingService.
  *
@@ -40,4 +42,15 @@ public class SimpleKoreanEmbeddingService implements KoreanEmbeddingService {
     public float[] embed(String text) {
         return delegate.embed(text);
     }
+
+    /**
+     * Generates embeddings for several texts, letting the delegate batch remote calls.
+     *
+     * @param texts the input texts to embed
+     * @return one embedding per input text, in input order
+     */
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        return delegate.embedBatch(texts);
+    }
 }
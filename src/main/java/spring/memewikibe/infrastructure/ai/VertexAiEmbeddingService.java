@@ -5,10 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
+import spring.memewikibe.infrastructure.ai.json.StreamingJsonParser;
+import spring.memewikibe.infrastructure.http.OutboundHttpClient;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
@@ -17,7 +19,13 @@ import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
  * Production-grade embedding service using Google Vertex AI text-embedding-004.
@@ -25,6 +33,10 @@ import java.util.Base64;
  * - If required environment variables are not present or any call fails,
  *   this service falls back to DefaultEmbeddingService.
  * - Token is cached until just before expiry to avoid frequent auth calls.
+ * - Successful document embeddings (embedBatch, the indexing path) are persisted in EmbeddingStore
+ *   (keyed by model + text hash), so unchanged texts are not re-embedded across reindexes and restarts.
+ *   Query embeddings (embed) are not stored: distinct user queries are unbounded and are already cached
+ *   in memory by MemeVectorIndexService. Fallback vectors are never stored.
  */
 @Slf4j
 @Service
@@ -33,6 +45,9 @@ import java.util.Base64;
 public class VertexAiEmbeddingService implements EmbeddingService {
 
     private final DefaultEmbeddingService fallback; // fallback when not configured or on error
+    private final EmbeddingStore embeddingStore;
+    private final Executor embeddingExecutor; // bounds concurrent predict calls in embedBatch
+    private final OutboundHttpClient http;
 
     @Value("${VERTEX_AI_PROJECT_ID:}")
     private String projectId;
@@ -49,7 +64,14 @@ public class VertexAiEmbeddingService implements EmbeddingService {
     @Value("${GOOGLE_PRIVATE_KEY:}")
     private String privateKeyPem;
 
-    private final HttpClient http = HttpClient.newHttpClient();
+    // Vertex text embedding limits: 250 instances per request, ~20k input tokens per request
+    @Value("${VERTEX_AI_EMBEDDING_BATCH_SIZE:250}")
+    private int maxBatchSize;
+
+    @Value("${VERTEX_AI_EMBEDDING_BATCH_MAX_CHARS:15000}")
+    private int maxBatchChars;
+
+    private static final String UPSTREAM = "vertex";
 
     private volatile String cachedAccessToken = null;
     private volatile long tokenExpiryMillis = 0L; // epoch millis
@@ -59,18 +81,92 @@ public class VertexAiEmbeddingService implements EmbeddingService {
         if (!isConfigured()) {
             return fallback.embed(text);
         }
+        List<float[]> predicted = predict(List.of(text == null ? "" : text));
+        if (predicted == null) {
+            return fallback.embed(text);
+        }
+        return predicted.get(0);
+    }
+
+    /**
+     * Embeds texts with as few predict calls as possible. Texts already in the store are not sent;
+     * the rest are packed up to {@code VERTEX_AI_EMBEDDING_BATCH_SIZE} instances and
+     * {@code VERTEX_AI_EMBEDDING_BATCH_MAX_CHARS} characters per request, and requests run in
+     * parallel on embeddingExecutor. A failed request falls back per item to DefaultEmbeddingService.
+     */
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        if (!isConfigured()) {
+            return fallback.embedBatch(texts);
+        }
+        float[][] out = new float[texts.size()][];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            out[i] = embeddingStore.get(modelName, texts.get(i));
+            if (out[i] == null) pending.add(i);
+        }
+
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (List<Integer> batch : packBatches(texts, pending)) {
+            calls.add(CompletableFuture.runAsync(() -> {
+                List<String> batchTexts = batch.stream().map(i -> texts.get(i) == null ? "" : texts.get(i)).toList();
+                List<float[]> predicted = predict(batchTexts);
+                for (int j = 0; j < batch.size(); j++) {
+                    int i = batch.get(j);
+                    if (predicted == null) {
+                        out[i] = fallback.embed(texts.get(i));
+                    } else {
+                        out[i] = predicted.get(j);
+                        embeddingStore.put(modelName, texts.get(i), out[i]);
+                    }
+                }
+            }, embeddingExecutor));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        if (!pending.isEmpty()) {
+            log.info("Vertex batch embedding: {} texts, {} from store, {} requests", texts.size(), texts.size() - pending.size(), calls.size());
+        }
+        return Arrays.asList(out);
+    }
+
+    private List<List<Integer>> packBatches(List<String> texts, List<Integer> indexes) {
+        List<List<Integer>> batches = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        int chars = 0;
+        for (int i : indexes) {
+            int length = texts.get(i) == null ? 0 : texts.get(i).length();
+            if (!current.isEmpty() && (current.size() >= maxBatchSize || chars + length > maxBatchChars)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                chars = 0;
+            }
+            current.add(i);
+            chars += length;
+        }
+        if (!current.isEmpty()) batches.add(current);
+        return batches;
+    }
+
+    /**
+     * Calls :predict with one instance per text.
+     *
+     * @return one vector per text in order, or null when the call failed or returned a different count
+     */
+    private List<float[]> predict(List<String> texts) {
         try {
             String accessToken = getAccessToken();
             if (accessToken == null || accessToken.isBlank()) {
                 log.warn("Vertex token not available; falling back to default embedding");
-                return fallback.embed(text);
+                return null;
             }
 
             String url = String.format("https://%s-aiplatform.googleapis.com/v1/projects/%s/locations/%s/publishers/google/models/%s:predict",
                 location, urlEncode(projectId), location, urlEncode(modelName));
 
             String payload = "{" +
-                "\"instances\":[{\"content\":\"" + escapeJson(text == null ? "" : text) + "\"}]" +
+                "\"instances\":[" + texts.stream()
+                    .map(t -> "{\"content\":\"" + escapeJson(t) + "\"}")
+                    .collect(Collectors.joining(",")) + "]" +
                 "}";
 
             HttpRequest req = HttpRequest.newBuilder()
@@ -79,21 +175,22 @@ public class VertexAiEmbeddingService implements EmbeddingService {
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
                 .build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
-                float[] v = parseEmbeddingValues(resp.body());
-                if (v != null && v.length > 0) {
-                    return v;
+            HttpResponse<InputStream> resp = http.send(UPSTREAM, req, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = resp.body()) {
+                if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
+                    List<float[]> vectors = StreamingJsonParser.readEmbeddings(body);
+                    if (vectors.size() == texts.size() && vectors.stream().allMatch(v -> v.length > 0)) {
+                        return vectors;
+                    }
+                    log.warn("Vertex embedding response had {} usable vectors for {} instances; falling back", vectors.size(), texts.size());
+                    return null;
                 }
-                log.warn("Vertex embedding response parsed with 0 values; falling back");
-                return fallback.embed(text);
-            } else {
-                log.warn("Vertex predict failed: {} - {}", resp.statusCode(), resp.body());
-                return fallback.embed(text);
+                log.warn("Vertex predict failed: {} - {}", resp.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                return null;
             }
         } catch (Exception e) {
             log.warn("Vertex predict exception; falling back: {}", e.toString());
-            return fallback.embed(text);
+            return null;
         }
     }
 
@@ -116,7 +213,7 @@ public class VertexAiEmbeddingService implements EmbeddingService {
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
                 .build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> resp = http.send(UPSTREAM, req, HttpResponse.BodyHandlers.ofString());
             if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
                 String json = resp.body();
                 String token = extractJsonString(json, "access_token");
@@ -185,7 +282,7 @@ public class VertexAiEmbeddingService implements EmbeddingService {
     private static String urlEncode(String s) { return URLEncoder.encode(s, StandardCharsets.UTF_8); }
 
     private static String escapeJson(String s) {
-        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
     }
 
     private static String extractJsonString(String json, String key) {
@@ -216,32 +313,4 @@ public class VertexAiEmbeddingService implements EmbeddingService {
             return defVal;
         }
     }
-
-    private static float[] parseEmbeddingValues(String json) {
-        // Find "values":[ ... ] and parse floats
-        int keyPos = json.indexOf("\"values\"");
-        if (keyPos < 0) return null;
-        int colon = json.indexOf(':', keyPos);
-        if (colon < 0) return null;
-        int lb = json.indexOf('[', colon);
-        int rb = json.indexOf(']', lb);
-        if (lb < 0 || rb < 0) return null;
-        String inner = json.substring(lb + 1, rb);
-        String[] parts = inner.split(",");
-        float[] out = new float[parts.length];
-        int n = 0;
-        for (String p : parts) {
-            String s = p.trim();
-            if (s.isEmpty()) continue;
-            try {
-                out[n++] = Float.parseFloat(s);
-            } catch (NumberFormatException ignored) {}
-        }
-        if (n != out.length) {
-            float[] resized = new float[n];
-            System.arraycopy(out, 0, resized, 0, n);
-            return resized;
-        }
-        return out;
-    }
 }
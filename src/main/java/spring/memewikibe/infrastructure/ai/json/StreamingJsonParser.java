@@ -0,0 +1,478 @@
+package spring.memewikibe.infrastructure.ai.json;
+
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pull parser over raw response bytes for the two hot JSON shapes we read on every search:
+ * Pinecone query matches and Vertex AI embedding predictions.
+ *
+ * <p>Numbers are decoded straight from bytes into primitives and unknown values (metadata, statistics, ...)
+ * are skipped structurally, so brackets or quotes inside strings cannot confuse it. Only the keys we look for
+ * are compared, byte by byte; a key written with escape sequences never matches. Not thread-safe.
+ */
+public final class StreamingJsonParser {
+
+    private static final byte[] MATCHES = ascii("matches");
+    private static final byte[] ID = ascii("id");
+    private static final byte[] SCORE = ascii("score");
+    private static final byte[] PREDICTIONS = ascii("predictions");
+    private static final byte[] EMBEDDINGS = ascii("embeddings");
+    private static final byte[] VALUES = ascii("values");
+
+    // Powers of ten exactly representable as doubles (Clinger's fast path)
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final InputStream in;
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    private char[] numberChars = new char[32];
+    private byte[] keyBuf = new byte[32];
+    private int keyLength;
+
+    private StreamingJsonParser(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buf = new byte[bufferSize];
+    }
+
+    private StreamingJsonParser(byte[] bytes) {
+        this.in = InputStream.nullInputStream();
+        this.buf = bytes;
+        this.limit = bytes.length;
+    }
+
+    /**
+     * Reads {@code {"matches":[{"id":"123","score":0.9,...},...],...}}. Matches whose id is not a
+     * decimal long are dropped.
+     */
+    public static ScoredIds readMatches(InputStream in) throws IOException {
+        return new StreamingJsonParser(in, 8192).matches();
+    }
+
+    public static ScoredIds readMatches(byte[] json) throws IOException {
+        return new StreamingJsonParser(json).matches();
+    }
+
+    /**
+     * Reads {@code predictions[i].embeddings.values} of a Vertex AI :predict response, in order.
+     */
+    public static List<float[]> readEmbeddings(InputStream in) throws IOException {
+        return new StreamingJsonParser(in, 8192).embeddings();
+    }
+
+    public static List<float[]> readEmbeddings(byte[] json) throws IOException {
+        return new StreamingJsonParser(json).embeddings();
+    }
+
+    private ScoredIds matches() throws IOException {
+        ScoredIds out = new ScoredIds(16);
+        expect('{');
+        if (nextObjectKey(true)) {
+            do {
+                readKey();
+                if (keyIs(MATCHES)) {
+                    expectAfterColon('[');
+                    if (nextArrayElement(true)) {
+                        do {
+                            readMatch(out);
+                        } while (nextArrayElement(false));
+                    }
+                } else {
+                    skipAfterColon();
+                }
+            } while (nextObjectKey(false));
+        }
+        return out;
+    }
+
+    private void readMatch(ScoredIds out) throws IOException {
+        long id = -1L;
+        double score = 0.0;
+        expect('{');
+        if (nextObjectKey(true)) {
+            do {
+                readKey();
+                if (keyIs(ID)) {
+                    colon();
+                    if (peek() == '"') {
+                        id = readLongString();
+                    } else {
+                        skipValue();
+                    }
+                } else if (keyIs(SCORE)) {
+                    colon();
+                    score = readDouble();
+                } else {
+                    skipAfterColon();
+                }
+            } while (nextObjectKey(false));
+        }
+        if (id >= 0) out.add(id, score);
+    }
+
+    private List<float[]> embeddings() throws IOException {
+        List<float[]> out = new ArrayList<>();
+        expect('{');
+        if (nextObjectKey(true)) {
+            do {
+                readKey();
+                if (keyIs(PREDICTIONS)) {
+                    expectAfterColon('[');
+                    if (nextArrayElement(true)) {
+                        do {
+                            out.add(readPrediction(out.isEmpty() ? 0 : out.get(0).length));
+                        } while (nextArrayElement(false));
+                    }
+                } else {
+                    skipAfterColon();
+                }
+            } while (nextObjectKey(false));
+        }
+        return out;
+    }
+
+    private float[] readPrediction(int sizeHint) throws IOException {
+        float[] values = new float[0];
+        expect('{');
+        if (nextObjectKey(true)) {
+            do {
+                readKey();
+                if (keyIs(EMBEDDINGS)) {
+                    expectAfterColon('{');
+                    if (nextObjectKey(true)) {
+                        do {
+                            readKey();
+                            if (keyIs(VALUES)) {
+                                colon();
+                                values = readFloatArray(sizeHint);
+                            } else {
+                                skipAfterColon();
+                            }
+                        } while (nextObjectKey(false));
+                    }
+                } else {
+                    skipAfterColon();
+                }
+            } while (nextObjectKey(false));
+        }
+        return values;
+    }
+
+    private float[] readFloatArray(int sizeHint) throws IOException {
+        expect('[');
+        float[] out = new float[sizeHint > 0 ? sizeHint : 256];
+        int n = 0;
+        if (nextArrayElement(true)) {
+            do {
+                if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                out[n++] = readFloat();
+            } while (nextArrayElement(false));
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    // --- structure ---
+
+    /**
+     * Positions on the next key's opening quote, consuming the separating comma or closing brace.
+     *
+     * @param first true right after '{'
+     * @return false when the object ended
+     */
+    private boolean nextObjectKey(boolean first) throws IOException {
+        int c = peek();
+        if (c == '}') {
+            pos++;
+            return false;
+        }
+        if (!first) {
+            if (c != ',') throw error("Expected ',' or '}'");
+            pos++;
+            c = peek();
+        }
+        if (c != '"') throw error("Expected object key");
+        return true;
+    }
+
+    private boolean nextArrayElement(boolean first) throws IOException {
+        int c = peek();
+        if (c == ']') {
+            pos++;
+            return false;
+        }
+        if (!first) {
+            if (c != ',') throw error("Expected ',' or ']'");
+            pos++;
+        }
+        return true;
+    }
+
+    /**
+     * Consumes the key string at the current position into {@link #keyBuf}. A key containing escapes is
+     * marked so it never matches.
+     */
+    private void readKey() throws IOException {
+        pos++; // opening quote
+        keyLength = 0;
+        while (true) {
+            int c = next();
+            if (c == '"') return;
+            if (c == '\\') {
+                next();
+                keyLength = -1;
+                continue;
+            }
+            if (keyLength < 0) continue;
+            if (keyLength == keyBuf.length) keyBuf = Arrays.copyOf(keyBuf, keyLength * 2);
+            keyBuf[keyLength++] = (byte) c;
+        }
+    }
+
+    private boolean keyIs(byte[] key) {
+        return keyLength == key.length && Arrays.equals(keyBuf, 0, keyLength, key, 0, key.length);
+    }
+
+    private void colon() throws IOException {
+        expect(':');
+    }
+
+    private void expectAfterColon(char c) throws IOException {
+        colon();
+        expect(c);
+    }
+
+    private void skipAfterColon() throws IOException {
+        colon();
+        skipValue();
+    }
+
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            pos++;
+            skipStringBody();
+            return;
+        }
+        if (c != '{' && c != '[') {
+            // number or literal: runs until a structural character
+            while (true) {
+                int b = peekRaw();
+                if (b < 0 || b == ',' || b == '}' || b == ']' || isWhitespace(b)) return;
+                pos++;
+            }
+        }
+        int depth = 0;
+        do {
+            int b = next();
+            if (b == '"') {
+                skipStringBody();
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private void skipStringBody() throws IOException {
+        while (true) {
+            int c = next();
+            if (c == '"') return;
+            if (c == '\\') next();
+        }
+    }
+
+    // --- values ---
+
+    /**
+     * Reads a quoted decimal long such as {@code "123"}; returns -1 (after consuming the string) otherwise.
+     */
+    private long readLongString() throws IOException {
+        pos++; // opening quote
+        long value = 0;
+        int digits = 0;
+        boolean valid = true;
+        while (true) {
+            int c = next();
+            if (c == '"') break;
+            if (c == '\\') {
+                next();
+                valid = false;
+            } else if (c >= '0' && c <= '9' && digits < 18) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else {
+                valid = false;
+            }
+        }
+        return valid && digits > 0 ? value : -1L;
+    }
+
+    private float readFloat() throws IOException {
+        return (float) readNumber(true);
+    }
+
+    private double readDouble() throws IOException {
+        return readNumber(false);
+    }
+
+    /**
+     * Decodes a JSON number. Mantissas up to 2^53 with a decimal exponent within +-22 are computed
+     * exactly with one multiply or divide; anything else is re-parsed by the JDK. For floats, a double
+     * that sits exactly halfway between two floats is also re-parsed so the result matches
+     * {@link Float#parseFloat} instead of being rounded twice.
+     */
+    private double readNumber(boolean asFloat) throws IOException {
+        peek();
+        int length = 0;
+        boolean negative = false;
+        long mantissa = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean sawDigit = false;
+
+        int c = peekRaw();
+        if (c == '-') {
+            negative = true;
+            length = appendNumberChar(length, c);
+            pos++;
+            c = peekRaw();
+        }
+        while (c >= '0' && c <= '9') {
+            length = appendNumberChar(length, c);
+            sawDigit = true;
+            if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (c - '0');
+            } else {
+                exact = false;
+            }
+            pos++;
+            c = peekRaw();
+        }
+        if (c == '.') {
+            length = appendNumberChar(length, c);
+            pos++;
+            c = peekRaw();
+            while (c >= '0' && c <= '9') {
+                length = appendNumberChar(length, c);
+                sawDigit = true;
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exponent--;
+                } else if (c != '0') {
+                    exact = false;
+                }
+                pos++;
+                c = peekRaw();
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            length = appendNumberChar(length, c);
+            pos++;
+            c = peekRaw();
+            boolean negativeExponent = false;
+            if (c == '+' || c == '-') {
+                negativeExponent = c == '-';
+                length = appendNumberChar(length, c);
+                pos++;
+                c = peekRaw();
+            }
+            int e = 0;
+            boolean sawExponentDigit = false;
+            while (c >= '0' && c <= '9') {
+                length = appendNumberChar(length, c);
+                sawExponentDigit = true;
+                if (e < 10_000) e = e * 10 + (c - '0');
+                pos++;
+                c = peekRaw();
+            }
+            if (!sawExponentDigit) throw error("Malformed number exponent");
+            exponent += negativeExponent ? -e : e;
+        }
+        if (!sawDigit) throw error("Expected number");
+
+        if (exact && exponent >= -22 && exponent <= 22) {
+            double value = mantissa;
+            value = exponent < 0 ? value / POW10[-exponent] : value * POW10[exponent];
+            if (!asFloat || !isFloatMidpoint(value)) {
+                return negative ? -value : value;
+            }
+        }
+        String text = new String(numberChars, 0, length);
+        return asFloat ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+
+    private static boolean isFloatMidpoint(double value) {
+        // A double has 29 more mantissa bits than a float; exactly the top one set means a tie
+        return (Double.doubleToRawLongBits(value) & 0x1FFFFFFFL) == 0x10000000L;
+    }
+
+    private int appendNumberChar(int length, int c) {
+        if (length == numberChars.length) numberChars = Arrays.copyOf(numberChars, length * 2);
+        numberChars[length] = (char) c;
+        return length + 1;
+    }
+
+    // --- bytes ---
+
+    private void expect(char c) throws IOException {
+        if (peek() != c) throw error("Expected '" + c + "'");
+        pos++;
+    }
+
+    /**
+     * Next non-whitespace byte without consuming it.
+     */
+    private int peek() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) throw error("Unexpected end of input");
+            int c = buf[pos] & 0xFF;
+            if (!isWhitespace(c)) return c;
+            pos++;
+        }
+    }
+
+    /**
+     * Next byte without skipping whitespace or consuming it; -1 at end of input.
+     */
+    private int peekRaw() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos] & 0xFF;
+    }
+
+    private int next() throws IOException {
+        if (pos == limit && !fill()) throw error("Unexpected end of input");
+        return buf[pos++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed JSON: " + message);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
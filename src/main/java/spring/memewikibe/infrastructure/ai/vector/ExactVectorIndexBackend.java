@@ -0,0 +1,140 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-process exact backend over an {@link ExactVectorStore} persisted under {@code vector.exact.path}.
+ * Suited to corpora under roughly 100k memes, where a full scan is cheap and ANN approximation buys nothing.
+ *
+ * <p>Large scans are partitioned across a dedicated fork/join pool of {@code vector.exact.parallelism}
+ * workers (0 = available processors). Publishes {@code vector.exact.vectors} and
+ * {@code vector.exact.mapped.bytes} gauges.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "vector.backend", havingValue = "exact")
+public class ExactVectorIndexBackend implements VectorIndexBackend {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vector.exact.path:data/exact}")
+    private String path;
+
+    @Value("${vector.exact.parallelism:0}")
+    private int parallelism;
+
+    // Corpus size from which a query is split across the pool
+    @Value("${vector.exact.parallel-threshold:16384}")
+    private int parallelThreshold;
+
+    private volatile ExactVectorStore store;
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void open() {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(workers);
+        try {
+            store = ExactVectorStore.open(Path.of(path), pool, parallelThreshold);
+        } catch (IOException e) {
+            log.error("Failed to open exact vector store at {}. Vector search is unavailable.", path, e);
+            return;
+        }
+        Gauge.builder("vector.exact.vectors", store, ExactVectorStore::size)
+            .register(meterRegistry);
+        Gauge.builder("vector.exact.mapped.bytes", store, ExactVectorStore::mappedBytes)
+            .description("Memory-mapped vector file size")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        log.info("Exact vector backend ready: {} workers, SIMD {} ({} float lanes)",
+            workers, VectorDot.simdEnabled() ? "on" : "off", VectorDot.lanes());
+    }
+
+    @PreDestroy
+    public void close() {
+        ExactVectorStore current = store;
+        // Unpublish first so new calls see the backend as unavailable. Closing waits for in-flight scans, so the
+        // pool is shut down only after nothing can submit to it
+        store = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Failed to close exact vector store at {}: {}", path, e.toString());
+            }
+        }
+        if (pool != null) pool.shutdown();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return store != null;
+    }
+
+    @Override
+    public String unavailableReason() {
+        return "Exact vector store could not be opened at " + path;
+    }
+
+    @Override
+    public int dimension() {
+        ExactVectorStore current = store;
+        return current == null ? 0 : current.dimension();
+    }
+
+    @Override
+    public UpsertReport upsert(List<VectorRecord> records) {
+        ExactVectorStore current = store;
+        long[] ids = UpsertReport.idsOf(records);
+        if (current == null) return UpsertReport.failed(ids, unavailableReason());
+        int changed = 0;
+        try {
+            for (VectorRecord r : records) {
+                if (current.upsert(r.id(), r.values())) changed++;
+            }
+            current.compactIfNeeded();
+            current.flush();
+            log.info("Exact upsert done: {} records, {} changed, {} live vectors", records.size(), changed, current.size());
+            return new UpsertReport(List.of(UpsertReport.Batch.succeeded(0, ids, 0, 0)));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to persist exact vector store after upserting {} records", records.size(), e);
+            return UpsertReport.failed(ids, e.toString());
+        }
+    }
+
+    @Override
+    public void delete(long[] ids) throws IOException {
+        ExactVectorStore current = store;
+        if (current == null) throw new IOException(unavailableReason());
+        int removed = 0;
+        for (long id : ids) {
+            if (current.remove(id)) removed++;
+        }
+        current.flush();
+        log.info("Exact delete done: {} ids, {} removed, {} live vectors", ids.length, removed, current.size());
+    }
+
+    /**
+     * {@code efSearch} is ignored; every vector is scored.
+     */
+    @Override
+    public ScoredIds query(float[] vector, int topK, Integer efSearch) {
+        ExactVectorStore current = store;
+        if (current == null) return ScoredIds.empty();
+        return current.search(vector, topK);
+    }
+}
@@ -0,0 +1,334 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exact (brute-force) cosine search over every stored vector; no approximation, so results are the ground
+ * truth that approximate backends are measured against.
+ *
+ * <p>Vectors are normalized on upsert and stay off-heap in a {@link MappedVectorStorage}; the heap only holds
+ * the id-to-slot map. A scan copies tiles of consecutive slots into a small buffer and scores them with
+ * {@link VectorDot} (SIMD when the Vector API is available). Corpora of at least {@code parallelThreshold}
+ * slots are split into ranges scored on a {@link ForkJoinPool}; each range keeps its own bounded min-heap and
+ * the heaps are merged on join. Fast enough for up to roughly 100k vectors at typical embedding dimensions.
+ *
+ * <p>Once closed, writes throw and searches return nothing, so a late caller can neither recreate (and truncate)
+ * the vector file nor submit scans to a pool that is shutting down.
+ */
+@Slf4j
+public final class ExactVectorStore implements Closeable {
+
+    static final String VECTORS_FILE = "vectors.bin";
+
+    static final int DEFAULT_PARALLEL_THRESHOLD = 16_384;
+
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 64;
+    private static final int TILE_SLOTS = 16;
+    private static final int MIN_LEAF_SLOTS = 2_048;
+
+    private final Path directory;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private MappedVectorStorage storage;
+    private int tombstones;
+    private boolean closed;
+
+    private ExactVectorStore(Path directory, ForkJoinPool pool, int parallelThreshold) {
+        this.directory = directory;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Opens the store using the common pool for large scans.
+     */
+    public static ExactVectorStore open(Path directory) throws IOException {
+        return open(directory, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param pool              pool that scores partitions of large scans; not shut down by {@link #close()}
+     * @param parallelThreshold slot count from which scans are partitioned across the pool
+     */
+    public static ExactVectorStore open(Path directory, ForkJoinPool pool, int parallelThreshold) throws IOException {
+        Files.createDirectories(directory);
+        ExactVectorStore store = new ExactVectorStore(directory, pool, Math.max(1, parallelThreshold));
+        store.load();
+        return store;
+    }
+
+    public int dimension() {
+        lock.readLock().lock();
+        try {
+            return storage == null ? 0 : storage.dimension();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live (non-tombstoned) vectors.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Size of the memory-mapped vector file.
+     */
+    public long mappedBytes() {
+        lock.readLock().lock();
+        try {
+            return storage == null ? 0 : storage.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the vector for {@code id}.
+     *
+     * @return false when the id already holds an identical vector and nothing changed
+     */
+    public boolean upsert(long id, float[] vector) throws IOException {
+        float[] v = HnswIndex.normalize(vector);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (storage == null) {
+                storage = MappedVectorStorage.create(directory.resolve(VECTORS_FILE), v.length);
+            }
+            if (v.length != storage.dimension()) {
+                throw new IllegalArgumentException("Vector dimension " + v.length + " does not match index dimension " + storage.dimension());
+            }
+            Integer previous = ordinals.get(id);
+            if (previous != null && storage.sameVector(previous, v)) {
+                return false;
+            }
+            int ordinal = storage.append(id, v);
+            if (previous != null) tombstone(previous);
+            ordinals.put(id, ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Integer previous = ordinals.remove(id);
+            if (previous == null) return false;
+            tombstone(previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Exact top-k by cosine similarity, partitioned across the pool for large corpora.
+     */
+    public ScoredIds search(float[] query, int k) {
+        return search(query, k, true);
+    }
+
+    ScoredIds search(float[] query, int k, boolean allowParallel) {
+        lock.readLock().lock();
+        try {
+            if (closed || storage == null || ordinals.isEmpty() || k <= 0) return ScoredIds.empty();
+            if (query.length != storage.dimension()) {
+                throw new IllegalArgumentException("Query dimension " + query.length + " does not match index dimension " + storage.dimension());
+            }
+            float[] q = HnswIndex.normalize(query);
+            int count = storage.count();
+            NodeHeap top;
+            if (allowParallel && count >= parallelThreshold && pool.getParallelism() > 1) {
+                int leafSlots = Math.max(MIN_LEAF_SLOTS, count / (pool.getParallelism() * 4) + 1);
+                top = pool.invoke(new ScanTask(q, k, 0, count, leafSlots));
+            } else {
+                top = scan(q, k, 0, count);
+            }
+            return drain(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the vector file without tombstones once they make up a quarter of all slots.
+     */
+    public void compactIfNeeded() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (storage == null || tombstones < MIN_TOMBSTONES_FOR_COMPACTION || tombstones * 4 < storage.count()) return;
+            log.info("Compacting exact vector store at {}: {} tombstones of {} slots", directory, tombstones, storage.count());
+            Path vectorsPath = directory.resolve(VECTORS_FILE);
+            Path tmp = directory.resolve(VECTORS_FILE + ".compact");
+            MappedVectorStorage fresh = MappedVectorStorage.create(tmp, storage.dimension());
+            for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+                if (!deleted.get(ordinal)) fresh.append(storage.id(ordinal), storage.vector(ordinal));
+            }
+            fresh.close();
+            storage.close();
+            Files.move(tmp, vectorsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            storage = MappedVectorStorage.openExisting(vectorsPath);
+            rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            if (storage != null) storage.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            if (storage != null) storage.close();
+            storage = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Exact vector store at " + directory + " is closed");
+    }
+
+    // --- scanning ---
+
+    /**
+     * Scores slots {@code [from, to)} into a bounded min-heap. Callers hold the read lock.
+     */
+    private NodeHeap scan(float[] q, int k, int from, int to) {
+        int dimension = storage.dimension();
+        int slotFloats = storage.slotFloats();
+        float[] tile = new float[TILE_SLOTS * slotFloats];
+        NodeHeap top = NodeHeap.min(k + 1);
+        for (int first = from; first < to; first += TILE_SLOTS) {
+            int n = Math.min(TILE_SLOTS, to - first);
+            storage.readSlots(first, n, tile);
+            for (int j = 0; j < n; j++) {
+                int ordinal = first + j;
+                if (deleted.get(ordinal)) continue;
+                top.pushBounded(ordinal, VectorDot.dot(tile, j * slotFloats + MappedVectorStorage.ID_FLOATS, q, dimension), k);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Halves the slot range until it fits in a leaf; runs while the submitting thread holds the read lock.
+     */
+    private final class ScanTask extends RecursiveTask<NodeHeap> {
+
+        private final float[] q;
+        private final int k;
+        private final int from;
+        private final int to;
+        private final int leafSlots;
+
+        ScanTask(float[] q, int k, int from, int to, int leafSlots) {
+            this.q = q;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.leafSlots = leafSlots;
+        }
+
+        @Override
+        protected NodeHeap compute() {
+            if (to - from <= leafSlots) return scan(q, k, from, to);
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(q, k, from, mid, leafSlots);
+            left.fork();
+            NodeHeap merged = new ScanTask(q, k, mid, to, leafSlots).compute();
+            NodeHeap other = left.join();
+            for (int i = 0; i < other.size(); i++) {
+                merged.pushBounded(other.nodeAt(i), other.scoreAt(i), k);
+            }
+            return merged;
+        }
+    }
+
+    // --- helpers ---
+
+    private void load() throws IOException {
+        storage = MappedVectorStorage.openExisting(directory.resolve(VECTORS_FILE));
+        if (storage == null) return;
+        rebuild();
+        log.info("Opened exact vector store at {}: {} live vectors, dimension {}, SIMD {} ({} lanes)",
+            directory, ordinals.size(), storage.dimension(), VectorDot.simdEnabled() ? "on" : "off", VectorDot.lanes());
+    }
+
+    private void rebuild() {
+        ordinals.clear();
+        deleted.clear();
+        tombstones = 0;
+        for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+            long id = storage.id(ordinal);
+            if (id == MappedVectorStorage.DELETED) {
+                deleted.set(ordinal);
+                tombstones++;
+                continue;
+            }
+            Integer previous = ordinals.put(id, ordinal);
+            if (previous != null) {
+                // a crash between append and tombstoning leaves duplicates; the later slot wins
+                tombstone(previous);
+            }
+        }
+    }
+
+    private void tombstone(int ordinal) {
+        storage.markDeleted(ordinal);
+        deleted.set(ordinal);
+        tombstones++;
+    }
+
+    private ScoredIds drain(NodeHeap top) {
+        int n = top.size();
+        int[] nodes = new int[n];
+        float[] scores = new float[n];
+        for (int i = n - 1; i >= 0; i--) {
+            nodes[i] = top.topNode();
+            scores[i] = top.topScore();
+            top.pop();
+        }
+        ScoredIds out = new ScoredIds(n);
+        for (int i = 0; i < n; i++) out.add(storage.id(nodes[i]), scores[i]);
+        return out;
+    }
+}
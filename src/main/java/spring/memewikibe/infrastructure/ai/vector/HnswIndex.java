@@ -0,0 +1,552 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical Navigable Small World graph (Malkov &amp; Yashunin) over cosine similarity.
+ *
+ * <p>Vectors are L2-normalized and kept off-heap in a {@link MappedVectorStorage}; graph links stay
+ * on heap and are snapshotted next to it by {@link #flush()}. Re-upserting an id with a different
+ * vector tombstones the old node, which keeps routing searches but is never returned, and
+ * {@link #compactIfNeeded()} rebuilds once tombstones pile up. A missing or stale graph snapshot is
+ * rebuilt from the vector file on open.
+ *
+ * <p>Searches run concurrently under a read lock; writes are serialized. Once closed, writes throw and searches
+ * return nothing, so a late caller cannot recreate (and truncate) the vector file under a stale ordinal map.
+ */
+@Slf4j
+public final class HnswIndex implements Closeable {
+
+    static final String VECTORS_FILE = "vectors.bin";
+    static final String GRAPH_FILE = "graph.bin";
+
+    private static final int GRAPH_MAGIC = 0x484E5357; // "HNSW"
+    private static final int MAX_LEVEL = 16;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 64;
+
+    private final Path directory;
+    private final int m;
+    private final int maxConn0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object flushMonitor = new Object();
+    private final ThreadLocal<VisitedSet> visited = ThreadLocal.withInitial(VisitedSet::new);
+    private final ThreadLocal<float[][]> scratch = new ThreadLocal<>();
+
+    private final List<int[][]> links = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private MappedVectorStorage storage;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int tombstones;
+    private boolean closed;
+
+    private HnswIndex(Path directory, int m, int efConstruction, long seed) {
+        if (m < 2) throw new IllegalArgumentException("m must be >= 2: " + m);
+        this.directory = directory;
+        this.m = m;
+        this.maxConn0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static HnswIndex open(Path directory, int m, int efConstruction) throws IOException {
+        Files.createDirectories(directory);
+        HnswIndex index = new HnswIndex(directory, m, efConstruction, 42L);
+        index.load();
+        return index;
+    }
+
+    public int dimension() {
+        lock.readLock().lock();
+        try {
+            return storage == null ? 0 : storage.dimension();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live (non-tombstoned) vectors.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the vector for {@code id}.
+     *
+     * @return false when the id already holds an identical vector and nothing changed
+     */
+    public boolean upsert(long id, float[] vector) throws IOException {
+        float[] q = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (storage == null) {
+                storage = MappedVectorStorage.create(directory.resolve(VECTORS_FILE), q.length);
+            }
+            if (q.length != storage.dimension()) {
+                throw new IllegalArgumentException("Vector dimension " + q.length + " does not match index dimension " + storage.dimension());
+            }
+            Integer previous = ordinals.get(id);
+            if (previous != null && storage.sameVector(previous, q)) {
+                return false;
+            }
+            int ordinal = storage.append(id, q);
+            if (previous != null) {
+                storage.markDeleted(previous);
+                tombstones++;
+            }
+            ordinals.put(id, ordinal);
+            insertNode(ordinal, q);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Integer previous = ordinals.remove(id);
+            if (previous == null) return false;
+            storage.markDeleted(previous);
+            tombstones++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate top-k by cosine similarity.
+     *
+     * @param ef size of the dynamic candidate list; raised to {@code k} when smaller
+     */
+    public ScoredIds search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (closed || storage == null || ordinals.isEmpty() || k <= 0) return ScoredIds.empty();
+            if (query.length != storage.dimension()) {
+                throw new IllegalArgumentException("Query dimension " + query.length + " does not match index dimension " + storage.dimension());
+            }
+            float[] q = normalize(query);
+            int ep = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                ep = greedyClosest(q, ep, level);
+            }
+            NodeHeap results = searchLayer(q, ep, Math.max(ef, k), 0, true);
+            while (results.size() > k) results.pop();
+
+            int n = results.size();
+            int[] nodes = new int[n];
+            float[] scores = new float[n];
+            for (int i = n - 1; i >= 0; i--) {
+                nodes[i] = results.topNode();
+                scores[i] = results.topScore();
+                results.pop();
+            }
+            ScoredIds out = new ScoredIds(n);
+            for (int i = 0; i < n; i++) out.add(storage.id(nodes[i]), scores[i]);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds storage and graph without tombstones once they make up a quarter of all nodes.
+     */
+    public void compactIfNeeded() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (storage == null || tombstones < MIN_TOMBSTONES_FOR_COMPACTION || tombstones * 4 < storage.count()) return;
+            log.info("Compacting HNSW index at {}: {} tombstones of {} nodes", directory, tombstones, storage.count());
+            Path vectorsPath = directory.resolve(VECTORS_FILE);
+            Path tmp = directory.resolve(VECTORS_FILE + ".compact");
+            MappedVectorStorage fresh = MappedVectorStorage.create(tmp, storage.dimension());
+            for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+                if (!storage.isDeleted(ordinal)) fresh.append(storage.id(ordinal), storage.vector(ordinal));
+            }
+            fresh.close();
+            storage.close();
+            Files.move(tmp, vectorsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            storage = MappedVectorStorage.openExisting(vectorsPath);
+            indexOrdinals();
+            rebuildLinks();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        flush();
+    }
+
+    /**
+     * Forces vectors to disk and writes the graph snapshot atomically.
+     */
+    public void flush() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (storage == null) return;
+            synchronized (flushMonitor) {
+                storage.force();
+                writeGraph();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            if (storage != null) storage.close();
+            storage = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("HNSW index at " + directory + " is closed");
+    }
+
+    // --- graph construction ---
+
+    private void insertNode(int ordinal, float[] q) {
+        int level = randomLevel();
+        int[][] nodeLinks = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            nodeLinks[l] = new int[(l == 0 ? maxConn0 : m) + 1];
+        }
+        links.add(nodeLinks);
+
+        if (entryPoint < 0) {
+            entryPoint = ordinal;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            ep = greedyClosest(q, ep, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            NodeHeap found = searchLayer(q, ep, efConstruction, l, false);
+            int n = found.size();
+            int[] candidates = new int[n];
+            float[] scores = new float[n];
+            for (int i = n - 1; i >= 0; i--) {
+                candidates[i] = found.topNode();
+                scores[i] = found.topScore();
+                found.pop();
+            }
+            int selected = selectNeighbors(candidates, scores, n, m, nodeLinks[l]);
+            for (int i = 1; i <= selected; i++) {
+                addLink(nodeLinks[l][i], ordinal, l);
+            }
+            if (n > 0) ep = candidates[0];
+        }
+        if (level > maxLevel) {
+            entryPoint = ordinal;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * Neighbor selection heuristic: keeps a candidate only if it is closer to the base than to any
+     * already selected neighbor. Candidates must be sorted by descending similarity to the base.
+     * Writes the selection into {@code out} ({@code out[0]} holds the count) and returns the count.
+     */
+    private int selectNeighbors(int[] candidates, float[] scores, int n, int limit, int[] out) {
+        int count = 0;
+        for (int i = 0; i < n && count < limit; i++) {
+            int c = candidates[i];
+            boolean keep = true;
+            for (int j = 1; j <= count; j++) {
+                if (dot(c, out[j]) > scores[i]) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) out[++count] = c;
+        }
+        out[0] = count;
+        return count;
+    }
+
+    private void addLink(int node, int newNeighbor, int level) {
+        int[] nodeLinks = links.get(node)[level];
+        int capacity = nodeLinks.length - 1;
+        int count = nodeLinks[0];
+        if (count < capacity) {
+            nodeLinks[count + 1] = newNeighbor;
+            nodeLinks[0] = count + 1;
+            return;
+        }
+        int n = count + 1;
+        int[] candidates = new int[n];
+        float[] scores = new float[n];
+        for (int i = 0; i < count; i++) {
+            candidates[i] = nodeLinks[i + 1];
+            scores[i] = dot(node, candidates[i]);
+        }
+        candidates[count] = newNeighbor;
+        scores[count] = dot(node, newNeighbor);
+        sortDescending(candidates, scores, n);
+        selectNeighbors(candidates, scores, n, capacity, nodeLinks);
+    }
+
+    private int greedyClosest(float[] q, int ep, int level) {
+        float best = dot(ep, q);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] nodeLinks = links.get(ep)[level];
+            for (int i = 1; i <= nodeLinks[0]; i++) {
+                int c = nodeLinks[i];
+                float s = dot(c, q);
+                if (s > best) {
+                    best = s;
+                    ep = c;
+                    changed = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    /**
+     * Best-first search within one layer. Returns a min-heap of at most {@code ef} results.
+     * With {@code liveOnly}, tombstoned nodes are traversed but not collected.
+     */
+    private NodeHeap searchLayer(float[] q, int ep, int ef, int level, boolean liveOnly) {
+        VisitedSet seen = visited.get();
+        seen.reset(storage.count());
+        NodeHeap candidates = NodeHeap.max(ef * 2);
+        NodeHeap results = NodeHeap.min(ef + 1);
+
+        float epScore = dot(ep, q);
+        seen.visit(ep);
+        candidates.push(ep, epScore);
+        if (!liveOnly || !storage.isDeleted(ep)) results.push(ep, epScore);
+
+        while (!candidates.isEmpty()) {
+            if (results.size() >= ef && candidates.topScore() < results.topScore()) break;
+            int c = candidates.pop();
+            int[] nodeLinks = links.get(c)[level];
+            for (int i = 1; i <= nodeLinks[0]; i++) {
+                int e = nodeLinks[i];
+                if (!seen.visit(e)) continue;
+                float s = dot(e, q);
+                if (results.size() < ef || s > results.topScore()) {
+                    candidates.push(e, s);
+                    if (!liveOnly || !storage.isDeleted(e)) {
+                        results.push(e, s);
+                        if (results.size() > ef) results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int randomLevel() {
+        double u = 1.0 - random.nextDouble(); // (0, 1]
+        return Math.min(MAX_LEVEL, (int) (-Math.log(u) * levelMultiplier));
+    }
+
+    // --- persistence ---
+
+    private void load() throws IOException {
+        storage = MappedVectorStorage.openExisting(directory.resolve(VECTORS_FILE));
+        if (storage == null) return;
+        indexOrdinals();
+        if (!readGraph()) {
+            log.info("HNSW graph snapshot missing or stale at {}; rebuilding from {} stored vectors", directory, storage.count());
+            rebuildLinks();
+            writeGraph();
+        }
+        log.info("Opened HNSW index at {}: {} live vectors, dimension {}", directory, ordinals.size(), storage.dimension());
+    }
+
+    private void indexOrdinals() {
+        ordinals.clear();
+        tombstones = 0;
+        for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+            long id = storage.id(ordinal);
+            if (id == MappedVectorStorage.DELETED) {
+                tombstones++;
+                continue;
+            }
+            Integer previous = ordinals.put(id, ordinal);
+            if (previous != null) {
+                // a crash between append and tombstoning leaves duplicates; the later slot wins
+                storage.markDeleted(previous);
+                tombstones++;
+            }
+        }
+    }
+
+    private void rebuildLinks() {
+        links.clear();
+        entryPoint = -1;
+        maxLevel = -1;
+        for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+            if (storage.isDeleted(ordinal)) {
+                links.add(new int[][]{new int[1]});
+            } else {
+                insertNode(ordinal, storage.vector(ordinal));
+            }
+        }
+    }
+
+    private void writeGraph() throws IOException {
+        Path tmp = directory.resolve(GRAPH_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(GRAPH_MAGIC);
+            out.writeInt(m);
+            out.writeInt(links.size());
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+            for (int[][] nodeLinks : links) {
+                out.writeByte(nodeLinks.length);
+                for (int[] levelLinks : nodeLinks) {
+                    out.writeShort(levelLinks.length);
+                    out.writeShort(levelLinks[0]);
+                    for (int i = 1; i <= levelLinks[0]; i++) out.writeInt(levelLinks[i]);
+                }
+            }
+        }
+        Files.move(tmp, directory.resolve(GRAPH_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean readGraph() {
+        Path file = directory.resolve(GRAPH_FILE);
+        if (!Files.exists(file)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != GRAPH_MAGIC || in.readInt() != m) return false;
+            int nodes = in.readInt();
+            if (nodes != storage.count()) return false;
+            int ep = in.readInt();
+            int top = in.readInt();
+            List<int[][]> loaded = new ArrayList<>(nodes);
+            for (int node = 0; node < nodes; node++) {
+                int levels = in.readUnsignedByte();
+                int[][] nodeLinks = new int[levels][];
+                for (int l = 0; l < levels; l++) {
+                    int[] levelLinks = new int[in.readUnsignedShort()];
+                    levelLinks[0] = in.readUnsignedShort();
+                    for (int i = 1; i <= levelLinks[0]; i++) levelLinks[i] = in.readInt();
+                    nodeLinks[l] = levelLinks;
+                }
+                loaded.add(nodeLinks);
+            }
+            links.clear();
+            links.addAll(loaded);
+            entryPoint = ep;
+            maxLevel = top;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read HNSW graph snapshot {}: {}", file, e.toString());
+            return false;
+        }
+    }
+
+    // --- helpers ---
+
+    private float dot(int ordinal, float[] q) {
+        return storage.dot(ordinal, q, scratch()[0]);
+    }
+
+    private float dot(int a, int b) {
+        float[][] buffers = scratch();
+        return storage.dot(a, b, buffers[0], buffers[1]);
+    }
+
+    private float[][] scratch() {
+        float[][] buffers = scratch.get();
+        if (buffers == null || buffers[0].length != storage.dimension()) {
+            buffers = new float[2][storage.dimension()];
+            scratch.set(buffers);
+        }
+        return buffers;
+    }
+
+    static float[] normalize(float[] v) {
+        double norm = 0.0;
+        for (float f : v) norm += f * f;
+        norm = Math.sqrt(norm);
+        float[] out = Arrays.copyOf(v, v.length);
+        if (norm == 0) return out;
+        for (int i = 0; i < out.length; i++) out[i] /= (float) norm;
+        return out;
+    }
+
+    private static void sortDescending(int[] nodes, float[] scores, int n) {
+        for (int i = 1; i < n; i++) {
+            int node = nodes[i];
+            float score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                nodes[j + 1] = nodes[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            nodes[j + 1] = node;
+            scores[j + 1] = score;
+        }
+    }
+
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[Math.max(capacity, marks.length * 2)];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        boolean visit(int node) {
+            if (marks[node] == epoch) return false;
+            marks[node] = epoch;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process ANN backend: an {@link HnswIndex} persisted under {@code vector.hnsw.path}.
+ * Avoids the network round trip to Pinecone for corpora that fit on one node.
+ *
+ * <p>Writing the graph snapshot costs O(index size), so mutations only count as dirty and the snapshot is
+ * written every {@code vector.hnsw.flush-interval}, once {@code vector.hnsw.flush-threshold} changes pile up,
+ * and on shutdown. A snapshot lost to a crash is stale on the next open and rebuilt from the vector file.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vector.backend", havingValue = "hnsw")
+public class HnswVectorIndexBackend implements VectorIndexBackend {
+
+    @Value("${vector.hnsw.path:data/hnsw}")
+    private String path;
+
+    // Max links per node on upper layers (layer 0 uses 2 * m)
+    @Value("${vector.hnsw.m:16}")
+    private int m;
+
+    @Value("${vector.hnsw.ef-construction:200}")
+    private int efConstruction;
+
+    // Default search breadth; SearchOptions.efSearch overrides per query
+    @Value("${vector.hnsw.ef-search:64}")
+    private int efSearch;
+
+    // Unflushed changes after which a mutation flushes right away instead of waiting for the timer
+    @Value("${vector.hnsw.flush-threshold:1000}")
+    private int flushThreshold;
+
+    private volatile HnswIndex index;
+    private final AtomicInteger dirty = new AtomicInteger();
+
+    @PostConstruct
+    public void open() {
+        try {
+            index = HnswIndex.open(Path.of(path), m, efConstruction);
+        } catch (IOException e) {
+            log.error("Failed to open HNSW index at {}. Vector search is unavailable.", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        HnswIndex current = index;
+        if (current == null) return;
+        // Unpublish first so new calls see the backend as unavailable; calls already holding it hit HnswIndex's closed state
+        index = null;
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("Failed to close HNSW index at {}: {}", path, e.toString());
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return index != null;
+    }
+
+    @Override
+    public String unavailableReason() {
+        return "HNSW index could not be opened at " + path;
+    }
+
+    @Override
+    public int dimension() {
+        HnswIndex current = index;
+        return current == null ? 0 : current.dimension();
+    }
+
+    @Override
+    public UpsertReport upsert(List<VectorRecord> records) {
+        HnswIndex current = index;
+        long[] ids = UpsertReport.idsOf(records);
+        if (current == null) return UpsertReport.failed(ids, unavailableReason());
+        int changed = 0;
+        try {
+            for (VectorRecord r : records) {
+                if (current.upsert(r.id(), r.values())) changed++;
+            }
+            current.compactIfNeeded();
+            markDirty(current, changed);
+            log.info("HNSW upsert done: {} records, {} changed, {} live vectors", records.size(), changed, current.size());
+            return new UpsertReport(List.of(UpsertReport.Batch.succeeded(0, ids, 0, 0)));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to persist HNSW index after upserting {} records", records.size(), e);
+            return UpsertReport.failed(ids, e.toString());
+        }
+    }
+
+    @Override
+    public void delete(long[] ids) throws IOException {
+        HnswIndex current = index;
+        if (current == null) throw new IOException(unavailableReason());
+        int removed = 0;
+        for (long id : ids) {
+            if (current.remove(id)) removed++;
+        }
+        markDirty(current, removed);
+        log.info("HNSW delete done: {} ids, {} removed, {} live vectors", ids.length, removed, current.size());
+    }
+
+    @Scheduled(fixedDelayString = "${vector.hnsw.flush-interval:30s}")
+    public void flushIfDirty() {
+        HnswIndex current = index;
+        if (current == null) return;
+        try {
+            flush(current);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to flush HNSW index at {}: {}", path, e.toString());
+        }
+    }
+
+    @Override
+    public ScoredIds query(float[] vector, int topK, Integer efSearch) {
+        HnswIndex current = index;
+        if (current == null) return ScoredIds.empty();
+        return current.search(vector, topK, efSearch != null && efSearch > 0 ? efSearch : this.efSearch);
+    }
+
+    private void markDirty(HnswIndex current, int changes) throws IOException {
+        if (changes > 0 && dirty.addAndGet(changes) >= flushThreshold) flush(current);
+    }
+
+    private void flush(HnswIndex current) throws IOException {
+        int pending = dirty.getAndSet(0);
+        if (pending == 0) return;
+        try {
+            current.flush();
+        } catch (IOException | RuntimeException e) {
+            dirty.addAndGet(pending);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-dimension float vectors kept off-heap in a memory-mapped file.
+ *
+ * <p>Layout: a 16-byte header (magic, dimension, count, reserved) followed by one slot per
+ * vector of {@code 8 + dimension * 4} bytes holding the meme id and then the components.
+ * Slots are append-only; a superseded slot has its id overwritten with {@link #DELETED}.
+ * Not thread-safe; callers guard access.
+ */
+final class MappedVectorStorage implements Closeable {
+
+    static final long DELETED = Long.MIN_VALUE;
+
+    /**
+     * Floats occupied by the id at the start of each slot; see {@link #readSlots}.
+     */
+    static final int ID_FLOATS = 2;
+
+    private static final int MAGIC = 0x4D564543; // "MVEC"
+    private static final int HEADER_BYTES = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int dimension;
+    private final int slotBytes;
+
+    private MappedByteBuffer buffer;
+    private FloatBuffer floats;
+    private int capacity;
+    private int count;
+
+    private MappedVectorStorage(Path file, FileChannel channel, int dimension, int count) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.dimension = dimension;
+        this.slotBytes = 8 + dimension * Float.BYTES;
+        this.count = count;
+        remap(Math.max(INITIAL_CAPACITY, count));
+    }
+
+    /**
+     * Opens an existing storage file, or returns null when there is none.
+     */
+    static MappedVectorStorage openExisting(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) < HEADER_BYTES) return null;
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a vector storage file: " + file);
+        }
+        return new MappedVectorStorage(file, channel, header.getInt(4), header.getInt(8));
+    }
+
+    static MappedVectorStorage create(Path file, int dimension) throws IOException {
+        if (dimension <= 0) throw new IllegalArgumentException("dimension must be positive: " + dimension);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedVectorStorage storage = new MappedVectorStorage(file, channel, dimension, 0);
+        storage.buffer.putInt(0, MAGIC);
+        storage.buffer.putInt(4, dimension);
+        storage.buffer.putInt(8, 0);
+        return storage;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Appends a vector and returns its ordinal.
+     */
+    int append(long id, float[] vector) throws IOException {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Vector dimension " + vector.length + " does not match storage dimension " + dimension);
+        }
+        if (count == capacity) {
+            remap(capacity * 2);
+        }
+        int ordinal = count;
+        buffer.putLong(slotOffset(ordinal), id);
+        int base = floatIndex(ordinal);
+        for (int i = 0; i < dimension; i++) {
+            floats.put(base + i, vector[i]);
+        }
+        count++;
+        buffer.putInt(8, count);
+        return ordinal;
+    }
+
+    long id(int ordinal) {
+        return buffer.getLong(slotOffset(ordinal));
+    }
+
+    boolean isDeleted(int ordinal) {
+        return id(ordinal) == DELETED;
+    }
+
+    void markDeleted(int ordinal) {
+        buffer.putLong(slotOffset(ordinal), DELETED);
+    }
+
+    float[] vector(int ordinal) {
+        float[] out = new float[dimension];
+        floats.get(floatIndex(ordinal), out, 0, dimension);
+        return out;
+    }
+
+    boolean sameVector(int ordinal, float[] vector) {
+        int base = floatIndex(ordinal);
+        for (int i = 0; i < dimension; i++) {
+            if (Float.compare(floats.get(base + i), vector[i]) != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Dot product with a heap vector. The slot is bulk-copied into {@code scratch} first, which is
+     * much faster than element-wise reads from the mapped buffer.
+     */
+    float dot(int ordinal, float[] query, float[] scratch) {
+        floats.get(floatIndex(ordinal), scratch, 0, dimension);
+        return VectorDot.dot(scratch, query, dimension);
+    }
+
+    float dot(int a, int b, float[] scratchA, float[] scratchB) {
+        floats.get(floatIndex(a), scratchA, 0, dimension);
+        return dot(b, scratchA, scratchB);
+    }
+
+    /**
+     * Floats per slot: {@link #ID_FLOATS} for the id followed by the vector components.
+     */
+    int slotFloats() {
+        return slotBytes / Float.BYTES;
+    }
+
+    /**
+     * Bulk-copies {@code n} consecutive slots, ids included, into {@code dst}; the vector of ordinal
+     * {@code first + j} then starts at {@code j * slotFloats() + ID_FLOATS}. One copy per tile instead of
+     * one per vector keeps sequential scans close to memory bandwidth.
+     */
+    void readSlots(int first, int n, float[] dst) {
+        floats.get(floatIndex(first) - ID_FLOATS, dst, 0, n * slotFloats());
+    }
+
+    long sizeInBytes() {
+        return HEADER_BYTES + (long) count * slotBytes;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.truncate(sizeInBytes());
+        channel.close();
+    }
+
+    private void remap(int newCapacity) throws IOException {
+        long bytes = HEADER_BYTES + (long) newCapacity * slotBytes;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Vector storage exceeds 2GB mapping limit: " + newCapacity + " x " + dimension);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        floats = buffer.asFloatBuffer();
+        capacity = newCapacity;
+    }
+
+    private long slotOffsetLong(int ordinal) {
+        return HEADER_BYTES + (long) ordinal * slotBytes;
+    }
+
+    private int slotOffset(int ordinal) {
+        return (int) slotOffsetLong(ordinal);
+    }
+
+    private int floatIndex(int ordinal) {
+        return (int) ((slotOffsetLong(ordinal) + 8) / Float.BYTES);
+    }
+}
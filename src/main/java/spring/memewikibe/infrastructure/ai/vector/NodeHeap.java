@@ -0,0 +1,119 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of (int node, float score) pairs on primitive arrays.
+ * A min-heap keeps the worst score on top (bounded top-k), a max-heap the best (candidate expansion).
+ */
+final class NodeHeap {
+
+    private final boolean maxHeap;
+    private int[] nodes;
+    private float[] scores;
+    private int size;
+
+    NodeHeap(int initialCapacity, boolean maxHeap) {
+        this.maxHeap = maxHeap;
+        this.nodes = new int[Math.max(4, initialCapacity)];
+        this.scores = new float[Math.max(4, initialCapacity)];
+    }
+
+    static NodeHeap min(int initialCapacity) {
+        return new NodeHeap(initialCapacity, false);
+    }
+
+    static NodeHeap max(int initialCapacity) {
+        return new NodeHeap(initialCapacity, true);
+    }
+
+    void push(int node, float score) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!above(score, scores[parent])) break;
+            nodes[i] = nodes[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    /**
+     * Pushes into a heap bounded at {@code limit} entries; only meaningful for min-heaps used as top-k.
+     */
+    void pushBounded(int node, float score, int limit) {
+        if (size < limit) {
+            push(node, score);
+        } else if (score > scores[0]) {
+            nodes[0] = node;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    int topNode() {
+        return nodes[0];
+    }
+
+    float topScore() {
+        return scores[0];
+    }
+
+    int pop() {
+        int top = nodes[0];
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return top;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int nodeAt(int index) {
+        return nodes[index];
+    }
+
+    float scoreAt(int index) {
+        return scores[index];
+    }
+
+    private void siftDown(int i) {
+        int node = nodes[i];
+        float score = scores[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && above(scores[right], scores[child])) child = right;
+            if (!above(scores[child], score)) break;
+            nodes[i] = nodes[child];
+            scores[i] = scores[child];
+            i = child;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    private boolean above(float a, float b) {
+        return maxHeap ? a > b : a < b;
+    }
+}
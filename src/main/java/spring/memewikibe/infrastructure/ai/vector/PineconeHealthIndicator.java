@@ -0,0 +1,43 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports Pinecone index host resolution under {@code /actuator/health} as the {@code pinecone} component.
+ * An unresolved host is UNKNOWN rather than DOWN: search keeps serving keyword results without it, so it
+ * should not fail the instance's overall health.
+ */
+@Component
+@ConditionalOnProperty(name = "vector.backend", havingValue = "pinecone", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PineconeHealthIndicator implements HealthIndicator {
+
+    private final PineconeVectorIndexBackend backend;
+
+    @Override
+    public Health health() {
+        PineconeHostResolver.Snapshot resolution = backend.hostResolution();
+        if (backend.isAvailable()) {
+            Health.Builder up = Health.up().withDetail("dimension", backend.dimension());
+            if (resolution != null && resolution.resolution() != null) {
+                up.withDetail("hostSource", resolution.resolution().source());
+            } else {
+                up.withDetail("hostSource", "PINECONE_INDEX_HOST");
+            }
+            return up.build();
+        }
+        if (resolution == null) {
+            return Health.unknown().withDetail("reason", backend.unavailableReason()).build();
+        }
+        Health.Builder pending = Health.unknown()
+            .withDetail("state", resolution.state())
+            .withDetail("failures", resolution.failures());
+        if (resolution.lastError() != null) pending.withDetail("lastError", resolution.lastError());
+        if (resolution.nextAttemptAt() != null) pending.withDetail("nextAttemptAt", resolution.nextAttemptAt().toString());
+        return pending.build();
+    }
+}
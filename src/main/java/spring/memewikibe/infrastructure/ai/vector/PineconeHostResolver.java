@@ -0,0 +1,91 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Resolves the Pinecone index host off the request path. The first attempt runs as soon as {@link #start()}
+ * is called; a failed attempt is remembered and retried with exponential backoff until one succeeds, so
+ * callers only ever read the latest {@link Snapshot}.
+ */
+@Slf4j
+final class PineconeHostResolver implements AutoCloseable {
+
+    enum State { PENDING, RESOLVED, FAILED }
+
+    record Resolution(String host, int dimension, String source) {
+    }
+
+    record Snapshot(State state, Resolution resolution, int failures, String lastError, Instant nextAttemptAt) {
+    }
+
+    @FunctionalInterface
+    interface Lookup {
+        Resolution resolve() throws Exception;
+    }
+
+    private final Lookup lookup;
+    private final Consumer<Resolution> onResolved;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("pinecone-host-resolver").factory());
+
+    private volatile Snapshot snapshot = new Snapshot(State.PENDING, null, 0, null, null);
+
+    PineconeHostResolver(Lookup lookup, Consumer<Resolution> onResolved, Duration initialBackoff, Duration maxBackoff) {
+        this.lookup = lookup;
+        this.onResolved = onResolved;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    void start() {
+        scheduler.execute(this::attempt);
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void attempt() {
+        String error;
+        try {
+            Resolution resolution = lookup.resolve();
+            if (resolution != null) {
+                snapshot = new Snapshot(State.RESOLVED, resolution, snapshot.failures(), snapshot.lastError(), null);
+                onResolved.accept(resolution);
+                scheduler.shutdown();
+                return;
+            }
+            error = "lookup returned no host";
+        } catch (Exception e) {
+            error = e.toString();
+        }
+        int failures = snapshot.failures() + 1;
+        Duration delay = backoff(failures, initialBackoff, maxBackoff);
+        snapshot = new Snapshot(State.FAILED, null, failures, error, Instant.now().plus(delay));
+        log.warn("Pinecone host resolution failed (attempt {}): {}. Retrying in {}s", failures, error, delay.toSeconds());
+        scheduler.schedule(this::attempt, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * initial * 2^(failures-1), capped at max.
+     */
+    static Duration backoff(int failures, Duration initial, Duration max) {
+        int shift = Math.min(Math.max(failures - 1, 0), 30);
+        long millis = initial.toMillis() << shift;
+        return millis <= 0 || millis > max.toMillis() ? max : Duration.ofMillis(millis);
+    }
+}
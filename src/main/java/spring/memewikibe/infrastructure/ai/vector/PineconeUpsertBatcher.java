@@ -0,0 +1,161 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Serializes upsert records straight to UTF-8 bytes and cuts them into request bodies that stay within
+ * Pinecone's request-size and vector-count limits. Batches are produced lazily, so only the batches a caller
+ * holds on to are ever in memory. A single record larger than {@code maxBytes} still gets a batch of its own.
+ */
+final class PineconeUpsertBatcher implements Iterator<PineconeUpsertBatcher.Batch> {
+
+    private static final byte[] SUFFIX = "]}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMA = {','};
+
+    private final List<VectorRecord> records;
+    private final byte[] prefix;
+    private final long maxBytes;
+    private final int maxVectors;
+    private final RecordWriter writer = new RecordWriter();
+
+    private int cursor;
+    private int batchIndex;
+    private byte[] carried; // serialized record that did not fit into the previous batch
+
+    PineconeUpsertBatcher(String namespace, List<VectorRecord> records, long maxBytes, int maxVectors) {
+        RecordWriter header = new RecordWriter();
+        header.ascii("{\"namespace\":");
+        header.string(namespace == null ? "" : namespace);
+        header.ascii(",\"vectors\":[");
+        this.prefix = header.toByteArray();
+        this.records = records;
+        this.maxBytes = maxBytes;
+        this.maxVectors = Math.max(1, maxVectors);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return carried != null || cursor < records.size();
+    }
+
+    @Override
+    public Batch next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        List<byte[]> parts = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        parts.add(prefix);
+        long bytes = prefix.length + SUFFIX.length;
+        int first = cursor - (carried != null ? 1 : 0);
+        while (ids.size() < maxVectors && (carried != null || cursor < records.size())) {
+            byte[] record = carried != null ? carried : serialize(records.get(cursor++));
+            carried = null;
+            long added = record.length + (ids.isEmpty() ? 0 : 1);
+            if (!ids.isEmpty() && bytes + added > maxBytes) {
+                carried = record;
+                break;
+            }
+            if (!ids.isEmpty()) parts.add(COMMA);
+            parts.add(record);
+            ids.add(records.get(first + ids.size()).id());
+            bytes += added;
+        }
+        parts.add(SUFFIX);
+        return new Batch(batchIndex++, ids.stream().mapToLong(Long::longValue).toArray(), bytes, parts);
+    }
+
+    /**
+     * Index the next batch would get.
+     */
+    int nextIndex() {
+        return batchIndex;
+    }
+
+    /**
+     * Ids of every record not yet handed out in a batch, including one carried over from the last batch, without
+     * serializing them. The batcher is exhausted afterwards; used to report the rest of an upsert that stops early.
+     */
+    long[] drainRemainingIds() {
+        int from = cursor - (carried != null ? 1 : 0);
+        long[] ids = new long[records.size() - from];
+        for (int i = 0; i < ids.length; i++) ids[i] = records.get(from + i).id();
+        cursor = records.size();
+        carried = null;
+        return ids;
+    }
+
+    private byte[] serialize(VectorRecord r) {
+        writer.reset();
+        writer.ascii("{\"id\":\"");
+        writer.ascii(Long.toString(r.id()));
+        writer.ascii("\",\"values\":[");
+        float[] values = r.values();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.ascii(Float.toString(values[i]));
+        }
+        writer.ascii("],\"metadata\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> e : r.metadata().entrySet()) {
+            if (!first) writer.write(',');
+            first = false;
+            writer.string(e.getKey());
+            writer.write(':');
+            writer.string(e.getValue());
+        }
+        writer.ascii("}}");
+        return writer.toByteArray();
+    }
+
+    /**
+     * One request body, kept as the parts it was assembled from so it can be published without copying.
+     */
+    record Batch(int index, long[] ids, long bytes, List<byte[]> parts) {
+    }
+
+    private static final class RecordWriter extends ByteArrayOutputStream {
+
+        RecordWriter() {
+            super(16 * 1024);
+        }
+
+        void ascii(String s) {
+            for (int i = 0; i < s.length(); i++) write(s.charAt(i));
+        }
+
+        /**
+         * Writes a quoted JSON string, escaping quotes, backslashes and control characters.
+         */
+        void string(String s) {
+            write('"');
+            if (s != null) {
+                int start = 0;
+                for (int i = 0; i < s.length(); i++) {
+                    char c = s.charAt(i);
+                    if (c != '"' && c != '\\' && c >= 0x20) continue;
+                    utf8(s, start, i);
+                    write('\\');
+                    switch (c) {
+                        case '"', '\\' -> write(c);
+                        case '\n' -> write('n');
+                        case '\r' -> write('r');
+                        case '\t' -> write('t');
+                        default -> ascii(String.format("u%04x", (int) c));
+                    }
+                    start = i + 1;
+                }
+                utf8(s, start, s.length());
+            }
+            write('"');
+        }
+
+        private void utf8(String s, int from, int to) {
+            if (from < to) writeBytes(s.substring(from, to).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
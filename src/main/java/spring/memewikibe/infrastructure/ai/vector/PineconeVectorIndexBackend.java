@@ -0,0 +1,340 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import spring.memewikibe.infrastructure.ai.json.StreamingJsonParser;
+import spring.memewikibe.infrastructure.http.OutboundHttpClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Pinecone REST backend. When {@code PINECONE_INDEX_HOST} is not set, the host is resolved in the background
+ * at startup (see {@link PineconeHostResolver}) and the backend stays unavailable until that succeeds.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vector.backend", havingValue = "pinecone", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PineconeVectorIndexBackend implements VectorIndexBackend {
+
+    private static final String UPSTREAM = "pinecone";
+    private static final int MAX_DELETE_IDS = 1000;
+
+    @Value("${PINECONE_API_KEY:}")
+    private String apiKey;
+
+    // Optional: if not provided, service will be no-op for network calls.
+    // Example: https://your-index-host.svc.us-east-1-aws.pinecone.io
+    @Value("${PINECONE_INDEX_HOST:}")
+    private volatile String indexHost;
+
+    @Value("${PINECONE_INDEX_NAME:meme-recommendations}")
+    private String indexName;
+
+    @Value("${PINECONE_ENVIRONMENT:}")
+    private String environment; // e.g., us-east-1-aws
+
+    @Value("${PINECONE_NAMESPACE:}")
+    private String namespace;
+
+    // Optional: allow explicitly configuring index dimension via env
+    @Value("${PINECONE_INDEX_DIMENSION:0}")
+    private int configuredIndexDimension;
+
+    // Pinecone caps upsert requests at 2MB and 1000 vectors
+    @Value("${PINECONE_UPSERT_MAX_BATCH_BYTES:2000000}")
+    private long maxBatchBytes;
+
+    @Value("${PINECONE_UPSERT_MAX_BATCH_VECTORS:1000}")
+    private int maxBatchVectors;
+
+    @Value("${PINECONE_UPSERT_MAX_IN_FLIGHT:4}")
+    private int maxInFlight;
+
+    // Host resolution retries back off exponentially between these bounds
+    @Value("${PINECONE_HOST_RESOLVE_INITIAL_BACKOFF_MS:1000}")
+    private long resolveInitialBackoffMs;
+
+    @Value("${PINECONE_HOST_RESOLVE_MAX_BACKOFF_MS:300000}")
+    private long resolveMaxBackoffMs;
+
+    // Resolved Pinecone index dimension (from describe). 0 if unknown.
+    private volatile int resolvedIndexDimension = 0;
+
+    private PineconeHostResolver hostResolver;
+
+    private final OutboundHttpClient http;
+
+    @Override
+    public boolean isAvailable() {
+        return isConfigured();
+    }
+
+    @Override
+    public String unavailableReason() {
+        StringBuilder sb = new StringBuilder();
+        if (apiKey == null || apiKey.isBlank()) sb.append("PINECONE_API_KEY ");
+        if (indexHost == null || indexHost.isBlank()) {
+            PineconeHostResolver.Snapshot resolution = hostResolution();
+            if (resolution != null) {
+                return "Pinecone index host not resolved yet (" + resolution.state()
+                    + (resolution.lastError() == null ? "" : ": " + resolution.lastError()) + ")";
+            }
+            sb.append("PINECONE_INDEX_HOST (or resolvable via controller using PINECONE_ENVIRONMENT + PINECONE_INDEX_NAME, or via serverless Describe Index API) ");
+        }
+        return "Pinecone not fully configured. Missing: " + sb.toString().trim();
+    }
+
+    @Override
+    public int dimension() {
+        if (configuredIndexDimension > 0) return configuredIndexDimension;
+        return resolvedIndexDimension;
+    }
+
+    /**
+     * Streams records to {@code /vectors/upsert} in batches capped by {@code PINECONE_UPSERT_MAX_BATCH_BYTES}
+     * and {@code PINECONE_UPSERT_MAX_BATCH_VECTORS}, with at most {@code PINECONE_UPSERT_MAX_IN_FLIGHT}
+     * requests outstanding. Each batch is serialized only once a send slot is free.
+     */
+    @Override
+    public UpsertReport upsert(List<VectorRecord> records) {
+        if (records.isEmpty()) return UpsertReport.EMPTY;
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        List<CompletableFuture<UpsertReport.Batch>> sent = new ArrayList<>();
+        PineconeUpsertBatcher batcher = new PineconeUpsertBatcher(namespace, records, maxBatchBytes, maxBatchVectors);
+        try {
+            while (batcher.hasNext()) {
+                inFlight.acquire();
+                PineconeUpsertBatcher.Batch batch = batcher.next();
+                sent.add(send(batch).whenComplete((r, e) -> inFlight.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while sending Pinecone upserts; {} batches were sent", sent.size());
+        }
+
+        List<UpsertReport.Batch> results = new ArrayList<>(sent.stream().map(CompletableFuture::join).toList());
+        // Records never sent must show up as failed, or callers would treat them as indexed
+        if (batcher.hasNext()) {
+            int index = batcher.nextIndex();
+            results.add(UpsertReport.Batch.failed(index, batcher.drainRemainingIds(), 0, 0, "interrupted"));
+        }
+        UpsertReport report = new UpsertReport(results);
+        if (report.allSucceeded()) {
+            log.info("Pinecone upsert success for {} memes in {} batches", report.totalVectors(), results.size());
+        } else {
+            for (UpsertReport.Batch b : report.failedBatches()) {
+                log.error("Pinecone upsert batch {} failed ({} vectors, {} bytes): {} - {}", b.index(), b.ids().length, b.bytes(), b.status(), b.error());
+            }
+        }
+        return report;
+    }
+
+    private CompletableFuture<UpsertReport.Batch> send(PineconeUpsertBatcher.Batch batch) {
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(indexHost + "/vectors/upsert"))
+            .header("Content-Type", "application/json")
+            .header("Api-Key", apiKey)
+            .POST(HttpRequest.BodyPublishers.ofByteArrays(batch.parts()))
+            .build();
+        return http.sendAsync(UPSTREAM, request, HttpResponse.BodyHandlers.ofString())
+            .handle((resp, e) -> {
+                if (e != null) {
+                    return UpsertReport.Batch.failed(batch.index(), batch.ids(), batch.bytes(), 0, e.toString());
+                }
+                if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
+                    return UpsertReport.Batch.succeeded(batch.index(), batch.ids(), batch.bytes(), resp.statusCode());
+                }
+                return UpsertReport.Batch.failed(batch.index(), batch.ids(), batch.bytes(), resp.statusCode(), resp.body());
+            });
+    }
+
+    /**
+     * Deletes by id through {@code /vectors/delete}, at most 1000 ids per request.
+     */
+    @Override
+    public void delete(long[] ids) throws IOException {
+        if (!isConfigured()) throw new IOException(unavailableReason());
+        for (int from = 0; from < ids.length; from += MAX_DELETE_IDS) {
+            StringBuilder body = new StringBuilder("{\"ids\":[");
+            for (int i = from; i < Math.min(from + MAX_DELETE_IDS, ids.length); i++) {
+                if (i > from) body.append(',');
+                body.append('"').append(ids[i]).append('"');
+            }
+            body.append("],\"namespace\":\"").append(namespace).append("\"}");
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(indexHost + "/vectors/delete"))
+                .header("Content-Type", "application/json")
+                .header("Api-Key", apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+            HttpResponse<String> resp;
+            try {
+                resp = http.send(UPSTREAM, request, HttpResponse.BodyHandlers.ofString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while deleting Pinecone vectors", e);
+            }
+            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+                throw new IOException("Pinecone delete failed: " + resp.statusCode() + " - " + resp.body());
+            }
+        }
+        log.info("Pinecone delete success for {} ids", ids.length);
+    }
+
+    @Override
+    public ScoredIds query(float[] vector, int topK, Integer efSearch) {
+        try {
+            String body = "{" +
+                "\"vector\":" + arrayToJson(vector) + "," +
+                "\"topK\":" + topK + "," +
+                "\"namespace\":\"" + namespace + "\"" +
+                "}";
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(indexHost + "/query"))
+                .header("Content-Type", "application/json")
+                .header("Api-Key", apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+            HttpResponse<InputStream> resp = http.send(UPSTREAM, request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = resp.body()) {
+                if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
+                    return StreamingJsonParser.readMatches(in);
+                }
+                log.error("Pinecone query failed: {} - {}", resp.statusCode(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                return ScoredIds.empty();
+            }
+        } catch (Exception e) {
+            log.error("Failed to query Pinecone", e);
+            return ScoredIds.empty();
+        }
+    }
+
+    private boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank() && indexHost != null && !indexHost.isBlank();
+    }
+
+    /**
+     * Starts background host resolution when {@code PINECONE_INDEX_HOST} is not set. Until it succeeds the
+     * backend reports itself unavailable; requests never wait on it.
+     */
+    @PostConstruct
+    void startHostResolution() {
+        if (indexHost != null && !indexHost.isBlank()) return;
+        if (apiKey == null || apiKey.isBlank()) return; // cannot resolve without API key
+        if (indexName == null || indexName.isBlank()) return;
+        hostResolver = new PineconeHostResolver(this::resolveIndexHost, this::applyResolution,
+            Duration.ofMillis(resolveInitialBackoffMs), Duration.ofMillis(resolveMaxBackoffMs));
+        hostResolver.start();
+    }
+
+    @PreDestroy
+    void stopHostResolution() {
+        if (hostResolver != null) hostResolver.close();
+    }
+
+    /**
+     * Host resolution state for the health endpoint; null when the host was configured or cannot be resolved.
+     */
+    PineconeHostResolver.Snapshot hostResolution() {
+        return hostResolver == null ? null : hostResolver.snapshot();
+    }
+
+    private void applyResolution(PineconeHostResolver.Resolution resolution) {
+        if (resolution.dimension() > 0) resolvedIndexDimension = resolution.dimension();
+        indexHost = resolution.host();
+        log.info("Resolved Pinecone host via {}: {}, dimension: {}", resolution.source(), indexHost, resolution.dimension());
+    }
+
+    private PineconeHostResolver.Resolution resolveIndexHost() throws IOException, InterruptedException {
+        // 1) Try pod-based controller resolution when environment is provided
+        if (environment != null && !environment.isBlank()) {
+            try {
+                return describeIndex("https://controller." + environment + ".pinecone.io/databases/" + indexName, "controller (pod-based)");
+            } catch (IOException e) {
+                log.warn("Failed to resolve Pinecone host via controller (env={}, index={}): {}. Trying serverless API.", environment, indexName, e.getMessage());
+            }
+        }
+        // 2) Try serverless Describe Index API
+        return describeIndex("https://api.pinecone.io/indexes/" + indexName, "serverless API");
+    }
+
+    private PineconeHostResolver.Resolution describeIndex(String url, String source) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .header("Api-Key", apiKey)
+            .GET()
+            .build();
+        HttpResponse<String> resp = http.send(UPSTREAM, req, HttpResponse.BodyHandlers.ofString());
+        if (resp.statusCode() == 404) {
+            throw new IOException("Pinecone index '" + indexName + "' not found via " + source + ". Create the index or set PINECONE_INDEX_HOST");
+        }
+        if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+            throw new IOException(source + " returned " + resp.statusCode() + " - " + resp.body());
+        }
+        String host = HostParser.extractHost(resp.body());
+        if (host == null || host.isBlank()) {
+            throw new IOException(source + " response did not contain host");
+        }
+        Integer dim = HostParser.extractDimension(resp.body());
+        return new PineconeHostResolver.Resolution(host.startsWith("http") ? host : ("https://" + host), dim == null ? 0 : dim, source);
+    }
+
+    private static String arrayToJson(float[] arr) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < arr.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(Float.toString(arr[i]));
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Minimal JSON helpers without adding a JSON library.
+     */
+    static class HostParser {
+        static String extractHost(String json) {
+            // naive: look for "host":"..."
+            int pos = json.indexOf("\"host\"");
+            if (pos < 0) return null;
+            int colon = json.indexOf(':', pos);
+            int q1 = json.indexOf('"', colon + 1);
+            int q2 = json.indexOf('"', q1 + 1);
+            if (q1 < 0 || q2 < 0) return null;
+            return json.substring(q1 + 1, q2);
+        }
+        static Integer extractDimension(String json) {
+            int pos = json.indexOf("\"dimension\"");
+            if (pos < 0) return null;
+            int colon = json.indexOf(':', pos);
+            if (colon < 0) return null;
+            int i = colon + 1;
+            // skip spaces
+            while (i < json.length() && Character.isWhitespace(json.charAt(i))) i++;
+            int start = i;
+            while (i < json.length() && Character.isDigit(json.charAt(i))) i++;
+            if (start == i) return null;
+            try {
+                return Integer.parseInt(json.substring(start, i));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
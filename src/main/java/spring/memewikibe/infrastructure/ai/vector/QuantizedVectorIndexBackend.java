@@ -0,0 +1,175 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process flat backend over a {@link QuantizedVectorStore} persisted under {@code vector.quantized.path}.
+ *
+ * <p>Publishes {@code vector.quantized.heap.bytes}, {@code vector.quantized.mapped.bytes} and
+ * {@code vector.quantized.vectors} gauges, and a {@code vector.quantized.recall} summary: a sampled
+ * fraction of queries ({@code vector.quantized.recall-sample-rate}) is re-run exactly in the background
+ * and recall@k of the quantized result is recorded.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "vector.backend", havingValue = "quantized")
+public class QuantizedVectorIndexBackend implements VectorIndexBackend {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vector.quantized.path:data/quantized}")
+    private String path;
+
+    // int8: scan all int8 codes; binary: Hamming prefilter on sign bits first
+    @Value("${vector.quantized.mode:binary}")
+    private String mode;
+
+    // Hamming short list size (binary mode)
+    @Value("${vector.quantized.candidates:400}")
+    private int candidates;
+
+    // Candidates rescored with full-precision vectors from the mapped file
+    @Value("${vector.quantized.rescore:50}")
+    private int rescore;
+
+    @Value("${vector.quantized.recall-sample-rate:0.01}")
+    private double recallSampleRate;
+
+    private volatile QuantizedVectorStore store;
+    private DistributionSummary recall;
+
+    @PostConstruct
+    public void open() {
+        try {
+            store = QuantizedVectorStore.open(Path.of(path), QuantizedVectorStore.Mode.valueOf(mode.toUpperCase(Locale.ROOT)));
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to open quantized vector store at {} (mode={}). Vector search is unavailable.", path, mode, e);
+            return;
+        }
+        Gauge.builder("vector.quantized.heap.bytes", store, QuantizedVectorStore::heapBytes)
+            .description("Heap held by quantized codes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("vector.quantized.mapped.bytes", store, QuantizedVectorStore::mappedBytes)
+            .description("Memory-mapped full-precision vector file size")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("vector.quantized.vectors", store, QuantizedVectorStore::size)
+            .register(meterRegistry);
+        recall = DistributionSummary.builder("vector.quantized.recall")
+            .description("Sampled recall@k of quantized search against exact search")
+            .tag("mode", store.mode().name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        QuantizedVectorStore current = store;
+        if (current == null) return;
+        // Unpublish first so new calls see the backend as unavailable; calls already holding it hit the store's closed state
+        store = null;
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("Failed to close quantized vector store at {}: {}", path, e.toString());
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return store != null;
+    }
+
+    @Override
+    public String unavailableReason() {
+        return "Quantized vector store could not be opened at " + path;
+    }
+
+    @Override
+    public int dimension() {
+        QuantizedVectorStore current = store;
+        return current == null ? 0 : current.dimension();
+    }
+
+    @Override
+    public UpsertReport upsert(List<VectorRecord> records) {
+        QuantizedVectorStore current = store;
+        long[] ids = UpsertReport.idsOf(records);
+        if (current == null) return UpsertReport.failed(ids, unavailableReason());
+        int changed = 0;
+        try {
+            for (VectorRecord r : records) {
+                if (current.upsert(r.id(), r.values())) changed++;
+            }
+            current.compactIfNeeded();
+            current.flush();
+            log.info("Quantized upsert done: {} records, {} changed, {} live vectors, {} KB heap",
+                records.size(), changed, current.size(), current.heapBytes() / 1024);
+            return new UpsertReport(List.of(UpsertReport.Batch.succeeded(0, ids, 0, 0)));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to persist quantized vector store after upserting {} records", records.size(), e);
+            return UpsertReport.failed(ids, e.toString());
+        }
+    }
+
+    /**
+     * {@code efSearch}, when given, overrides the Hamming short list size.
+     */
+    @Override
+    public void delete(long[] ids) throws IOException {
+        QuantizedVectorStore current = store;
+        if (current == null) throw new IOException(unavailableReason());
+        int removed = 0;
+        for (long id : ids) {
+            if (current.remove(id)) removed++;
+        }
+        current.flush();
+        log.info("Quantized delete done: {} ids, {} removed, {} live vectors", ids.length, removed, current.size());
+    }
+
+    @Override
+    public ScoredIds query(float[] vector, int topK, Integer efSearch) {
+        QuantizedVectorStore current = store;
+        if (current == null) return ScoredIds.empty();
+        ScoredIds result = current.search(vector, topK, efSearch != null && efSearch > 0 ? efSearch : candidates, rescore);
+        if (recallSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < recallSampleRate) {
+            CompletableFuture.runAsync(() -> recordRecall(current, vector, topK, result));
+        }
+        return result;
+    }
+
+    private void recordRecall(QuantizedVectorStore current, float[] vector, int topK, ScoredIds result) {
+        try {
+            ScoredIds exact = current.exactSearch(vector, topK);
+            if (exact.isEmpty()) return;
+            Set<Long> truth = new HashSet<>();
+            for (int i = 0; i < exact.size(); i++) truth.add(exact.id(i));
+            int found = 0;
+            for (int i = 0; i < result.size(); i++) {
+                if (truth.contains(result.id(i))) found++;
+            }
+            recall.record((double) found / exact.size());
+        } catch (RuntimeException e) {
+            log.debug("Recall sampling failed: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Flat (exhaustive) cosine search over quantized codes, with exact rescoring of a short list.
+ *
+ * <p>Only compact codes live on heap: one int8 code per component plus a per-vector scale, and in
+ * {@link Mode#BINARY} also one sign bit per component. Full-precision vectors stay off-heap in a
+ * {@link MappedVectorStorage} and are read only to rescore the final candidates, so a 1536-d corpus
+ * costs about 1.7 KB of heap per vector instead of 6 KB. Codes are derived from the vector file on open.
+ *
+ * <p>Search: {@link Mode#BINARY} first ranks every vector by Hamming distance between sign bits and keeps
+ * {@code candidates}; {@link Mode#INT8} starts from every vector. Survivors are scored with int8 codes,
+ * the best {@code rescore} are rescored with full-precision floats, and the top {@code k} are returned.
+ *
+ * <p>Once closed, writes throw and searches return nothing, so a late caller cannot recreate (and truncate)
+ * the vector file under stale in-memory codes.
+ */
+@Slf4j
+public final class QuantizedVectorStore implements Closeable {
+
+    static final String VECTORS_FILE = "vectors.bin";
+
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 64;
+
+    public enum Mode {
+        INT8, BINARY
+    }
+
+    private final Path directory;
+    private final Mode mode;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<float[]> scratch = new ThreadLocal<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private MappedVectorStorage storage;
+    private int dimension;
+    private int words; // longs per binary code
+    private byte[] codes = new byte[0];
+    private float[] scales = new float[0];
+    private long[] bits = new long[0];
+    private int tombstones;
+    private boolean closed;
+
+    private QuantizedVectorStore(Path directory, Mode mode) {
+        this.directory = directory;
+        this.mode = mode;
+    }
+
+    public static QuantizedVectorStore open(Path directory, Mode mode) throws IOException {
+        Files.createDirectories(directory);
+        QuantizedVectorStore store = new QuantizedVectorStore(directory, mode);
+        store.load();
+        return store;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public int dimension() {
+        lock.readLock().lock();
+        try {
+            return dimension;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live (non-tombstoned) vectors.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap allocated for quantized codes, scales and sign bits, including spare capacity.
+     */
+    public long heapBytes() {
+        lock.readLock().lock();
+        try {
+            return codes.length + (long) scales.length * Float.BYTES + (long) bits.length * Long.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Size of the memory-mapped full-precision vector file.
+     */
+    public long mappedBytes() {
+        lock.readLock().lock();
+        try {
+            return storage == null ? 0 : storage.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the vector for {@code id}.
+     *
+     * @return false when the id already holds an identical vector and nothing changed
+     */
+    public boolean upsert(long id, float[] vector) throws IOException {
+        float[] v = HnswIndex.normalize(vector);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (storage == null) {
+                storage = MappedVectorStorage.create(directory.resolve(VECTORS_FILE), v.length);
+                setDimension(v.length);
+            }
+            if (v.length != dimension) {
+                throw new IllegalArgumentException("Vector dimension " + v.length + " does not match index dimension " + dimension);
+            }
+            Integer previous = ordinals.get(id);
+            if (previous != null && storage.sameVector(previous, v)) {
+                return false;
+            }
+            int ordinal = storage.append(id, v);
+            encode(ordinal, v);
+            if (previous != null) tombstone(previous);
+            ordinals.put(id, ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Integer previous = ordinals.remove(id);
+            if (previous == null) return false;
+            tombstone(previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate top-k by cosine similarity; scores of returned ids are exact.
+     *
+     * @param candidates Hamming short list size ({@link Mode#BINARY} only); raised to {@code rescore}
+     * @param rescore    how many int8-ranked candidates get exact rescoring; raised to {@code k}
+     */
+    public ScoredIds search(float[] query, int k, int candidates, int rescore) {
+        lock.readLock().lock();
+        try {
+            if (closed || storage == null || ordinals.isEmpty() || k <= 0) return ScoredIds.empty();
+            float[] q = normalizedQuery(query);
+            int rescoreSize = Math.max(rescore, k);
+            NodeHeap approx = NodeHeap.min(rescoreSize + 1);
+            if (mode == Mode.BINARY) {
+                NodeHeap shortList = hammingShortList(q, Math.max(candidates, rescoreSize));
+                for (int i = 0; i < shortList.size(); i++) {
+                    int ordinal = shortList.nodeAt(i);
+                    approx.pushBounded(ordinal, int8Dot(ordinal, q), rescoreSize);
+                }
+            } else {
+                int count = storage.count();
+                for (int ordinal = 0; ordinal < count; ordinal++) {
+                    if (deleted.get(ordinal)) continue;
+                    approx.pushBounded(ordinal, int8Dot(ordinal, q), rescoreSize);
+                }
+            }
+            NodeHeap exact = NodeHeap.min(k + 1);
+            float[] buffer = scratch();
+            for (int i = 0; i < approx.size(); i++) {
+                int ordinal = approx.nodeAt(i);
+                exact.pushBounded(ordinal, storage.dot(ordinal, q, buffer), k);
+            }
+            return drain(exact);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact top-k over the full-precision vectors; the ground truth for recall measurements.
+     */
+    public ScoredIds exactSearch(float[] query, int k) {
+        lock.readLock().lock();
+        try {
+            if (closed || storage == null || ordinals.isEmpty() || k <= 0) return ScoredIds.empty();
+            float[] q = normalizedQuery(query);
+            float[] buffer = scratch();
+            NodeHeap top = NodeHeap.min(k + 1);
+            int count = storage.count();
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                if (deleted.get(ordinal)) continue;
+                top.pushBounded(ordinal, storage.dot(ordinal, q, buffer), k);
+            }
+            return drain(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the vector file without tombstones once they make up a quarter of all slots.
+     */
+    public void compactIfNeeded() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (storage == null || tombstones < MIN_TOMBSTONES_FOR_COMPACTION || tombstones * 4 < storage.count()) return;
+            log.info("Compacting quantized vector store at {}: {} tombstones of {} slots", directory, tombstones, storage.count());
+            Path vectorsPath = directory.resolve(VECTORS_FILE);
+            Path tmp = directory.resolve(VECTORS_FILE + ".compact");
+            MappedVectorStorage fresh = MappedVectorStorage.create(tmp, dimension);
+            for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+                if (!deleted.get(ordinal)) fresh.append(storage.id(ordinal), storage.vector(ordinal));
+            }
+            fresh.close();
+            storage.close();
+            Files.move(tmp, vectorsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            storage = MappedVectorStorage.openExisting(vectorsPath);
+            rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            if (storage != null) storage.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            if (storage != null) storage.close();
+            storage = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Quantized vector store at " + directory + " is closed");
+    }
+
+    // --- quantization ---
+
+    /**
+     * Symmetric int8: each component becomes round(x / max|x| * 127); the scale restores magnitude.
+     */
+    private void encode(int ordinal, float[] v) {
+        ensureCapacity(ordinal + 1);
+        float maxAbs = 0f;
+        for (float f : v) maxAbs = Math.max(maxAbs, Math.abs(f));
+        float scale = maxAbs == 0f ? 0f : maxAbs / 127f;
+        int base = ordinal * dimension;
+        for (int i = 0; i < dimension; i++) {
+            codes[base + i] = scale == 0f ? 0 : (byte) Math.round(v[i] / scale);
+        }
+        scales[ordinal] = scale;
+        if (mode == Mode.BINARY) {
+            int wordBase = ordinal * words;
+            Arrays.fill(bits, wordBase, wordBase + words, 0L);
+            for (int i = 0; i < dimension; i++) {
+                if (v[i] > 0f) bits[wordBase + (i >>> 6)] |= 1L << (i & 63);
+            }
+        }
+    }
+
+    private float int8Dot(int ordinal, float[] q) {
+        int base = ordinal * dimension;
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            sum += codes[base + i] * q[i];
+        }
+        return sum * scales[ordinal];
+    }
+
+    /**
+     * Keeps the {@code size} live vectors with the smallest Hamming distance to the query's sign bits.
+     */
+    private NodeHeap hammingShortList(float[] q, int size) {
+        long[] queryBits = new long[words];
+        for (int i = 0; i < dimension; i++) {
+            if (q[i] > 0f) queryBits[i >>> 6] |= 1L << (i & 63);
+        }
+        NodeHeap shortList = NodeHeap.min(size + 1);
+        int count = storage.count();
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (deleted.get(ordinal)) continue;
+            int base = ordinal * words;
+            int distance = 0;
+            for (int w = 0; w < words; w++) {
+                distance += Long.bitCount(bits[base + w] ^ queryBits[w]);
+            }
+            shortList.pushBounded(ordinal, -distance, size);
+        }
+        return shortList;
+    }
+
+    private void ensureCapacity(int slots) {
+        if (scales.length >= slots) return;
+        int capacity = Math.max(slots, Math.max(1024, scales.length * 2));
+        codes = Arrays.copyOf(codes, capacity * dimension);
+        scales = Arrays.copyOf(scales, capacity);
+        if (mode == Mode.BINARY) bits = Arrays.copyOf(bits, capacity * words);
+    }
+
+    // --- helpers ---
+
+    private void load() throws IOException {
+        storage = MappedVectorStorage.openExisting(directory.resolve(VECTORS_FILE));
+        if (storage == null) return;
+        rebuild();
+        log.info("Opened quantized vector store at {} ({}): {} live vectors, dimension {}, {} KB heap",
+            directory, mode, ordinals.size(), dimension, heapBytes() / 1024);
+    }
+
+    private void rebuild() {
+        setDimension(storage.dimension());
+        ordinals.clear();
+        deleted.clear();
+        tombstones = 0;
+        codes = new byte[0];
+        scales = new float[0];
+        bits = new long[0];
+        ensureCapacity(storage.count());
+        for (int ordinal = 0; ordinal < storage.count(); ordinal++) {
+            long id = storage.id(ordinal);
+            if (id == MappedVectorStorage.DELETED) {
+                deleted.set(ordinal);
+                tombstones++;
+                continue;
+            }
+            encode(ordinal, storage.vector(ordinal));
+            Integer previous = ordinals.put(id, ordinal);
+            if (previous != null) {
+                // a crash between append and tombstoning leaves duplicates; the later slot wins
+                tombstone(previous);
+            }
+        }
+    }
+
+    private void setDimension(int dimension) {
+        this.dimension = dimension;
+        this.words = (dimension + 63) >>> 6;
+    }
+
+    private void tombstone(int ordinal) {
+        storage.markDeleted(ordinal);
+        deleted.set(ordinal);
+        tombstones++;
+    }
+
+    private float[] normalizedQuery(float[] query) {
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("Query dimension " + query.length + " does not match index dimension " + dimension);
+        }
+        return HnswIndex.normalize(query);
+    }
+
+    private float[] scratch() {
+        float[] buffer = scratch.get();
+        if (buffer == null || buffer.length != dimension) {
+            buffer = new float[dimension];
+            scratch.set(buffer);
+        }
+        return buffer;
+    }
+
+    private ScoredIds drain(NodeHeap top) {
+        int n = top.size();
+        int[] nodes = new int[n];
+        float[] scores = new float[n];
+        for (int i = n - 1; i >= 0; i--) {
+            nodes[i] = top.topNode();
+            scores[i] = top.topScore();
+            top.pop();
+        }
+        ScoredIds out = new ScoredIds(n);
+        for (int i = 0; i < n; i++) out.add(storage.id(nodes[i]), scores[i]);
+        return out;
+    }
+}
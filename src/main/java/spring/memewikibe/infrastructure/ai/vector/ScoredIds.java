@@ -0,0 +1,53 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of (meme id, score) pairs kept in primitive arrays.
+ * Backends fill it in rank order; callers convert to their own hit type at the edge.
+ */
+public final class ScoredIds {
+
+    private long[] ids;
+    private double[] scores;
+    private int size;
+
+    public ScoredIds(int initialCapacity) {
+        this.ids = new long[Math.max(0, initialCapacity)];
+        this.scores = new double[Math.max(0, initialCapacity)];
+    }
+
+    /**
+     * A new empty list. Not shared, since callers may append to what they get back.
+     */
+    public static ScoredIds empty() {
+        return new ScoredIds(0);
+    }
+
+    public void add(long id, double score) {
+        if (size == ids.length) {
+            int newCapacity = Math.max(8, size * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            scores = Arrays.copyOf(scores, newCapacity);
+        }
+        ids[size] = id;
+        scores[size] = score;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public double score(int index) {
+        return scores[index];
+    }
+}
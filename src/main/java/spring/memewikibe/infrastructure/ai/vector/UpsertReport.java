@@ -0,0 +1,57 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link VectorIndexBackend#upsert} call, one entry per request the backend sent.
+ */
+public record UpsertReport(List<Batch> batches) {
+
+    public static final UpsertReport EMPTY = new UpsertReport(List.of());
+
+    /**
+     * A report for a call that failed before anything could be sent.
+     */
+    public static UpsertReport failed(long[] ids, String reason) {
+        return new UpsertReport(List.of(Batch.failed(0, ids, 0, 0, reason)));
+    }
+
+    public int totalVectors() {
+        return batches.stream().mapToInt(b -> b.ids().length).sum();
+    }
+
+    public int failedVectors() {
+        return batches.stream().filter(b -> !b.success()).mapToInt(b -> b.ids().length).sum();
+    }
+
+    public List<Batch> failedBatches() {
+        return batches.stream().filter(b -> !b.success()).toList();
+    }
+
+    public boolean allSucceeded() {
+        return batches.stream().allMatch(Batch::success);
+    }
+
+    static long[] idsOf(List<VectorRecord> records) {
+        return records.stream().mapToLong(VectorRecord::id).toArray();
+    }
+
+    /**
+     * @param status HTTP status for remote backends, 0 when nothing was sent
+     * @param error  null on success
+     */
+    public record Batch(int index, long[] ids, long bytes, int status, String error) {
+
+        public static Batch succeeded(int index, long[] ids, long bytes, int status) {
+            return new Batch(index, ids, bytes, status, null);
+        }
+
+        public static Batch failed(int index, long[] ids, long bytes, int status, String error) {
+            return new Batch(index, ids, bytes, status, error);
+        }
+
+        public boolean success() {
+            return error == null;
+        }
+    }
+}
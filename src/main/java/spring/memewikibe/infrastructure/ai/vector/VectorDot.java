@@ -0,0 +1,70 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Float dot products shared by every in-process backend.
+ *
+ * <p>Uses {@link SimdDot} (JDK Vector API) when {@code jdk.incubator.vector} is resolved at runtime
+ * ({@code --add-modules jdk.incubator.vector}) and falls back to an unrolled scalar loop otherwise,
+ * or when {@code -Dvector.simd.disabled=true} is set.
+ */
+@Slf4j
+final class VectorDot {
+
+    private static final boolean SIMD = detectSimd();
+
+    private VectorDot() {
+    }
+
+    static boolean simdEnabled() {
+        return SIMD;
+    }
+
+    /**
+     * Lanes per SIMD register, or 1 when running scalar.
+     */
+    static int lanes() {
+        return SIMD ? SimdDot.lanes() : 1;
+    }
+
+    /**
+     * Dot product of {@code a[aOffset, aOffset + length)} with {@code b[0, length)}.
+     */
+    static float dot(float[] a, int aOffset, float[] b, int length) {
+        return SIMD ? SimdDot.dot(a, aOffset, b, length) : scalarDot(a, aOffset, b, length);
+    }
+
+    static float dot(float[] a, float[] b, int length) {
+        return dot(a, 0, b, length);
+    }
+
+    static float scalarDot(float[] a, int aOffset, float[] b, int length) {
+        // four independent accumulators let the JIT pipeline the multiply-adds
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (int bound = length & ~3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[i];
+            s1 += a[aOffset + i + 1] * b[i + 1];
+            s2 += a[aOffset + i + 2] * b[i + 2];
+            s3 += a[aOffset + i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static boolean detectSimd() {
+        if (Boolean.getBoolean("vector.simd.disabled")) return false;
+        try {
+            int lanes = SimdDot.lanes();
+            log.info("Vector API enabled: {} float lanes per vector", lanes);
+            return lanes > 1;
+        } catch (LinkageError e) {
+            log.info("Vector API unavailable ({}); using scalar dot products. Start the JVM with --add-modules jdk.incubator.vector to enable SIMD.",
+                e.toString());
+            return false;
+        }
+    }
+}
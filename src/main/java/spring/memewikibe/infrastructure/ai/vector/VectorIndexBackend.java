@@ -0,0 +1,49 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage and ANN search behind {@link spring.memewikibe.infrastructure.ai.MemeVectorIndexService}.
+ *
+ * <p>Exactly one implementation is active, chosen by the {@code vector.backend} property
+ * ({@code pinecone} by default, {@code hnsw} for the in-process graph index, {@code quantized} for the
+ * in-process flat index over int8/binary codes, {@code exact} for in-process brute-force search).
+ */
+public interface VectorIndexBackend {
+
+    /**
+     * Whether the backend can currently serve upserts and queries.
+     * Remote backends may try to resolve missing configuration here.
+     */
+    boolean isAvailable();
+
+    /**
+     * Describes what is missing when {@link #isAvailable()} returns false.
+     */
+    String unavailableReason();
+
+    /**
+     * Dimension vectors must have for this index, or 0 when not yet known.
+     */
+    int dimension();
+
+    /**
+     * Inserts or replaces vectors by id. Failures are reported per batch rather than thrown.
+     */
+    UpsertReport upsert(List<VectorRecord> records);
+
+    /**
+     * Removes vectors by id. Unknown ids are ignored, so deletes can be retried safely.
+     *
+     * @throws IOException when the backend is unavailable or rejected the delete
+     */
+    void delete(long[] ids) throws IOException;
+
+    /**
+     * Returns up to {@code topK} nearest ids ordered by descending cosine similarity.
+     *
+     * @param efSearch optional search breadth hint; ignored by backends without one
+     */
+    ScoredIds query(float[] vector, int topK, Integer efSearch);
+}
@@ -0,0 +1,10 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import java.util.Map;
+
+/**
+ * A single vector to be written to the index, keyed by meme id.
+ * Metadata is stored only by backends that support it (e.g. Pinecone).
+ */
+public record VectorRecord(long id, float[] values, Map<String, String> metadata) {
+}
@@ -0,0 +1,350 @@
+package spring.memewikibe.infrastructure.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared outbound HTTP layer. One JDK {@link HttpClient} (HTTP/2 with keep-alive, connect timeout) is used
+ * for every upstream, including the application RestTemplate. Each call is tagged with an upstream name that
+ * selects its request timeout and concurrency cap.
+ * <p>
+ * Concurrency is capped per host: a caller waits up to {@code http.outbound.acquire-timeout} for a slot and
+ * gets an IOException otherwise, so a hung upstream cannot pile up request threads. A slot stays taken until
+ * the response body has been read: for streamed bodies that is when the stream hits EOF or is closed, and
+ * {@code http.outbound.requests} is recorded at the same point.
+ * <p>
+ * Metrics: {@code http.outbound.requests} (timer, tagged upstream/status/outcome) and
+ * {@code http.outbound.in.flight} / {@code http.outbound.limit} gauges per upstream and host.
+ */
+@Component
+public class OutboundHttpClient {
+
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient client;
+    private final ConcurrentMap<String, HostLimit> limits = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.connectTimeout())
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    /**
+     * The shared client, for adapters such as {@code JdkClientHttpRequestFactory}. Calls made on it directly
+     * bypass the per-host caps and metrics.
+     */
+    public HttpClient client() {
+        return client;
+    }
+
+    public OutboundHttpProperties properties() {
+        return properties;
+    }
+
+    /**
+     * Sends synchronously. For {@link InputStream} bodies the host slot is held and the request timed until the
+     * body is read to the end or closed, so callers must close it; other bodies are fully read before this returns.
+     */
+    public <T> HttpResponse<T> send(String upstream, HttpRequest request, HttpResponse.BodyHandler<T> handler)
+        throws IOException, InterruptedException {
+        Lease lease = new Lease(upstream, acquire(upstream, request.uri()));
+        try {
+            return lease.holdUntilBodyConsumed(client.send(withTimeout(upstream, request), handler));
+        } catch (IOException | RuntimeException e) {
+            lease.finish(0, e);
+            throw e;
+        } catch (InterruptedException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends asynchronously. The calling thread waits for a host slot (up to the acquire timeout); the slot is
+     * released when the response completes, or for {@link InputStream} bodies when the body is consumed or closed.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(String upstream, HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        Lease lease;
+        try {
+            lease = new Lease(upstream, acquire(upstream, request.uri()));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.sendAsync(withTimeout(upstream, request), handler)
+            .handle((response, e) -> {
+                if (e != null) {
+                    lease.finish(0, e);
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                }
+                return lease.holdUntilBodyConsumed(response);
+            });
+    }
+
+    /**
+     * RestTemplate interceptor applying the same per-host cap and metrics as {@link #send}. The slot is held
+     * until the response is closed, which RestTemplate does once it has extracted the body.
+     */
+    public ClientHttpRequestInterceptor interceptor(String upstream) {
+        return (request, body, execution) -> {
+            Lease lease;
+            try {
+                lease = new Lease(upstream, acquire(upstream, request.getURI()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for an outbound slot to " + request.getURI().getHost(), e);
+            }
+            try {
+                return lease.holdUntilClosed(execution.execute(request, body));
+            } catch (IOException | RuntimeException e) {
+                lease.finish(0, e);
+                throw e;
+            }
+        };
+    }
+
+    private HttpRequest withTimeout(String upstream, HttpRequest request) {
+        if (request.timeout().isPresent()) return request;
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+            .timeout(properties.readTimeoutFor(upstream))
+            .build();
+    }
+
+    private HostLimit acquire(String upstream, URI uri) throws IOException, InterruptedException {
+        String host = uri.getHost() == null ? "unknown" : uri.getHost();
+        HostLimit limit = limits.computeIfAbsent(upstream + '|' + host, k -> newLimit(upstream, host));
+        if (!limit.permits.tryAcquire(properties.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            meterRegistry.counter("http.outbound.rejected", "upstream", upstream).increment();
+            throw new IOException("Too many concurrent requests to " + host + " (limit " + limit.max + ")");
+        }
+        return limit;
+    }
+
+    private HostLimit newLimit(String upstream, String host) {
+        HostLimit limit = new HostLimit(properties.maxConcurrentFor(upstream));
+        Gauge.builder("http.outbound.in.flight", limit, l -> l.max - l.permits.availablePermits())
+            .tags("upstream", upstream, "host", host)
+            .register(meterRegistry);
+        Gauge.builder("http.outbound.limit", limit, l -> l.max)
+            .tags("upstream", upstream, "host", host)
+            .register(meterRegistry);
+        return limit;
+    }
+
+    private void record(String upstream, long startNanos, int status, Throwable error) {
+        String outcome;
+        if (error == null) {
+            outcome = status >= 200 && status < 300 ? "SUCCESS" : status >= 500 ? "SERVER_ERROR" : "CLIENT_ERROR";
+        } else {
+            Throwable cause = error.getCause() != null && !(error instanceof IOException) ? error.getCause() : error;
+            outcome = cause instanceof HttpTimeoutException ? "TIMEOUT" : "IO_ERROR";
+        }
+        Timer.builder("http.outbound.requests")
+            .tags("upstream", upstream, "status", String.valueOf(status), "outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One acquired host slot. {@link #finish} releases it and records the request exactly once, however many
+     * of body EOF, body close, response close or a failure reach it.
+     */
+    private final class Lease {
+        private final String upstream;
+        private final HostLimit limit;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Lease(String upstream, HostLimit limit) {
+            this.upstream = upstream;
+            this.limit = limit;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> HttpResponse<T> holdUntilBodyConsumed(HttpResponse<T> response) {
+            if (response.body() instanceof InputStream in) {
+                return new BodyResponse<>(response, (T) new LeasedInputStream(in, this, response.statusCode()));
+            }
+            finish(response.statusCode(), null);
+            return response;
+        }
+
+        ClientHttpResponse holdUntilClosed(ClientHttpResponse response) throws IOException {
+            return new LeasedClientHttpResponse(response, this, response.getStatusCode().value());
+        }
+
+        void finish(int status, Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                limit.permits.release();
+                record(upstream, startNanos, status, error);
+            }
+        }
+
+        void release() {
+            if (done.compareAndSet(false, true)) limit.permits.release();
+        }
+    }
+
+    private static final class LeasedInputStream extends FilterInputStream {
+        private final Lease lease;
+        private final int status;
+
+        private LeasedInputStream(InputStream in, Lease lease, int status) {
+            super(in);
+            this.lease = lease;
+            this.status = status;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = super.read();
+                if (b < 0) lease.finish(status, null);
+                return b;
+            } catch (IOException | RuntimeException e) {
+                lease.finish(status, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int n = super.read(b, off, len);
+                if (n < 0) lease.finish(status, null);
+                return n;
+            } catch (IOException | RuntimeException e) {
+                lease.finish(status, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                lease.finish(status, null);
+            }
+        }
+    }
+
+    private static final class LeasedClientHttpResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Lease lease;
+        private final int status;
+
+        private LeasedClientHttpResponse(ClientHttpResponse delegate, Lease lease, int status) {
+            this.delegate = delegate;
+            this.lease = lease;
+            this.status = status;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return new LeasedInputStream(delegate.getBody(), lease, status);
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                lease.finish(status, null);
+            }
+        }
+    }
+
+    private record BodyResponse<T>(HttpResponse<T> delegate, T body) implements HttpResponse<T> {
+        @Override
+        public int statusCode() {
+            return delegate.statusCode();
+        }
+
+        @Override
+        public HttpRequest request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return delegate.previousResponse();
+        }
+
+        @Override
+        public java.net.http.HttpHeaders headers() {
+            return delegate.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return delegate.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return delegate.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return delegate.version();
+        }
+    }
+
+    private static final class HostLimit {
+        private final int max;
+        private final Semaphore permits;
+
+        private HostLimit(int max) {
+            this.max = max;
+            this.permits = new Semaphore(max);
+        }
+    }
+}
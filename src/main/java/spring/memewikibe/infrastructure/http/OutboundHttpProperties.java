@@ -0,0 +1,49 @@
+package spring.memewikibe.infrastructure.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outbound HTTP settings. Top-level values are defaults; {@code upstreams.<name>} overrides them for one
+ * upstream (pinecone, vertex, naver, ...).
+ */
+@ConfigurationProperties(prefix = "http.outbound")
+public record OutboundHttpProperties(
+    Duration connectTimeout,
+    Duration readTimeout,
+    Duration acquireTimeout,
+    int maxConcurrentPerHost,
+    Map<String, Upstream> upstreams
+) {
+
+    public OutboundHttpProperties {
+        if (connectTimeout == null) connectTimeout = Duration.ofSeconds(2);
+        if (readTimeout == null) readTimeout = Duration.ofSeconds(10);
+        if (acquireTimeout == null) acquireTimeout = Duration.ofSeconds(1);
+        if (maxConcurrentPerHost <= 0) maxConcurrentPerHost = 32;
+        if (upstreams == null) upstreams = Map.of();
+    }
+
+    public static OutboundHttpProperties defaults() {
+        return new OutboundHttpProperties(null, null, null, 0, null);
+    }
+
+    /**
+     * Request timeout for the upstream: time until response headers arrive (JDK client) or the whole
+     * response is read (RestTemplate).
+     */
+    public Duration readTimeoutFor(String upstream) {
+        Upstream u = upstreams.get(upstream);
+        return u != null && u.readTimeout() != null ? u.readTimeout() : readTimeout;
+    }
+
+    public int maxConcurrentFor(String upstream) {
+        Upstream u = upstreams.get(upstream);
+        return u != null && u.maxConcurrent() != null && u.maxConcurrent() > 0 ? u.maxConcurrent() : maxConcurrentPerHost;
+    }
+
+    public record Upstream(Duration readTimeout, Integer maxConcurrent) {
+    }
+}
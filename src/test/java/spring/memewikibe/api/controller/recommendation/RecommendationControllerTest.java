@@ -0,0 +1,100 @@
+package spring.memewikibe.api.controller.recommendation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+import spring.memewikibe.application.RecommendationService;
+import spring.memewikibe.application.SearchProgressListener;
+import spring.memewikibe.application.SearchStageMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@UnitTest
+class RecommendationControllerTest {
+
+    private final RecommendationService recommendationService = mock(RecommendationService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RecommendationController controller = new RecommendationController(
+            recommendationService, new SearchStageMetrics(new SimpleMeterRegistry()), new SimpleAsyncTaskExecutor("search-test-"));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("text/event-stream 요청이면 candidates → reranked → reason → done 순서로 이벤트를 보낸다")
+    void searchExplainStream_emitsEventsInPipelineOrder() throws Exception {
+        // given
+        MemeRecommendationResponse keywordHit = new MemeRecommendationResponse(4L, "귀가", "img4", "키워드 일치");
+        MemeRecommendationResponse ranked = new MemeRecommendationResponse(1L, "퇴근", "img1", "휴리스틱 이유");
+        when(recommendationService.searchWithReasons(eq("집에 가고싶다"), isNull(), eq(3), any(SearchStageMetrics.Trace.class), any(SearchProgressListener.class)))
+            .thenAnswer(inv -> {
+                SearchProgressListener listener = inv.getArgument(4);
+                listener.onCandidates(List.of(keywordHit));
+                listener.onReranked(List.of(ranked, keywordHit));
+                listener.onReason(1L, "퇴근길에 딱 맞는 밈");
+                return List.of(ranked, keywordHit);
+            });
+
+        // when
+        MvcResult started = mockMvc.perform(get("/api/recommendations/search-explain")
+                .param("query", "집에 가고싶다")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        started.getAsyncResult(5_000);
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // then
+        int candidates = body.indexOf("event:candidates");
+        int reranked = body.indexOf("event:reranked");
+        int reason = body.indexOf("event:reason");
+        int done = body.indexOf("event:done");
+        assertThat(candidates).isNotNegative();
+        assertThat(reranked).isGreaterThan(candidates);
+        assertThat(reason).isGreaterThan(reranked);
+        assertThat(done).isGreaterThan(reason);
+        assertThat(body).contains("퇴근길에 딱 맞는 밈").contains("\"degradedStages\":[]");
+    }
+
+    @Test
+    @DisplayName("JSON 요청은 기존처럼 최종 결과만 한 번에 반환한다")
+    void searchExplain_returnsFinalResultAsJson() throws Exception {
+        // given
+        when(recommendationService.searchWithReasons(eq("집에 가고싶다"), isNull(), eq(3), any(SearchStageMetrics.Trace.class)))
+            .thenReturn(List.of(new MemeRecommendationResponse(1L, "퇴근", "img1", "퇴근길에 딱 맞는 밈")));
+
+        // when & then
+        mockMvc.perform(get("/api/recommendations/search-explain")
+                .param("query", "집에 가고싶다")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Search-Degraded"))
+            .andExpect(jsonPath("$.success[0].id").value(1L));
+    }
+}
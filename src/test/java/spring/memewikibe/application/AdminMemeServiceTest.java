@@ -0,0 +1,99 @@
+package spring.memewikibe.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import spring.memewikibe.annotation.IntegrationTest;
+import spring.memewikibe.api.controller.meme.request.MemeUpdateRequest;
+import spring.memewikibe.domain.meme.Category;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.VectorIndexOutbox;
+import spring.memewikibe.infrastructure.CategoryRepository;
+import spring.memewikibe.infrastructure.MemeCategoryRepository;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.VectorIndexOutboxRepository;
+import spring.memewikibe.support.error.MemeWikiApplicationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class AdminMemeServiceTest {
+
+    @Autowired
+    private AdminMemeService adminMemeService;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MemeCategoryRepository memeCategoryRepository;
+
+    @Autowired
+    private VectorIndexOutboxRepository outboxRepository;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAllInBatch();
+        memeCategoryRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        memeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("updateAndApproveMeme: 내용·카테고리를 바꾸고 승인하며, 같은 트랜잭션에서 outbox에 적재")
+    void updateAndApproveMeme_updatesAndEnqueues() {
+        // given
+        Meme meme = saveMeme(Meme.Flag.ABNORMAL);
+        Category category = categoryRepository.save(Category.builder().name("직장").imgUrl("img").build());
+
+        // when
+        adminMemeService.updateAndApproveMeme(meme.getId(), new MemeUpdateRequest(
+            "새 제목", "출처", "상황", "2025", "#퇴사", "new-img", List.of(category.getId())));
+
+        // then
+        Meme updated = memeRepository.findById(meme.getId()).orElseThrow();
+        assertThat(updated.getTitle()).isEqualTo("새 제목");
+        assertThat(updated.getImgUrl()).isEqualTo("new-img");
+        assertThat(updated.getFlag()).isEqualTo(Meme.Flag.NORMAL);
+        assertThat(memeCategoryRepository.findByMemeId(meme.getId())).hasSize(1);
+        assertThat(outboxRepository.findAll()).extracting(VectorIndexOutbox::getMemeId).containsExactly(meme.getId());
+    }
+
+    @Test
+    @DisplayName("deleteMeme: 밈을 지우고 DELETE를 적재하며, 없는 밈이면 false")
+    void deleteMeme_deletesAndEnqueues() {
+        // given
+        Meme meme = saveMeme(Meme.Flag.NORMAL);
+
+        // when
+        boolean deleted = adminMemeService.deleteMeme(meme.getId());
+        boolean missing = adminMemeService.deleteMeme(meme.getId());
+
+        // then
+        assertThat(deleted).isTrue();
+        assertThat(missing).isFalse();
+        assertThat(memeRepository.existsById(meme.getId())).isFalse();
+        assertThat(outboxRepository.findAll()).extracting(VectorIndexOutbox::getOperation)
+            .containsExactly(VectorIndexOutbox.Operation.DELETE);
+    }
+
+    @Test
+    @DisplayName("rejectMeme: 없는 밈이면 예외를 던지고 outbox에 아무것도 남기지 않음")
+    void rejectMeme_throwsForMissingMeme() {
+        // when & then
+        assertThatThrownBy(() -> adminMemeService.rejectMeme(999L))
+            .isInstanceOf(MemeWikiApplicationException.class);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private Meme saveMeme(Meme.Flag flag) {
+        return memeRepository.save(Meme.builder().title("밈").usageContext("상황").hashtags("#태그").flag(flag).build());
+    }
+}
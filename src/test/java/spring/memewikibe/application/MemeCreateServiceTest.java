@@ -11,10 +11,11 @@ import spring.memewikibe.api.controller.meme.request.MemeCreateRequest;
 import spring.memewikibe.domain.meme.Category;
 import spring.memewikibe.domain.meme.Meme;
 import spring.memewikibe.domain.meme.MemeCategory;
+import spring.memewikibe.domain.vector.VectorIndexOutbox;
 import spring.memewikibe.infrastructure.CategoryRepository;
 import spring.memewikibe.infrastructure.MemeCategoryRepository;
 import spring.memewikibe.infrastructure.MemeRepository;
-import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.VectorIndexOutboxRepository;
 
 import java.util.List;
 
@@ -39,18 +40,19 @@ class MemeCreateServiceTest {
     @Autowired
     private MemeCategoryRepository memeCategoryRepository;
 
-    @MockitoBean
-    private ImageUploadService imageUploadService;
+    @Autowired
+    private VectorIndexOutboxRepository vectorIndexOutboxRepository;
 
     @MockitoBean
-    private MemeVectorIndexService vectorIndexService;
+    private ImageUploadService imageUploadService;
 
     @AfterEach
     void tearDown() {
+        vectorIndexOutboxRepository.deleteAllInBatch();
         memeCategoryRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
         memeRepository.deleteAllInBatch();
-        reset(imageUploadService, vectorIndexService);
+        reset(imageUploadService);
     }
 
     @Test
@@ -83,27 +85,32 @@ class MemeCreateServiceTest {
         then(links).extracting(mc -> mc.getCategory().getId())
             .containsExactlyInAnyOrder(cat1.getId(), cat2.getId());
 
-        // indexing should be attempted once after transaction commit
-        verify(vectorIndexService, times(1)).index(any(Meme.class));
+        // 벡터 인덱싱은 같은 트랜잭션에서 outbox에 쌓임
+        List<VectorIndexOutbox> outbox = vectorIndexOutboxRepository.findAll();
+        then(outbox).hasSize(1);
+        then(outbox.getFirst().getMemeId()).isEqualTo(id);
+        then(outbox.getFirst().getOperation()).isEqualTo(VectorIndexOutbox.Operation.UPSERT);
+        then(outbox.getFirst().getStatus()).isEqualTo(VectorIndexOutbox.Status.PENDING);
     }
 
     @Test
-    @DisplayName("인덱싱 예외가 발생해도 밈 생성은 성공한다")
-    void indexingFailureDoesNotBreakCreate() {
+    @DisplayName("밈 생성은 벡터 인덱스를 직접 호출하지 않고 outbox 항목만 남긴다")
+    void createMeme_enqueuesIndexingInsteadOfCallingIndex() {
         // given
         MemeCreateRequest req = new MemeCreateRequest(
             "테스트", "출처", "맥락", "2025", "[#태그]", List.of()
         );
         MultipartFile file = mock(MultipartFile.class);
         when(imageUploadService.uploadImage(any(MultipartFile.class))).thenReturn("url");
-        doThrow(new RuntimeException("pinecone down")).when(vectorIndexService).index(any(Meme.class));
 
         // when
         long id = memeCreateService.createMeme(req, file);
 
         // then
         then(memeRepository.findById(id)).isPresent();
-        verify(vectorIndexService, times(1)).index(any(Meme.class));
+        then(vectorIndexOutboxRepository.findAll())
+            .extracting(VectorIndexOutbox::getMemeId)
+            .containsExactly(id);
     }
 
     @Test
@@ -147,8 +154,9 @@ class MemeCreateServiceTest {
             .isInstanceOf(RuntimeException.class)
             .hasMessage("R2 업로드 실패");
 
-        // 저장이 롤백되어야 함
+        // 밈도 outbox 항목도 남지 않아야 함
         then(memeRepository.findAll()).isEmpty();
+        then(vectorIndexOutboxRepository.findAll()).isEmpty();
     }
 
     @Test
@@ -0,0 +1,167 @@
+package spring.memewikibe.application;
+
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.IntegrationTest;
+import spring.memewikibe.api.controller.meme.response.MemeSimpleResponse;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.MemeNeighbor;
+import spring.memewikibe.infrastructure.MemeNeighborRepository;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+@IntegrationTest
+class MemeNeighborServiceTest {
+
+    @Autowired
+    private MemeNeighborService memeNeighborService;
+
+    @MockitoSpyBean
+    private MemeNeighborRepository neighborRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @MockitoBean
+    private MemeVectorIndexService vectorIndexService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(memeNeighborService, "neighborCount", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(memeNeighborService, "neighborCount", 20);
+        neighborRepository.deleteAllInBatch();
+        memeRepository.deleteAllInBatch();
+        reset(vectorIndexService);
+    }
+
+    @Test
+    @DisplayName("refresh 후 getSimilarMemes: 저장된 순위대로 반환하고 NORMAL이 아닌 밈은 제외")
+    void refresh_thenGetSimilarMemes_returnsNormalNeighborsInRankOrder() throws IOException {
+        // given
+        Meme meme = saveMeme("기준", Meme.Flag.NORMAL);
+        Meme close = saveMeme("가까운 밈", Meme.Flag.NORMAL);
+        Meme rejected = saveMeme("반려된 밈", Meme.Flag.ABNORMAL);
+        when(vectorIndexService.nearestNeighbors(anyList(), anyInt()))
+            .thenReturn(Map.of(meme.getId(), scored(rejected.getId(), 0.95, close.getId(), 0.9)));
+
+        // when
+        memeNeighborService.refresh(List.of(meme));
+        List<MemeSimpleResponse> similar = memeNeighborService.getSimilarMemes(meme.getId(), 10);
+
+        // then
+        assertThat(similar).extracting(MemeSimpleResponse::id).containsExactly(close.getId());
+        assertThat(memeNeighborService.getSimilarMemes(close.getId() + 100, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("refresh: 새 밈이 이웃 목록의 꼴찌보다 가까우면 끼워 넣고, 아니면 목록을 그대로 둠")
+    void refresh_insertsIntoNeighborListsOnlyWhenCloserThanWorst() throws IOException {
+        // given: 이웃 수 2, b와 c의 목록은 이미 가득 참
+        Meme a = saveMeme("a", Meme.Flag.NORMAL);
+        Meme b = saveMeme("b", Meme.Flag.NORMAL);
+        Meme c = saveMeme("c", Meme.Flag.NORMAL);
+        Meme x = saveMeme("x", Meme.Flag.NORMAL);
+        Meme y = saveMeme("y", Meme.Flag.NORMAL);
+        neighborRepository.saveAll(List.of(
+            MemeNeighbor.of(b.getId(), x.getId(), 0, 0.9f),
+            MemeNeighbor.of(b.getId(), y.getId(), 1, 0.5f),
+            MemeNeighbor.of(c.getId(), x.getId(), 0, 0.9f),
+            MemeNeighbor.of(c.getId(), y.getId(), 1, 0.8f)
+        ));
+        when(vectorIndexService.nearestNeighbors(anyList(), anyInt()))
+            .thenReturn(Map.of(a.getId(), scored(b.getId(), 0.7, c.getId(), 0.3)));
+
+        // when
+        memeNeighborService.refresh(List.of(a));
+
+        // then
+        assertThat(neighborsOf(b)).containsExactly(tuple(x.getId(), 0), tuple(a.getId(), 1));
+        assertThat(neighborsOf(c)).containsExactly(tuple(x.getId(), 0), tuple(y.getId(), 1));
+        assertThat(neighborsOf(a)).containsExactly(tuple(b.getId(), 0), tuple(c.getId(), 1));
+    }
+
+    @Test
+    @DisplayName("remove: 삭제된 밈의 목록과 다른 목록 속 항목을 함께 지움")
+    void remove_deletesOwnListAndOccurrences() {
+        // given
+        Meme a = saveMeme("a", Meme.Flag.NORMAL);
+        Meme b = saveMeme("b", Meme.Flag.NORMAL);
+        Meme c = saveMeme("c", Meme.Flag.NORMAL);
+        neighborRepository.saveAll(List.of(
+            MemeNeighbor.of(a.getId(), b.getId(), 0, 0.9f),
+            MemeNeighbor.of(b.getId(), a.getId(), 0, 0.9f),
+            MemeNeighbor.of(b.getId(), c.getId(), 1, 0.4f)
+        ));
+
+        // when
+        memeNeighborService.remove(List.of(a.getId()));
+
+        // then
+        assertThat(neighborRepository.findAll())
+            .extracting(MemeNeighbor::getMemeId, MemeNeighbor::getNeighborId)
+            .containsExactly(tuple(b.getId(), c.getId()));
+    }
+
+    @Test
+    @DisplayName("rebuildAll: 페이지 저장이 실패하면 그 페이지의 삭제도 롤백되어 기존 목록이 남음")
+    void rebuildAll_rollsBackPageDelete_whenInsertFails() throws IOException {
+        // given
+        Meme a = saveMeme("a", Meme.Flag.NORMAL);
+        Meme b = saveMeme("b", Meme.Flag.NORMAL);
+        neighborRepository.saveAll(List.of(MemeNeighbor.of(a.getId(), b.getId(), 0, 0.9f)));
+        when(vectorIndexService.nearestNeighbors(anyList(), anyInt()))
+            .thenReturn(Map.of(a.getId(), scored(b.getId(), 0.8, a.getId(), 0.1)));
+        doThrow(new IllegalStateException("boom")).when(neighborRepository).saveAll(anyList());
+
+        // when
+        long rebuilt = memeNeighborService.rebuildAll();
+
+        // then
+        assertThat(rebuilt).isZero();
+        reset(neighborRepository);
+        assertThat(neighborsOf(a)).containsExactly(tuple(b.getId(), 0));
+    }
+
+    private List<Tuple> neighborsOf(Meme meme) {
+        return neighborRepository.findByMemeIdIn(List.of(meme.getId())).stream()
+            .sorted(Comparator.comparingInt(MemeNeighbor::getNeighborRank))
+            .map(n -> tuple(n.getNeighborId(), n.getNeighborRank()))
+            .toList();
+    }
+
+    private static ScoredIds scored(long id1, double score1, long id2, double score2) {
+        ScoredIds hits = new ScoredIds(2);
+        hits.add(id1, score1);
+        hits.add(id2, score2);
+        return hits;
+    }
+
+    private Meme saveMeme(String title, Meme.Flag flag) {
+        return memeRepository.save(Meme.builder().title(title).usageContext("상황").hashtags("#태그").flag(flag).build());
+    }
+}
@@ -0,0 +1,115 @@
+package spring.memewikibe.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+class MmrDiversifierTest {
+
+    @Test
+    @DisplayName("select: 임의의 후보 집합에서 HashSet Jaccard로 매 라운드 다시 계산한 MMR과 같은 순서로 뽑는다")
+    void select_matchesSetBasedReference() {
+        Random random = new Random(11);
+        double[] lambdas = {0.0, 0.3, 0.7, 1.0};
+        for (int round = 0; round < 300; round++) {
+            // given: 동점과 빈 문서가 섞이도록 점수를 양자화하고 일부 문서는 토큰 없이 만듦
+            int n = 1 + random.nextInt(120);
+            int k = random.nextInt(n + 5);
+            double lambda = lambdas[round % lambdas.length];
+            List<Set<String>> docs = new ArrayList<>(n);
+            double[] relevance = new double[n];
+            for (int i = 0; i < n; i++) {
+                docs.add(randomDoc(random));
+                relevance[i] = Math.round((1.0 - i / (double) n) * 10) / 10.0;
+            }
+            Map<String, Integer> dictionary = new HashMap<>();
+            int[][] terms = new int[n][];
+            for (int i = 0; i < n; i++) terms[i] = encode(dictionary, docs.get(i));
+
+            // when
+            int[] picked = MmrDiversifier.select(relevance, terms, dictionary.size(), lambda, k);
+
+            // then
+            assertThat(picked).as("round %d (n=%d, k=%d, lambda=%s)", round, n, k, lambda)
+                .containsExactly(reference(relevance, docs, lambda, k));
+        }
+    }
+
+    @Test
+    @DisplayName("jaccard: 교집합/합집합, 한쪽이 비면 0")
+    void jaccard_usesIntersectionOverUnion() {
+        // given
+        int[] a = {1, 3, 70};
+        long[] aBits = new long[2];
+        for (int t : a) aBits[t >>> 6] |= 1L << t;
+
+        // when & then
+        assertThat(MmrDiversifier.jaccard(a, aBits, new int[]{3, 70, 90})).isEqualTo(2.0 / 4);
+        assertThat(MmrDiversifier.jaccard(a, aBits, new int[0])).isZero();
+    }
+
+    private static int[] encode(Map<String, Integer> dictionary, Set<String> doc) {
+        return doc.stream().mapToInt(t -> dictionary.computeIfAbsent(t, x -> dictionary.size())).sorted().toArray();
+    }
+
+    private static Set<String> randomDoc(Random random) {
+        if (random.nextInt(10) == 0) return Set.of();
+        Set<String> doc = new HashSet<>();
+        int size = 1 + random.nextInt(15);
+        for (int i = 0; i < size; i++) {
+            // 앞쪽 단어가 자주 나오도록 치우친 분포
+            int word = (int) (Math.pow(random.nextDouble(), 2) * 200);
+            doc.add("w" + word);
+        }
+        return doc;
+    }
+
+    // 다양화 전 구현: 매 라운드 후보마다 선택된 전체와 HashSet으로 Jaccard를 다시 계산
+    private static int[] reference(double[] relevance, List<Set<String>> docs, double lambda, int k) {
+        if (relevance.length == 0 || k <= 0) return new int[0];
+        List<Integer> selected = new ArrayList<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < relevance.length; i++) candidates.add(i);
+        selected.add(candidates.remove(0));
+
+        while (!candidates.isEmpty() && selected.size() < k) {
+            Integer bestNext = null;
+            double bestScore = -Double.MAX_VALUE;
+            for (Integer cand : candidates) {
+                double maxSimilarity = 0.0;
+                for (Integer sel : selected) {
+                    maxSimilarity = Math.max(maxSimilarity, setJaccard(docs.get(cand), docs.get(sel)));
+                }
+                double score = lambda * relevance[cand] - (1 - lambda) * maxSimilarity;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestNext = cand;
+                }
+            }
+            if (bestNext == null) break;
+            selected.add(bestNext);
+            candidates.remove(bestNext);
+        }
+        return selected.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double setJaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0.0;
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        return (double) intersection.size() / union.size();
+    }
+}
@@ -1,21 +1,36 @@
 package spring.memewikibe.application;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 import spring.memewikibe.annotation.UnitTest;
 import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+import spring.memewikibe.common.cache.BoundedCache;
 import spring.memewikibe.domain.meme.Meme;
 import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.ai.MemeTextFeatureCache;
+import spring.memewikibe.infrastructure.ai.MemeTextFeatures;
 import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
 import spring.memewikibe.infrastructure.ai.NaverRagService;
+import spring.memewikibe.infrastructure.ai.QueryRewriter;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,12 +52,44 @@ class RecommendationServiceTest {
     @Mock
     SafeFullTextSearchExecutor safeFts;
 
+    @Mock
+    VectorIndexReconciler vectorIndexReconciler;
+
+    @Spy
+    SearchStageMetrics searchStageMetrics = new SearchStageMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    SimpleAsyncTaskExecutor searchExecutor = new SimpleAsyncTaskExecutor("search-test-");
+
+    @Spy
+    MemeTextFeatureCache memeTextFeatureCache = new MemeTextFeatureCache(BoundedCache.<Long, MemeTextFeatures>builder("test").build());
+
+    @Mock
+    SemanticQueryCache semanticQueryCache;
+
+    @Mock
+    QueryRewriter queryRewriter;
+
     @InjectMocks
     RecommendationService recommendationService;
 
     @Captor
     ArgumentCaptor<List<NaverRagService.Candidate>> candidatesCaptor;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recommendationService, "queryRewriter", Optional.empty());
+        ReflectionTestUtils.setField(recommendationService, "crossEncoder", Optional.empty());
+        // @Value 기본값 (application.yml 없이 Mockito로만 생성하므로 직접 지정)
+        ReflectionTestUtils.setField(recommendationService, "alpha", 0.6);
+        ReflectionTestUtils.setField(recommendationService, "rerankerTopN", 50);
+        ReflectionTestUtils.setField(recommendationService, "expandTimeoutMs", 1500L);
+        ReflectionTestUtils.setField(recommendationService, "vectorTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(recommendationService, "semanticCacheWaitMs", 300L);
+        // 목은 List 반환에 빈 리스트를 돌려주므로, 캐시를 다루지 않는 테스트에서는 미적중으로 둠
+        lenient().when(semanticQueryCache.get(any(), any(), anyInt())).thenReturn(null);
+    }
+
     // helper to assign id in tests
     private static Meme setId(Meme m, Long id) {
         try {
@@ -93,4 +140,152 @@ class RecommendationServiceTest {
         verify(vectorIndexService, times(1)).query(anyString(), anyInt());
         verify(naverRagService, times(1)).recommendWithContextDetailed(anyString(), anyString(), anyList());
     }
+
+    @Test
+    @DisplayName("벡터 쪽 재작성과 키워드 확장은 동시에 실행된다")
+    void searchWithReasons_runsRewriteAndKeywordExpansionConcurrently() {
+        // given: 두 호출이 서로를 기다리므로 순서대로 실행되면 barrier가 시간 초과로 깨짐
+        ReflectionTestUtils.setField(recommendationService, "queryRewriter", Optional.of(queryRewriter));
+        ReflectionTestUtils.setField(recommendationService, "rewriteEnabled", true);
+        CyclicBarrier bothStarted = new CyclicBarrier(2);
+        when(queryRewriter.rewrite(anyString(), anyString())).thenAnswer(inv -> {
+            bothStarted.await(2, TimeUnit.SECONDS);
+            return "집에 가고 싶은 퇴근길";
+        });
+        when(queryRewriter.expandForKeywords(anyString())).thenAnswer(inv -> {
+            bothStarted.await(2, TimeUnit.SECONDS);
+            return "귀가 퇴근";
+        });
+        when(vectorIndexService.query(anyString(), anyInt())).thenReturn(List.of());
+        when(safeFts.tryFullText(anyString(), anyInt())).thenReturn(List.of(homeMeme(4L)));
+        when(naverRagService.recommendWithContextDetailed(anyString(), anyString(), anyList()))
+            .thenReturn(new NaverRagService.RagResult(List.of(4L), "귀가 밈"));
+
+        // when
+        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons("집에 가고싶다", null, 3);
+
+        // then
+        assertThat(bothStarted.isBroken()).isFalse();
+        assertThat(out).extracting(MemeRecommendationResponse::id).containsExactly(4L);
+        verify(vectorIndexService).query(eq("집에 가고 싶은 퇴근길"), anyInt());
+        verify(safeFts).tryFullText(eq("귀가 퇴근"), anyInt());
+    }
+
+    @Test
+    @DisplayName("벡터 쪽이 시간 예산을 넘기면 인터럽트로 취소하고 키워드 후보만으로 응답")
+    void searchWithReasons_cancelsSlowVectorStage_andAnswersFromKeywords() throws InterruptedException {
+        // given
+        ReflectionTestUtils.setField(recommendationService, "vectorTimeoutMs", 200L);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(vectorIndexService.query(anyString(), anyInt())).thenAnswer(inv -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return List.of(1L);
+        });
+        when(safeFts.tryFullText(anyString(), anyInt())).thenReturn(List.of(homeMeme(4L)));
+        when(naverRagService.recommendWithContextDetailed(anyString(), anyString(), anyList()))
+            .thenReturn(new NaverRagService.RagResult(List.of(4L), "귀가 밈"));
+
+        // when
+        long start = System.nanoTime();
+        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons("집에 가고싶다", null, 3);
+
+        // then
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+        assertThat(out).extracting(MemeRecommendationResponse::id).containsExactly(4L);
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        verify(memeRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("RAG가 요청 마감을 넘기면 끊고 휴리스틱 이유로 응답하며 rag를 degraded로 기록")
+    void searchWithReasons_cutsOffRagAtDeadline_andRecordsDegradedStage() throws InterruptedException {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(vectorIndexService.query(anyString(), anyInt())).thenReturn(List.of());
+        when(safeFts.tryFullText(anyString(), anyInt())).thenReturn(List.of(homeMeme(4L)));
+        when(naverRagService.recommendWithContextDetailed(anyString(), anyString(), anyList())).thenAnswer(inv -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return new NaverRagService.RagResult(List.of(4L), "늦은 이유");
+        });
+        SearchStageMetrics.Trace trace = searchStageMetrics.start(1_500);
+
+        // when
+        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons("집에 가고싶다", null, 3, trace);
+
+        // then
+        assertThat(out).extracting(MemeRecommendationResponse::id).containsExactly(4L);
+        assertThat(out.getFirst().reason()).isNotEqualTo("늦은 이유");
+        assertThat(trace.degradedStages()).containsExactly("rag");
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        verify(semanticQueryCache, never()).put(any(), any(), anyInt(), anyList());
+    }
+
+    @Test
+    @DisplayName("의미 캐시에 가까운 쿼리가 있으면 키워드 확장·벡터·키워드 검색 없이 저장된 응답을 돌려준다")
+    void searchWithReasons_returnsSemanticCacheHitWithoutSearching() {
+        // given
+        ReflectionTestUtils.setField(recommendationService, "queryRewriter", Optional.of(queryRewriter));
+        ReflectionTestUtils.setField(recommendationService, "rewriteEnabled", true);
+        float[] embedding = {1f, 0f};
+        List<MemeRecommendationResponse> cached = List.of(new MemeRecommendationResponse(4L, "귀가", "img4", "귀가 밈"));
+        when(semanticQueryCache.embed("집에 가고파")).thenReturn(embedding);
+        when(semanticQueryCache.get(embedding, null, 3)).thenReturn(cached);
+
+        // when
+        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons("집에 가고파", null, 3);
+
+        // then
+        assertThat(out).isSameAs(cached);
+        verifyNoInteractions(queryRewriter, vectorIndexService, safeFts, memeRepository, naverRagService);
+        verify(semanticQueryCache, never()).put(any(), any(), anyInt(), anyList());
+    }
+
+    @Test
+    @DisplayName("임베딩이 embed-wait-ms 안에 끝나지 않으면 캐시를 건너뛰고 검색하며, 그 사이 끝난 임베딩은 결과 저장에 쓴다")
+    void searchWithReasons_skipsSemanticCacheWhenEmbeddingIsSlow() {
+        // given: 임베딩은 키워드 검색이 시작돼야 끝나므로, 기다림이 제한되지 않으면 2초 뒤에야 검색이 시작됨
+        ReflectionTestUtils.setField(recommendationService, "semanticCacheWaitMs", 50L);
+        float[] embedding = {1f, 0f};
+        CountDownLatch keywordSearched = new CountDownLatch(1);
+        CountDownLatch embedded = new CountDownLatch(1);
+        AtomicBoolean embeddedAfterKeyword = new AtomicBoolean();
+        when(semanticQueryCache.embed("집에 가고싶다")).thenAnswer(inv -> {
+            embeddedAfterKeyword.set(keywordSearched.await(2, TimeUnit.SECONDS));
+            embedded.countDown();
+            return embedding;
+        });
+        when(vectorIndexService.query(anyString(), anyInt())).thenReturn(List.of());
+        when(safeFts.tryFullText(anyString(), anyInt())).thenAnswer(inv -> {
+            keywordSearched.countDown();
+            return List.of(homeMeme(4L));
+        });
+        when(naverRagService.recommendWithContextDetailed(anyString(), anyString(), anyList())).thenAnswer(inv -> {
+            embedded.await(2, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            return new NaverRagService.RagResult(List.of(4L), "귀가 밈");
+        });
+
+        // when
+        List<MemeRecommendationResponse> out = recommendationService.searchWithReasons("집에 가고싶다", null, 3);
+
+        // then
+        assertThat(embeddedAfterKeyword).isTrue();
+        assertThat(out).extracting(MemeRecommendationResponse::reason).containsExactly("귀가 밈");
+        verify(semanticQueryCache).get(isNull(), isNull(), eq(3));
+        verify(semanticQueryCache).put(eq(embedding), isNull(), eq(3), eq(out));
+    }
+
+    private static Meme homeMeme(Long id) {
+        return setId(Meme.builder().title("귀가").usageContext("집으로 귀가").hashtags("[\"#귀가\"]").flag(Meme.Flag.NORMAL).build(), id);
+    }
 }
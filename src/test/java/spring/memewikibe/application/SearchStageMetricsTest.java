@@ -0,0 +1,91 @@
+package spring.memewikibe.application;
+
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+class SearchStageMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SearchStageMetrics metrics = new SearchStageMetrics(registry);
+
+    @Test
+    @DisplayName("단계 구간과 후보 수를 stage 태그별 타이머·분포 요약에 기록하고 백분위수를 발행")
+    void trace_recordsStageTimersAndCandidateSummaries() {
+        // given
+        SearchStageMetrics.Trace trace = metrics.start();
+
+        // when
+        trace.mark("rewrite");
+        trace.mark("vector");
+        trace.count("vector", 200);
+        trace.finish();
+
+        // then
+        assertThat(registry.get(SearchStageMetrics.LATENCY).tag("stage", "rewrite").timer().count()).isEqualTo(1);
+        assertThat(registry.get(SearchStageMetrics.LATENCY).tag("stage", "total").timer().count()).isEqualTo(1);
+        assertThat(registry.get(SearchStageMetrics.CANDIDATES).tag("stage", "vector").summary().totalAmount()).isEqualTo(200);
+        assertThat(Arrays.stream(metrics.timer("vector").takeSnapshot().percentileValues()).map(ValueAtPercentile::percentile))
+            .containsExactly(0.5, 0.95, 0.99);
+    }
+
+    @Test
+    @DisplayName("serverTiming: 기록한 순서대로 'stage;dur=밀리초' 항목을 쉼표로 이음")
+    void serverTiming_listsStagesInOrder() {
+        // given
+        SearchStageMetrics.Trace trace = metrics.start();
+        trace.mark("rewrite");
+        trace.mark("rag");
+        trace.finish();
+
+        // when
+        String header = trace.serverTiming();
+
+        // then
+        assertThat(header).matches("rewrite;dur=\\d+\\.\\d, rag;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d");
+    }
+
+    @Test
+    @DisplayName("canAfford: 남은 예산이 단계의 최근 p95보다 짧으면 false, 표본이 부족한 단계는 true")
+    void canAfford_comparesRemainingBudgetWithStageP95() {
+        // given: rag 단계의 p95가 약 500ms
+        for (int i = 0; i < SearchStageMetrics.MIN_SAMPLES_FOR_P95; i++) {
+            metrics.timer("rag").record(Duration.ofMillis(500));
+        }
+        metrics.timer("rewrite").record(Duration.ofMillis(500));
+
+        // when
+        SearchStageMetrics.Trace tight = metrics.start(100);
+        SearchStageMetrics.Trace unbounded = metrics.start(0);
+
+        // then
+        assertThat(tight.canAfford("rag")).isFalse();
+        assertThat(tight.canAfford("rewrite")).isTrue();
+        assertThat(unbounded.canAfford("rag")).isTrue();
+        assertThat(unbounded.remainingMillis()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("degrade: 단계별로 한 번만 기록하고 search.stage.degraded 카운터를 올림")
+    void degrade_recordsEachStageOnce() {
+        // given
+        SearchStageMetrics.Trace trace = metrics.start(1_000);
+
+        // when
+        trace.degrade("rag");
+        trace.degrade("cross_encoder");
+        trace.degrade("rag");
+
+        // then
+        assertThat(trace.degradedStages()).containsExactly("rag", "cross_encoder");
+        assertThat(registry.get(SearchStageMetrics.DEGRADED).tag("stage", "rag").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package spring.memewikibe.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@UnitTest
+class SemanticQueryCacheTest {
+
+    private final MemeVectorIndexService vectorIndexService = mock(MemeVectorIndexService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SemanticQueryCache cache = new SemanticQueryCache(vectorIndexService, registry);
+
+    private final List<MemeRecommendationResponse> results = List.of(new MemeRecommendationResponse(1L, "퇴사", "img1", "퇴사 욕구에 딱 맞는 밈"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "threshold", 0.95);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("get: 코사인 유사도가 임계값 이상인 쿼리는 저장된 응답을, 미만이면 null을 돌려주고 적중·실패를 센다")
+    void get_returnsCachedResultsOnlyAboveThreshold() {
+        // given
+        when(vectorIndexService.embedQuery("회사 그만두고 싶다")).thenReturn(new float[]{1f, 0f, 0f});
+        when(vectorIndexService.embedQuery("회사 그만둬야지")).thenReturn(new float[]{2f, 0.2f, 0f});
+        when(vectorIndexService.embedQuery("배고프다")).thenReturn(new float[]{0f, 1f, 0f});
+        cache.put(cache.embed("회사 그만두고 싶다"), null, 3, results);
+
+        // when
+        List<MemeRecommendationResponse> similar = cache.get(cache.embed("회사 그만둬야지"), null, 3);
+        List<MemeRecommendationResponse> unrelated = cache.get(cache.embed("배고프다"), null, 3);
+
+        // then
+        assertThat(similar).isEqualTo(results);
+        assertThat(unrelated).isNull();
+        assertThat(registry.get(SemanticQueryCache.REQUESTS).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get(SemanticQueryCache.REQUESTS).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get(SemanticQueryCache.SIMILARITY).summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("get: 임베딩 없이 조회하면 skipped로 세고, 캐시가 꺼져 있으면 아무것도 세지 않는다")
+    void get_countsSkippedWithoutEmbedding() {
+        // when
+        List<MemeRecommendationResponse> skipped = cache.get(null, null, 3);
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.get(null, null, 3);
+
+        // then
+        assertThat(skipped).isNull();
+        assertThat(registry.get(SemanticQueryCache.REQUESTS).tag("result", "skipped").counter().count()).isEqualTo(1);
+        assertThat(registry.get(SemanticQueryCache.REQUESTS).tag("result", "miss").counter().count()).isZero();
+        assertThat(registry.get(SemanticQueryCache.REQUESTS).tag("result", "hit").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("get: 사용자나 limit이 다르거나 ttl이 지난 항목은 재사용하지 않는다")
+    void get_ignoresOtherScopesAndExpiredEntries() {
+        // given
+        float[] embedding = {1f, 0f};
+        when(vectorIndexService.embedQuery("퇴사")).thenReturn(embedding);
+        float[] query = cache.embed("퇴사");
+        cache.put(query, 7L, 3, results);
+
+        // when & then
+        assertThat(cache.get(query, 7L, 3)).isEqualTo(results);
+        assertThat(cache.get(query, null, 3)).isNull();
+        assertThat(cache.get(query, 7L, 5)).isNull();
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ZERO);
+        assertThat(cache.get(query, 7L, 3)).isNull();
+    }
+
+    @Test
+    @DisplayName("put: 버퍼가 가득 차면 가장 오래된 항목을 덮어쓰고, clear는 모두 지운다")
+    void put_overwritesOldestWhenFull() {
+        // given: max-entries 2
+        float[] a = {1f, 0f, 0f};
+        float[] b = {0f, 1f, 0f};
+        float[] c = {0f, 0f, 1f};
+
+        // when
+        cache.put(a, null, 3, results);
+        cache.put(b, null, 3, results);
+        cache.put(c, null, 3, results);
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(a, null, 3)).isNull();
+        assertThat(cache.get(c, null, 3)).isEqualTo(results);
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("embed: 캐시가 꺼져 있거나 임베딩에 실패하면 null")
+    void embed_returnsNullWhenDisabledOrFailing() {
+        // given
+        when(vectorIndexService.embedQuery("오류")).thenThrow(new IllegalStateException("embedding down"));
+
+        // when & then
+        assertThat(cache.embed("오류")).isNull();
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        assertThat(cache.embed("퇴사")).isNull();
+    }
+}
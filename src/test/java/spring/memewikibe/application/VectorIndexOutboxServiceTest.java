@@ -0,0 +1,203 @@
+package spring.memewikibe.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.memewikibe.api.controller.recommendation.response.MemeRecommendationResponse;
+import spring.memewikibe.annotation.IntegrationTest;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.VectorIndexOutbox;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.VectorIndexOutboxRepository;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.ai.vector.UpsertReport;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@IntegrationTest
+class VectorIndexOutboxServiceTest {
+
+    @Autowired
+    private VectorIndexOutboxService vectorIndexOutboxService;
+
+    @Autowired
+    private VectorIndexOutboxRepository outboxRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private SemanticQueryCache semanticQueryCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private MemeVectorIndexService vectorIndexService;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAllInBatch();
+        memeRepository.deleteAllInBatch();
+        semanticQueryCache.clear();
+        reset(vectorIndexService);
+    }
+
+    @Test
+    @DisplayName("drain: 승인된 밈은 업서트, 반려·삭제된 밈은 인덱스에서 제거하고 처리한 항목을 지움")
+    void drain_upsertsNormal_andDeletesOthers() throws IOException {
+        // given
+        Meme normal = saveMeme(Meme.Flag.NORMAL);
+        Meme rejected = saveMeme(Meme.Flag.ABNORMAL);
+        long missingId = rejected.getId() + 100;
+        vectorIndexOutboxService.enqueueUpsert(normal.getId());
+        vectorIndexOutboxService.enqueueUpsert(rejected.getId());
+        vectorIndexOutboxService.enqueueUpsert(missingId);
+        when(vectorIndexService.upsertVectors(anyList())).thenReturn(UpsertReport.EMPTY);
+
+        // when
+        int drained = vectorIndexOutboxService.drain();
+
+        // then
+        assertThat(drained).isEqualTo(3);
+        verify(vectorIndexService).upsertVectors(argThat(memes ->
+            memes.size() == 1 && memes.getFirst().getId().equals(normal.getId())));
+        verify(vectorIndexService).deleteVectors(List.of(rejected.getId(), missingId));
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("drain: 같은 밈의 항목이 여러 개면 마지막 항목만 반영")
+    void drain_appliesOnlyLatestEntryPerMeme() throws IOException {
+        // given: 대체되지 않고 쌓인 항목들
+        Meme meme = saveMeme(Meme.Flag.ABNORMAL);
+        outboxRepository.saveAll(List.of(
+            VectorIndexOutbox.upsert(meme.getId()),
+            VectorIndexOutbox.upsert(meme.getId()),
+            VectorIndexOutbox.delete(meme.getId())));
+
+        // when
+        vectorIndexOutboxService.drain();
+
+        // then
+        verify(vectorIndexService, never()).upsertVectors(anyList());
+        verify(vectorIndexService).deleteVectors(List.of(meme.getId()));
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("drain: DELETE 항목도 반영 시점의 밈 상태를 따라, 여전히 NORMAL인 밈은 지우지 않고 색인")
+    void drain_resolvesDeleteAgainstCurrentState() throws IOException {
+        // given: 실패해 backoff 중이던 DELETE가 밈이 다시 승인된 뒤에 재시도되는 경우
+        Meme meme = saveMeme(Meme.Flag.NORMAL);
+        outboxRepository.save(VectorIndexOutbox.delete(meme.getId()));
+        when(vectorIndexService.upsertVectors(anyList())).thenReturn(UpsertReport.EMPTY);
+
+        // when
+        vectorIndexOutboxService.drain();
+
+        // then
+        verify(vectorIndexService).upsertVectors(argThat(memes -> memes.size() == 1 && memes.getFirst().getId().equals(meme.getId())));
+        verify(vectorIndexService, never()).deleteVectors(anyList());
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("enqueue: 새 항목은 같은 밈의 backoff 대기 중인 항목을 대체")
+    void enqueue_supersedesPendingAndBackedOffEntries() throws IOException {
+        // given: 반려된 밈의 DELETE가 실패해 backoff 대기 중
+        Meme meme = saveMeme(Meme.Flag.ABNORMAL);
+        Meme other = saveMeme(Meme.Flag.NORMAL);
+        vectorIndexOutboxService.enqueueDelete(List.of(meme.getId()));
+        vectorIndexOutboxService.enqueueUpsert(other.getId());
+        doThrow(new IOException("index unavailable")).when(vectorIndexService).deleteVectors(anyList());
+        when(vectorIndexService.upsertVectors(anyList())).thenReturn(UpsertReport.failed(new long[]{other.getId()}, "index unavailable"));
+        vectorIndexOutboxService.drain();
+
+        // when: 다시 승인되어 새 항목이 들어오면
+        vectorIndexOutboxService.enqueueUpsert(meme.getId());
+
+        // then
+        List<VectorIndexOutbox> entries = outboxRepository.findAll();
+        assertThat(entries).extracting(VectorIndexOutbox::getMemeId).containsExactlyInAnyOrder(meme.getId(), other.getId());
+        VectorIndexOutbox latest = entries.stream().filter(e -> e.getMemeId().equals(meme.getId())).findFirst().orElseThrow();
+        assertThat(latest.getOperation()).isEqualTo(VectorIndexOutbox.Operation.UPSERT);
+        assertThat(latest.getAttempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("enqueue: 추천 결과 캐시는 커밋된 뒤에 비우고, 롤백되면 그대로 둠")
+    void enqueue_clearsSemanticCacheOnlyAfterCommit() {
+        // given
+        Meme meme = saveMeme(Meme.Flag.NORMAL);
+        cacheResult();
+
+        // when: 롤백되면
+        transactionTemplate.executeWithoutResult(status -> {
+            vectorIndexOutboxService.enqueueDelete(List.of(meme.getId()));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(semanticQueryCache.size()).isEqualTo(1);
+
+        // when: 내용 수정이 커밋되면
+        transactionTemplate.executeWithoutResult(status -> {
+            vectorIndexOutboxService.enqueueUpsert(meme.getId());
+            assertThat(semanticQueryCache.size()).isEqualTo(1);
+        });
+
+        // then
+        assertThat(semanticQueryCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("drain: 실패한 항목은 backoff 뒤로 미루고, 재시도 한도를 넘기면 DEAD로 남김")
+    void drain_retriesWithBackoff_thenMarksDead() throws IOException {
+        // given
+        vectorIndexOutboxService.enqueueDelete(List.of(42L));
+        doThrow(new IOException("index unavailable")).when(vectorIndexService).deleteVectors(anyList());
+
+        // when
+        vectorIndexOutboxService.drain();
+
+        // then
+        VectorIndexOutbox retried = outboxRepository.findAll().getFirst();
+        assertThat(retried.getStatus()).isEqualTo(VectorIndexOutbox.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).contains("index unavailable");
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(vectorIndexOutboxService.drain()).isZero();
+
+        // when: 한도(기본 8회) 직전까지 실패한 항목이 다시 실패하면
+        for (int i = 0; i < 6; i++) {
+            retried.retryLater("index unavailable", Duration.ZERO, 8);
+        }
+        outboxRepository.save(retried);
+        vectorIndexOutboxService.drain();
+
+        // then
+        VectorIndexOutbox dead = outboxRepository.findAll().getFirst();
+        assertThat(dead.isDead()).isTrue();
+        assertThat(dead.getAttempts()).isEqualTo(8);
+        assertThat(outboxRepository.countByStatus(VectorIndexOutbox.Status.PENDING)).isZero();
+    }
+
+    private void cacheResult() {
+        semanticQueryCache.put(new float[]{1f, 0f}, null, 3, List.of(new MemeRecommendationResponse(1L, "밈", "img", "이유")));
+    }
+
+    private Meme saveMeme(Meme.Flag flag) {
+        return memeRepository.save(Meme.builder().title("밈").usageContext("상황").hashtags("#태그").flag(flag).build());
+    }
+}
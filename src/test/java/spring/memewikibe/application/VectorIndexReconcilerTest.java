@@ -0,0 +1,127 @@
+package spring.memewikibe.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.IntegrationTest;
+import spring.memewikibe.application.VectorIndexReconciler.Drift;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.VectorIndexOutbox;
+import spring.memewikibe.domain.vector.VectorReconcileCheckpoint;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.VectorIndexOutboxRepository;
+import spring.memewikibe.infrastructure.VectorReconcileCheckpointRepository;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class VectorIndexReconcilerTest {
+
+    @Autowired
+    private VectorIndexReconciler vectorIndexReconciler;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private VectorIndexOutboxRepository outboxRepository;
+
+    @Autowired
+    private VectorReconcileCheckpointRepository checkpointRepository;
+
+    @MockitoBean
+    private MemeVectorIndexService vectorIndexService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(vectorIndexReconciler, "safetyLag", Duration.ZERO);
+        ReflectionTestUtils.setField(vectorIndexReconciler, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(vectorIndexReconciler, "safetyLag", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(vectorIndexReconciler, "batchSize", 500);
+        checkpointRepository.deleteAllInBatch();
+        outboxRepository.deleteAllInBatch();
+        memeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("reconcile: 워터마크 이후 변경된 밈만 outbox에 올리고 드리프트 건수를 남김")
+    void reconcile_enqueuesOnlyMemesChangedAfterWatermark() {
+        // given
+        Meme first = saveMeme(Meme.Flag.NORMAL);
+        Meme second = saveMeme(Meme.Flag.NORMAL);
+        Meme rejected = saveMeme(Meme.Flag.ABNORMAL);
+
+        // when
+        Drift initial = vectorIndexReconciler.reconcile();
+        Drift idle = vectorIndexReconciler.reconcile();
+
+        // then
+        assertThat(initial).isEqualTo(new Drift(3, 2, 1, 0));
+        assertThat(idle).isEqualTo(new Drift(0, 0, 0, 0));
+        assertThat(outboxRepository.findAll())
+            .extracting(VectorIndexOutbox::getMemeId)
+            .containsExactly(first.getId(), second.getId(), rejected.getId());
+
+        VectorReconcileCheckpoint checkpoint = checkpointRepository.findFirstByOrderByIdAsc().orElseThrow();
+        assertThat(checkpoint.getWatermarkMemeId()).isEqualTo(rejected.getId());
+        assertThat(checkpoint.getLastScanned()).isZero();
+    }
+
+    @Test
+    @DisplayName("reconcile: 점검 후 수정된 밈은 다음 점검에서 다시 올림")
+    void reconcile_picksUpEditsAfterPreviousRun() throws InterruptedException {
+        // given
+        Meme meme = saveMeme(Meme.Flag.NORMAL);
+        saveMeme(Meme.Flag.NORMAL);
+        vectorIndexReconciler.reconcile();
+        outboxRepository.deleteAllInBatch();
+
+        Thread.sleep(5);
+        meme.updateMeme("바뀐 제목", null, "바뀐 상황", null, null, "#태그");
+        memeRepository.save(meme);
+
+        // when
+        Drift drift = vectorIndexReconciler.reconcile();
+
+        // then
+        assertThat(drift.scanned()).isEqualTo(1);
+        assertThat(outboxRepository.findAll())
+            .extracting(VectorIndexOutbox::getMemeId)
+            .containsExactly(meme.getId());
+    }
+
+    @Test
+    @DisplayName("reportStale: 검색 중 보고된 id는 한 번만 outbox에 올림")
+    void reportStale_enqueuesReportedIdsOnce() {
+        // given
+        vectorIndexReconciler.reportStale(List.of(9001L, 9002L));
+        vectorIndexReconciler.reportStale(List.of(9002L));
+
+        // when
+        Drift drift = vectorIndexReconciler.reconcile();
+        Drift next = vectorIndexReconciler.reconcile();
+
+        // then
+        assertThat(drift.stale()).isEqualTo(2);
+        assertThat(next.stale()).isZero();
+        assertThat(outboxRepository.findAll())
+            .extracting(VectorIndexOutbox::getMemeId)
+            .containsExactlyInAnyOrder(9001L, 9002L);
+    }
+
+    private Meme saveMeme(Meme.Flag flag) {
+        return memeRepository.save(Meme.builder().title("밈").usageContext("상황").hashtags("#태그").flag(flag).build());
+    }
+}
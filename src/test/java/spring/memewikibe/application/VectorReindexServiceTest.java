@@ -0,0 +1,160 @@
+package spring.memewikibe.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import spring.memewikibe.annotation.IntegrationTest;
+import spring.memewikibe.application.VectorReindexService.ReindexStatus;
+import spring.memewikibe.domain.meme.Meme;
+import spring.memewikibe.domain.vector.ReindexJob;
+import spring.memewikibe.infrastructure.MemeRepository;
+import spring.memewikibe.infrastructure.ReindexJobRepository;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService;
+import spring.memewikibe.infrastructure.ai.vector.UpsertReport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+@IntegrationTest
+class VectorReindexServiceTest {
+
+    @Autowired
+    private VectorReindexService vectorReindexService;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private ReindexJobRepository reindexJobRepository;
+
+    @MockitoBean
+    private MemeVectorIndexService vectorIndexService;
+
+    @AfterEach
+    void tearDown() {
+        reindexJobRepository.deleteAllInBatch();
+        memeRepository.deleteAllInBatch();
+        reset(vectorIndexService);
+    }
+
+    @Test
+    @DisplayName("start: 승인된 밈만 병렬 배치로 업서트하고 실패 id와 체크포인트를 저장")
+    void start_upsertsNormalMemes_andRecordsFailures() throws Exception {
+        // given
+        List<Meme> normal = saveMemes(25, Meme.Flag.NORMAL);
+        saveMemes(3, Meme.Flag.ABNORMAL);
+        long failingId = normal.get(7).getId();
+        List<Long> upserted = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        when(vectorIndexService.upsertVectors(anyList())).thenAnswer(inv -> {
+            List<Meme> batch = inv.getArgument(0);
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            concurrent.decrementAndGet();
+            batch.forEach(m -> upserted.add(m.getId()));
+            long[] ids = batch.stream().mapToLong(Meme::getId).toArray();
+            boolean fail = batch.stream().anyMatch(m -> m.getId() == failingId);
+            return new UpsertReport(List.of(fail
+                ? UpsertReport.Batch.failed(0, ids, 0, 500, "boom")
+                : UpsertReport.Batch.succeeded(0, ids, 0, 200)));
+        });
+
+        // when
+        ReindexStatus started = vectorReindexService.start(5, 2);
+        ReindexStatus done = awaitFinished(started.jobId());
+
+        // then
+        assertThat(started.totalCount()).isEqualTo(25);
+        assertThat(done.status()).isEqualTo("COMPLETED");
+        assertThat(done.processedCount()).isEqualTo(25);
+        assertThat(done.failedCount()).isEqualTo(5);
+        assertThat(done.failedIds()).contains(failingId);
+        assertThat(done.lastMemeId()).isEqualTo(normal.getLast().getId());
+        assertThat(upserted).containsExactlyInAnyOrderElementsOf(normal.stream().map(Meme::getId).toList());
+        assertThat(maxConcurrent.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("resumeInterrupted: RUNNING으로 남은 작업은 체크포인트 다음 밈부터 이어서 처리")
+    void resumeInterrupted_continuesFromCheckpoint() throws Exception {
+        // given
+        List<Meme> normal = saveMemes(10, Meme.Flag.NORMAL);
+        ReindexJob job = ReindexJob.start(3, 1, 10);
+        job.checkpoint(normal.get(5).getId(), 6, List.of());
+        job = reindexJobRepository.save(job);
+        List<Long> upserted = Collections.synchronizedList(new ArrayList<>());
+        when(vectorIndexService.upsertVectors(anyList())).thenAnswer(inv -> {
+            List<Meme> batch = inv.getArgument(0);
+            batch.forEach(m -> upserted.add(m.getId()));
+            return UpsertReport.EMPTY;
+        });
+
+        // when
+        vectorReindexService.resumeInterrupted();
+        ReindexStatus done = awaitFinished(job.getId());
+
+        // then
+        assertThat(done.status()).isEqualTo("COMPLETED");
+        assertThat(done.processedCount()).isEqualTo(10);
+        assertThat(upserted).containsExactlyElementsOf(normal.subList(6, 10).stream().map(Meme::getId).toList());
+    }
+
+    @Test
+    @DisplayName("cancel: 진행 중인 작업은 새 배치를 보내지 않고 CANCELLED로 종료, 진행 중엔 중복 시작 불가")
+    void cancel_stopsDispatchingBatches() throws Exception {
+        // given
+        saveMemes(20, Meme.Flag.NORMAL);
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vectorIndexService.upsertVectors(anyList())).thenAnswer(inv -> {
+            firstBatch.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return UpsertReport.EMPTY;
+        });
+        ReindexStatus started = vectorReindexService.start(2, 1);
+        firstBatch.await(5, TimeUnit.SECONDS);
+
+        // when
+        assertThatThrownBy(() -> vectorReindexService.start(2, 1)).isInstanceOf(IllegalStateException.class);
+        ReindexStatus cancelling = vectorReindexService.cancel(started.jobId()).orElseThrow();
+        release.countDown();
+        ReindexStatus done = awaitFinished(started.jobId());
+
+        // then
+        assertThat(cancelling.status()).isEqualTo("CANCELLING");
+        assertThat(done.status()).isEqualTo("CANCELLED");
+        assertThat(done.processedCount()).isLessThan(20);
+    }
+
+    private List<Meme> saveMemes(int count, Meme.Flag flag) {
+        List<Meme> memes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            memes.add(Meme.builder().title("밈" + i).usageContext("상황" + i).hashtags("#태그").flag(flag).build());
+        }
+        return memeRepository.saveAll(memes);
+    }
+
+    private ReindexStatus awaitFinished(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            ReindexStatus status = vectorReindexService.status(jobId).orElseThrow();
+            if (!status.status().equals("RUNNING") && !status.status().equals("CANCELLING")) return status;
+            Thread.sleep(20);
+        }
+        throw new AssertionError("reindex job #" + jobId + " did not finish");
+    }
+}
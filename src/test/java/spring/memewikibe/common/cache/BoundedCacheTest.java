@@ -0,0 +1,137 @@
+package spring.memewikibe.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@DisplayName("BoundedCache 단위 테스트")
+class BoundedCacheTest {
+
+    @Test
+    @DisplayName("get: 같은 키의 동시 miss는 loader를 한 번만 실행하고 결과를 공유")
+    void get_coalescesConcurrentLoads() throws Exception {
+        // given
+        BoundedCache<String, String> sut = BoundedCache.<String, String>builder("test").build();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> sut.get("무야호", k -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "결과";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            for (Future<String> r : results) assertThat(r.get(5, TimeUnit.SECONDS)).isEqualTo("결과");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get: null 결과와 예외는 캐시하지 않음")
+    void get_doesNotCacheNullOrFailures() {
+        // given
+        BoundedCache<String, String> sut = BoundedCache.<String, String>builder("test").build();
+
+        // when & then
+        assertThat(sut.get("a", k -> null)).isNull();
+        assertThat(sut.getIfPresent("a")).isNull();
+        assertThatThrownBy(() -> sut.get("b", k -> {
+            throw new IllegalStateException("backend down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("backend down");
+        assertThat(sut.get("b", k -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("expireAfterWrite: TTL이 지나면 다시 로드")
+    void entriesExpireAfterTtl() {
+        // given
+        AtomicLong nanos = new AtomicLong();
+        BoundedCache<String, Integer> sut = BoundedCache.<String, Integer>builder("test")
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .ticker(nanos::get)
+            .build();
+        AtomicInteger loads = new AtomicInteger();
+        sut.get("k", k -> loads.incrementAndGet());
+
+        // when
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        Integer beforeExpiry = sut.get("k", k -> loads.incrementAndGet());
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        Integer afterExpiry = sut.get("k", k -> loads.incrementAndGet());
+
+        // then
+        assertThat(beforeExpiry).isEqualTo(1);
+        assertThat(afterExpiry).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("maximumSize: 한도를 넘는 항목은 축출")
+    void evictsBeyondMaximumSize() {
+        // given
+        BoundedCache<Integer, Integer> sut = BoundedCache.<Integer, Integer>builder("test")
+            .maximumSize(100)
+            .build();
+
+        // when
+        for (int i = 0; i < 1_000; i++) sut.put(i, i);
+        sut.cleanUp();
+
+        // then
+        assertThat(sut.estimatedSize()).isLessThanOrEqualTo(100);
+        assertThat(sut.stats().evictionCount()).isGreaterThanOrEqualTo(900);
+    }
+
+    @Test
+    @DisplayName("meterRegistry: hit/miss 통계를 cache 태그로 노출")
+    void publishesMetrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedCache<String, String> sut = BoundedCache.<String, String>builder("search.results")
+            .meterRegistry(registry)
+            .build();
+
+        // when
+        sut.get("a", k -> "A");
+        sut.get("a", k -> "A");
+
+        // then
+        assertThat(registry.get("cache.gets").tag("cache", "search.results").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "search.results").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
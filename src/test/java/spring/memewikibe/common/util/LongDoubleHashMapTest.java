@@ -0,0 +1,67 @@
+package spring.memewikibe.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+class LongDoubleHashMapTest {
+
+    @Test
+    @DisplayName("addTo는 같은 키의 값을 누적하고, 용량을 넘기면 늘어나도 값을 유지한다")
+    void addTo_accumulates_andSurvivesGrowth() {
+        // given
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+        Map<Long, Double> reference = new HashMap<>();
+        Random random = new Random(1);
+
+        // when
+        for (int i = 0; i < 5_000; i++) {
+            long key = random.nextInt(1_000) - 500L; // 음수와 0 키 포함
+            double delta = random.nextDouble();
+            map.addTo(key, delta);
+            reference.merge(key, delta, Double::sum);
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(reference.size());
+        reference.forEach((key, value) -> assertThat(map.get(key, -1)).isEqualTo(value));
+        assertThat(map.containsKey(10_000L)).isFalse();
+        assertThat(map.get(10_000L, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("topSlots는 값 내림차순(동점이면 키 오름차순)으로 정렬한 앞 k개와 같다")
+    void topSlots_matchesFullSort() {
+        // given
+        LongDoubleHashMap map = new LongDoubleHashMap(16);
+        Map<Long, Double> reference = new HashMap<>();
+        Random random = new Random(2);
+        for (long key = 0; key < 1_000; key++) {
+            double value = random.nextInt(50); // 동점을 많이 만든다
+            map.addTo(key, value);
+            reference.put(key, value);
+        }
+
+        // when
+        int[] slots = map.topSlots(37);
+
+        // then
+        long[] expected = reference.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(37)
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
+        long[] actual = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) actual[i] = map.keyAt(slots[i]);
+        assertThat(actual).containsExactly(expected);
+        assertThat(map.topSlots(5_000)).hasSize(1_000);
+        assertThat(new LongDoubleHashMap(0).topSlots(10)).isEmpty();
+    }
+}
@@ -0,0 +1,170 @@
+package spring.memewikibe.infrastructure.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@DisplayName("EmbeddingStore 단위 테스트")
+class EmbeddingStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmbeddingStore sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new EmbeddingStore(dir, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("get: 저장된 텍스트는 hit, 처음 보는 텍스트는 miss로 집계")
+    void get_countsHitsAndMisses() {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.1f, 0.2f, 0.3f});
+
+        // when
+        float[] hit = sut.get("model-a", "무한도전");
+        float[] miss = sut.get("model-a", "런닝맨");
+
+        // then
+        assertThat(hit).containsExactly(0.1f, 0.2f, 0.3f);
+        assertThat(miss).isNull();
+        assertThat(sut.stats().hits()).isEqualTo(1);
+        assertThat(sut.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get/put: hit/miss/rejected를 모델별 카운터로 등록")
+    void counters_areRegisteredPerModel() {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.1f, 0.2f});
+        sut.put("model-a", "런닝맨", new float[]{0.1f, 0.2f, 0.3f});
+
+        // when
+        sut.get("model-a", "무한도전");
+        sut.get("model-b", "무한도전");
+        sut.get("model-b", "런닝맨");
+
+        // then
+        assertThat(count("model-a", "hit")).isEqualTo(1);
+        assertThat(count("model-a", "rejected")).isEqualTo(1);
+        assertThat(count("model-b", "miss")).isEqualTo(2);
+        assertThat(count("model-b", "hit")).isZero();
+        assertThat(meterRegistry.get("embedding.store.entries").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get: 같은 텍스트라도 모델이 다르면 miss")
+    void get_isScopedByModel() {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.1f, 0.2f});
+
+        // when & then
+        assertThat(sut.get("model-b", "무한도전")).isNull();
+    }
+
+    @Test
+    @DisplayName("put: 같은 모델에 다른 차원의 벡터는 거부")
+    void put_rejectsMixedDimensions() {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.1f, 0.2f});
+
+        // when
+        boolean stored = sut.put("model-a", "런닝맨", new float[]{0.1f, 0.2f, 0.3f});
+
+        // then
+        assertThat(stored).isFalse();
+        assertThat(sut.get("model-a", "런닝맨")).isNull();
+        assertThat(sut.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("close: 닫은 뒤의 get/put은 파일을 다시 열지 않고 miss/무시로 처리")
+    void close_makesLaterCallsNoOps() {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.1f, 0.2f});
+        sut.close();
+
+        // when
+        float[] afterClose = sut.get("model-a", "무한도전");
+        boolean stored = sut.put("model-a", "런닝맨", new float[]{0.1f, 0.2f});
+
+        // then
+        assertThat(afterClose).isNull();
+        assertThat(stored).isFalse();
+        EmbeddingStore reopened = new EmbeddingStore(dir, new SimpleMeterRegistry());
+        try {
+            assertThat(reopened.get("model-a", "런닝맨")).isNull();
+            assertThat(reopened.stats().entries()).isEqualTo(1);
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작: 파일에서 인덱스를 복원하고 차원 고정도 유지")
+    void reopen_restoresEntries() {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.5f, -0.5f});
+        sut.close();
+
+        // when
+        EmbeddingStore reopened = new EmbeddingStore(dir, new SimpleMeterRegistry());
+        try {
+            // then
+            assertThat(reopened.get("model-a", "무한도전")).containsExactly(0.5f, -0.5f);
+            assertThat(reopened.put("model-a", "런닝맨", new float[]{1f})).isFalse();
+            assertThat(reopened.stats().entries()).isEqualTo(1);
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작: 잘린 마지막 레코드는 버리고 이전 레코드는 유지")
+    void reopen_truncatesTornTail() throws IOException {
+        // given
+        sut.put("model-a", "무한도전", new float[]{0.5f, -0.5f});
+        sut.close();
+        Path file = dir.resolve(EmbeddingStore.FILE_NAME);
+        long validSize = Files.size(file);
+        Files.write(file, new byte[]{64, 0, 0, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // when
+        EmbeddingStore reopened = new EmbeddingStore(dir, new SimpleMeterRegistry());
+        try {
+            // then
+            assertThat(reopened.get("model-a", "무한도전")).containsExactly(0.5f, -0.5f);
+            assertThat(Files.size(file)).isEqualTo(validSize);
+            assertThat(reopened.put("model-a", "런닝맨", new float[]{0.1f, 0.2f})).isTrue();
+        } finally {
+            reopened.close();
+        }
+        sut = new EmbeddingStore(dir, meterRegistry);
+        assertThat(sut.get("model-a", "런닝맨")).containsExactly(0.1f, 0.2f);
+    }
+
+    private double count(String model, String result) {
+        return meterRegistry.get("embedding.store.requests").tags("model", model, "result", result).functionCounter().count();
+    }
+}
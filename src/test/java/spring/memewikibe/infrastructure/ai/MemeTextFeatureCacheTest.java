@@ -0,0 +1,87 @@
+package spring.memewikibe.infrastructure.ai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.common.cache.BoundedCache;
+import spring.memewikibe.domain.meme.Meme;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+class MemeTextFeatureCacheTest {
+
+    private final BoundedCache<Long, MemeTextFeatures> store = BoundedCache.<Long, MemeTextFeatures>builder("test").build();
+    private final MemeTextFeatureCache cache = new MemeTextFeatureCache(store);
+
+    @Test
+    @DisplayName("get: 필드를 소문자화하고 해시태그 JSON을 '#' 없이 파싱하며, 같은 토큰은 같은 term id를 받는다")
+    void get_derivesLoweredFieldsTagsAndSharedTermIds() {
+        // given
+        Meme a = meme(1L, "Monday 출근", "월요일 아침", "[\"#출근\",\"#Monday\"]", LocalDateTime.of(2025, 1, 1, 0, 0));
+        Meme b = meme(2L, "출근길", "monday blues", "[]", LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        // when
+        MemeTextFeatures fa = cache.get(a);
+        MemeTextFeatures fb = cache.get(b);
+
+        // then
+        assertThat(fa.title()).isEqualTo("monday 출근");
+        assertThat(fa.origin()).isEmpty();
+        assertThat(fa.tags()).containsExactly("출근", "monday");
+        assertThat(fa.terms()).isSorted().doesNotHaveDuplicates();
+        assertThat(fa.terms()).containsAnyOf(fb.terms());
+        assertThat(cache.vocabularySize()).isGreaterThan(Math.max(max(fa.terms()), max(fb.terms())));
+    }
+
+    @Test
+    @DisplayName("get: updatedAt이 같으면 캐시된 값을, 바뀌면 다시 계산한 값을 돌려준다")
+    void get_recomputesWhenUpdatedAtChanges() {
+        // given
+        Meme meme = meme(1L, "퇴근", "퇴근하는 상황", "[\"#퇴근\"]", LocalDateTime.of(2025, 1, 1, 0, 0));
+        MemeTextFeatures first = cache.get(meme);
+
+        // when
+        MemeTextFeatures same = cache.get(meme);
+        meme.updateMeme("야근", "", "야근하는 상황", null, "img", "[\"#야근\"]");
+        ReflectionTestUtils.setField(meme, "updatedAt", LocalDateTime.of(2025, 1, 2, 0, 0));
+        MemeTextFeatures edited = cache.get(meme);
+
+        // then
+        assertThat(same).isSameAs(first);
+        assertThat(edited.tags()).containsExactly("야근");
+        assertThat(store.getIfPresent(1L)).isSameAs(edited);
+    }
+
+    @Test
+    @DisplayName("invalidate: 지정한 밈의 항목만 지운다")
+    void invalidate_dropsOnlyGivenMemes() {
+        // given
+        cache.get(meme(1L, "a", "a", "[]", LocalDateTime.of(2025, 1, 1, 0, 0)));
+        cache.get(meme(2L, "b", "b", "[]", LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        // when
+        cache.invalidate(List.of(1L));
+
+        // then
+        assertThat(store.getIfPresent(1L)).isNull();
+        assertThat(store.getIfPresent(2L)).isNotNull();
+    }
+
+    private static int max(int[] values) {
+        int max = -1;
+        for (int v : values) max = Math.max(max, v);
+        return max;
+    }
+
+    private static Meme meme(Long id, String title, String usage, String hashtags, LocalDateTime updatedAt) {
+        Meme meme = Meme.builder().title(title).usageContext(usage).hashtags(hashtags).flag(Meme.Flag.NORMAL).build();
+        ReflectionTestUtils.setField(meme, "id", id);
+        ReflectionTestUtils.setField(meme, "updatedAt", updatedAt);
+        return meme;
+    }
+}
@@ -0,0 +1,232 @@
+package spring.memewikibe.infrastructure.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.common.cache.BoundedCache;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.KeywordSearchService;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.RewrittenQuery;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.SearchHit;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.SearchOptions;
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+import spring.memewikibe.infrastructure.ai.vector.VectorIndexBackend;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemeVectorIndexService 단위 테스트")
+class MemeVectorIndexServiceTest {
+
+    @Mock
+    private KoreanEmbeddingService embeddingService;
+
+    @Mock
+    private VectorIndexBackend vectorIndexBackend;
+
+    @Mock
+    private QueryRewriter queryRewriter;
+
+    @Mock
+    private KeywordSearchService keywordSearchService;
+
+    private final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private MemeVectorIndexService sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = newService(Optional.empty());
+        when(vectorIndexBackend.isAvailable()).thenReturn(true);
+        when(vectorIndexBackend.query(any(), anyInt(), any())).thenAnswer(inv -> {
+            ScoredIds out = new ScoredIds(2);
+            out.add(1L, 0.9);
+            out.add(2L, 0.8);
+            return out;
+        });
+        when(embeddingService.embed(anyString())).thenReturn(new float[]{0.1f, 0.2f});
+        when(queryRewriter.rewrite(any(), anyString())).thenAnswer(inv -> inv.getArgument(1));
+        when(queryRewriter.expandForKeywords(anyString())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("query: topK만 다른 같은 쿼리는 임베딩을 한 번만 계산")
+    void query_reusesEmbedding_acrossOptions() {
+        // when
+        List<Long> top1 = sut.query("무야호", 1);
+        List<Long> top2 = sut.query("무야호", 2);
+
+        // then
+        assertThat(top1).containsExactly(1L);
+        assertThat(top2).containsExactly(1L, 2L);
+        verify(embeddingService, times(1)).embed("무야호");
+        verify(vectorIndexBackend, times(2)).query(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("query: 대소문자와 공백만 다른 쿼리는 정규화된 텍스트로 한 번만 임베딩")
+    void query_embedsNormalizedText() {
+        // when
+        sut.query("Hello  World", 1);
+        sut.query(" hello world ", 2);
+
+        // then
+        verify(embeddingService, times(1)).embed("hello world");
+    }
+
+    @Test
+    @DisplayName("query: 같은 쿼리의 재작성 결과를 재사용")
+    void query_reusesRewrite() {
+        // when
+        sut.query("퇴사각", 1);
+        sut.query("퇴사각", 2);
+
+        // then
+        verify(queryRewriter, times(1)).rewrite(null, "퇴사각");
+        verify(queryRewriter, times(1)).expandForKeywords("퇴사각");
+    }
+
+    @Test
+    @DisplayName("query: 재작성과 키워드 확장을 동시에 실행")
+    void query_rewritesAndExpandsConcurrently() {
+        // given: 재작성은 키워드 확장이 시작되어야 끝남
+        CountDownLatch expanding = new CountDownLatch(1);
+        AtomicBoolean overlapped = new AtomicBoolean();
+        when(queryRewriter.expandForKeywords(anyString())).thenAnswer(inv -> {
+            expanding.countDown();
+            return inv.getArgument(0);
+        });
+        when(queryRewriter.rewrite(any(), anyString())).thenAnswer(inv -> {
+            overlapped.set(expanding.await(2, TimeUnit.SECONDS));
+            return inv.getArgument(1);
+        });
+
+        // when
+        sut.query("퇴사각", 1);
+
+        // then
+        assertThat(overlapped).isTrue();
+    }
+
+    @Test
+    @DisplayName("queryWithOptions: 하이브리드 검색은 dense와 sparse 결과를 융합")
+    void queryWithOptions_fusesDenseAndSparse() {
+        // given
+        sut = newService(Optional.of(keywordSearchService));
+        when(keywordSearchService.searchWithScores(anyList(), anyInt())).thenReturn(List.of(new SearchHit(3L, 5.0, "sparse")));
+
+        // when
+        List<SearchHit> hits = sut.queryWithOptions("무야호", hybrid());
+
+        // then
+        assertThat(hits).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(hits).extracting(SearchHit::source).containsOnly("fused");
+    }
+
+    @Test
+    @DisplayName("queryWithOptions: sparse가 시간 초과되면 dense 결과만 반환하고 캐시하지 않음")
+    void queryWithOptions_degradesToDense_whenSparseTimesOut() {
+        // given
+        sut = newService(Optional.of(keywordSearchService));
+        ReflectionTestUtils.setField(sut, "sparseTimeoutMs", 50L);
+        when(keywordSearchService.searchWithScores(anyList(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(1_000);
+            return List.of(new SearchHit(3L, 5.0, "sparse"));
+        });
+
+        // when
+        List<SearchHit> first = sut.queryWithOptions("무야호", hybrid());
+        sut.queryWithOptions("무야호", hybrid());
+
+        // then
+        assertThat(first).extracting(SearchHit::id).containsExactly(1L, 2L);
+        assertThat(first).extracting(SearchHit::source).containsOnly("dense");
+        verify(vectorIndexBackend, times(2)).query(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("queryWithOptions: dense가 시간 초과되면 sparse 결과만 반환")
+    void queryWithOptions_degradesToSparse_whenDenseTimesOut() {
+        // given
+        sut = newService(Optional.of(keywordSearchService));
+        ReflectionTestUtils.setField(sut, "denseTimeoutMs", 50L);
+        when(embeddingService.embed(anyString())).thenAnswer(inv -> {
+            Thread.sleep(1_000);
+            return new float[]{0.1f, 0.2f};
+        });
+        when(keywordSearchService.searchWithScores(anyList(), anyInt())).thenReturn(List.of(new SearchHit(3L, 5.0, "sparse")));
+
+        // when
+        List<SearchHit> hits = sut.queryWithOptions("무야호", hybrid());
+
+        // then
+        assertThat(hits).extracting(SearchHit::id).containsExactly(3L);
+        // the abandoned dense task still runs to completion in the background
+        verify(vectorIndexBackend, timeout(2_000)).query(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("queryWithOptions: 같은 쿼리를 기다리던 동시 요청도 부분 결과를 받고 캐시에는 남지 않음")
+    void queryWithOptions_doesNotCacheDegradedResult_forConcurrentCallers() throws Exception {
+        // given
+        sut = newService(Optional.of(keywordSearchService));
+        ReflectionTestUtils.setField(sut, "sparseTimeoutMs", 100L);
+        when(keywordSearchService.searchWithScores(anyList(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(1_000);
+            return List.of(new SearchHit(3L, 5.0, "sparse"));
+        });
+
+        // when
+        Future<List<SearchHit>> first = searchExecutor.submit(() -> sut.queryWithOptions("무야호", hybrid()));
+        Future<List<SearchHit>> second = searchExecutor.submit(() -> sut.queryWithOptions("무야호", hybrid()));
+
+        // then
+        assertThat(first.get(2, TimeUnit.SECONDS)).extracting(SearchHit::id).containsExactly(1L, 2L);
+        assertThat(second.get(2, TimeUnit.SECONDS)).extracting(SearchHit::id).containsExactly(1L, 2L);
+        sut.queryWithOptions("무야호", hybrid());
+        verify(keywordSearchService, timeout(2_000).atLeast(2)).searchWithScores(anyList(), anyInt());
+    }
+
+    private MemeVectorIndexService newService(Optional<KeywordSearchService> keywordSearch) {
+        MemeVectorIndexService service = new MemeVectorIndexService(
+            embeddingService,
+            vectorIndexBackend,
+            keywordSearch,
+            Optional.empty(),
+            Optional.of(queryRewriter),
+            BoundedCache.<String, List<SearchHit>>builder("results").build(),
+            BoundedCache.<String, float[]>builder("embeddings").build(),
+            BoundedCache.<String, RewrittenQuery>builder("rewrites").build(),
+            searchExecutor
+        );
+        ReflectionTestUtils.setField(service, "denseTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(service, "sparseTimeoutMs", 1_000L);
+        return service;
+    }
+
+    private static SearchOptions hybrid() {
+        return new SearchOptions(10, 10, 0, 0.12, true, 0.3, 0.7, null, true);
+    }
+}
@@ -0,0 +1,137 @@
+package spring.memewikibe.infrastructure.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.common.cache.BoundedCache;
+import spring.memewikibe.domain.search.QueryExpansion;
+import spring.memewikibe.infrastructure.QueryExpansionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@UnitTest
+class QueryExpansionCacheTest {
+
+    private final QueryExpansionRepository repository = mock(QueryExpansionRepository.class);
+    private final BoundedCache<String, String> memory = BoundedCache.<String, String>builder("test").build();
+    private final QueryExpansionCache cache = new QueryExpansionCache(memory, repository, Runnable::run);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofDays(7));
+        ReflectionTestUtils.setField(cache, "warmupSize", 2);
+        when(repository.findByNormalizedQuery(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("get: 같은 정규화 검색어를 동시에 요청해도 확장은 한 번만 호출하고 결과를 저장한다")
+    void get_expandsOncePerQuery_underConcurrency() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String query = i % 2 == 0 ? "회사 그만두고 싶다" : "  회사  그만두고 싶다 ";
+            futures.add(pool.submit(() -> cache.get(query, q -> {
+                calls.incrementAndGet();
+                await(release);
+                return "퇴사 사직 회사";
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        List<String> results = new ArrayList<>();
+        for (Future<String> f : futures) results.add(f.get(2, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        // then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(results).containsOnly("퇴사 사직 회사");
+        assertThat(cache.get("회사 그만두고 싶다", q -> "다시 호출됨")).isEqualTo("퇴사 사직 회사");
+        verify(repository, times(1)).save(any(QueryExpansion.class));
+    }
+
+    @Test
+    @DisplayName("get: 저장된 확장이 TTL 안이면 재시작 후에도 다시 호출하지 않고, 지났으면 다시 확장해 갱신한다")
+    void get_usesStoredExpansionWithinTtl_andReexpandsAfter() {
+        // given
+        QueryExpansion fresh = QueryExpansion.of("시험 망했다", "시험 망했다 좌절", LocalDateTime.now().minusDays(1));
+        QueryExpansion expired = QueryExpansion.of("기분 최고", "기분 최고", LocalDateTime.now().minusDays(30));
+        when(repository.findByNormalizedQuery("시험 망했다")).thenReturn(Optional.of(fresh));
+        when(repository.findByNormalizedQuery("기분 최고")).thenReturn(Optional.of(expired));
+
+        // when
+        String stored = cache.get("시험 망했다", q -> "호출되면 안 됨");
+        String reexpanded = cache.get("기분 최고", q -> "기분 최고 행복 기쁨");
+
+        // then
+        assertThat(stored).isEqualTo("시험 망했다 좌절");
+        assertThat(reexpanded).isEqualTo("기분 최고 행복 기쁨");
+        assertThat(expired.getKeywords()).isEqualTo("기분 최고 행복 기쁨");
+        verify(repository).save(expired);
+    }
+
+    @Test
+    @DisplayName("get: 확장이 실패하면 예외를 그대로 던지고 캐시하지 않아 다음 요청에서 다시 시도한다")
+    void get_doesNotCacheFailures() {
+        // when & then
+        assertThatThrownBy(() -> cache.get("퇴근", q -> {
+            throw new IllegalStateException("naver down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("퇴근", q -> "퇴근 귀가")).isEqualTo("퇴근 귀가");
+    }
+
+    @Test
+    @DisplayName("warmUp은 조회수 상위 검색어를 메모리에 올리고, flushHits는 모인 조회수를 더한다")
+    void warmUp_loadsTopQueries_andFlushHitsAddsCounts() {
+        // given
+        when(repository.findByExpandedAtAfterOrderByHitCountDesc(any(LocalDateTime.class), any(Limit.class)))
+            .thenReturn(List.of(QueryExpansion.of("퇴사", "퇴사 사직", LocalDateTime.now())));
+
+        // when
+        cache.warmUp();
+        cache.get("퇴사", q -> "호출되면 안 됨");
+        cache.get("퇴사", q -> "호출되면 안 됨");
+        cache.flushHits();
+        cache.flushHits();
+
+        // then
+        assertThat(memory.getIfPresent("퇴사")).isEqualTo("퇴사 사직");
+        verify(repository, never()).findByNormalizedQuery("퇴사");
+        verify(repository, times(1)).addHits("퇴사", 2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package spring.memewikibe.infrastructure.ai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.infrastructure.ai.MemeVectorIndexService.SearchHit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@UnitTest
+class ScoreFusionTest {
+
+    @Test
+    @DisplayName("weightedRrf: 박싱 맵으로 계산한 가중 RRF 점수와 순위가 같다")
+    void weightedRrf_matchesBoxedReference() {
+        // given
+        Random random = new Random(3);
+        List<SearchHit> dense = hits(random, 200, "dense");
+        List<SearchHit> sparse = hits(random, 150, "sparse");
+
+        // when
+        List<SearchHit> fused = ScoreFusion.weightedRrf(dense, sparse, 0.7, 0.3, 50);
+
+        // then
+        Map<Long, Double> reference = new HashMap<>();
+        for (int i = 0; i < dense.size(); i++) reference.merge(dense.get(i).id(), 0.7 / (60.0 + i + 1), Double::sum);
+        for (int i = 0; i < sparse.size(); i++) reference.merge(sparse.get(i).id(), 0.3 / (60.0 + i + 1), Double::sum);
+        List<Map.Entry<Long, Double>> expected = reference.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(50)
+            .toList();
+
+        assertThat(fused).hasSize(50);
+        assertThat(fused).extracting(SearchHit::source).containsOnly("fused");
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(fused.get(i).score()).isCloseTo(expected.get(i).getValue(), within(1e-12));
+        }
+        for (int i = 1; i < fused.size(); i++) {
+            assertThat(fused.get(i).score()).isLessThanOrEqualTo(fused.get(i - 1).score());
+        }
+    }
+
+    @Test
+    @DisplayName("weightedRrf: 양쪽에 모두 나온 id가 앞서고, 동점이면 id가 작은 쪽이 앞선다")
+    void weightedRrf_rewardsOverlap_andBreaksTiesById() {
+        // given
+        List<SearchHit> dense = List.of(new SearchHit(9L, 0.9, "dense"), new SearchHit(5L, 0.8, "dense"));
+        List<SearchHit> sparse = List.of(new SearchHit(5L, 3.0, "sparse"), new SearchHit(9L, 2.0, "sparse"));
+
+        // when
+        List<SearchHit> fused = ScoreFusion.weightedRrf(dense, sparse, 0.5, 0.5, 10);
+
+        // then
+        assertThat(fused).extracting(SearchHit::id).containsExactly(5L, 9L);
+        assertThat(fused.get(0).score()).isEqualTo(fused.get(1).score());
+    }
+
+    private static List<SearchHit> hits(Random random, int n, String source) {
+        List<SearchHit> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new SearchHit((long) random.nextInt(400), 1.0 - i / (double) n, source));
+        return out;
+    }
+}
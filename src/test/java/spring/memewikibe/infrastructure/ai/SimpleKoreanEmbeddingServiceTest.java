@@ -8,7 +8,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import spring.memewikibe.annotation.UnitTest;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -140,4 +143,21 @@ class SimpleKoreanEmbeddingServiceTest {
         assertThat(result).isEqualTo(expectedEmbedding);
         verify(mockEmbeddingService).embed(textWithSpecialChars);
     }
+
+    @Test
+    @DisplayName("embedBatch: 여러 텍스트를 한 번에 delegate의 embedBatch로 전달")
+    void embedBatch_delegatesWholeBatch_toUnderlyingService() {
+        // given
+        List<String> texts = List.of("무한도전", "런닝맨");
+        List<float[]> expected = List.of(new float[]{0.1f}, new float[]{0.2f});
+        when(mockEmbeddingService.embedBatch(texts)).thenReturn(expected);
+
+        // when
+        List<float[]> result = sut.embedBatch(texts);
+
+        // then
+        assertThat(result).isSameAs(expected);
+        verify(mockEmbeddingService).embedBatch(texts);
+        verify(mockEmbeddingService, never()).embed("무한도전");
+    }
 }
@@ -0,0 +1,271 @@
+package spring.memewikibe.infrastructure.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.infrastructure.http.OutboundHttpClient;
+
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@UnitTest
+@DisplayName("VertexAiEmbeddingService 단위 테스트")
+class VertexAiEmbeddingServiceTest {
+
+    private static final String MODEL = "text-embedding-004";
+    private static final float[] FALLBACK = {-1f, -1f};
+    private static final Pattern CONTENT = Pattern.compile("\\{\"content\":\"([^\"]*)\"}");
+
+    private final DefaultEmbeddingService fallback = mock(DefaultEmbeddingService.class);
+    private final EmbeddingStore embeddingStore = mock(EmbeddingStore.class);
+    private final OutboundHttpClient http = mock(OutboundHttpClient.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(6);
+    private final VertexAiEmbeddingService sut = new VertexAiEmbeddingService(fallback, embeddingStore, executor, http);
+
+    // 요청마다 보낸 instance들의 content
+    private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private Predicate<List<String>> failWhen = contents -> false;
+    private long delayPerIndexMs;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(sut, "projectId", "project");
+        ReflectionTestUtils.setField(sut, "location", "us-central1");
+        ReflectionTestUtils.setField(sut, "modelName", MODEL);
+        ReflectionTestUtils.setField(sut, "clientEmail", "svc@example.com");
+        ReflectionTestUtils.setField(sut, "privateKeyPem", "unused");
+        ReflectionTestUtils.setField(sut, "maxBatchSize", 250);
+        ReflectionTestUtils.setField(sut, "maxBatchChars", 15_000);
+        // 토큰 발급(JWT 서명)은 건너뛰고 predict 호출만 검증
+        ReflectionTestUtils.setField(sut, "cachedAccessToken", "token");
+        ReflectionTestUtils.setField(sut, "tokenExpiryMillis", Long.MAX_VALUE);
+        when(fallback.embed(any())).thenReturn(FALLBACK);
+        doAnswer(inv -> predict(inv.getArgument(1))).when(http).send(eq("vertex"), any(HttpRequest.class), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("embedBatch: 요청당 instance 수를 maxBatchSize로 나누고 순서대로 결과를 돌려줌")
+    void embedBatch_packsByBatchSize() {
+        // given
+        ReflectionTestUtils.setField(sut, "maxBatchSize", 2);
+        List<String> texts = List.of("a", "bb", "ccc", "dddd", "eeeee");
+
+        // when
+        List<float[]> out = sut.embedBatch(texts);
+
+        // then
+        assertThat(requests).extracting(List::size).containsExactlyInAnyOrder(2, 2, 1);
+        assertThat(requests.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(texts);
+        for (int i = 0; i < texts.size(); i++) assertThat(out.get(i)).containsExactly(vectorOf(texts.get(i)));
+    }
+
+    @Test
+    @DisplayName("embedBatch: 요청당 글자 수를 maxBatchChars로 제한하고, 한도보다 긴 텍스트는 단독 요청으로 보냄")
+    void embedBatch_packsByChars_andSendsOversizedTextAlone() {
+        // given
+        ReflectionTestUtils.setField(sut, "maxBatchChars", 10);
+        String oversized = "x".repeat(30);
+        List<String> texts = List.of("aaaa", "bbbb", "cccc", oversized, "dddd");
+
+        // when
+        List<float[]> out = sut.embedBatch(texts);
+
+        // then
+        assertThat(requests).containsExactlyInAnyOrder(List.of("aaaa", "bbbb"), List.of("cccc"), List.of(oversized), List.of("dddd"));
+        for (int i = 0; i < texts.size(); i++) assertThat(out.get(i)).containsExactly(vectorOf(texts.get(i)));
+    }
+
+    @Test
+    @DisplayName("embedBatch: 실패한 요청의 텍스트만 항목별로 fallback하고 저장하지 않음")
+    void embedBatch_fallsBackPerItem_forFailedRequest() {
+        // given
+        ReflectionTestUtils.setField(sut, "maxBatchSize", 2);
+        failWhen = contents -> contents.contains("bad");
+        List<String> texts = List.of("ok1", "ok2", "bad", "ok3");
+
+        // when
+        List<float[]> out = sut.embedBatch(texts);
+
+        // then
+        assertThat(out.get(0)).containsExactly(vectorOf("ok1"));
+        assertThat(out.get(1)).containsExactly(vectorOf("ok2"));
+        assertThat(out.get(2)).isSameAs(FALLBACK);
+        assertThat(out.get(3)).isSameAs(FALLBACK);
+        verify(fallback).embed("bad");
+        verify(fallback).embed("ok3");
+        verify(embeddingStore).put(MODEL, "ok1", out.get(0));
+        verify(embeddingStore).put(MODEL, "ok2", out.get(1));
+        verify(embeddingStore, never()).put(eq(MODEL), eq("bad"), any());
+        verify(embeddingStore, never()).put(eq(MODEL), eq("ok3"), any());
+    }
+
+    @Test
+    @DisplayName("embedBatch: 저장소에 있는 텍스트는 보내지 않고, 모두 있으면 요청하지 않음")
+    void embedBatch_skipsStoredTexts() throws Exception {
+        // given
+        float[] stored = {9f, 9f};
+        when(embeddingStore.get(MODEL, "stored")).thenReturn(stored);
+
+        // when
+        List<float[]> mixed = sut.embedBatch(List.of("new", "stored"));
+        requests.clear();
+        List<float[]> allStored = sut.embedBatch(List.of("stored"));
+
+        // then
+        assertThat(mixed.get(0)).containsExactly(vectorOf("new"));
+        assertThat(mixed.get(1)).isSameAs(stored);
+        assertThat(allStored).singleElement().isSameAs(stored);
+        assertThat(requests).isEmpty();
+        verify(embeddingStore, never()).put(eq(MODEL), eq("stored"), any());
+        verify(http).send(anyString(), any(HttpRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("embedBatch: 요청이 동시에 실행되고 늦게 시작한 요청이 먼저 끝나도 입력 순서대로 결과를 돌려줌")
+    void embedBatch_keepsInputOrder_acrossConcurrentRequests() {
+        // given: 앞쪽 텍스트의 요청일수록 늦게 끝남
+        ReflectionTestUtils.setField(sut, "maxBatchSize", 1);
+        delayPerIndexMs = 30;
+        List<String> texts = List.of("5", "4", "3", "2", "1", "0");
+
+        // when
+        List<float[]> out = sut.embedBatch(texts);
+
+        // then
+        assertThat(requests).hasSize(6);
+        assertThat(maxConcurrent.get()).isGreaterThan(1);
+        for (int i = 0; i < texts.size(); i++) assertThat(out.get(i)).containsExactly(vectorOf(texts.get(i)));
+        verifyNoInteractions(fallback);
+    }
+
+    private HttpResponse<InputStream> predict(HttpRequest request) throws InterruptedException {
+        List<String> contents = new ArrayList<>();
+        Matcher m = CONTENT.matcher(bodyOf(request));
+        while (m.find()) contents.add(m.group(1));
+        requests.add(contents);
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        try {
+            if (delayPerIndexMs > 0) Thread.sleep(delayPerIndexMs * Long.parseLong(contents.getFirst()));
+            if (failWhen.test(contents)) return new StubResponse(request, 500, "{\"error\":\"boom\"}");
+            StringBuilder json = new StringBuilder("{\"predictions\":[");
+            for (int i = 0; i < contents.size(); i++) {
+                float[] v = vectorOf(contents.get(i));
+                if (i > 0) json.append(',');
+                json.append("{\"embeddings\":{\"values\":[").append(v[0]).append(',').append(v[1]).append("]}}");
+            }
+            return new StubResponse(request, 200, json.append("]}").toString());
+        } finally {
+            concurrent.decrementAndGet();
+        }
+    }
+
+    private static float[] vectorOf(String text) {
+        return new float[]{text.length(), text.chars().sum()};
+    }
+
+    private static String bodyOf(HttpRequest request) {
+        CompletableFuture<String> body = new CompletableFuture<>();
+        request.bodyPublisher().orElseThrow().subscribe(new Flow.Subscriber<>() {
+            private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                out.writeBytes(bytes);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                body.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                body.complete(out.toString(StandardCharsets.UTF_8));
+            }
+        });
+        return body.join();
+    }
+
+    private record StubResponse(HttpRequest request, int statusCode, String json) implements HttpResponse<InputStream> {
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Optional<HttpResponse<InputStream>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (k, v) -> true);
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package spring.memewikibe.infrastructure.ai.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.infrastructure.ai.vector.ScoredIds;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@DisplayName("StreamingJsonParser 단위 테스트")
+class StreamingJsonParserTest {
+
+    @Test
+    @DisplayName("readMatches: id와 score를 순서대로 읽고 values, metadata는 건너뜀")
+    void readMatches_readsIdsAndScores() throws IOException {
+        // given
+        String json = """
+            {"results":[],"matches":[
+              {"id":"12","score":0.91,"values":[],"metadata":{"title":"[무한도전] \\"짤\\"","tags":"]}{"}},
+              {"id":"7","score":-1.5e-3,"values":[0.1,0.2]}
+            ],"namespace":"test","usage":{"readUnits":5}}
+            """;
+
+        // when
+        ScoredIds result = StreamingJsonParser.readMatches(bytes(json));
+
+        // then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.id(0)).isEqualTo(12L);
+        assertThat(result.score(0)).isEqualTo(0.91);
+        assertThat(result.id(1)).isEqualTo(7L);
+        assertThat(result.score(1)).isEqualTo(-1.5e-3);
+    }
+
+    @Test
+    @DisplayName("readMatches: metadata 안의 matches 키나 숫자가 아닌 id는 무시")
+    void readMatches_ignoresNestedMatchesAndNonNumericIds() throws IOException {
+        // given
+        String json = """
+            {"matches":[
+              {"metadata":{"matches":[{"id":"99","score":1}]},"id":"abc","score":0.5},
+              {"score":0.25,"id":"3"}
+            ]}
+            """;
+
+        // when
+        ScoredIds result = StreamingJsonParser.readMatches(bytes(json));
+
+        // then
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.id(0)).isEqualTo(3L);
+        assertThat(result.score(0)).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("readEmbeddings: predictions 순서대로 values를 float 배열로 읽음")
+    void readEmbeddings_readsValuesInOrder() throws IOException {
+        // given
+        String json = """
+            {"predictions":[
+              {"embeddings":{"statistics":{"truncated":false,"token_count":3},"values":[0.5,-0.25,1E-2]}},
+              {"embeddings":{"values":[1,2,3],"statistics":{"token_count":1}}}
+            ],"metadata":{"billableCharacterCount":9}}
+            """;
+
+        // when
+        List<float[]> result = StreamingJsonParser.readEmbeddings(bytes(json));
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsExactly(0.5f, -0.25f, 0.01f);
+        assertThat(result.get(1)).containsExactly(1f, 2f, 3f);
+    }
+
+    @Test
+    @DisplayName("readEmbeddings: 버퍼 경계를 넘는 긴 응답도 Float.parseFloat과 같은 값으로 파싱")
+    void readEmbeddings_matchesJdkParsing_acrossBufferBoundaries() throws IOException {
+        // given
+        Random random = new Random(3);
+        String[] literals = new String[1536];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = switch (i % 4) {
+                case 0 -> Float.toString((float) random.nextGaussian());
+                case 1 -> Double.toString(random.nextGaussian() * 1e-30);
+                case 2 -> "-0.0" + Math.abs(random.nextLong());
+                default -> Float.toString(random.nextFloat() * 1e25f);
+            };
+        }
+        String json = "{\"predictions\":[{\"embeddings\":{\"values\":[" + String.join(",", literals) + "]}}]}";
+
+        // when
+        float[] result = StreamingJsonParser.readEmbeddings(new OneByteAtATimeStream(bytes(json))).get(0);
+
+        // then
+        assertThat(result).hasSize(literals.length);
+        for (int i = 0; i < literals.length; i++) {
+            assertThat(result[i]).as(literals[i]).isEqualTo(Float.parseFloat(literals[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("readMatches: 잘린 응답은 IOException")
+    void readMatches_throws_onTruncatedInput() {
+        // given
+        byte[] json = bytes("{\"matches\":[{\"id\":\"1\",\"score\":0.");
+
+        // when & then
+        assertThatThrownBy(() -> StreamingJsonParser.readMatches(json))
+            .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class OneByteAtATimeStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+
+        OneByteAtATimeStream(byte[] bytes) {
+            this.delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return delegate.read(b, off, Math.min(len, 1));
+        }
+    }
+}
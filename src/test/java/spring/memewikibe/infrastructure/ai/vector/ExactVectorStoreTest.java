@@ -0,0 +1,162 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@UnitTest
+class ExactVectorStoreTest {
+
+    private static final int DIM = 100; // not a multiple of any SIMD width, so the scalar tail is exercised
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("SIMD 내적과 스칼라 내적은 부동소수 오차 안에서 같다")
+    void simdDot_matchesScalarDot() {
+        // given
+        Random random = new Random(1);
+        float[] a = randomVector(random, 37);
+        float[] b = randomVector(random, 37);
+        float[] padded = new float[40];
+        System.arraycopy(a, 0, padded, 3, a.length);
+
+        // when
+        float scalar = VectorDot.scalarDot(a, 0, b, a.length);
+        float dispatched = VectorDot.dot(padded, 3, b, a.length);
+        float simd = SimdDot.dot(padded, 3, b, a.length);
+
+        // then
+        assertThat(dispatched).isCloseTo(scalar, within(1e-4f));
+        assertThat(simd).isCloseTo(scalar, within(1e-4f));
+    }
+
+    @Test
+    @DisplayName("search: 전수 비교로 구한 상위 k개와 같은 id를 같은 순서로 반환한다")
+    void search_matchesBruteForceReference() throws Exception {
+        // given
+        Random random = new Random(2);
+        float[][] corpus = new float[500][];
+        try (ExactVectorStore store = ExactVectorStore.open(dir)) {
+            for (int i = 0; i < corpus.length; i++) {
+                corpus[i] = randomVector(random, DIM);
+                store.upsert(i, corpus[i]);
+            }
+            float[] query = randomVector(random, DIM);
+
+            // when
+            ScoredIds result = store.search(query, 10);
+
+            // then
+            float[] q = HnswIndex.normalize(query);
+            long[] expected = IntStream.range(0, corpus.length).boxed()
+                .sorted(Comparator.comparingDouble(i -> -cosine(HnswIndex.normalize(corpus[i]), q)))
+                .limit(10).mapToLong(Integer::longValue).toArray();
+            assertThat(ids(result)).containsExactly(expected);
+            assertThat(result.score(0)).isCloseTo(cosine(HnswIndex.normalize(corpus[(int) expected[0]]), q), within(1e-5));
+        }
+    }
+
+    @Test
+    @DisplayName("search: fork/join으로 나눠 스캔해도 단일 스레드 스캔과 결과가 같다")
+    void parallelSearch_matchesSequentialSearch() throws Exception {
+        // given
+        Random random = new Random(3);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (ExactVectorStore store = ExactVectorStore.open(dir, pool, 1)) {
+            for (int i = 0; i < 10_000; i++) store.upsert(i, randomVector(random, DIM));
+            for (int i = 0; i < 10_000; i += 7) store.remove(i);
+
+            for (int q = 0; q < 5; q++) {
+                float[] query = randomVector(random, DIM);
+
+                // when
+                ScoredIds parallel = store.search(query, 20, true);
+                ScoredIds sequential = store.search(query, 20, false);
+
+                // then
+                assertThat(ids(parallel)).containsExactly(ids(sequential));
+                assertThat(Arrays.stream(ids(parallel)).filter(id -> id % 7 == 0)).isEmpty();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("교체·삭제 후 다시 열어도 마지막 상태로 검색된다")
+    void reopen_keepsReplacementsAndRemovals() throws Exception {
+        // given
+        Random random = new Random(4);
+        float[] target = randomVector(random, DIM);
+        try (ExactVectorStore store = ExactVectorStore.open(dir)) {
+            for (int i = 0; i < 200; i++) store.upsert(i, randomVector(random, DIM));
+            store.upsert(77, target);
+            store.remove(3);
+        }
+
+        // when
+        try (ExactVectorStore reopened = ExactVectorStore.open(dir)) {
+            ScoredIds result = reopened.search(target, 200);
+
+            // then
+            assertThat(reopened.size()).isEqualTo(199);
+            assertThat(result.id(0)).isEqualTo(77L);
+            assertThat(result.score(0)).isCloseTo(1.0, within(1e-5));
+            assertThat(ids(result)).doesNotContain(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("닫힌 뒤에는 쓰기를 거부하고, 종료된 풀에 스캔을 넘기지 않으며 벡터 파일을 유지한다")
+    void close_rejectsLaterWrites_andSkipsSearch() throws Exception {
+        // given
+        Random random = new Random(5);
+        float[] target = randomVector(random, DIM);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ExactVectorStore store = ExactVectorStore.open(dir, pool, 1);
+        store.upsert(1, target);
+        store.close();
+        pool.shutdown();
+
+        // when & then
+        assertThatThrownBy(() -> store.upsert(2, randomVector(random, DIM))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.remove(1)).isInstanceOf(IllegalStateException.class);
+        assertThat(store.search(target, 1).size()).isZero();
+        try (ExactVectorStore reopened = ExactVectorStore.open(dir)) {
+            assertThat(reopened.size()).isEqualTo(1);
+            assertThat(reopened.search(target, 1).id(0)).isEqualTo(1L);
+        }
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) sum += (double) a[i] * b[i];
+        return sum;
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] v = new float[dimension];
+        for (int i = 0; i < dimension; i++) v[i] = (float) random.nextGaussian();
+        return v;
+    }
+
+    private static long[] ids(ScoredIds hits) {
+        long[] out = new long[hits.size()];
+        for (int i = 0; i < hits.size(); i++) out[i] = hits.id(i);
+        return out;
+    }
+}
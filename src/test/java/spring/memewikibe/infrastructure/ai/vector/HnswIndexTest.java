@@ -0,0 +1,233 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+class HnswIndexTest {
+
+    private static final int DIM = 32;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("검색 결과는 전수 탐색 결과와 높은 recall@10을 가진다")
+    void search_hasHighRecallAgainstExactSearch() throws Exception {
+        // given
+        Random random = new Random(1);
+        List<float[]> corpus = new ArrayList<>();
+        try (HnswIndex index = HnswIndex.open(dir, 16, 100)) {
+            for (int i = 0; i < 2_000; i++) {
+                float[] v = randomVector(random);
+                corpus.add(v);
+                index.upsert(i, v);
+            }
+
+            // when
+            double recall = 0;
+            int queries = 50;
+            for (int q = 0; q < queries; q++) {
+                float[] query = randomVector(random);
+                Set<Long> truth = exactTopK(corpus, query, 10);
+                Set<Long> found = ids(index.search(query, 10, 64));
+                found.retainAll(truth);
+                recall += found.size() / 10.0;
+            }
+
+            // then
+            assertThat(recall / queries).isGreaterThan(0.9);
+        }
+    }
+
+    @Test
+    @DisplayName("결과는 코사인 유사도 내림차순이며 자기 자신이 1순위다")
+    void search_returnsDescendingScores() throws Exception {
+        Random random = new Random(2);
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            float[] target = null;
+            for (int i = 0; i < 300; i++) {
+                float[] v = randomVector(random);
+                if (i == 123) target = v;
+                index.upsert(i, v);
+            }
+
+            ScoredIds hits = index.search(target, 5, 32);
+
+            assertThat(hits.size()).isEqualTo(5);
+            assertThat(hits.id(0)).isEqualTo(123L);
+            assertThat(hits.score(0)).isCloseTo(1.0, org.assertj.core.data.Offset.offset(1e-4));
+            for (int i = 1; i < hits.size(); i++) {
+                assertThat(hits.score(i)).isLessThanOrEqualTo(hits.score(i - 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("같은 id를 다른 벡터로 upsert하면 이전 벡터로는 검색되지 않는다")
+    void upsert_replacesPreviousVector() throws Exception {
+        Random random = new Random(3);
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            for (int i = 0; i < 200; i++) index.upsert(i, randomVector(random));
+            float[] before = randomVector(random);
+            float[] after = randomVector(random);
+            index.upsert(1_000, before);
+
+            boolean changed = index.upsert(1_000, after);
+
+            assertThat(changed).isTrue();
+            assertThat(index.size()).isEqualTo(201);
+            assertThat(index.search(after, 1, 32).id(0)).isEqualTo(1_000L);
+            ScoredIds hitsForOld = index.search(before, 201, 256);
+            long occurrences = countId(hitsForOld, 1_000L);
+            assertThat(occurrences).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("동일한 벡터로 다시 upsert하면 변경되지 않는다")
+    void upsert_isNoopForIdenticalVector() throws Exception {
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            float[] v = randomVector(new Random(4));
+            index.upsert(7, v);
+
+            assertThat(index.upsert(7, v.clone())).isFalse();
+            assertThat(index.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("삭제된 id는 검색 결과에 포함되지 않는다")
+    void remove_excludesFromResults() throws Exception {
+        Random random = new Random(5);
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            float[] target = randomVector(random);
+            index.upsert(1, target);
+            for (int i = 2; i < 100; i++) index.upsert(i, randomVector(random));
+
+            index.remove(1);
+
+            assertThat(ids(index.search(target, 10, 64))).doesNotContain(1L);
+            assertThat(index.size()).isEqualTo(98);
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 저장된 벡터와 그래프가 복원된다")
+    void reopen_restoresIndex() throws Exception {
+        Random random = new Random(6);
+        float[] target = null;
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            for (int i = 0; i < 500; i++) {
+                float[] v = randomVector(random);
+                if (i == 42) target = v;
+                index.upsert(i, v);
+            }
+        }
+
+        try (HnswIndex reopened = HnswIndex.open(dir, 8, 50)) {
+            assertThat(reopened.size()).isEqualTo(500);
+            assertThat(reopened.dimension()).isEqualTo(DIM);
+            assertThat(reopened.search(target, 1, 32).id(0)).isEqualTo(42L);
+        }
+    }
+
+    @Test
+    @DisplayName("그래프 스냅샷이 없으면 벡터 파일로부터 재구성한다")
+    void reopen_rebuildsGraphWhenSnapshotMissing() throws Exception {
+        Random random = new Random(7);
+        float[] target = null;
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            for (int i = 0; i < 300; i++) {
+                float[] v = randomVector(random);
+                if (i == 7) target = v;
+                index.upsert(i, v);
+            }
+        }
+        Files.delete(dir.resolve(HnswIndex.GRAPH_FILE));
+
+        try (HnswIndex reopened = HnswIndex.open(dir, 8, 50)) {
+            assertThat(reopened.size()).isEqualTo(300);
+            assertThat(reopened.search(target, 1, 32).id(0)).isEqualTo(7L);
+        }
+    }
+
+    @Test
+    @DisplayName("차원이 다른 벡터는 거부한다")
+    void upsert_rejectsDimensionMismatch() throws Exception {
+        try (HnswIndex index = HnswIndex.open(dir, 8, 50)) {
+            index.upsert(1, randomVector(new Random(8)));
+
+            assertThatThrownBy(() -> index.upsert(2, new float[DIM + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("닫힌 뒤의 쓰기는 거부하고 벡터 파일을 다시 만들지 않는다")
+    void close_rejectsLaterWrites_andKeepsVectorFile() throws Exception {
+        // given
+        Random random = new Random(9);
+        float[] target = randomVector(random);
+        HnswIndex index = HnswIndex.open(dir, 8, 50);
+        index.upsert(1, target);
+        index.close();
+
+        // when & then
+        assertThatThrownBy(() -> index.upsert(2, randomVector(random))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> index.remove(1)).isInstanceOf(IllegalStateException.class);
+        assertThat(index.search(target, 1, 32).size()).isZero();
+        try (HnswIndex reopened = HnswIndex.open(dir, 8, 50)) {
+            assertThat(reopened.size()).isEqualTo(1);
+            assertThat(reopened.search(target, 1, 32).id(0)).isEqualTo(1L);
+        }
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) v[i] = (float) random.nextGaussian();
+        return v;
+    }
+
+    private static Set<Long> exactTopK(List<float[]> corpus, float[] query, int k) {
+        float[] q = HnswIndex.normalize(query);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < corpus.size(); i++) order.add(i);
+        order.sort(Comparator.comparingDouble((Integer i) -> dot(HnswIndex.normalize(corpus.get(i)), q)).reversed());
+        Set<Long> out = new HashSet<>();
+        for (int i = 0; i < k; i++) out.add((long) order.get(i));
+        return out;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double s = 0;
+        for (int i = 0; i < a.length; i++) s += a[i] * b[i];
+        return s;
+    }
+
+    private static Set<Long> ids(ScoredIds hits) {
+        Set<Long> out = new HashSet<>();
+        for (int i = 0; i < hits.size(); i++) out.add(hits.id(i));
+        return out;
+    }
+
+    private static long countId(ScoredIds hits, long id) {
+        long c = 0;
+        for (int i = 0; i < hits.size(); i++) if (hits.id(i) == id) c++;
+        return c;
+    }
+}
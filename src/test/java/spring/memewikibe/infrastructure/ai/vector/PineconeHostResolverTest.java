@@ -0,0 +1,81 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.infrastructure.ai.vector.PineconeHostResolver.Resolution;
+import spring.memewikibe.infrastructure.ai.vector.PineconeHostResolver.State;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@DisplayName("PineconeHostResolver 단위 테스트")
+class PineconeHostResolverTest {
+
+    @Test
+    @DisplayName("실패하면 상태에 에러를 남기고 백오프 후 재시도해 결국 호스트를 적용")
+    void retriesWithBackoff_untilResolved() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Resolution> applied = new CompletableFuture<>();
+        PineconeHostResolver.Lookup lookup = () -> {
+            if (calls.incrementAndGet() < 3) throw new IOException("boom");
+            return new Resolution("https://index.pinecone.io", 768, "serverless API");
+        };
+
+        // when
+        try (PineconeHostResolver sut = new PineconeHostResolver(lookup, applied::complete, Duration.ofMillis(10), Duration.ofMillis(50))) {
+            sut.start();
+            Resolution resolution = applied.get(5, TimeUnit.SECONDS);
+
+            // then
+            assertThat(resolution.host()).isEqualTo("https://index.pinecone.io");
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(sut.snapshot().state()).isEqualTo(State.RESOLVED);
+            assertThat(sut.snapshot().failures()).isEqualTo(2);
+            assertThat(sut.snapshot().lastError()).contains("boom");
+        }
+    }
+
+    @Test
+    @DisplayName("실패 상태는 다음 시도 시각과 함께 캐시되어 그 전에는 다시 조회하지 않음")
+    void cachesFailureUntilNextAttempt() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        PineconeHostResolver.Lookup lookup = () -> {
+            calls.incrementAndGet();
+            throw new IOException("index not found");
+        };
+
+        try (PineconeHostResolver sut = new PineconeHostResolver(lookup, r -> {}, Duration.ofMinutes(1), Duration.ofMinutes(5))) {
+            // when
+            sut.start();
+            while (sut.snapshot().state() == State.PENDING) Thread.sleep(5);
+            Thread.sleep(100);
+
+            // then
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(sut.snapshot().state()).isEqualTo(State.FAILED);
+            assertThat(sut.snapshot().nextAttemptAt()).isAfter(java.time.Instant.now().plusSeconds(50));
+        }
+    }
+
+    @Test
+    @DisplayName("backoff: 실패할 때마다 두 배로 늘고 최대값에서 멈춤")
+    void backoff_doublesUpToMax() {
+        Duration initial = Duration.ofSeconds(1);
+        Duration max = Duration.ofSeconds(30);
+
+        assertThat(PineconeHostResolver.backoff(1, initial, max)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(PineconeHostResolver.backoff(2, initial, max)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(PineconeHostResolver.backoff(5, initial, max)).isEqualTo(Duration.ofSeconds(16));
+        assertThat(PineconeHostResolver.backoff(6, initial, max)).isEqualTo(max);
+        assertThat(PineconeHostResolver.backoff(100, initial, max)).isEqualTo(max);
+    }
+}
@@ -0,0 +1,129 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@DisplayName("PineconeUpsertBatcher 단위 테스트")
+class PineconeUpsertBatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("벡터 개수 한도로 배치를 나누고 모든 id를 순서대로 한 번씩 포함")
+    void splitsByVectorCount() throws Exception {
+        // given
+        List<VectorRecord> records = records(25, 4);
+
+        // when
+        List<PineconeUpsertBatcher.Batch> batches = drain(new PineconeUpsertBatcher("ns", records, Long.MAX_VALUE, 10));
+
+        // then
+        assertThat(batches).extracting(b -> b.ids().length).containsExactly(10, 10, 5);
+        assertThat(batches.stream().flatMapToLong(b -> LongStream.of(b.ids())).toArray())
+            .containsExactly(LongStream.range(0, 25).toArray());
+        for (PineconeUpsertBatcher.Batch batch : batches) {
+            JsonNode body = objectMapper.readTree(body(batch));
+            assertThat(body.get("namespace").asText()).isEqualTo("ns");
+            assertThat(body.get("vectors")).hasSize(batch.ids().length);
+        }
+    }
+
+    @Test
+    @DisplayName("요청 크기 한도를 넘지 않도록 나누고 bytes는 실제 본문 크기와 일치")
+    void splitsByByteSize() throws Exception {
+        // given
+        List<VectorRecord> records = records(40, 64);
+        long maxBytes = 4_000;
+
+        // when
+        List<PineconeUpsertBatcher.Batch> batches = drain(new PineconeUpsertBatcher("ns", records, maxBytes, 1000));
+
+        // then
+        assertThat(batches).hasSizeGreaterThan(1);
+        for (PineconeUpsertBatcher.Batch batch : batches) {
+            byte[] body = body(batch);
+            assertThat((long) body.length).isEqualTo(batch.bytes()).isLessThanOrEqualTo(maxBytes);
+            assertThat(objectMapper.readTree(body).get("vectors")).hasSize(batch.ids().length);
+        }
+        assertThat(batches.stream().mapToInt(b -> b.ids().length).sum()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("한도보다 큰 단일 레코드는 단독 배치로 보냄")
+    void oversizedRecord_getsOwnBatch() {
+        // given
+        List<VectorRecord> records = records(3, 512);
+
+        // when
+        List<PineconeUpsertBatcher.Batch> batches = drain(new PineconeUpsertBatcher("ns", records, 100, 1000));
+
+        // then
+        assertThat(batches).extracting(b -> b.ids().length).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("drainRemainingIds는 아직 배치로 내보내지 않은 id를 넘겨 준 레코드까지 포함해 순서대로 돌려줌")
+    void drainRemainingIds_includesCarriedRecord() {
+        // given: 크기 한도 때문에 두 번째 레코드가 다음 배치로 넘겨짐
+        PineconeUpsertBatcher batcher = new PineconeUpsertBatcher("ns", records(4, 512), 100, 1000);
+        batcher.next();
+
+        // when
+        long[] remaining = batcher.drainRemainingIds();
+
+        // then
+        assertThat(remaining).containsExactly(1L, 2L, 3L);
+        assertThat(batcher.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("metadata의 따옴표, 역슬래시, 줄바꿈, 한글을 올바른 JSON으로 직렬화")
+    void escapesMetadata() throws Exception {
+        // given
+        String title = "\"무야호\" \\ [짤]\n\t끝\u0001";
+        VectorRecord record = new VectorRecord(7L, new float[]{0.5f, -1.25e-8f}, Map.of("title", title));
+
+        // when
+        PineconeUpsertBatcher.Batch batch = drain(new PineconeUpsertBatcher("ns", List.of(record), 1_000_000, 1000)).get(0);
+
+        // then
+        JsonNode vector = objectMapper.readTree(body(batch)).get("vectors").get(0);
+        assertThat(vector.get("id").asText()).isEqualTo("7");
+        assertThat(vector.get("metadata").get("title").asText()).isEqualTo(title);
+        assertThat(vector.get("values").get(1).floatValue()).isEqualTo(-1.25e-8f);
+    }
+
+    private static List<VectorRecord> records(int count, int dimension) {
+        List<VectorRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] v = new float[dimension];
+            for (int d = 0; d < dimension; d++) v[d] = (i + 1) * 0.001f * (d + 1);
+            records.add(new VectorRecord(i, v, Map.of("title", "밈 " + i)));
+        }
+        return records;
+    }
+
+    private static List<PineconeUpsertBatcher.Batch> drain(PineconeUpsertBatcher batcher) {
+        List<PineconeUpsertBatcher.Batch> batches = new ArrayList<>();
+        batcher.forEachRemaining(batches::add);
+        return batches;
+    }
+
+    private static byte[] body(PineconeUpsertBatcher.Batch batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batch.parts().forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,120 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.infrastructure.http.OutboundHttpClient;
+import spring.memewikibe.infrastructure.http.OutboundHttpProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@DisplayName("PineconeVectorIndexBackend 단위 테스트")
+class PineconeVectorIndexBackendTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private PineconeVectorIndexBackend sut;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(java.util.concurrent.Executors.newFixedThreadPool(8));
+        server.createContext("/vectors/upsert", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                requests.incrementAndGet();
+                Thread.sleep(50);
+                boolean fail = body.contains("\"id\":\"13\"");
+                byte[] response = (fail ? "{\"message\":\"boom\"}" : "{\"upsertedCount\":1}").getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(fail ? 500 : 200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        });
+        server.start();
+
+        sut = new PineconeVectorIndexBackend(new OutboundHttpClient(OutboundHttpProperties.defaults(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(sut, "apiKey", "dummy");
+        ReflectionTestUtils.setField(sut, "indexHost", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(sut, "namespace", "test");
+        ReflectionTestUtils.setField(sut, "maxBatchBytes", 2_000_000L);
+        ReflectionTestUtils.setField(sut, "maxBatchVectors", 5);
+        ReflectionTestUtils.setField(sut, "maxInFlight", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("upsert: 배치별 성공/실패를 보고하고 동시 요청 수를 제한")
+    void upsert_reportsPerBatch_andBoundsInFlight() {
+        // given
+        List<VectorRecord> records = new ArrayList<>();
+        for (int i = 0; i < 23; i++) records.add(new VectorRecord(i, new float[]{i, 1f}, Map.of("title", "밈" + i)));
+
+        // when
+        UpsertReport report = sut.upsert(records);
+
+        // then
+        assertThat(requests.get()).isEqualTo(5);
+        assertThat(maxConcurrent.get()).isLessThanOrEqualTo(2);
+        assertThat(report.batches()).hasSize(5);
+        assertThat(report.totalVectors()).isEqualTo(23);
+        assertThat(report.failedBatches()).singleElement().satisfies(b -> {
+            assertThat(b.index()).isEqualTo(2);
+            assertThat(b.status()).isEqualTo(500);
+            assertThat(b.ids()).containsExactly(10L, 11L, 12L, 13L, 14L);
+        });
+        assertThat(report.failedVectors()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("upsert: 보내기 전에 인터럽트되면 보내지 못한 레코드를 실패한 배치로 보고")
+    void upsert_reportsUnsentRecordsAsFailed_whenInterrupted() {
+        // given
+        List<VectorRecord> records = new ArrayList<>();
+        for (int i = 0; i < 7; i++) records.add(new VectorRecord(i, new float[]{i, 1f}, Map.of("title", "밈" + i)));
+        Thread.currentThread().interrupt();
+
+        // when
+        UpsertReport report;
+        try {
+            report = sut.upsert(records);
+        } finally {
+            Thread.interrupted();
+        }
+
+        // then
+        assertThat(requests.get()).isZero();
+        assertThat(report.allSucceeded()).isFalse();
+        assertThat(report.failedBatches()).singleElement().satisfies(b -> {
+            assertThat(b.error()).isEqualTo("interrupted");
+            assertThat(b.ids()).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package spring.memewikibe.infrastructure.ai.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import spring.memewikibe.annotation.UnitTest;
+import spring.memewikibe.infrastructure.ai.vector.QuantizedVectorStore.Mode;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+class QuantizedVectorStoreTest {
+
+    private static final int DIM = 128;
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    @DisplayName("양자화 검색은 전수 탐색 대비 높은 recall@10을 가지고 점수는 정확한 코사인 값이다")
+    void search_hasHighRecall_andExactScores(Mode mode) throws Exception {
+        // given
+        Random random = new Random(1);
+        float[][] centroids = new float[20][];
+        for (int c = 0; c < centroids.length; c++) centroids[c] = randomVector(random, 1.0);
+        try (QuantizedVectorStore store = QuantizedVectorStore.open(dir, mode)) {
+            for (int i = 0; i < 3_000; i++) store.upsert(i, around(centroids[i % centroids.length], random));
+
+            // when
+            double recall = 0;
+            int queries = 30;
+            for (int q = 0; q < queries; q++) {
+                float[] query = around(centroids[q % centroids.length], random);
+                ScoredIds exact = store.exactSearch(query, 10);
+                ScoredIds approx = store.search(query, 10, 400, 50);
+                Set<Long> found = ids(approx);
+                found.retainAll(ids(exact));
+                recall += found.size() / 10.0;
+                // then
+                assertThat(approx.score(0)).isLessThanOrEqualTo(exact.score(0) + 1e-6);
+                for (int i = 1; i < approx.size(); i++) assertThat(approx.score(i)).isLessThanOrEqualTo(approx.score(i - 1));
+            }
+            assertThat(recall / queries).isGreaterThan(0.9);
+        }
+    }
+
+    @Test
+    @DisplayName("힙에는 float 벡터보다 훨씬 작은 코드만 유지한다")
+    void heapBytes_isFractionOfFloatVectors() throws Exception {
+        Random random = new Random(2);
+        try (QuantizedVectorStore store = QuantizedVectorStore.open(dir, Mode.BINARY)) {
+            for (int i = 0; i < 1_024; i++) store.upsert(i, randomVector(random, 1.0));
+
+            long floatBytes = 1_024L * DIM * Float.BYTES;
+            assertThat(store.heapBytes()).isLessThan(floatBytes / 3);
+            assertThat(store.mappedBytes()).isGreaterThanOrEqualTo(floatBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 id로 다시 업서트하면 교체되고, 삭제된 id는 결과에서 제외된다")
+    void upsertReplaces_andRemoveExcludes() throws Exception {
+        Random random = new Random(3);
+        try (QuantizedVectorStore store = QuantizedVectorStore.open(dir, Mode.INT8)) {
+            for (int i = 0; i < 100; i++) store.upsert(i, randomVector(random, 1.0));
+            float[] target = randomVector(random, 1.0);
+
+            store.upsert(5, target);
+            assertThat(store.search(target, 1, 0, 10).id(0)).isEqualTo(5L);
+
+            store.remove(5);
+            assertThat(ids(store.search(target, 10, 0, 10))).doesNotContain(5L);
+            assertThat(store.size()).isEqualTo(99);
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 매핑된 벡터 파일로부터 코드를 복원한다")
+    void reopen_rebuildsCodesFromVectorFile() throws Exception {
+        Random random = new Random(4);
+        float[] target = randomVector(random, 1.0);
+        try (QuantizedVectorStore store = QuantizedVectorStore.open(dir, Mode.BINARY)) {
+            for (int i = 0; i < 200; i++) store.upsert(i, randomVector(random, 1.0));
+            store.upsert(77, target);
+            store.remove(3);
+        }
+
+        try (QuantizedVectorStore reopened = QuantizedVectorStore.open(dir, Mode.BINARY)) {
+            assertThat(reopened.size()).isEqualTo(199);
+            assertThat(reopened.dimension()).isEqualTo(DIM);
+            assertThat(reopened.search(target, 1, 100, 10).id(0)).isEqualTo(77L);
+        }
+    }
+
+    @Test
+    @DisplayName("차원이 다른 벡터는 거부한다")
+    void upsert_rejectsDimensionMismatch() throws Exception {
+        try (QuantizedVectorStore store = QuantizedVectorStore.open(dir, Mode.INT8)) {
+            store.upsert(1, randomVector(new Random(5), 1.0));
+            assertThatThrownBy(() -> store.upsert(2, new float[DIM + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("닫힌 뒤의 쓰기는 거부하고 벡터 파일을 다시 만들지 않는다")
+    void close_rejectsLaterWrites_andKeepsVectorFile() throws Exception {
+        // given
+        Random random = new Random(6);
+        float[] target = randomVector(random, 1.0);
+        QuantizedVectorStore store = QuantizedVectorStore.open(dir, Mode.INT8);
+        store.upsert(1, target);
+        store.close();
+
+        // when & then
+        assertThatThrownBy(() -> store.upsert(2, randomVector(random, 1.0))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.remove(1)).isInstanceOf(IllegalStateException.class);
+        assertThat(store.search(target, 1, 100, 10).size()).isZero();
+        try (QuantizedVectorStore reopened = QuantizedVectorStore.open(dir, Mode.INT8)) {
+            assertThat(reopened.size()).isEqualTo(1);
+            assertThat(reopened.search(target, 1, 100, 10).id(0)).isEqualTo(1L);
+        }
+    }
+
+    private static float[] around(float[] centroid, Random random) {
+        float[] noise = randomVector(random, 0.6);
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) v[i] = centroid[i] + noise[i];
+        return v;
+    }
+
+    private static float[] randomVector(Random random, double sigma) {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) v[i] = (float) (random.nextGaussian() * sigma);
+        return v;
+    }
+
+    private static Set<Long> ids(ScoredIds hits) {
+        Set<Long> out = new HashSet<>();
+        for (int i = 0; i < hits.size(); i++) out.add(hits.id(i));
+        return out;
+    }
+}
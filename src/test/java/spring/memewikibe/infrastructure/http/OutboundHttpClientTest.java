@@ -0,0 +1,159 @@
+package spring.memewikibe.infrastructure.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spring.memewikibe.annotation.UnitTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@DisplayName("OutboundHttpClient 단위 테스트")
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/slow", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(Long.parseLong(exchange.getRequestURI().getQuery()));
+                byte[] response = "ok".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("send: 업스트림별 동시 요청 수를 제한하고 지표를 기록")
+    void send_capsConcurrencyPerHost() {
+        // given
+        OutboundHttpClient sut = new OutboundHttpClient(properties(2, Duration.ofSeconds(5), Duration.ofSeconds(5)), meterRegistry);
+
+        // when
+        List<CompletableFuture<HttpResponse<String>>> calls = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 6; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return sut.send("test", request(100), HttpResponse.BodyHandlers.ofString());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor));
+            }
+            calls.forEach(CompletableFuture::join);
+        }
+
+        // then
+        assertThat(maxConcurrent.get()).isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get("http.outbound.requests").tags("upstream", "test", "outcome", "SUCCESS").timer().count()).isEqualTo(6);
+        assertThat(meterRegistry.get("http.outbound.in.flight").tags("upstream", "test").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("send: 슬롯을 기다리다 acquire-timeout이 지나면 IOException")
+    void send_failsFast_whenNoSlotFreesUp() throws Exception {
+        // given
+        OutboundHttpClient sut = new OutboundHttpClient(properties(1, Duration.ofSeconds(5), Duration.ofMillis(50)), meterRegistry);
+        CompletableFuture<HttpResponse<String>> first = sut.sendAsync("test", request(500), HttpResponse.BodyHandlers.ofString());
+
+        // when & then
+        assertThatThrownBy(() -> sut.send("test", request(0), HttpResponse.BodyHandlers.ofString()))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Too many concurrent requests");
+        assertThat(first.get().statusCode()).isEqualTo(200);
+        assertThat(meterRegistry.get("http.outbound.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("send: 스트리밍 본문은 닫을 때까지 슬롯을 잡고, 닫을 때 지표를 기록")
+    void send_holdsSlotUntilStreamedBodyIsClosed() throws Exception {
+        // given
+        OutboundHttpClient sut = new OutboundHttpClient(properties(1, Duration.ofSeconds(5), Duration.ofMillis(50)), meterRegistry);
+        HttpResponse<InputStream> streamed = sut.send("test", request(0), HttpResponse.BodyHandlers.ofInputStream());
+
+        // when & then: 본문을 닫기 전에는 슬롯이 비지 않음
+        assertThatThrownBy(() -> sut.send("test", request(0), HttpResponse.BodyHandlers.ofString()))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Too many concurrent requests");
+        assertThat(meterRegistry.find("http.outbound.requests").timers()).isEmpty();
+        assertThat(meterRegistry.get("http.outbound.in.flight").tags("upstream", "test").gauge().value()).isEqualTo(1);
+
+        try (InputStream body = streamed.body()) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("ok");
+        }
+        assertThat(meterRegistry.get("http.outbound.requests").tags("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.outbound.in.flight").tags("upstream", "test").gauge().value()).isZero();
+        assertThat(sut.send("test", request(0), HttpResponse.BodyHandlers.ofString()).body()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("send: 요청에 타임아웃이 없으면 업스트림의 read-timeout을 적용")
+    void send_appliesUpstreamReadTimeout() {
+        // given
+        OutboundHttpClient sut = new OutboundHttpClient(properties(4, Duration.ofMillis(100), Duration.ofSeconds(1)), meterRegistry);
+
+        // when & then
+        assertThatThrownBy(() -> sut.send("test", request(1_000), HttpResponse.BodyHandlers.ofString()))
+            .isInstanceOf(HttpTimeoutException.class);
+        assertThat(meterRegistry.get("http.outbound.requests").tags("outcome", "TIMEOUT").timer().count()).isEqualTo(1);
+    }
+
+    private HttpRequest request(long sleepMillis) {
+        return HttpRequest.newBuilder()
+            .uri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/slow?" + sleepMillis))
+            .GET()
+            .build();
+    }
+
+    private static OutboundHttpProperties properties(int maxConcurrent, Duration readTimeout, Duration acquireTimeout) {
+        return new OutboundHttpProperties(
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(10),
+            acquireTimeout,
+            32,
+            Map.of("test", new OutboundHttpProperties.Upstream(readTimeout, maxConcurrent))
+        );
+    }
+}